@@ -2,6 +2,7 @@ package com.jobverse.config;
 
 import com.jobverse.security.JwtAuthenticationFilter;
 import com.jobverse.security.JwtAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -41,6 +42,7 @@ public class SecurityConfig {
     private static final String[] PUBLIC_URLS = {
         "/v1/auth/**",
         "/v1/ai/chat/guest",
+        "/v1/ai/chat/stream/guest",
         "/v1/interview/questions/guest",
         "/v1/interview/generate-answer/guest",
         "/v1/interview/tips",
@@ -53,8 +55,10 @@ public class SecurityConfig {
         "/v1/companies/{id}",
         "/v1/companies/{id}/jobs",
         "/v1/categories",
+        "/v1/categories/tree",
         "/v1/skills",
         "/v1/skills/trending",
+        "/v1/skills/top",
         "/v1/skills/{id}",
         "/v1/skills/slug/{slug}",
         "/v1/locations",
@@ -62,6 +66,8 @@ public class SecurityConfig {
         "/v1/statistics",
         "/v1/settings/**",
         "/v1/notifications/**",
+        "/ws/**",  // STOMP CONNECT is authenticated by StompAuthChannelInterceptor
+        "/internal/presence/relay",  // shared-secret check in PresenceRelayController
         "/avatars/**",
         "/uploads/**",
         "/v3/api-docs/**",
@@ -82,8 +88,11 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Streamed (NDJSON, SSE) and async responses finish in an async dispatch; the request itself was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(PUBLIC_URLS).permitAll()
                 .requestMatchers(HttpMethod.POST, "/v1/ai/chat/guest").permitAll()
+                .requestMatchers(HttpMethod.POST, "/v1/ai/chat/stream/guest").permitAll()
                 .requestMatchers(HttpMethod.GET, "/v1/jobs/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/v1/companies/**").permitAll()
                 .requestMatchers("/v1/admin/**").hasRole("ADMIN")
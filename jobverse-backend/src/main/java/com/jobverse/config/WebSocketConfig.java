@@ -1,19 +1,27 @@
 package com.jobverse.config;
 
+import com.jobverse.security.ChatSubscriptionInterceptor;
+import com.jobverse.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 /**
- * WebSocket configuration for real-time notifications
+ * WebSocket configuration for real-time notifications and chat
  * Enables STOMP messaging over WebSocket
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final ChatSubscriptionInterceptor chatSubscriptionInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable simple broker for sending messages to clients
@@ -36,4 +44,11 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("http://localhost:*", "http://127.0.0.1:*")
                 .withSockJS(); // Enable SockJS fallback for browsers without WebSocket support
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Resolve the JWT on STOMP CONNECT so chat can use /user/queue/** destinations,
+        // then keep conversation topics to their participants
+        registration.interceptors(stompAuthChannelInterceptor, chatSubscriptionInterceptor);
+    }
 }
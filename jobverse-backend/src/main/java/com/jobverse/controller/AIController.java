@@ -1,15 +1,20 @@
 package com.jobverse.controller;
 
 import com.jobverse.dto.response.ApiResponse;
+import com.jobverse.exception.BadRequestException;
 import com.jobverse.security.CurrentUser;
 import com.jobverse.security.UserPrincipal;
 import com.jobverse.service.AIService;
+import com.jobverse.service.ChatStreamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/v1/ai")
@@ -17,29 +22,59 @@ import java.util.Map;
 public class AIController {
 
     private final AIService aiService;
+    private final ChatStreamService chatStreamService;
 
     @PostMapping("/chat")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<Map<String, String>>> chat(
+    public CompletableFuture<ResponseEntity<ApiResponse<Map<String, String>>>> chat(
             @CurrentUser UserPrincipal currentUser,
             @RequestBody Map<String, String> request
     ) {
         String message = request.get("message");
         String context = "Email: " + currentUser.getEmail() + ", Role: " + currentUser.getRole();
 
-        String reply = aiService.chat(message, context);
-
-        return ResponseEntity.ok(ApiResponse.success("Reply generated", Map.of("reply", reply)));
+        return aiService.chat(message, context)
+                .thenApply(reply -> ResponseEntity.ok(ApiResponse.success("Reply generated", Map.of("reply", reply))));
     }
 
     // Endpoint không cần đăng nhập (giới hạn tính năng)
     @PostMapping("/chat/guest")
-    public ResponseEntity<ApiResponse<Map<String, String>>> guestChat(
+    public CompletableFuture<ResponseEntity<ApiResponse<Map<String, String>>>> guestChat(
             @RequestBody Map<String, String> request
     ) {
         String message = request.get("message");
-        String reply = aiService.chat(message, null);
+        return aiService.chat(message, null)
+                .thenApply(reply -> ResponseEntity.ok(ApiResponse.success("Reply generated", Map.of("reply", reply))));
+    }
+
+    /**
+     * Same reply as /chat, streamed as Server-Sent Events while it is generated:
+     * "delta" events {"text"} in order, then one "done" {"source", "elapsedMillis"},
+     * or "error" {"message"} if the reply broke off. 429 when too many streams are open.
+     */
+    @PostMapping("/chat/stream")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SseEmitter> chatStream(
+            @CurrentUser UserPrincipal currentUser,
+            @RequestBody Map<String, String> request
+    ) {
+        String context = "Email: " + currentUser.getEmail() + ", Role: " + currentUser.getRole();
+        return stream(request.get("message"), context);
+    }
+
+    @PostMapping("/chat/stream/guest")
+    public ResponseEntity<SseEmitter> guestChatStream(
+            @RequestBody Map<String, String> request
+    ) {
+        return stream(request.get("message"), null);
+    }
 
-        return ResponseEntity.ok(ApiResponse.success("Reply generated", Map.of("reply", reply)));
+    private ResponseEntity<SseEmitter> stream(String message, String context) {
+        if (message == null || message.isBlank()) {
+            throw new BadRequestException("Message is required");
+        }
+        return chatStreamService.open(message, context)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
     }
 }
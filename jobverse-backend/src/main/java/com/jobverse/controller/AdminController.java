@@ -7,10 +7,15 @@ import com.jobverse.repository.ApplicationRepository;
 import com.jobverse.repository.CompanyRepository;
 import com.jobverse.repository.JobRepository;
 import com.jobverse.repository.UserRepository;
+import com.jobverse.service.CategoryTreeService;
+import com.jobverse.service.ChatAccessCache;
+import com.jobverse.service.JobChangedEvent;
+import com.jobverse.service.JobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -36,6 +41,10 @@ public class AdminController {
     private final JobRepository jobRepository;
     private final CompanyRepository companyRepository;
     private final ApplicationRepository applicationRepository;
+    private final ChatAccessCache chatAccessCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryTreeService categoryTreeService;
+    private final JobService jobService;
 
     /**
      * Get dashboard statistics
@@ -122,6 +131,7 @@ public class AdminController {
             user.setStatus(User.Status.BANNED);
         }
         userRepository.save(user);
+        chatAccessCache.evictUser(id);
 
         String action = user.getStatus() == User.Status.ACTIVE ? "unbanned" : "banned";
         log.info("✅ Admin: User {} {}", id, action);
@@ -151,8 +161,10 @@ public class AdminController {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
 
+        Job.JobStatus oldStatus = job.getStatus();
         job.setStatus(Job.JobStatus.APPROVED);
         jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.of(job, oldStatus, job.getStatus()));
 
         log.info("✅ Admin: Job {} approved", id);
 
@@ -173,9 +185,11 @@ public class AdminController {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
 
+        Job.JobStatus oldStatus = job.getStatus();
         job.setStatus(Job.JobStatus.REJECTED);
         // TODO: Send notification to employer with rejection reason
         jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.of(job, oldStatus, job.getStatus()));
 
         log.info("❌ Admin: Job {} rejected", id);
 
@@ -190,11 +204,7 @@ public class AdminController {
     public ResponseEntity<ApiResponse<String>> deleteJob(@PathVariable Long id) {
         log.info("🗑️ Admin: Deleting job {}", id);
 
-        if (!jobRepository.existsById(id)) {
-            throw new RuntimeException("Job not found");
-        }
-
-        jobRepository.deleteById(id);
+        jobService.purgeJob(id);
         log.info("✅ Admin: Job {} deleted", id);
 
         return ResponseEntity.ok(ApiResponse.success("Job deleted successfully", null));
@@ -216,9 +226,24 @@ public class AdminController {
 
         user.setRole(role);
         userRepository.save(user);
+        // Cached chat access was granted for the old role
+        chatAccessCache.evictUser(id);
 
         log.info("✅ Admin: User {} role updated to {}", id, role);
 
         return ResponseEntity.ok(ApiResponse.success("User role updated successfully", user));
     }
+
+    /**
+     * Reload the in-memory category tree (after editing categories in the database)
+     */
+    @PostMapping("/categories/refresh")
+    @Operation(summary = "Refresh category tree", description = "Rebuild the cached category tree and job counts")
+    public ResponseEntity<ApiResponse<String>> refreshCategories() {
+        log.info("📂 Admin: Refreshing category tree");
+
+        CategoryTreeService.Snapshot snapshot = categoryTreeService.rebuild();
+
+        return ResponseEntity.ok(ApiResponse.success("Category tree refreshed", snapshot.etag()));
+    }
 }
@@ -6,19 +6,23 @@ import com.jobverse.dto.response.ApplicationResponse;
 import com.jobverse.entity.Application;
 import com.jobverse.security.UserPrincipal;
 import com.jobverse.service.ApplicationService;
+import com.jobverse.service.ResumeScreeningService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -32,6 +36,10 @@ import java.util.stream.Collectors;
 public class ApplicationController {
 
     private final ApplicationService applicationService;
+    private final ResumeScreeningService resumeScreeningService;
+
+    @Value("${app.resume.screening.timeout-seconds:300}")
+    private long screeningTimeoutSeconds;
 
     @PostMapping
     @PreAuthorize("isAuthenticated()")
@@ -151,6 +159,22 @@ public class ApplicationController {
         return ResponseEntity.ok(ApiResponse.success("Applications retrieved", responses));
     }
 
+    @GetMapping(value = "/job/{jobId}/screening", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('EMPLOYER') or hasRole('ADMIN')")
+    @Operation(summary = "Screen all resumes for a job, streamed as NDJSON (Employer only)")
+    public ResponseEntity<ResponseBodyEmitter> screenJobApplications(
+            @PathVariable Long jobId,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        log.info("Employer {} screening applications for job {}", currentUser.getId(), jobId);
+        ResumeScreeningService.Batch batch = resumeScreeningService.prepare(jobId, currentUser.getId());
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(screeningTimeoutSeconds * 1000);
+        if (!resumeScreeningService.stream(batch, emitter)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
     @DeleteMapping("/{applicationId}")
     @PreAuthorize("hasRole('EMPLOYER') or hasRole('ADMIN')")
     @Operation(summary = "Delete an application (Employer only)")
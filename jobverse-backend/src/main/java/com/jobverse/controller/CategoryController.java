@@ -3,10 +3,13 @@ package com.jobverse.controller;
 import com.jobverse.dto.response.ApiResponse;
 import com.jobverse.dto.response.CategoryResponse;
 import com.jobverse.service.CategoryService;
+import com.jobverse.service.CategoryTreeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,15 +25,35 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     @GetMapping
-    @Operation(summary = "Get all active categories")
-    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories() {
+    @Operation(summary = "Get all active categories (flat, most jobs first). Supports If-None-Match")
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.info("📋 GET /v1/categories");
 
-        List<CategoryResponse> categories = categoryService.getAllCategories();
+        CategoryTreeService.Snapshot snapshot = categoryService.getSnapshot();
+        if (snapshot.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+
+        log.info("✅ Returning {} categories", snapshot.flat().size());
+
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(ApiResponse.success(snapshot.flat()));
+    }
+
+    @GetMapping("/tree")
+    @Operation(summary = "Get the active category tree with rolled-up job counts. Supports If-None-Match")
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getCategoryTree(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        log.info("🌳 GET /v1/categories/tree");
 
-        log.info("✅ Returning {} categories", categories.size());
+        CategoryTreeService.Snapshot snapshot = categoryService.getSnapshot();
+        if (snapshot.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
 
-        return ResponseEntity.ok(ApiResponse.success(categories));
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(ApiResponse.success(snapshot.tree()));
     }
 
     @GetMapping("/{id}")
@@ -1,12 +1,19 @@
 package com.jobverse.controller;
 
+import com.jobverse.dto.request.BroadcastMessageRequest;
 import com.jobverse.dto.request.CreateConversationRequest;
 import com.jobverse.dto.request.SendMessageRequest;
 import com.jobverse.dto.response.ApiResponse;
+import com.jobverse.dto.response.BroadcastResponse;
 import com.jobverse.dto.response.ConversationResponse;
+import com.jobverse.dto.response.MessageHistoryResponse;
 import com.jobverse.dto.response.MessageResponse;
+import com.jobverse.dto.response.MessageSearchResponse;
+import com.jobverse.dto.response.PresenceResponse;
 import com.jobverse.security.UserPrincipal;
+import com.jobverse.service.ChatBroadcastService;
 import com.jobverse.service.ChatService;
+import com.jobverse.service.PresenceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -22,6 +29,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @RestController
 @RequestMapping("/v1/chat")
@@ -30,6 +40,8 @@ import org.springframework.web.bind.annotation.*;
 public class ChatController {
     
     private final ChatService chatService;
+    private final ChatBroadcastService chatBroadcastService;
+    private final PresenceService presenceService;
     
     @PostMapping("/conversations")
     @PreAuthorize("isAuthenticated()")
@@ -76,6 +88,80 @@ public class ChatController {
         return ResponseEntity.ok(ApiResponse.success("Messages retrieved", messages));
     }
     
+    @GetMapping("/conversations/{id}/history")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get messages with cursor paging (before/after a message id)")
+    public ResponseEntity<ApiResponse<MessageHistoryResponse>> getMessageHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        log.info("💬 GET /v1/chat/conversations/{}/history?before={}&after={} by user {}", id, before, after, currentUser.getId());
+        
+        MessageHistoryResponse history = chatService.getMessageHistory(id, currentUser.getId(), before, after, limit);
+        
+        return ResponseEntity.ok(ApiResponse.success("Messages retrieved", history));
+    }
+    
+    @GetMapping("/conversations/{id}/messages/search")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Search messages in a conversation (accent-insensitive)")
+    public ResponseEntity<ApiResponse<List<MessageSearchResponse>>> searchConversationMessages(
+            @PathVariable Long id,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        log.info("🔍 GET /v1/chat/conversations/{}/messages/search?q={} by user {}", id, q, currentUser.getId());
+        
+        List<MessageSearchResponse> results = chatService.searchMessages(id, currentUser.getId(), q, limit);
+        
+        return ResponseEntity.ok(ApiResponse.success("Search results retrieved", results));
+    }
+    
+    @GetMapping("/messages/search")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Search messages across all my conversations (accent-insensitive)")
+    public ResponseEntity<ApiResponse<List<MessageSearchResponse>>> searchAllMessages(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        log.info("🔍 GET /v1/chat/messages/search?q={} by user {}", q, currentUser.getId());
+        
+        List<MessageSearchResponse> results = chatService.searchMessages(null, currentUser.getId(), q, limit);
+        
+        return ResponseEntity.ok(ApiResponse.success("Search results retrieved", results));
+    }
+    
+    @GetMapping("/presence")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get online status of users (live updates on /topic/presence/{userId})")
+    public ResponseEntity<ApiResponse<Map<Long, PresenceResponse>>> getPresence(
+            @RequestParam List<Long> userIds
+    ) {
+        if (userIds.size() > 200) {
+            userIds = userIds.subList(0, 200);
+        }
+        return ResponseEntity.ok(ApiResponse.success("Presence retrieved", presenceService.getPresence(userIds)));
+    }
+    
+    @GetMapping("/messages/sync")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get messages missed since the last seen message (all conversations); may repeat recent ones, dedupe by id")
+    public ResponseEntity<ApiResponse<List<MessageResponse>>> syncMessages(
+            @RequestParam(required = false) Long lastSeenMessageId,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        log.info("🔄 GET /v1/chat/messages/sync?lastSeenMessageId={} by user {}", lastSeenMessageId, currentUser.getId());
+        
+        List<MessageResponse> messages = chatService.getMessagesSince(lastSeenMessageId, currentUser.getId());
+        
+        return ResponseEntity.ok(ApiResponse.success("Missed messages retrieved", messages));
+    }
+    
     @PostMapping("/conversations/{id}/messages")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Send a message")
@@ -93,6 +179,22 @@ public class ChatController {
                 .body(ApiResponse.success("Message sent", message));
     }
     
+    @PostMapping("/broadcast")
+    @PreAuthorize("hasRole('EMPLOYER')")
+    @Operation(summary = "Send one message to every applicant of a job in a given status")
+    public ResponseEntity<ApiResponse<BroadcastResponse>> broadcast(
+            @Valid @RequestBody BroadcastMessageRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        log.info("📣 POST /v1/chat/broadcast job={} status={} by user {}", request.getJobId(), request.getStatus(), currentUser.getId());
+        
+        BroadcastResponse result = chatBroadcastService.broadcast(request, currentUser.getId());
+        
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Broadcast sent", result));
+    }
+    
     @PutMapping("/conversations/{id}/read")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Mark conversation messages as read")
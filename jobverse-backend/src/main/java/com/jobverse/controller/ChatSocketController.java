@@ -0,0 +1,104 @@
+package com.jobverse.controller;
+
+import com.jobverse.dto.request.SendMessageRequest;
+import com.jobverse.dto.request.TypingRequest;
+import com.jobverse.dto.response.ApiResponse;
+import com.jobverse.dto.response.MessageResponse;
+import com.jobverse.exception.UnauthorizedException;
+import com.jobverse.security.UserPrincipal;
+import com.jobverse.service.ChatRealtimeService;
+import com.jobverse.service.ChatService;
+import com.jobverse.service.PresenceService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * STOMP endpoints for chat (client sends to /app/...).
+ * Delivery to the participants happens through /user/queue/chat (see ChatRealtimeService).
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class ChatSocketController {
+
+    private final ChatService chatService;
+    private final ChatRealtimeService chatRealtimeService;
+    private final PresenceService presenceService;
+
+    /**
+     * Send a message: /app/chat/conversations/{id}/send
+     */
+    @MessageMapping("/chat/conversations/{id}/send")
+    public void sendMessage(
+            @DestinationVariable Long id,
+            @Valid @Payload SendMessageRequest request,
+            Principal principal
+    ) {
+        UserPrincipal currentUser = resolveUser(principal);
+        log.info("💬 STOMP send to conversation {} by user {}", id, currentUser.getId());
+
+        chatService.sendMessage(id, request, currentUser.getId());
+    }
+
+    /**
+     * Reconnect catch-up: /app/chat/sync with the last message id the client has seen.
+     * Missed messages are replayed to /user/queue/chat in order; the last few seconds before
+     * that message are replayed too (late commits), so the client dedupes by id.
+     */
+    @MessageMapping("/chat/sync")
+    public void sync(@Payload(required = false) Long lastSeenMessageId, Principal principal) {
+        UserPrincipal currentUser = resolveUser(principal);
+
+        List<MessageResponse> missed = chatService.getMessagesSince(lastSeenMessageId, currentUser.getId());
+        missed.forEach(message -> chatRealtimeService.push(principal.getName(), message));
+
+        log.info("🔄 Replayed {} missed messages to user {} (after id {})",
+                missed.size(), currentUser.getId(), lastSeenMessageId);
+    }
+
+    /**
+     * Presence heartbeat: /app/presence/heartbeat (every ~10s while the app is open)
+     */
+    @MessageMapping("/presence/heartbeat")
+    public void heartbeat(Principal principal) {
+        presenceService.heartbeat(resolveUser(principal).getId());
+    }
+
+    /**
+     * Typing indicator: /app/chat/conversations/{id}/typing, relayed to
+     * /topic/chat/conversations/{id}/typing and never persisted
+     */
+    @MessageMapping("/chat/conversations/{id}/typing")
+    public void typing(@DestinationVariable Long id, @Payload TypingRequest request, Principal principal) {
+        UserPrincipal currentUser = resolveUser(principal);
+        String side = chatService.verifyAccess(id, currentUser.getId()).name();
+
+        presenceService.typing(id, currentUser.getId(), side, request.isTyping());
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public ApiResponse<Void> handleException(Exception ex) {
+        log.warn("⚠️ STOMP chat error: {}", ex.getMessage());
+        return ApiResponse.error("CHAT_ERROR", ex.getMessage());
+    }
+
+    private UserPrincipal resolveUser(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal;
+        }
+        throw new UnauthorizedException("Authentication required");
+    }
+}
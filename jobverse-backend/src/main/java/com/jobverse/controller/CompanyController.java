@@ -1,10 +1,9 @@
 package com.jobverse.controller;
 
 import com.jobverse.dto.response.ApiResponse;
+import com.jobverse.dto.response.CompanyProfileResponse;
 import com.jobverse.dto.response.CompanyResponse;
 import com.jobverse.dto.response.JobResponse;
-import com.jobverse.entity.Job;
-import com.jobverse.repository.JobRepository;
 import com.jobverse.security.UserPrincipal;
 import com.jobverse.service.CompanyService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,7 +29,6 @@ import java.util.List;
 public class CompanyController {
 
     private final CompanyService companyService;
-    private final JobRepository jobRepository;
 
     @GetMapping
     @Operation(summary = "Get all companies with pagination and optional search")
@@ -83,6 +81,26 @@ public class CompanyController {
         return ResponseEntity.ok(ApiResponse.success(company));
     }
 
+    @GetMapping("/{id}/profile")
+    @Operation(summary = "Get company page data (details, rating histogram, first reviews and jobs) in one call")
+    public ResponseEntity<ApiResponse<CompanyProfileResponse>> getCompanyProfile(
+            @PathVariable Long id
+    ) {
+        log.info("🏢 GET /v1/companies/{}/profile", id);
+
+        return ResponseEntity.ok(ApiResponse.success(companyService.getCompanyProfileById(id)));
+    }
+
+    @GetMapping("/slug/{slug}/profile")
+    @Operation(summary = "Get company page data by slug in one call")
+    public ResponseEntity<ApiResponse<CompanyProfileResponse>> getCompanyProfileBySlug(
+            @PathVariable String slug
+    ) {
+        log.info("🏢 GET /v1/companies/slug/{}/profile", slug);
+
+        return ResponseEntity.ok(ApiResponse.success(companyService.getCompanyProfileBySlug(slug)));
+    }
+
     @GetMapping("/slug/{slug}")
     @Operation(summary = "Get company details by slug")
     public ResponseEntity<ApiResponse<CompanyResponse>> getCompanyBySlug(
@@ -129,27 +147,7 @@ public class CompanyController {
     ) {
         log.info("💼 GET /v1/companies/{}/jobs", id);
 
-        Page<Job> jobs = jobRepository.findByCompanyIdAndStatus(id, Job.JobStatus.ACTIVE, pageable);
-        Page<JobResponse> jobResponses = jobs.map(job -> JobResponse.builder()
-                .id(job.getId())
-                .title(job.getTitle())
-                .slug(job.getSlug())
-                .description(job.getDescription())
-                .location(job.getLocation())
-                .salaryMin(job.getSalaryMin())
-                .salaryMax(job.getSalaryMax())
-                .salaryNegotiable(job.getSalaryNegotiable())
-                .currency(job.getCurrency())
-                .jobType(job.getJobType())
-                .experienceLevel(job.getExperienceLevel())
-                .deadline(job.getDeadline())
-                .isFeatured(job.getIsFeatured())
-                .isRemote(job.getIsRemote())
-                .isUrgent(job.getIsUrgent())
-                .positionsCount(job.getPositionsCount())
-                .status(job.getStatus())
-                .createdAt(job.getCreatedAt())
-                .build());
+        Page<JobResponse> jobResponses = companyService.getActiveJobs(id, pageable);
 
         log.info("✅ Returning {} jobs for company {}", jobResponses.getNumberOfElements(), id);
 
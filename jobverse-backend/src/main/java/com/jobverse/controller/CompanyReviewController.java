@@ -1,8 +1,11 @@
 package com.jobverse.controller;
 
+import com.jobverse.dto.request.BulkReviewModerationRequest;
 import com.jobverse.dto.request.CompanyReviewRequest;
 import com.jobverse.dto.response.ApiResponse;
+import com.jobverse.dto.response.BulkModerationResponse;
 import com.jobverse.dto.response.CompanyReviewResponse;
+import com.jobverse.dto.response.ReviewQueueResponse;
 import com.jobverse.entity.CompanyReview;
 import com.jobverse.security.UserPrincipal;
 import com.jobverse.service.CompanyReviewService;
@@ -126,16 +129,44 @@ public class CompanyReviewController {
     // Admin endpoints
     @GetMapping("/admin/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get pending reviews", description = "Get all pending reviews for moderation")
-    public ResponseEntity<ApiResponse<Page<CompanyReviewResponse>>> getPendingReviews(Pageable pageable) {
-        log.info("Admin: Fetching pending reviews");
+    @Operation(summary = "Get pending reviews", description = "Moderation queue, oldest first. Pass nextCursor as 'after' for the next page")
+    public ResponseEntity<ApiResponse<ReviewQueueResponse>> getPendingReviews(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        log.info("Admin: Fetching pending reviews after {}", after);
 
-        Page<CompanyReview> reviews = reviewService.getPendingReviews(pageable);
-        Page<CompanyReviewResponse> response = reviews.map(CompanyReviewResponse::fromEntity);
+        ReviewQueueResponse response = reviewService.getPendingReviews(after, limit);
 
         return ResponseEntity.ok(ApiResponse.success("Pending reviews retrieved", response));
     }
 
+    @PutMapping("/admin/bulk/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk approve reviews", description = "Approve many reviews in one transaction")
+    public ResponseEntity<ApiResponse<BulkModerationResponse>> approveReviews(
+            @Valid @RequestBody BulkReviewModerationRequest request
+    ) {
+        log.info("Admin: Bulk approving {} reviews", request.getReviewIds().size());
+
+        BulkModerationResponse response = reviewService.approveReviews(request.getReviewIds());
+
+        return ResponseEntity.ok(ApiResponse.success("Reviews approved successfully", response));
+    }
+
+    @PutMapping("/admin/bulk/reject")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk reject reviews", description = "Reject many reviews in one transaction")
+    public ResponseEntity<ApiResponse<BulkModerationResponse>> rejectReviews(
+            @Valid @RequestBody BulkReviewModerationRequest request
+    ) {
+        log.info("Admin: Bulk rejecting {} reviews", request.getReviewIds().size());
+
+        BulkModerationResponse response = reviewService.rejectReviews(request.getReviewIds());
+
+        return ResponseEntity.ok(ApiResponse.success("Reviews rejected successfully", response));
+    }
+
     @PutMapping("/admin/{reviewId}/approve")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Approve review", description = "Approve a pending review")
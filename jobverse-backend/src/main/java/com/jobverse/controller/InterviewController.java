@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/v1/interview")
@@ -63,7 +64,7 @@ public class InterviewController {
      */
     @PostMapping("/evaluate")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<AnswerEvaluation>> evaluateAnswer(
+    public CompletableFuture<ResponseEntity<ApiResponse<AnswerEvaluation>>> evaluateAnswer(
             @CurrentUser UserPrincipal currentUser,
             @RequestBody Map<String, String> request
     ) {
@@ -71,18 +72,17 @@ public class InterviewController {
         String userAnswer = request.get("userAnswer");
 
         if (question == null || question.trim().isEmpty()) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("INVALID_INPUT", "Question is required"));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("INVALID_INPUT", "Question is required")));
         }
 
         if (userAnswer == null || userAnswer.trim().isEmpty()) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("INVALID_INPUT", "User answer is required"));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("INVALID_INPUT", "User answer is required")));
         }
 
-        AnswerEvaluation evaluation = interviewPrepService.evaluateAnswer(question, userAnswer);
-
-        return ResponseEntity.ok(ApiResponse.success("Answer evaluated successfully", evaluation));
+        return interviewPrepService.evaluateAnswer(question, userAnswer)
+                .thenApply(evaluation -> ResponseEntity.ok(ApiResponse.success("Answer evaluated successfully", evaluation)));
     }
 
     /**
@@ -92,7 +92,7 @@ public class InterviewController {
      */
     @PostMapping("/generate-answer")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<GeneratedAnswer>> generateAnswer(
+    public CompletableFuture<ResponseEntity<ApiResponse<GeneratedAnswer>>> generateAnswer(
             @CurrentUser UserPrincipal currentUser,
             @RequestBody Map<String, String> request
     ) {
@@ -101,13 +101,12 @@ public class InterviewController {
         String experienceLevel = request.getOrDefault("experienceLevel", "JUNIOR");
 
         if (question == null || question.trim().isEmpty()) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("INVALID_INPUT", "Question is required"));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("INVALID_INPUT", "Question is required")));
         }
 
-        GeneratedAnswer generatedAnswer = interviewPrepService.generateSampleAnswer(question, role, experienceLevel);
-
-        return ResponseEntity.ok(ApiResponse.success("Sample answer generated successfully", generatedAnswer));
+        return interviewPrepService.generateSampleAnswer(question, role, experienceLevel)
+                .thenApply(generatedAnswer -> ResponseEntity.ok(ApiResponse.success("Sample answer generated successfully", generatedAnswer)));
     }
 
     /**
@@ -115,7 +114,7 @@ public class InterviewController {
      * POST /api/v1/interview/generate-answer/guest
      */
     @PostMapping("/generate-answer/guest")
-    public ResponseEntity<ApiResponse<GeneratedAnswer>> generateAnswerGuest(
+    public CompletableFuture<ResponseEntity<ApiResponse<GeneratedAnswer>>> generateAnswerGuest(
             @RequestBody Map<String, String> request
     ) {
         String question = request.get("question");
@@ -123,13 +122,12 @@ public class InterviewController {
         String experienceLevel = request.getOrDefault("experienceLevel", "JUNIOR");
 
         if (question == null || question.trim().isEmpty()) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("INVALID_INPUT", "Question is required"));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("INVALID_INPUT", "Question is required")));
         }
 
-        GeneratedAnswer generatedAnswer = interviewPrepService.generateSampleAnswer(question, role, experienceLevel);
-
-        return ResponseEntity.ok(ApiResponse.success("Sample answer generated", generatedAnswer));
+        return interviewPrepService.generateSampleAnswer(question, role, experienceLevel)
+                .thenApply(generatedAnswer -> ResponseEntity.ok(ApiResponse.success("Sample answer generated", generatedAnswer)));
     }
 
     /**
@@ -0,0 +1,39 @@
+package com.jobverse.controller;
+
+import com.jobverse.dto.response.ApiResponse;
+import com.jobverse.exception.UnauthorizedException;
+import com.jobverse.service.HttpPresenceRelay;
+import com.jobverse.service.PresenceRelay;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Node-to-node endpoint for HttpPresenceRelay (authenticated by a shared secret, not JWT)
+ */
+@Hidden
+@RestController
+@RequiredArgsConstructor
+public class PresenceRelayController {
+
+    private final PresenceRelay presenceRelay;
+
+    @PostMapping("/internal/presence/relay")
+    public ResponseEntity<ApiResponse<Void>> relay(
+            @RequestHeader(value = HttpPresenceRelay.SECRET_HEADER, required = false) String secret,
+            @RequestBody List<PresenceRelay.RelayEvent> events
+    ) {
+        if (!(presenceRelay instanceof HttpPresenceRelay httpRelay) || !httpRelay.isValidSecret(secret)) {
+            throw new UnauthorizedException("Invalid relay secret");
+        }
+
+        presenceRelay.deliver(events);
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+}
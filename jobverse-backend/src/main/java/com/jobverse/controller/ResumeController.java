@@ -1,15 +1,24 @@
 package com.jobverse.controller;
 
 import com.jobverse.dto.response.ApiResponse;
+import com.jobverse.dto.response.JobResponse;
+import com.jobverse.dto.response.ResumeFileResponse;
+import com.jobverse.exception.BadRequestException;
+import com.jobverse.exception.ResourceNotFoundException;
 import com.jobverse.security.CurrentUser;
 import com.jobverse.security.UserPrincipal;
 import com.jobverse.service.ResumeAnalysisService;
 import com.jobverse.service.ResumeAnalysisService.MatchResult;
 import com.jobverse.service.ResumeAnalysisService.ResumeAnalysisResult;
+import com.jobverse.service.JobService;
+import com.jobverse.service.ResumeIngestionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashSet;
 import java.util.List;
@@ -22,6 +31,41 @@ import java.util.Set;
 public class ResumeController {
 
     private final ResumeAnalysisService resumeAnalysisService;
+    private final ResumeIngestionService resumeIngestionService;
+    private final JobService jobService;
+
+    private static final int DEFAULT_BEST_JOBS = 10;
+    private static final int MAX_BEST_JOBS = 50;
+
+    /**
+     * Upload a resume file (PDF/DOCX); parsing and analysis run in the background
+     * POST /api/v1/resume/upload (multipart: file, title?)
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ResumeFileResponse>> uploadResume(
+            @CurrentUser UserPrincipal currentUser,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "title", required = false) String title
+    ) {
+        ResumeFileResponse response = resumeIngestionService.upload(currentUser.getId(), file, title);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Đã nhận CV, đang phân tích", response));
+    }
+
+    /**
+     * Parse/analysis progress of an uploaded resume (includes the analysis once done)
+     * GET /api/v1/resume/files/{id}/status
+     */
+    @GetMapping("/files/{id}/status")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ResumeFileResponse>> getUploadStatus(
+            @CurrentUser UserPrincipal currentUser,
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(ApiResponse.success("Resume status retrieved",
+                resumeIngestionService.getStatus(id, currentUser.getId())));
+    }
 
     /**
      * Analyze resume/CV text
@@ -50,6 +94,7 @@ public class ResumeController {
      * Match resume to a job
      * POST /api/v1/resume/match
      * Request body: { "resumeText": "...", "jobSkills": ["React", "Node.js", ...] }
+     * Instead of resumeText: "resumeId" (an analyzed upload) or "analysisHash" (contentHash of an earlier analysis)
      */
     @PostMapping("/match")
     @PreAuthorize("isAuthenticated()")
@@ -57,15 +102,9 @@ public class ResumeController {
             @CurrentUser UserPrincipal currentUser,
             @RequestBody Map<String, Object> request
     ) {
-        String resumeText = (String) request.get("resumeText");
         @SuppressWarnings("unchecked")
         List<String> jobSkillsList = (List<String>) request.get("jobSkills");
 
-        if (resumeText == null || resumeText.trim().isEmpty()) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("INVALID_INPUT", "Resume text is required"));
-        }
-
         if (jobSkillsList == null || jobSkillsList.isEmpty()) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("INVALID_INPUT", "Job skills are required"));
@@ -73,8 +112,8 @@ public class ResumeController {
 
         Set<String> jobSkills = new HashSet<>(jobSkillsList);
 
-        // First analyze the resume
-        ResumeAnalysisResult resumeAnalysis = resumeAnalysisService.analyzeResume(resumeText);
+        // First get the resume analysis (reused when we've seen this resume before)
+        ResumeAnalysisResult resumeAnalysis = resolveAnalysis(request, currentUser);
 
         // Then match to job
         MatchResult matchResult = resumeAnalysisService.matchResumeToJob(resumeAnalysis, jobSkills);
@@ -82,6 +121,49 @@ public class ResumeController {
         return ResponseEntity.ok(ApiResponse.success("Resume matched to job successfully", matchResult));
     }
 
+    /**
+     * Best ACTIVE jobs for a resume
+     * POST /api/v1/resume/best-jobs
+     * Request body: { "resumeText": "..." | "resumeId": 1 | "analysisHash": "...", "limit": 10 }
+     */
+    @PostMapping("/best-jobs")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<JobResponse>>> getBestJobsForResume(
+            @CurrentUser UserPrincipal currentUser,
+            @RequestBody Map<String, Object> request
+    ) {
+        int limit = DEFAULT_BEST_JOBS;
+        if (request.get("limit") instanceof Number number) {
+            limit = Math.max(1, Math.min(MAX_BEST_JOBS, number.intValue()));
+        }
+
+        ResumeAnalysisResult resumeAnalysis = resolveAnalysis(request, currentUser);
+        List<JobResponse> jobs = jobService.getBestJobsForSkills(resumeAnalysis.getSkills(), limit);
+
+        return ResponseEntity.ok(ApiResponse.success("Best matching jobs retrieved", jobs));
+    }
+
+    /**
+     * The analysis a request refers to: an analyzed upload (resumeId), an earlier analysis
+     * (analysisHash), or the text itself (resumeText, analyzed or served from cache)
+     */
+    private ResumeAnalysisResult resolveAnalysis(Map<String, Object> request, UserPrincipal currentUser) {
+        Object resumeId = request.get("resumeId");
+        if (resumeId != null) {
+            return resumeIngestionService.getAnalysis(Long.valueOf(resumeId.toString()), currentUser.getId());
+        }
+        String analysisHash = (String) request.get("analysisHash");
+        if (analysisHash != null) {
+            return resumeAnalysisService.findCachedAnalysis(analysisHash)
+                    .orElseThrow(() -> new ResourceNotFoundException("Analysis expired, please send resumeText again"));
+        }
+        String resumeText = (String) request.get("resumeText");
+        if (resumeText == null || resumeText.trim().isEmpty()) {
+            throw new BadRequestException("Resume text, resumeId or analysisHash is required");
+        }
+        return resumeAnalysisService.analyzeResume(resumeText);
+    }
+
     /**
      * Get quick tips for resume improvement
      * GET /api/v1/resume/tips
@@ -45,6 +45,18 @@ public class SkillController {
         return ResponseEntity.ok(ApiResponse.success(skills));
     }
 
+    @GetMapping("/top")
+    @Operation(summary = "Get top skills by active job count")
+    public ResponseEntity<ApiResponse<List<SkillResponse>>> getTopSkills() {
+        log.info("🏆 GET /v1/skills/top");
+
+        List<SkillResponse> skills = skillService.getTopSkills();
+
+        log.info("✅ Returning {} top skills", skills.size());
+
+        return ResponseEntity.ok(ApiResponse.success(skills));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get skill by ID")
     public ResponseEntity<ApiResponse<SkillResponse>> getSkillById(
@@ -0,0 +1,28 @@
+package com.jobverse.dto.request;
+
+import com.jobverse.entity.Application;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastMessageRequest {
+    
+    // Cohort: every applicant of this job in this status
+    @NotNull(message = "Job ID is required")
+    private Long jobId;
+    
+    @NotNull(message = "Application status is required")
+    private Application.ApplicationStatus status;
+    
+    @NotBlank(message = "Message content is required")
+    @Size(max = 5000, message = "Message must not exceed 5000 characters")
+    private String content;
+}
@@ -0,0 +1,21 @@
+package com.jobverse.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReviewModerationRequest {
+
+    @NotEmpty(message = "Review IDs are required")
+    @Size(max = 1000, message = "At most 1000 reviews per request")
+    private List<Long> reviewIds;
+}
@@ -0,0 +1,16 @@
+package com.jobverse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastResponse {
+
+    private int recipientCount;
+    private int conversationsCreated;
+}
@@ -0,0 +1,17 @@
+package com.jobverse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationResponse {
+
+    private int requestedCount;
+    private int updatedCount;       // reviews whose status actually changed (unknown/already-moderated ids are skipped)
+    private int companiesAffected;
+}
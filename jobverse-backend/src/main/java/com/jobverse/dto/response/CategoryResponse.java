@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,6 +20,9 @@ public class CategoryResponse {
     private String slug;
     private String icon;
     private String description;
-    private Integer jobCount;
+    private Integer jobCount;           // ACTIVE jobs in this category and all its subcategories
+    private Integer directJobCount;     // ACTIVE jobs assigned to this category itself
     private Boolean isActive;
+    private Long parentId;
+    private List<CategoryResponse> children;   // only in the tree view
 }
@@ -0,0 +1,25 @@
+package com.jobverse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * Everything the company page needs in one response: details (with images and active job count),
+ * rating histogram, first page of approved reviews and first page of active jobs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanyProfileResponse {
+
+    private CompanyResponse company;
+    private Map<Integer, Integer> ratingHistogram; // star (1-5) -> approved review count
+    private Page<CompanyReviewResponse> reviews;
+    private Page<JobResponse> jobs;
+}
@@ -66,7 +66,7 @@ public class ConversationResponse {
         private boolean isRead;
     }
     
-    public static ConversationResponse fromEntity(Conversation conv, Message lastMsg, long unreadCount) {
+    public static ConversationResponse fromEntity(Conversation conv, long unreadCount) {
         ConversationResponseBuilder builder = ConversationResponse.builder()
                 .id(conv.getId())
                 .company(CompanyInfo.builder()
@@ -95,15 +95,17 @@ public class ConversationResponse {
                     .build());
         }
         
-        if (lastMsg != null) {
+        if (conv.getLastMessageId() != null) {
+            // The last message is read once its recipient's unread counter is back to zero
+            boolean lastRead = conv.getLastMessageSenderType() == Message.SenderType.CANDIDATE
+                    ? conv.getCompanyUnreadCount() == 0
+                    : conv.getCandidateUnreadCount() == 0;
             builder.lastMessage(MessageInfo.builder()
-                    .id(lastMsg.getId())
-                    .content(lastMsg.getContent().length() > 100 
-                            ? lastMsg.getContent().substring(0, 100) + "..." 
-                            : lastMsg.getContent())
-                    .senderType(lastMsg.getSenderType().name())
-                    .createdAt(lastMsg.getCreatedAt())
-                    .isRead(lastMsg.isRead())
+                    .id(conv.getLastMessageId())
+                    .content(conv.getLastMessagePreview())
+                    .senderType(conv.getLastMessageSenderType().name())
+                    .createdAt(conv.getLastMessageAt())
+                    .isRead(lastRead)
                     .build());
         }
         
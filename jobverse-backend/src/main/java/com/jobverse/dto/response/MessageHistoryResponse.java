@@ -0,0 +1,26 @@
+package com.jobverse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One cursor page of chat history.
+ * Messages are in chronological order (oldest first); use oldestMessageId as the next "before"
+ * cursor and newestMessageId as the next "after" cursor.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageHistoryResponse {
+
+    private List<MessageResponse> messages;
+    private boolean hasMore;            // more messages beyond this page in the paging direction
+    private Long oldestMessageId;
+    private Long newestMessageId;
+    private Long lastReadMessageId;     // first load only: newest message from the other side the viewer has read
+}
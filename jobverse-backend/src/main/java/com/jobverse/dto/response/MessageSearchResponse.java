@@ -0,0 +1,17 @@
+package com.jobverse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSearchResponse {
+
+    private Long conversationId;
+    private MessageResponse message;
+    private String highlight;  // HTML-escaped snippet, matches wrapped in <mark></mark>
+}
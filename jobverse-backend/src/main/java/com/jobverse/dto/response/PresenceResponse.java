@@ -0,0 +1,19 @@
+package com.jobverse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceResponse {
+
+    private Long userId;
+    private boolean online;
+    private Instant lastSeenAt;  // null when offline (presence is not persisted)
+}
@@ -0,0 +1,34 @@
+package com.jobverse.dto.response;
+
+import com.jobverse.entity.Resume;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeFileResponse {
+
+    private Long id;
+    private String title;
+    private String originalFilename;
+    private String fileUrl;
+    private String fileType;
+    private Long fileSize;
+    private String contentHash;
+
+    private Resume.ParseStatus status;
+    private Integer progress;        // 0-100 while PARSING, 100 once finished
+    private Integer parseMillis;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+
+    private Map<String, Object> analysis;  // ResumeAnalysisResult, once ANALYZED
+}
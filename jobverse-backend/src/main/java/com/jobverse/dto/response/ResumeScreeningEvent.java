@@ -0,0 +1,47 @@
+package com.jobverse.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One NDJSON line of a bulk screening stream: a "candidate" line per application as soon as
+ * it's scored (in completion order), then a single "summary" line with the final ranking.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResumeScreeningEvent {
+
+    public static final String CANDIDATE = "candidate";
+    public static final String SUMMARY = "summary";
+
+    private String type;
+
+    // candidate
+    private Long applicationId;
+    private Long userId;
+    private String candidateName;    // null for anonymous applications
+    private Long resumeId;
+    private String outcome;          // SCREENED, NO_RESUME, FAILED
+    private Integer matchPercentage;
+    private Integer overallScore;
+    private Integer experience;
+    private List<String> matchedSkills;
+    private List<String> missingSkills;
+    private Integer completed;       // lines sent so far, for progress bars
+    private Integer total;
+
+    // summary
+    private Long jobId;
+    private Integer screened;
+    private Integer failed;
+    private Long elapsedMillis;
+    private List<Long> ranking;      // application ids, best match first; unscreened last
+}
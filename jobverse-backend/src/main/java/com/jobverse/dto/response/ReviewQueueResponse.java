@@ -0,0 +1,23 @@
+package com.jobverse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One cursor page of the moderation queue, oldest review first.
+ * Pass nextCursor as "after" to get the next page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewQueueResponse {
+
+    private List<CompanyReviewResponse> reviews;
+    private boolean hasMore;
+    private Long nextCursor;
+}
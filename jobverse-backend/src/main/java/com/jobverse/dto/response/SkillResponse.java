@@ -19,4 +19,5 @@ public class SkillResponse {
     private Boolean isTrending;
     private Integer jobCount;
     private Integer candidateCount;
+    private Double demandScore;     // time-decayed demand (postings, views, applications)
 }
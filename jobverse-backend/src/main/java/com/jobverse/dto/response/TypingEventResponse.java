@@ -0,0 +1,18 @@
+package com.jobverse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypingEventResponse {
+
+    private Long conversationId;
+    private Long userId;
+    private String senderType;  // COMPANY or CANDIDATE
+    private boolean typing;
+}
@@ -1,5 +1,6 @@
 package com.jobverse.entity;
 
+import com.jobverse.util.VietnameseTextNormalizer;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -64,14 +65,48 @@ public class Company {
     @Builder.Default
     private VerificationStatus verificationStatus = VerificationStatus.PENDING;
     
-    @Column(name = "rating_avg", precision = 3, scale = 2)
+    // Rating aggregates are maintained in SQL by CompanyRepository.applyRatingDelta
+    // (not updatable here so a stale entity save can't overwrite them)
+    @Column(name = "rating_avg", precision = 3, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal ratingAvg = BigDecimal.ZERO;
     
-    @Column(name = "review_count")
+    @Column(name = "review_count", updatable = false)
     @Builder.Default
     private Integer reviewCount = 0;
     
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private long ratingSum;
+    
+    // Histogram of approved reviews by star
+    @Column(name = "rating_1_count", insertable = false, updatable = false)
+    private int rating1Count;
+    
+    @Column(name = "rating_2_count", insertable = false, updatable = false)
+    private int rating2Count;
+    
+    @Column(name = "rating_3_count", insertable = false, updatable = false)
+    private int rating3Count;
+    
+    @Column(name = "rating_4_count", insertable = false, updatable = false)
+    private int rating4Count;
+    
+    @Column(name = "rating_5_count", insertable = false, updatable = false)
+    private int rating5Count;
+    
+    // Normalized fields for Vietnamese accent-insensitive search
+    @Column(name = "name_normalized")
+    private String nameNormalized;
+    
+    @Column(name = "description_normalized", columnDefinition = "TEXT")
+    private String descriptionNormalized;
+    
+    @Column(name = "headquarters_normalized")
+    private String headquartersNormalized;
+    
+    @Column(name = "industry_normalized")
+    private String industryNormalized;
+    
     @Column(name = "employee_count")
     private Integer employeeCount;
     
@@ -87,6 +122,16 @@ public class Company {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Auto-populate normalized fields before persist/update
+    @PrePersist
+    @PreUpdate
+    private void normalizeSearchFields() {
+        this.nameNormalized = VietnameseTextNormalizer.normalize(this.name);
+        this.descriptionNormalized = VietnameseTextNormalizer.normalize(this.description);
+        this.headquartersNormalized = VietnameseTextNormalizer.normalize(this.headquarters);
+        this.industryNormalized = VietnameseTextNormalizer.normalize(this.industry);
+    }
+    
     // Relationships
     @OneToMany(mappedBy = "company", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
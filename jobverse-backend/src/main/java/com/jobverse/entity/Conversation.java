@@ -37,6 +37,24 @@ public class Conversation {
     @Column(name = "last_message_at")
     private LocalDateTime lastMessageAt;
     
+    // Inbox summary, written only by ConversationRepository.recordMessage / resetUnread*
+    // (read-only here so a stale entity can never overwrite the counters)
+    @Column(name = "last_message_id", insertable = false, updatable = false)
+    private Long lastMessageId;
+    
+    @Column(name = "last_message_preview", insertable = false, updatable = false)
+    private String lastMessagePreview;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_message_sender_type", insertable = false, updatable = false)
+    private Message.SenderType lastMessageSenderType;
+    
+    @Column(name = "company_unread_count", insertable = false, updatable = false)
+    private int companyUnreadCount;
+    
+    @Column(name = "candidate_unread_count", insertable = false, updatable = false)
+    private int candidateUnreadCount;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
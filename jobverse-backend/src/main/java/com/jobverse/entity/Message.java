@@ -1,5 +1,6 @@
 package com.jobverse.entity;
 
+import com.jobverse.util.VietnameseTextNormalizer;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -33,13 +34,22 @@ public class Message {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
     
+    // Normalized copy for accent-insensitive search (trigram index)
+    @Column(name = "content_normalized", columnDefinition = "TEXT")
+    private String contentNormalized;
+    
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
     @Column(name = "read_at")
     private LocalDateTime readAt;
     
+    @PrePersist
+    private void normalizeSearchFields() {
+        this.contentNormalized = VietnameseTextNormalizer.normalize(this.content);
+    }
+    
     public enum SenderType {
         COMPANY, CANDIDATE
     }
@@ -48,7 +48,7 @@ public class Notification {
     private Boolean isRead = false;
     
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
     public enum NotificationType {
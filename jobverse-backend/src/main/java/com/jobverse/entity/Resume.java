@@ -50,7 +50,41 @@ public class Resume {
     @Builder.Default
     private Integer viewCount = 0;
     
+    // Upload ingestion (V22); null for resumes created before file parsing existed
+    @Enumerated(EnumType.STRING)
+    @Column(name = "parse_status", length = 20)
+    private ParseStatus parseStatus;
+    
+    @Column(name = "original_filename")
+    private String originalFilename;
+    
+    @Column(name = "file_size")
+    private Long fileSize;
+    
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
+    // SHA-256 of the normalized parsed text (V23), the ResumeAnalysisCache key
+    @Column(name = "analysis_hash", length = 64)
+    private String analysisHash;
+    
+    @Column(name = "parse_error", length = 500)
+    private String parseError;
+    
+    @Column(name = "parse_millis")
+    private Integer parseMillis;
+    
+    @Column(name = "parse_started_at")
+    private LocalDateTime parseStartedAt;
+    
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+    
+    public enum ParseStatus {
+        PENDING, PARSING, ANALYZED, FAILED
+    }
 }
@@ -66,6 +66,10 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
            "ORDER BY a.appliedAt DESC")
     Page<Application> findByJobIdOrderByAppliedAtDesc(Long jobId, Pageable pageable);
 
+    // Applicant cohort for employer broadcasts
+    @Query("SELECT DISTINCT a.user.id FROM Application a WHERE a.job.id = :jobId AND a.status = :status")
+    List<Long> findUserIdsByJobIdAndStatus(Long jobId, Application.ApplicationStatus status);
+
     @Query("SELECT a.job.id FROM Application a WHERE a.user.id = :userId")
     List<Long> findJobIdsByUserId(Long userId);
 
@@ -19,7 +19,4 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     @Query("SELECT c FROM Category c WHERE c.parent IS NULL AND c.isActive = true ORDER BY c.name")
     List<Category> findRootCategories();
-
-    @Query("SELECT c FROM Category c WHERE c.isActive = true ORDER BY c.jobCount DESC")
-    List<Category> findAllActiveOrderByJobCount();
 }
@@ -5,6 +5,7 @@ import com.jobverse.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -37,25 +38,80 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
     @Query("SELECT c FROM Company c WHERE c.verificationStatus = 'PENDING'")
     Page<Company> findPendingVerification(Pageable pageable);
     
-    // Search companies by keyword (name or description)
-    @Query("SELECT c FROM Company c WHERE " +
-           "LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Company> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
-    
-    // Search companies by industry
-    @Query("SELECT c FROM Company c WHERE LOWER(c.industry) = LOWER(:industry)")
-    Page<Company> findByIndustry(@Param("industry") String industry, Pageable pageable);
-    
-    // Search companies by keyword and industry
-    @Query("SELECT c FROM Company c WHERE " +
-           "(LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-           "LOWER(c.industry) = LOWER(:industry)")
-    Page<Company> searchByKeywordAndIndustry(@Param("keyword") String keyword, @Param("industry") String industry, Pageable pageable);
-    
-    // Search by headquarters/location
-    @Query("SELECT c FROM Company c WHERE " +
-           "LOWER(c.headquarters) LIKE LOWER(CONCAT('%', :location, '%'))")
-    Page<Company> findByLocation(@Param("location") String location, Pageable pageable);
+    // Keyword search over the normalized columns (trigram GIN indexes serve LIKE '%term%').
+    // Ranked by trigram similarity, name weighted highest, with rating as a tie-breaking boost.
+    // Pass an unsorted Pageable: the ORDER BY here is the ranking.
+    String KEYWORD_MATCH =
+            "(c.name_normalized LIKE :pattern ESCAPE '\\' " +
+            " OR c.headquarters_normalized LIKE :pattern ESCAPE '\\' " +
+            " OR c.description_normalized LIKE :pattern ESCAPE '\\') ";
+    
+    String KEYWORD_RANK =
+            "ORDER BY (3 * word_similarity(:keyword, COALESCE(c.name_normalized, '')) " +
+            "  + word_similarity(:keyword, COALESCE(c.headquarters_normalized, '')) " +
+            "  + 0.5 * word_similarity(:keyword, COALESCE(c.description_normalized, '')) " +
+            "  + 0.1 * COALESCE(c.rating_avg, 0)) DESC, c.review_count DESC, c.id DESC";
+    
+    @Query(value = "SELECT c.* FROM companies c WHERE " + KEYWORD_MATCH + KEYWORD_RANK,
+           countQuery = "SELECT COUNT(*) FROM companies c WHERE " + KEYWORD_MATCH,
+           nativeQuery = true)
+    Page<Company> searchByKeyword(@Param("keyword") String normalizedKeyword,
+                                  @Param("pattern") String pattern,
+                                  Pageable pageable);
+    
+    // Exact match on the normalized industry (btree index)
+    Page<Company> findByIndustryNormalized(String industryNormalized, Pageable pageable);
+    
+    @Query(value = "SELECT c.* FROM companies c WHERE c.industry_normalized = :industry AND " + KEYWORD_MATCH + KEYWORD_RANK,
+           countQuery = "SELECT COUNT(*) FROM companies c WHERE c.industry_normalized = :industry AND " + KEYWORD_MATCH,
+           nativeQuery = true)
+    Page<Company> searchByKeywordAndIndustry(@Param("keyword") String normalizedKeyword,
+                                             @Param("pattern") String pattern,
+                                             @Param("industry") String normalizedIndustry,
+                                             Pageable pageable);
+    
+    // O(1) rating maintenance: apply a review's contribution delta. The UPDATE takes the row lock,
+    // so concurrent review changes on the same company serialize instead of losing updates.
+    @Modifying
+    @Query(value = "UPDATE companies SET " +
+                   "review_count = review_count + :countDelta, " +
+                   "rating_sum = rating_sum + :sumDelta, " +
+                   "rating_1_count = rating_1_count + :d1, " +
+                   "rating_2_count = rating_2_count + :d2, " +
+                   "rating_3_count = rating_3_count + :d3, " +
+                   "rating_4_count = rating_4_count + :d4, " +
+                   "rating_5_count = rating_5_count + :d5, " +
+                   "rating_avg = CASE WHEN review_count + :countDelta > 0 " +
+                   "    THEN ROUND((rating_sum + :sumDelta)::numeric / (review_count + :countDelta), 2) ELSE 0 END " +
+                   "WHERE id = :companyId",
+           nativeQuery = true)
+    int applyRatingDelta(@Param("companyId") Long companyId,
+                         @Param("countDelta") int countDelta,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("d1") int d1, @Param("d2") int d2, @Param("d3") int d3,
+                         @Param("d4") int d4, @Param("d5") int d5);
+    
+    // Repair: recompute aggregates from approved reviews for every company that drifted
+    @Modifying
+    @Query(value = "UPDATE companies c SET " +
+                   "review_count = s.review_count, rating_sum = s.rating_sum, " +
+                   "rating_1_count = s.r1, rating_2_count = s.r2, rating_3_count = s.r3, " +
+                   "rating_4_count = s.r4, rating_5_count = s.r5, " +
+                   "rating_avg = CASE WHEN s.review_count > 0 THEN ROUND(s.rating_sum::numeric / s.review_count, 2) ELSE 0 END " +
+                   "FROM (" +
+                   "  SELECT co.id, COUNT(r.id)::INT AS review_count, COALESCE(SUM(r.rating), 0) AS rating_sum, " +
+                   "         COUNT(r.id) FILTER (WHERE r.rating = 1)::INT AS r1, " +
+                   "         COUNT(r.id) FILTER (WHERE r.rating = 2)::INT AS r2, " +
+                   "         COUNT(r.id) FILTER (WHERE r.rating = 3)::INT AS r3, " +
+                   "         COUNT(r.id) FILTER (WHERE r.rating = 4)::INT AS r4, " +
+                   "         COUNT(r.id) FILTER (WHERE r.rating = 5)::INT AS r5 " +
+                   "  FROM companies co " +
+                   "  LEFT JOIN company_reviews r ON r.company_id = co.id AND r.status = 'APPROVED' " +
+                   "  GROUP BY co.id" +
+                   ") s " +
+                   "WHERE c.id = s.id AND (c.review_count IS DISTINCT FROM s.review_count " +
+                   "  OR c.rating_sum <> s.rating_sum OR c.rating_1_count <> s.r1 OR c.rating_2_count <> s.r2 " +
+                   "  OR c.rating_3_count <> s.r3 OR c.rating_4_count <> s.r4 OR c.rating_5_count <> s.r5)",
+           nativeQuery = true)
+    int reconcileRatingAggregates();
 }
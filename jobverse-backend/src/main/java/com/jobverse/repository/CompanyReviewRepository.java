@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,17 +34,28 @@ public interface CompanyReviewRepository extends JpaRepository<CompanyReview, Lo
            "WHERE r.id = :id")
     Optional<CompanyReview> findByIdWithDetails(@Param("id") Long id);
 
+    // Row lock for a status/rating transition; read the review only after taking it (see CompanyReviewService)
+    @Query(value = "SELECT id FROM company_reviews WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
     boolean existsByCompanyIdAndUserId(Long companyId, Long userId);
 
-    @Query("SELECT AVG(r.rating) FROM CompanyReview r WHERE r.company.id = :companyId AND r.status = 'APPROVED'")
-    Double getAverageRating(@Param("companyId") Long companyId);
+    // ===== Moderation queue: keyset on (created_at, id), oldest first (idx_company_reviews_pending_queue) =====
 
-    @Query("SELECT COUNT(r) FROM CompanyReview r WHERE r.company.id = :companyId AND r.status = 'APPROVED'")
-    Long countApprovedReviews(@Param("companyId") Long companyId);
+    @Query("SELECT r.createdAt FROM CompanyReview r WHERE r.id = :id")
+    Optional<LocalDateTime> findCreatedAtById(@Param("id") Long id);
 
     @EntityGraph(attributePaths = {"company", "user", "user.profile"})
-    @Query("SELECT r FROM CompanyReview r WHERE r.status = :status ORDER BY r.createdAt DESC")
-    Page<CompanyReview> findByStatusWithDetails(@Param("status") CompanyReview.ReviewStatus status, Pageable pageable);
+    @Query("SELECT r FROM CompanyReview r WHERE r.status = 'PENDING' ORDER BY r.createdAt ASC, r.id ASC")
+    List<CompanyReview> findPendingQueue(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"company", "user", "user.profile"})
+    @Query("SELECT r FROM CompanyReview r WHERE r.status = 'PENDING' " +
+           "AND (r.createdAt > :cursorCreatedAt OR (r.createdAt = :cursorCreatedAt AND r.id > :cursorId)) " +
+           "ORDER BY r.createdAt ASC, r.id ASC")
+    List<CompanyReview> findPendingQueueAfter(@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                              @Param("cursorId") Long cursorId,
+                                              Pageable pageable);
 
     List<CompanyReview> findTop5ByCompanyIdAndStatusOrderByCreatedAtDesc(Long companyId, CompanyReview.ReviewStatus status);
 
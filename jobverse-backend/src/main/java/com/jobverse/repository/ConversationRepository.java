@@ -4,28 +4,72 @@ import com.jobverse.entity.Conversation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
     
+    // Load a conversation with everything needed to authorize and label its messages
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.company co LEFT JOIN FETCH co.owner " +
+           "JOIN FETCH c.candidate ca LEFT JOIN FETCH ca.profile WHERE c.id = :id")
+    Optional<Conversation> findWithParticipantsById(Long id);
+    
+    // Same, for a batch of conversations (labels messages that span an inbox in one query)
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.company co LEFT JOIN FETCH co.owner " +
+           "JOIN FETCH c.candidate ca LEFT JOIN FETCH ca.profile WHERE c.id IN :ids")
+    List<Conversation> findWithParticipantsByIdIn(Collection<Long> ids);
+    
     // Find conversation without job context
     Optional<Conversation> findByCompanyIdAndCandidateIdAndJobIsNull(Long companyId, Long candidateId);
     
     // Find conversation with job context
     Optional<Conversation> findByCompanyIdAndCandidateIdAndJobId(Long companyId, Long candidateId, Long jobId);
     
-    // Get all conversations for a candidate
-    @Query("SELECT c FROM Conversation c WHERE c.candidate.id = :candidateId ORDER BY c.lastMessageAt DESC NULLS LAST")
+    // Get all conversations for a candidate (inbox: summary columns + fetched display data, one query)
+    @Query(value = "SELECT c FROM Conversation c " +
+                   "JOIN FETCH c.company JOIN FETCH c.candidate ca " +
+                   "LEFT JOIN FETCH ca.profile LEFT JOIN FETCH ca.company LEFT JOIN FETCH c.job " +
+                   "WHERE c.candidate.id = :candidateId ORDER BY c.lastMessageAt DESC NULLS LAST",
+           countQuery = "SELECT COUNT(c) FROM Conversation c WHERE c.candidate.id = :candidateId")
     Page<Conversation> findByCandidateIdOrderByLastMessageAtDesc(Long candidateId, Pageable pageable);
     
-    // Get all conversations for a company
-    @Query("SELECT c FROM Conversation c WHERE c.company.id = :companyId ORDER BY c.lastMessageAt DESC NULLS LAST")
+    // Get all conversations for a company (inbox: summary columns + fetched display data, one query)
+    @Query(value = "SELECT c FROM Conversation c " +
+                   "JOIN FETCH c.company JOIN FETCH c.candidate ca " +
+                   "LEFT JOIN FETCH ca.profile LEFT JOIN FETCH ca.company LEFT JOIN FETCH c.job " +
+                   "WHERE c.company.id = :companyId ORDER BY c.lastMessageAt DESC NULLS LAST",
+           countQuery = "SELECT COUNT(c) FROM Conversation c WHERE c.company.id = :companyId")
     Page<Conversation> findByCompanyIdOrderByLastMessageAtDesc(Long companyId, Pageable pageable);
     
+    // Update the inbox summary for a new message and bump the recipient's unread counter, atomically
+    @Modifying
+    @Query(value = "UPDATE conversations SET " +
+                   "last_message_id = :messageId, " +
+                   "last_message_preview = :preview, " +
+                   "last_message_sender_type = :senderType, " +
+                   "last_message_at = :sentAt, " +
+                   "company_unread_count = company_unread_count + CASE WHEN :senderType = 'CANDIDATE' THEN 1 ELSE 0 END, " +
+                   "candidate_unread_count = candidate_unread_count + CASE WHEN :senderType = 'COMPANY' THEN 1 ELSE 0 END, " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :conversationId",
+           nativeQuery = true)
+    int recordMessage(Long conversationId, Long messageId, String preview, String senderType, LocalDateTime sentAt);
+    
+    @Modifying
+    @Query(value = "UPDATE conversations SET company_unread_count = 0 WHERE id = :conversationId", nativeQuery = true)
+    int resetUnreadForCompany(Long conversationId);
+    
+    @Modifying
+    @Query(value = "UPDATE conversations SET candidate_unread_count = 0 WHERE id = :conversationId", nativeQuery = true)
+    int resetUnreadForCandidate(Long conversationId);
+    
     // Check if conversation belongs to candidate
     boolean existsByIdAndCandidateId(Long id, Long candidateId);
     
@@ -0,0 +1,43 @@
+package com.jobverse.repository;
+
+import com.jobverse.entity.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Insert unless the same dedupe key is already queued
+    @Modifying
+    @Query(value = "INSERT INTO email_outbox (dedupe_key, recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+                   "VALUES (:dedupeKey, :recipient, :subject, :body, 'PENDING', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (dedupe_key) DO NOTHING",
+           nativeQuery = true)
+    int enqueue(@Param("dedupeKey") String dedupeKey,
+                @Param("recipient") String recipient,
+                @Param("subject") String subject,
+                @Param("body") String body);
+
+    // Claim a batch of due rows; concurrent workers skip rows already locked by others.
+    // SENDING rows whose lock is older than staleBefore belong to a crashed worker and are retried.
+    @Query(value = "SELECT * FROM email_outbox " +
+                   "WHERE (status = 'PENDING' AND next_attempt_at <= CURRENT_TIMESTAMP) " +
+                   "   OR (status = 'SENDING' AND locked_at < :staleBefore) " +
+                   "ORDER BY next_attempt_at " +
+                   "LIMIT :batchSize " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<EmailOutbox> claimBatch(@Param("batchSize") int batchSize, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Query("SELECT COUNT(e) FROM EmailOutbox e WHERE e.status = 'PENDING'")
+    long countPending();
+
+    @Query("SELECT MIN(e.createdAt) FROM EmailOutbox e WHERE e.status = 'PENDING'")
+    LocalDateTime findOldestPendingCreatedAt();
+}
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +37,9 @@ public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificatio
            "WHERE j.id = :id")
     Optional<Job> findByIdWithDetails(Long id);
 
+    @Query("SELECT j FROM Job j LEFT JOIN FETCH j.company WHERE j.id IN :ids")
+    List<Job> findAllByIdWithCompany(Collection<Long> ids);
+
     @Query("SELECT j FROM Job j " +
            "LEFT JOIN FETCH j.company " +
            "LEFT JOIN FETCH j.postedBy " +
@@ -56,6 +60,13 @@ public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificatio
     @Query("SELECT COUNT(j) FROM Job j WHERE j.company.id = :companyId AND j.status = :status")
     Integer countByCompanyIdAndStatus(Long companyId, Job.JobStatus status);
 
+    // Per-company counts for a whole page of companies in one grouped query (avoids N+1 on listings)
+    @Query("SELECT j.company.id, COUNT(j) FROM Job j " +
+           "WHERE j.company.id IN :companyIds AND j.status = :status " +
+           "GROUP BY j.company.id")
+    List<Object[]> countByCompanyIdsAndStatus(@Param("companyIds") Collection<Long> companyIds,
+                                              @Param("status") Job.JobStatus status);
+
     @Query("SELECT j FROM Job j WHERE j.isFeatured = true AND j.status = 'ACTIVE' ORDER BY j.createdAt DESC")
     List<Job> findFeaturedJobs(Pageable pageable);
     
@@ -88,6 +99,9 @@ public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificatio
     @Query("SELECT COUNT(j) FROM Job j WHERE j.status = 'ACTIVE'")
     long countActiveJobs();
     
+    @Query("SELECT j.category.id, COUNT(j) FROM Job j WHERE j.status = 'ACTIVE' AND j.category IS NOT NULL GROUP BY j.category.id")
+    List<Object[]> countActiveJobsByCategory();
+    
     @Query("SELECT j.location, COUNT(j) FROM Job j WHERE j.status = 'ACTIVE' GROUP BY j.location ORDER BY COUNT(j) DESC")
     List<Object[]> countJobsByLocation();
     
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
@@ -16,18 +18,75 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     // Get messages for a conversation (paged, newest first)
     Page<Message> findByConversationIdOrderByCreatedAtDesc(Long conversationId, Pageable pageable);
     
-    // Get latest message for a conversation (uses Spring Data naming convention)
-    Message findFirstByConversationIdOrderByCreatedAtDesc(Long conversationId);
+    // ===== Cursor paging (keyset on created_at, id; served by idx_messages_created) =====
     
-    // Count unread messages for candidate in a conversation
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.conversation.id = :conversationId " +
-           "AND m.senderType = 'COMPANY' AND m.readAt IS NULL")
-    long countUnreadForCandidate(Long conversationId);
+    @Query("SELECT m.createdAt FROM Message m WHERE m.id = :messageId AND m.conversation.id = :conversationId")
+    Optional<LocalDateTime> findCreatedAtByIdAndConversationId(Long messageId, Long conversationId);
     
-    // Count unread messages for company in a conversation
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.conversation.id = :conversationId " +
-           "AND m.senderType = 'CANDIDATE' AND m.readAt IS NULL")
-    long countUnreadForCompany(Long conversationId);
+    // Newest messages first
+    @Query("SELECT m FROM Message m WHERE m.conversation.id = :conversationId " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findLatest(Long conversationId, Pageable pageable);
+    
+    // Messages older than the cursor, newest first
+    @Query("SELECT m FROM Message m WHERE m.conversation.id = :conversationId " +
+           "AND (m.createdAt < :cursorCreatedAt OR (m.createdAt = :cursorCreatedAt AND m.id < :cursorId)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findBefore(Long conversationId, LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
+    
+    // Messages newer than the cursor, oldest first
+    @Query("SELECT m FROM Message m WHERE m.conversation.id = :conversationId " +
+           "AND (m.createdAt > :cursorCreatedAt OR (m.createdAt = :cursorCreatedAt AND m.id > :cursorId)) " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findAfter(Long conversationId, LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
+    
+    // Newest message from one side that has been read (the "read up to here" marker)
+    @Query("SELECT m.id FROM Message m WHERE m.conversation.id = :conversationId " +
+           "AND m.senderType = :senderType AND m.readAt IS NOT NULL " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Long> findNewestReadIds(Long conversationId, Message.SenderType senderType, Pageable pageable);
+    
+    // ===== Search on content_normalized (trigram GIN index idx_messages_content_trgm) =====
+    
+    @Query(value = "SELECT m.* FROM messages m " +
+                   "WHERE m.conversation_id = :conversationId AND m.content_normalized LIKE :pattern ESCAPE '\\' " +
+                   "ORDER BY m.created_at DESC, m.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Message> searchInConversation(Long conversationId, String pattern, int limit);
+    
+    @Query(value = "SELECT m.* FROM messages m JOIN conversations c ON c.id = m.conversation_id " +
+                   "WHERE c.company_id = :companyId AND m.content_normalized LIKE :pattern ESCAPE '\\' " +
+                   "ORDER BY m.created_at DESC, m.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Message> searchForCompany(Long companyId, String pattern, int limit);
+    
+    @Query(value = "SELECT m.* FROM messages m JOIN conversations c ON c.id = m.conversation_id " +
+                   "WHERE c.candidate_user_id = :candidateId AND m.content_normalized LIKE :pattern ESCAPE '\\' " +
+                   "ORDER BY m.created_at DESC, m.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Message> searchForCandidate(Long candidateId, String pattern, int limit);
+    
+    // Reconnect cursor, only if it is in one of the company's conversations
+    @Query("SELECT m FROM Message m WHERE m.id = :messageId AND m.conversation.company.id = :companyId")
+    Optional<Message> findByIdAndCompanyId(Long messageId, Long companyId);
+    
+    // Reconnect cursor, only if it is in one of the candidate's conversations
+    @Query("SELECT m FROM Message m WHERE m.id = :messageId AND m.conversation.candidate.id = :candidateId")
+    Optional<Message> findByIdAndCandidateId(Long messageId, Long candidateId);
+    
+    // Reconnect catch-up: messages after (afterAt, afterId) in created_at order, any of the company's conversations
+    @Query("SELECT m FROM Message m JOIN m.conversation c " +
+           "WHERE c.company.id = :companyId " +
+           "AND (m.createdAt > :afterAt OR (m.createdAt = :afterAt AND m.id > :afterId)) " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findByCompanySince(Long companyId, LocalDateTime afterAt, Long afterId, Pageable pageable);
+    
+    // Reconnect catch-up: messages after (afterAt, afterId) in created_at order, any of the candidate's conversations
+    @Query("SELECT m FROM Message m JOIN m.conversation c " +
+           "WHERE c.candidate.id = :candidateId " +
+           "AND (m.createdAt > :afterAt OR (m.createdAt = :afterAt AND m.id > :afterId)) " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findByCandidateSince(Long candidateId, LocalDateTime afterAt, Long afterId, Pageable pageable);
     
     // Mark messages as read
     @Modifying
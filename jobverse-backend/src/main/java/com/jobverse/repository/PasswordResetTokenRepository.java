@@ -0,0 +1,31 @@
+package com.jobverse.repository;
+
+import com.jobverse.entity.PasswordResetToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+
+    // Single use: the row lock taken by the UPDATE lets exactly one of two concurrent resets claim it
+    @Modifying
+    @Query(value = "UPDATE password_reset_tokens SET used_at = CURRENT_TIMESTAMP " +
+                   "WHERE token_hash = :hash AND used_at IS NULL AND expires_at > CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int consume(@Param("hash") String tokenHash);
+
+    @Query("SELECT t.userId FROM PasswordResetToken t WHERE t.tokenHash = :hash")
+    Optional<Long> findUserIdByTokenHash(@Param("hash") String tokenHash);
+
+    // After a successful reset, every other link sent to the user stops working
+    @Modifying
+    @Query(value = "UPDATE password_reset_tokens SET used_at = CURRENT_TIMESTAMP " +
+                   "WHERE user_id = :userId AND used_at IS NULL",
+           nativeQuery = true)
+    int invalidateAllForUser(@Param("userId") Long userId);
+}
@@ -2,8 +2,12 @@ package com.jobverse.repository;
 
 import com.jobverse.entity.Resume;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +19,36 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
     Optional<Resume> findByUserIdAndIsPrimaryTrue(Long userId);
 
     boolean existsByUserIdAndIsPrimaryTrue(Long userId);
+
+    // Persistent tier of ResumeAnalysisCache: any analyzed resume with the same normalized text
+    @Query(value = "SELECT CAST(ai_analysis AS TEXT) FROM resumes " +
+                   "WHERE analysis_hash = :hash AND parse_status = 'ANALYZED' AND ai_analysis IS NOT NULL " +
+                   "ORDER BY processed_at DESC LIMIT 1",
+           nativeQuery = true)
+    Optional<String> findAnalysisJsonByHash(@Param("hash") String hash);
+
+    // Ingestion worker claim: waiting uploads plus PARSING rows abandoned by a crashed node.
+    // Must run inside a transaction that marks the rows PARSING before committing.
+    @Query(value = "SELECT * FROM resumes " +
+                   "WHERE parse_status = 'PENDING' " +
+                   "   OR (parse_status = 'PARSING' AND parse_started_at < :staleBefore) " +
+                   "ORDER BY id " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Resume> claimForParsing(@Param("limit") int limit, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // Claim one fresh upload for immediate dispatch; 0 if a sweeper got it first
+    @Modifying
+    @Query(value = "UPDATE resumes SET parse_status = 'PARSING', parse_started_at = :now " +
+                   "WHERE id = :id AND parse_status = 'PENDING'",
+           nativeQuery = true)
+    int markParsing(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Hand a claimed row back when the worker pool is full
+    @Modifying
+    @Query(value = "UPDATE resumes SET parse_status = 'PENDING', parse_started_at = NULL " +
+                   "WHERE id = :id AND parse_status = 'PARSING'",
+           nativeQuery = true)
+    int releaseClaim(@Param("id") Long id);
 }
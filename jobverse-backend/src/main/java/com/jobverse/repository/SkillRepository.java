@@ -18,22 +18,6 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     
     boolean existsByName(String name);
     
-    // Get trending skills - using simple query with isTrending flag first
-    // Falls back to order by jobCount if no trending skills
-    @Query("SELECT s FROM Skill s WHERE s.isTrending = true ORDER BY s.jobCount DESC")
-    List<Skill> findTrendingSkills();
-    
-    // Get top skills by job count (alternative if no trending flags set)
-    @Query("SELECT s FROM Skill s ORDER BY s.jobCount DESC")
-    List<Skill> findTopSkillsByJobCount();
-    
-    // Count jobs for a specific skill using native query
-    @Query(value = "SELECT COUNT(DISTINCT j.id) FROM jobs j " +
-                   "JOIN job_skills js ON js.job_id = j.id " +
-                   "WHERE js.skill_id = :skillId AND j.status = 'ACTIVE'", 
-           nativeQuery = true)
-    Integer countActiveJobsBySkillId(@Param("skillId") Long skillId);
-    
     @Query("SELECT s FROM Skill s WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<Skill> searchByName(@Param("query") String query);
     
@@ -0,0 +1,56 @@
+package com.jobverse.security;
+
+import com.jobverse.service.ChatService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Only participants may subscribe to a conversation's topics (e.g. typing indicators)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final Pattern CONVERSATION_TOPIC = Pattern.compile("^/topic/chat/conversations/(\\d+)/.+$");
+
+    private final ChatService chatService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SUBSCRIBE || accessor.getDestination() == null) {
+            return message;
+        }
+
+        Matcher matcher = CONVERSATION_TOPIC.matcher(accessor.getDestination());
+        if (!matcher.matches()) {
+            return message;
+        }
+
+        if (!(accessor.getUser() instanceof Authentication authentication)
+                || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            throw new MessageDeliveryException("Authentication required");
+        }
+
+        try {
+            chatService.verifyAccess(Long.parseLong(matcher.group(1)), userPrincipal.getId());
+        } catch (Exception e) {
+            log.warn("⚠️ Rejected subscription to {} by user {}", accessor.getDestination(), userPrincipal.getId());
+            throw new MessageDeliveryException("You don't have access to this conversation");
+        }
+        return message;
+    }
+}
@@ -62,7 +62,9 @@ public class JwtTokenProvider {
     
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        // Purpose-scoped tokens (password reset links sent before V25) never authenticate a session
+        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token)
+                && extractClaim(token, claims -> claims.get("purpose")) == null;
     }
     
     public boolean validateToken(String token) {
@@ -0,0 +1,56 @@
+package com.jobverse.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Authenticates STOMP CONNECT frames with the same JWT used by the REST API.
+ * The client sends "Authorization: Bearer <token>" as a native STOMP header;
+ * the resulting principal (name = email) is used for /user/queue/** destinations.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserDetailsService userDetailsService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            String jwt = bearerToken.substring(7);
+            try {
+                if (tokenProvider.validateToken(jwt)) {
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(tokenProvider.extractUsername(jwt));
+                    if (tokenProvider.isTokenValid(jwt, userDetails)) {
+                        accessor.setUser(new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities()));
+                    }
+                }
+            } catch (Exception ex) {
+                log.error("Could not authenticate STOMP connection", ex);
+            }
+        }
+
+        // Anonymous connections still get broadcast topics, but no chat delivery
+        return message;
+    }
+}
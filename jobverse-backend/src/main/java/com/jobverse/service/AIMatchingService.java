@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -20,6 +21,7 @@ import java.util.stream.Collectors;
 public class AIMatchingService {
     
     private final UserRepository userRepository;
+    private final SkillTaxonomyService skillTaxonomyService;
     
     /**
      * Calculate match score between a user and a job
@@ -28,30 +30,29 @@ public class AIMatchingService {
         User user = userRepository.findByIdWithProfile(userId).orElse(null);
         if (user == null) return null;
         
-        // Get user skills
-        Set<String> userSkillNames = user.getSkills().stream()
-                .map(us -> us.getSkill().getName().toLowerCase())
+        // Compare canonical skills, so "ReactJS" on a profile matches "React" on a job
+        Set<Long> userSkillIds = user.getSkills().stream()
+                .map(us -> skillTaxonomyService.canonical(us.getSkill().getId(), us.getSkill().getName()).id())
                 .collect(Collectors.toSet());
         
-        // Get job required skills
-        Set<String> jobSkillNames = job.getSkills().stream()
-                .map(js -> js.getSkill().getName().toLowerCase())
-                .collect(Collectors.toSet());
+        Set<SkillTaxonomyService.SkillRef> jobSkills = job.getSkills().stream()
+                .map(js -> skillTaxonomyService.canonical(js.getSkill().getId(), js.getSkill().getName()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
         
         // Calculate skill match
         List<String> matchedSkills = new ArrayList<>();
         List<String> missingSkills = new ArrayList<>();
         
-        for (String jobSkill : jobSkillNames) {
-            if (userSkillNames.contains(jobSkill)) {
-                matchedSkills.add(jobSkill);
+        for (SkillTaxonomyService.SkillRef jobSkill : jobSkills) {
+            if (userSkillIds.contains(jobSkill.id())) {
+                matchedSkills.add(jobSkill.name());
             } else {
-                missingSkills.add(jobSkill);
+                missingSkills.add(jobSkill.name());
             }
         }
         
-        int skillMatch = jobSkillNames.isEmpty() ? 100 : 
-                (int) ((matchedSkills.size() * 100.0) / jobSkillNames.size());
+        int skillMatch = jobSkills.isEmpty() ? 100 : 
+                (int) ((matchedSkills.size() * 100.0) / jobSkills.size());
         
         // Calculate experience match
         int experienceMatch = calculateExperienceMatch(user, job);
@@ -1,70 +1,67 @@
 package com.jobverse.service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AIService {
 
-    @Value("${openai.api-key:}")
-    private String apiKey;
+    private final LlmGateway llmGateway;
 
-    @Value("${openai.model:gpt-3.5-turbo}")
-    private String model;
+    private static final ChatIntentClassifier INTENT_CLASSIFIER = ChatIntentClassifier.getDefault();
 
-    @Value("${openai.enabled:false}")
-    private boolean openaiEnabled;
+    private static final Map<String, Object> CHAT_OPTIONS = Map.of(
+        "max_tokens", 800,
+        "temperature", 0.8,
+        "top_p", 0.9,
+        "frequency_penalty", 0.3,
+        "presence_penalty", 0.3
+    );
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static final Pattern MOCK_WORD = Pattern.compile("\\S+\\s*|\\s+");
+    private static final int MOCK_CHUNK_CHARS = 24;
 
     /**
      * Enhanced AI Chat with Smart Mock Responses
      * Sử dụng thuật toán NLP đơn giản để phân tích ý định và ngữ cảnh
+     * Completes without blocking the caller; any LLM failure falls back to the smart mock.
      */
-    public String chat(String userMessage, String context) {
+    public CompletableFuture<String> chat(String userMessage, String context) {
         log.info("AI Chat Request - Message: '{}', Has Context: {}",
             userMessage.substring(0, Math.min(50, userMessage.length())),
             context != null && !context.isBlank());
 
         // Kiểm tra OpenAI configuration
-        boolean canUseOpenAI = apiKey != null && !apiKey.isBlank() &&
-                               openaiEnabled && !apiKey.contains("your-api-key");
-
-        if (!canUseOpenAI) {
+        if (!llmGateway.isEnabled()) {
             log.info("Using Enhanced Smart Mock AI (OpenAI disabled or not configured)");
-            return getSmartMockResponse(userMessage, context);
+            return CompletableFuture.completedFuture(getSmartMockResponse(userMessage, context));
         }
 
-        try {
-            log.info("Attempting OpenAI API call...");
-            String response = chatWithOpenAI(userMessage, context);
-            log.info("OpenAI API call successful");
-            return response;
-        } catch (Exception e) {
-            log.error("OpenAI API failed: {} - Falling back to Smart Mock AI", e.getMessage());
-            return getSmartMockResponse(userMessage, context);
-        }
+        return chatWithOpenAI(userMessage, context)
+                .exceptionally(e -> {
+                    log.error("OpenAI API failed: {} - Falling back to Smart Mock AI", e.getMessage());
+                    return getSmartMockResponse(userMessage, context);
+                });
     }
 
     /**
      * Direct OpenAI call for interview evaluation - bypasses intent matching
      * This ensures user answers are properly evaluated by AI
      */
-    public String evaluateInterviewAnswer(String question, String userAnswer) {
+    public CompletableFuture<String> evaluateInterviewAnswer(String question, String userAnswer) {
         log.info("Interview Evaluation Request - Question: '{}'", 
             question.substring(0, Math.min(50, question.length())));
 
-        boolean canUseOpenAI = apiKey != null && !apiKey.isBlank() &&
-                               openaiEnabled && !apiKey.contains("your-api-key");
-
         String prompt = String.format("""
             Bạn là một interviewer chuyên nghiệp. Hãy đánh giá câu trả lời phỏng vấn sau:
 
@@ -90,64 +87,28 @@ public class AIService {
             Trả lời bằng tiếng Việt, thực tế và hữu ích.
             """, question, userAnswer);
 
-        if (!canUseOpenAI) {
+        if (!llmGateway.isEnabled()) {
             log.info("OpenAI not available - using mock evaluation");
-            return getMockEvaluation(question, userAnswer);
-        }
-
-        try {
-            log.info("Calling OpenAI for interview evaluation...");
-            String response = callOpenAIDirectly(prompt);
-            log.info("OpenAI evaluation successful");
-            return response;
-        } catch (Exception e) {
-            log.error("OpenAI evaluation failed: {} - Using mock evaluation", e.getMessage());
-            return getMockEvaluation(question, userAnswer);
+            return CompletableFuture.completedFuture(getMockEvaluation(question, userAnswer));
         }
-    }
-
-    /**
-     * Direct OpenAI API call without career coach system prompt
-     */
-    private String callOpenAIDirectly(String prompt) {
-        Map<String, Object> request = Map.of(
-            "model", model,
-            "messages", List.of(
-                Map.of("role", "system", "content", "Bạn là một chuyên gia phỏng vấn IT với nhiều năm kinh nghiệm. Hãy đánh giá câu trả lời một cách công bằng, chi tiết và hữu ích."),
-                Map.of("role", "user", "content", prompt)
-            ),
-            "max_tokens", 1000,
-            "temperature", 0.7
-        );
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
-
-        ResponseEntity<Map> response = restTemplate.postForEntity(
-            "https://api.openai.com/v1/chat/completions",
-            entity,
-            Map.class
-        );
 
-        Map<String, Object> body = response.getBody();
-        List<Map<String, Object>> choices = (List<Map<String, Object>>) body.get("choices");
-        Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-
-        return (String) message.get("content");
+        log.info("Calling OpenAI for interview evaluation...");
+        return llmGateway.complete(
+                        "Bạn là một chuyên gia phỏng vấn IT với nhiều năm kinh nghiệm. Hãy đánh giá câu trả lời một cách công bằng, chi tiết và hữu ích.",
+                        prompt,
+                        Map.of("max_tokens", 1000, "temperature", 0.7))
+                .exceptionally(e -> {
+                    log.error("OpenAI evaluation failed: {} - Using mock evaluation", e.getMessage());
+                    return getMockEvaluation(question, userAnswer);
+                });
     }
 
     /**
      * Generate AI-powered sample answer for interview question
      */
-    public String generateInterviewAnswer(String question, String role, String experienceLevel) {
+    public CompletableFuture<String> generateInterviewAnswer(String question, String role, String experienceLevel) {
         log.info("Generating AI answer for question: {}", question.substring(0, Math.min(50, question.length())));
 
-        boolean canUseOpenAI = apiKey != null && !apiKey.isBlank() &&
-                               openaiEnabled && !apiKey.contains("your-api-key");
-
         String prompt = String.format("""
             Bạn là một ứng viên IT đang phỏng vấn cho vị trí %s với level %s.
             
@@ -173,46 +134,20 @@ public class AIService {
             - Trả lời bằng tiếng Việt, tự nhiên và chuyên nghiệp
             """, role, experienceLevel, question, experienceLevel);
 
-        if (!canUseOpenAI) {
+        if (!llmGateway.isEnabled()) {
             log.info("OpenAI not available - using mock answer generation");
-            return getMockGeneratedAnswer(question, role, experienceLevel);
+            return CompletableFuture.completedFuture(getMockGeneratedAnswer(question, role, experienceLevel));
         }
 
-        try {
-            log.info("Calling OpenAI to generate interview answer...");
-            
-            Map<String, Object> request = Map.of(
-                "model", model,
-                "messages", List.of(
-                    Map.of("role", "system", "content", "Bạn là một chuyên gia coaching phỏng vấn IT. Hãy đưa ra câu trả lời mẫu xuất sắc, thực tế và có thể áp dụng ngay."),
-                    Map.of("role", "user", "content", prompt)
-                ),
-                "max_tokens", 1200,
-                "temperature", 0.8
-            );
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
-
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                "https://api.openai.com/v1/chat/completions",
-                entity,
-                Map.class
-            );
-
-            Map<String, Object> body = response.getBody();
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) body.get("choices");
-            Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-
-            log.info("OpenAI answer generation successful");
-            return (String) message.get("content");
-        } catch (Exception e) {
-            log.error("OpenAI answer generation failed: {} - Using mock", e.getMessage());
-            return getMockGeneratedAnswer(question, role, experienceLevel);
-        }
+        log.info("Calling OpenAI to generate interview answer...");
+        return llmGateway.complete(
+                        "Bạn là một chuyên gia coaching phỏng vấn IT. Hãy đưa ra câu trả lời mẫu xuất sắc, thực tế và có thể áp dụng ngay.",
+                        prompt,
+                        Map.of("max_tokens", 1200, "temperature", 0.8))
+                .exceptionally(e -> {
+                    log.error("OpenAI answer generation failed: {} - Using mock", e.getMessage());
+                    return getMockGeneratedAnswer(question, role, experienceLevel);
+                });
     }
 
     /**
@@ -344,8 +279,70 @@ public class AIService {
         );
     }
 
-    private String chatWithOpenAI(String userMessage, String context) {
-        String systemPrompt = """
+    /**
+     * Streaming variant of chat: reply text is handed to onDelta chunk by chunk as OpenAI
+     * produces it. Falls back to the smart mock, sent in chunks, when OpenAI is off or fails
+     * before its first chunk; a failure after that fails the returned future, since part of
+     * the answer is already out. Completes with the source that answered ("openai" or "mock").
+     * Cancelling the returned future aborts the upstream call.
+     */
+    public CompletableFuture<String> streamChat(String userMessage, String context, Consumer<String> onDelta) {
+        if (!llmGateway.isEnabled()) {
+            streamMockResponse(userMessage, context, onDelta);
+            return CompletableFuture.completedFuture("mock");
+        }
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        CompletableFuture<Void> upstream = llmGateway.stream(chatSystemPrompt(context), userMessage, CHAT_OPTIONS, delta -> {
+            started.set(true);
+            onDelta.accept(delta);
+        });
+        upstream.whenComplete((ignored, error) -> {
+            if (error == null) {
+                result.complete("openai");
+            } else if (started.get() || result.isDone()) {
+                result.completeExceptionally(error);
+            } else {
+                log.error("OpenAI stream failed: {} - Falling back to Smart Mock AI", error.getMessage());
+                try {
+                    streamMockResponse(userMessage, context, onDelta);
+                    result.complete("mock");
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+        result.whenComplete((ignored, error) -> {
+            if (result.isCancelled()) {
+                upstream.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // Same text as the blocking mock, in word-aligned chunks so clients render it like a stream
+    private void streamMockResponse(String userMessage, String context, Consumer<String> onDelta) {
+        Matcher words = MOCK_WORD.matcher(getSmartMockResponse(userMessage, context));
+        StringBuilder chunk = new StringBuilder();
+        while (words.find()) {
+            chunk.append(words.group());
+            if (chunk.length() >= MOCK_CHUNK_CHARS) {
+                onDelta.accept(chunk.toString());
+                chunk.setLength(0);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            onDelta.accept(chunk.toString());
+        }
+    }
+
+    private CompletableFuture<String> chatWithOpenAI(String userMessage, String context) {
+        return llmGateway.complete(chatSystemPrompt(context), userMessage, CHAT_OPTIONS);
+    }
+
+    private String chatSystemPrompt(String context) {
+        return """
             Bạn là AI Career Coach chuyên nghiệp của JobVerse - nền tảng tuyển dụng IT hàng đầu Việt Nam.
 
             NHIỆM VỤ:
@@ -367,37 +364,6 @@ public class AIService {
             • Đưa ra roadmap, checklist cụ thể khi có thể
             • Hỏi thêm thông tin nếu cần để tư vấn chính xác hơn
             """ + (context != null ? "\n\nTHÔNG TIN ỨNG VIÊN:\n" + context : "");
-
-        Map<String, Object> request = Map.of(
-            "model", model,
-            "messages", List.of(
-                Map.of("role", "system", "content", systemPrompt),
-                Map.of("role", "user", "content", userMessage)
-            ),
-            "max_tokens", 800,
-            "temperature", 0.8,
-            "top_p", 0.9,
-            "frequency_penalty", 0.3,
-            "presence_penalty", 0.3
-        );
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
-
-        ResponseEntity<Map> response = restTemplate.postForEntity(
-            "https://api.openai.com/v1/chat/completions",
-            entity,
-            Map.class
-        );
-
-        Map<String, Object> body = response.getBody();
-        List<Map<String, Object>> choices = (List<Map<String, Object>>) body.get("choices");
-        Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-
-        return (String) message.get("content");
     }
 
     /**
@@ -407,8 +373,8 @@ public class AIService {
     private String getSmartMockResponse(String userMessage, String context) {
         String msg = userMessage.toLowerCase().trim();
 
-        // Intent Analysis - phân tích ý định người dùng
-        Intent intent = analyzeIntent(msg);
+        // Intent Analysis - phân tích ý định người dùng (one pass, weighted across intents)
+        ChatIntentClassifier.Intent intent = INTENT_CLASSIFIER.classify(userMessage);
 
         // Context Enhancement - tùy chỉnh response dựa trên context
         String contextInfo = "";
@@ -430,61 +396,6 @@ public class AIService {
         };
     }
 
-    /**
-     * Phân tích ý định người dùng từ message
-     */
-    private Intent analyzeIntent(String message) {
-        // Greeting patterns
-        if (matches(message, "hello", "hi", "xin chào", "chào", "hey", "hế lô")) {
-            return Intent.GREETING;
-        }
-
-        // CV/Resume patterns
-        if (matches(message, "cv", "resume", "hồ sơ", "sơ yếu lý lịch", "curriculum vitae")) {
-            return Intent.CV_REVIEW;
-        }
-
-        // Interview patterns
-        if (matches(message, "phỏng vấn", "interview", "buổi pv", "面试")) {
-            return Intent.INTERVIEW_PREP;
-        }
-
-        // Career advice patterns
-        if (matches(message, "nghề nghiệp", "career", "công việc", "chuyển ngành", "định hướng")) {
-            return Intent.CAREER_ADVICE;
-        }
-
-        // Salary patterns
-        if (matches(message, "lương", "salary", "thu nhập", "income", "compensation")) {
-            return Intent.SALARY_INQUIRY;
-        }
-
-        // Learning/Skills patterns
-        if (matches(message, "học", "learn", "kỹ năng", "skill", "roadmap", "khóa học", "course")) {
-            return Intent.SKILL_LEARNING;
-        }
-
-        // Job search patterns
-        if (matches(message, "tìm việc", "job search", "ứng tuyển", "apply", "việc làm")) {
-            return Intent.JOB_SEARCH;
-        }
-
-        // Resume parsing patterns
-        if (matches(message, "phân tích cv", "parse resume", "đọc cv", "analyze resume")) {
-            return Intent.RESUME_PARSE;
-        }
-
-        return Intent.GENERAL;
-    }
-
-    private boolean matches(String text, String... keywords) {
-        // Use word boundary matching to avoid partial matches (e.g., "help" matching "hey")
-        return Arrays.stream(keywords).anyMatch(keyword -> {
-            String pattern = "(?i)\\b" + java.util.regex.Pattern.quote(keyword) + "\\b";
-            return java.util.regex.Pattern.compile(pattern).matcher(text).find();
-        });
-    }
-
     private String extractContextInsight(String context) {
         if (context.contains("email")) {
             return "Hồ sơ của bạn đã được liên kết với hệ thống";
@@ -1010,19 +921,4 @@ public class AIService {
             Bạn muốn tôi hỗ trợ về vấn đề gì? Hãy hỏi cụ thể nhé! 💪
             """;
     }
-
-    /**
-     * Intent Enum for better code organization
-     */
-    private enum Intent {
-        GREETING,
-        CV_REVIEW,
-        INTERVIEW_PREP,
-        CAREER_ADVICE,
-        SALARY_INQUIRY,
-        SKILL_LEARNING,
-        JOB_SEARCH,
-        RESUME_PARSE,
-        GENERAL
-    }
 }
@@ -28,6 +28,8 @@ public class ApplicationService {
     private final UserRepository userRepository;
     private final ResumeRepository resumeRepository;
     private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final SkillStatsService skillStatsService;
 
     @Transactional
     public Application createApplication(ApplicationRequest request, Long userId) {
@@ -74,6 +76,10 @@ public class ApplicationService {
 
         // Increment application count
         jobRepository.incrementApplicationCount(job.getId());
+        skillStatsService.recordDemand(job.getId(), SkillStatsService.DemandSignal.APPLICATION);
+
+        // Queue confirmation/notice emails in the same transaction
+        emailService.sendApplicationEmails(saved);
 
         // Send notification to employer
         try {
@@ -127,6 +133,7 @@ public class ApplicationService {
 
         // Increment application count
         jobRepository.incrementApplicationCount(job.getId());
+        skillStatsService.recordDemand(job.getId(), SkillStatsService.DemandSignal.APPLICATION);
 
         // Eagerly fetch related entities to avoid LazyInitializationException
         if (saved.getJob() != null) {
@@ -139,6 +146,9 @@ public class ApplicationService {
             saved.getUser().getProfile().getFullName(); // Initialize profile
         }
 
+        // Queue confirmation/notice emails in the same transaction
+        emailService.sendApplicationEmails(saved);
+
         // Send notification (async, doesn't need to block)
         try {
             notificationService.sendApplicationNotification(saved);
@@ -4,17 +4,20 @@ import com.jobverse.dto.request.LoginRequest;
 import com.jobverse.dto.request.RegisterRequest;
 import com.jobverse.dto.response.AuthResponse;
 import com.jobverse.entity.Company;
+import com.jobverse.entity.PasswordResetToken;
 import com.jobverse.entity.User;
 import com.jobverse.entity.UserProfile;
 import com.jobverse.exception.BadRequestException;
 import com.jobverse.exception.ResourceNotFoundException;
 import com.jobverse.repository.CompanyRepository;
+import com.jobverse.repository.PasswordResetTokenRepository;
 import com.jobverse.repository.UserRepository;
 import com.jobverse.security.JwtTokenProvider;
 import com.jobverse.security.UserPrincipal;
 import com.github.slugify.Slugify;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -22,6 +25,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -33,8 +44,13 @@ public class AuthService {
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
     
     private final Slugify slugify = Slugify.builder().build();
+    private final SecureRandom secureRandom = new SecureRandom();
+    
+    @Value("${app.auth.password-reset.ttl-minutes:30}")
+    private long passwordResetTtlMinutes;
     
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -161,29 +177,54 @@ public class AuthService {
         log.info("User logged out");
     }
     
+    /**
+     * Reset links carry a random single-use token, valid for ttl-minutes; only its hash is stored.
+     * It is not a JWT, so a leaked link (outbox row, mailbox) can't be used as a session.
+     */
+    @Transactional
     public void sendPasswordResetEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
         
-        emailService.sendPasswordResetEmail(user);
+        byte[] random = new byte[32];
+        secureRandom.nextBytes(random);
+        String resetToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        passwordResetTokenRepository.save(PasswordResetToken.builder()
+                .userId(user.getId())
+                .tokenHash(sha256(resetToken))
+                .expiresAt(LocalDateTime.now().plusMinutes(passwordResetTtlMinutes))
+                .build());
+        
+        emailService.sendPasswordResetEmail(user, resetToken);
         log.info("Password reset email sent to: {}", email);
     }
     
     @Transactional
     public void resetPassword(String token, String newPassword) {
-        // Validate token and get user email
-        if (!tokenProvider.validateToken(token)) {
+        String tokenHash = token != null ? sha256(token) : null;
+        if (tokenHash == null || passwordResetTokenRepository.consume(tokenHash) == 0) {
             throw new BadRequestException("Invalid or expired reset token");
         }
         
-        String email = tokenProvider.extractUsername(token);
-        User user = userRepository.findByEmail(email)
+        Long userId = passwordResetTokenRepository.findUserIdByTokenHash(tokenHash)
+                .orElseThrow(() -> new BadRequestException("Invalid or expired reset token"));
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        passwordResetTokenRepository.invalidateAllForUser(userId);
         
-        log.info("Password reset for user: {}", email);
+        log.info("Password reset for user: {}", user.getEmail());
+    }
+    
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
     @Transactional
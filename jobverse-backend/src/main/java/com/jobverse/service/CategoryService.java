@@ -10,7 +10,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -19,22 +18,34 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeService categoryTreeService;
+
+    /**
+     * Served from the in-memory tree snapshot; its ETag lets clients revalidate cheaply
+     */
+    public CategoryTreeService.Snapshot getSnapshot() {
+        return categoryTreeService.getSnapshot();
+    }
 
     public List<CategoryResponse> getAllCategories() {
         log.info("📋 Fetching all active categories");
 
-        List<Category> categories = categoryRepository.findAllActiveOrderByJobCount();
+        List<CategoryResponse> categories = categoryTreeService.getSnapshot().flat();
 
         log.info("✅ Found {} categories", categories.size());
 
-        return categories.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return categories;
     }
 
     public CategoryResponse getCategoryById(Long id) {
         log.info("🔍 Fetching category by ID: {}", id);
 
+        CategoryResponse cached = categoryTreeService.getSnapshot().byId().get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Inactive categories are not in the snapshot
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
 
@@ -44,6 +55,11 @@ public class CategoryService {
     public CategoryResponse getCategoryBySlug(String slug) {
         log.info("🔍 Fetching category by slug: {}", slug);
 
+        CategoryResponse cached = categoryTreeService.getSnapshot().bySlug().get(slug);
+        if (cached != null) {
+            return cached;
+        }
+
         Category category = categoryRepository.findBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with slug: " + slug));
 
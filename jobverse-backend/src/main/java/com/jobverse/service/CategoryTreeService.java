@@ -0,0 +1,210 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.response.CategoryResponse;
+import com.jobverse.entity.Category;
+import com.jobverse.entity.Job;
+import com.jobverse.repository.CategoryRepository;
+import com.jobverse.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Category Tree Service
+ * Holds the active category tree as an immutable snapshot with per-category and rolled-up
+ * (subtree) ACTIVE job counts. Job status transitions adjust the counts after commit;
+ * a periodic rebuild picks up category edits and repairs any count drift.
+ * Every change swaps in a new snapshot with a new ETag.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryTreeService {
+
+    private static final int MAX_DEPTH = 32; // guards the parent walk against cycles in bad data
+
+    private final CategoryRepository categoryRepository;
+    private final JobRepository jobRepository;
+
+    // ETags are "<boot id>-<version>": unique across restarts without hashing the tree
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<State> state = new AtomicReference<>();
+
+    private record Node(Long id, String name, String slug, String icon, String description, Long parentId) {
+    }
+
+    // Source data plus the view built from it; replaced as a whole, never mutated
+    private record State(Map<Long, Node> nodes, Map<Long, Integer> directCounts, Snapshot snapshot) {
+    }
+
+    /**
+     * What the category endpoints serve. Shared between requests: treat as read-only.
+     */
+    public record Snapshot(
+            String etag,
+            List<CategoryResponse> flat,     // all active categories, most jobs first
+            List<CategoryResponse> tree,     // root categories with nested children
+            Map<Long, CategoryResponse> byId,
+            Map<String, CategoryResponse> bySlug
+    ) {
+    }
+
+    public Snapshot getSnapshot() {
+        State current = state.get();
+        return current != null ? current.snapshot() : rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * Reload categories and recount ACTIVE jobs per category. Keeps the current snapshot
+     * (and ETag) when nothing changed.
+     */
+    @Scheduled(fixedDelayString = "${app.categories.refresh-interval-ms:600000}", initialDelayString = "${app.categories.refresh-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public synchronized Snapshot rebuild() {
+        Map<Long, Node> nodes = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            if (Boolean.FALSE.equals(category.getIsActive())) {
+                continue;
+            }
+            nodes.put(category.getId(), new Node(
+                    category.getId(),
+                    category.getName(),
+                    category.getSlug(),
+                    category.getIcon(),
+                    category.getDescription(),
+                    category.getParent() != null ? category.getParent().getId() : null));
+        }
+
+        Map<Long, Integer> directCounts = new HashMap<>();
+        for (Object[] row : jobRepository.countActiveJobsByCategory()) {
+            directCounts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+
+        State current = state.get();
+        if (current != null && current.nodes().equals(nodes) && current.directCounts().equals(directCounts)) {
+            return current.snapshot();
+        }
+
+        State rebuilt = build(nodes, directCounts);
+        state.set(rebuilt);
+        log.info("📂 Category tree rebuilt: {} categories, etag {}", nodes.size(), rebuilt.snapshot().etag());
+        return rebuilt.snapshot();
+    }
+
+    // After commit only: a rolled-back status change must not move the counts
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        boolean wasActive = event.oldStatus() == Job.JobStatus.ACTIVE;
+        boolean isActive = event.newStatus() == Job.JobStatus.ACTIVE;
+        if (event.categoryId() == null || wasActive == isActive) {
+            return;
+        }
+        applyDelta(event.categoryId(), isActive ? 1 : -1);
+    }
+
+    private synchronized void applyDelta(Long categoryId, int delta) {
+        State current = state.get();
+        if (current == null) {
+            return; // first read builds from the database anyway
+        }
+
+        Map<Long, Integer> directCounts = new HashMap<>(current.directCounts());
+        directCounts.merge(categoryId, delta, (a, b) -> Math.max(0, a + b));
+        state.set(build(current.nodes(), directCounts));
+    }
+
+    private State build(Map<Long, Node> nodes, Map<Long, Integer> directCounts) {
+        // Roll each category's own count up through its ancestors
+        Map<Long, Integer> subtreeCounts = new HashMap<>();
+        directCounts.forEach((categoryId, count) -> {
+            Long id = categoryId;
+            for (int depth = 0; id != null && nodes.containsKey(id) && depth < MAX_DEPTH; depth++) {
+                subtreeCounts.merge(id, count, Integer::sum);
+                id = nodes.get(id).parentId();
+            }
+        });
+
+        Map<Long, List<Node>> childrenByParent = new HashMap<>();
+        List<Node> roots = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            // Children of inactive/missing parents are promoted to roots
+            if (node.parentId() != null && nodes.containsKey(node.parentId())) {
+                childrenByParent.computeIfAbsent(node.parentId(), k -> new ArrayList<>()).add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+
+        Map<Long, CategoryResponse> byId = new HashMap<>();
+        Map<String, CategoryResponse> bySlug = new HashMap<>();
+        for (Node node : nodes.values()) {
+            CategoryResponse response = toResponse(node, directCounts, subtreeCounts);
+            byId.put(node.id(), response);
+            bySlug.put(node.slug(), response);
+        }
+
+        List<CategoryResponse> flat = byId.values().stream()
+                .sorted(Comparator.comparing(CategoryResponse::getJobCount).reversed()
+                        .thenComparing(CategoryResponse::getName))
+                .toList();
+
+        List<CategoryResponse> tree = roots.stream()
+                .sorted(Comparator.comparing(Node::name))
+                .map(root -> toTreeNode(root, childrenByParent, directCounts, subtreeCounts, new HashSet<>()))
+                .toList();
+
+        String etag = "\"" + bootId + "-" + versions.incrementAndGet() + "\"";
+        Snapshot snapshot = new Snapshot(etag, flat, tree, Map.copyOf(byId), Map.copyOf(bySlug));
+        return new State(Map.copyOf(nodes), Map.copyOf(directCounts), snapshot);
+    }
+
+    private CategoryResponse toTreeNode(Node node, Map<Long, List<Node>> childrenByParent,
+                                        Map<Long, Integer> directCounts, Map<Long, Integer> subtreeCounts,
+                                        Set<Long> path) {
+        CategoryResponse response = toResponse(node, directCounts, subtreeCounts);
+        if (path.add(node.id()) && path.size() <= MAX_DEPTH) {
+            response.setChildren(childrenByParent.getOrDefault(node.id(), List.of()).stream()
+                    .filter(child -> !path.contains(child.id()))
+                    .sorted(Comparator.comparing(Node::name))
+                    .map(child -> toTreeNode(child, childrenByParent, directCounts, subtreeCounts, path))
+                    .toList());
+            path.remove(node.id());
+        }
+        return response;
+    }
+
+    private CategoryResponse toResponse(Node node, Map<Long, Integer> directCounts, Map<Long, Integer> subtreeCounts) {
+        return CategoryResponse.builder()
+                .id(node.id())
+                .name(node.name())
+                .slug(node.slug())
+                .icon(node.icon())
+                .description(node.description())
+                .parentId(node.parentId())
+                .jobCount(subtreeCounts.getOrDefault(node.id(), 0))
+                .directJobCount(directCounts.getOrDefault(node.id(), 0))
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.jobverse.service;
+
+import com.jobverse.entity.Conversation;
+import com.jobverse.entity.Message;
+import com.jobverse.entity.User;
+import com.jobverse.util.BoundedTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * In-memory authorization cache for chat.
+ * - (userId, conversationId) -> side the user speaks for + display data of both participants
+ * - ownerId -> companyId for employers
+ * Entries expire after a TTL, each map keeps its max-entries most recently used;
+ * role/status changes evict explicitly (see AdminController).
+ * Company ownership never changes after registration (one company per employer, V8), and
+ * company name/logo changes show up once the TTL runs out.
+ */
+@Slf4j
+@Component
+public class ChatAccessCache {
+
+    private final BoundedTtlCache<AccessKey, Access> accessByUserAndConversation;
+    private final BoundedTtlCache<Long, Long> companyIdByOwner;
+
+    private record AccessKey(Long userId, Long conversationId) {
+    }
+
+    public ChatAccessCache(@Value("${app.chat.access-cache.ttl-seconds:600}") long ttlSeconds,
+                           @Value("${app.chat.access-cache.max-entries:100000}") int maxEntries) {
+        this.accessByUserAndConversation = new BoundedTtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+        this.companyIdByOwner = new BoundedTtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * Who is allowed in a conversation and what to show for them (no entity references, safe to share)
+     */
+    public record Participants(
+            Long conversationId,
+            Long companyId,
+            String companyName,
+            String companyLogoUrl,
+            Long ownerUserId,
+            String ownerEmail,
+            Long candidateUserId,
+            String candidateEmail,
+            String candidateName,
+            String candidateAvatarUrl
+    ) {
+        public static Participants from(Conversation conversation) {
+            User candidate = conversation.getCandidate();
+            User owner = conversation.getCompany().getOwner();
+            return new Participants(
+                    conversation.getId(),
+                    conversation.getCompany().getId(),
+                    conversation.getCompany().getName(),
+                    conversation.getCompany().getLogoUrl(),
+                    owner != null ? owner.getId() : null,
+                    owner != null ? owner.getEmail() : null,
+                    candidate.getId(),
+                    candidate.getEmail(),
+                    candidate.getProfile() != null ? candidate.getProfile().getFullName() : candidate.getEmail(),
+                    candidate.getProfile() != null ? candidate.getProfile().getAvatarUrl() : null
+            );
+        }
+    }
+
+    /**
+     * The side (COMPANY or CANDIDATE) a user speaks for in a conversation
+     */
+    public record Access(Message.SenderType side, Participants participants) {
+        public Long senderId() {
+            return side == Message.SenderType.COMPANY ? participants.companyId() : participants.candidateUserId();
+        }
+    }
+
+    /**
+     * Cached access, or the loader's result (which throws when access is denied; denials are not cached)
+     */
+    public Access getAccess(Long userId, Long conversationId, Supplier<Access> loader) {
+        AccessKey key = new AccessKey(userId, conversationId);
+        Access cached = accessByUserAndConversation.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Access access = loader.get();
+        accessByUserAndConversation.put(key, access);
+        return access;
+    }
+
+    /**
+     * Cached company id of an employer, or the loader's result (absent owners are not cached)
+     */
+    public Optional<Long> getCompanyIdByOwner(Long ownerId, Supplier<Optional<Long>> loader) {
+        Long cached = companyIdByOwner.get(ownerId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Long> companyId = loader.get();
+        companyId.ifPresent(id -> companyIdByOwner.put(ownerId, id));
+        return companyId;
+    }
+
+    /**
+     * Call when a user's role/status changes: drops everything the user could access
+     */
+    public void evictUser(Long userId) {
+        companyIdByOwner.remove(userId);
+        accessByUserAndConversation.removeIf((key, access) ->
+                key.userId().equals(userId)
+                        || userId.equals(access.participants().ownerUserId())
+                        || userId.equals(access.participants().candidateUserId()));
+        log.debug("🧹 Evicted chat access cache for user {}", userId);
+    }
+}
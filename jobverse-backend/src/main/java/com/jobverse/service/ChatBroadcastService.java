@@ -0,0 +1,167 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.request.BroadcastMessageRequest;
+import com.jobverse.dto.response.BroadcastResponse;
+import com.jobverse.dto.response.MessageResponse;
+import com.jobverse.entity.Company;
+import com.jobverse.entity.Job;
+import com.jobverse.exception.BadRequestException;
+import com.jobverse.exception.ResourceNotFoundException;
+import com.jobverse.exception.UnauthorizedException;
+import com.jobverse.repository.ApplicationRepository;
+import com.jobverse.repository.CompanyRepository;
+import com.jobverse.repository.JobRepository;
+import com.jobverse.util.VietnameseTextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chat Broadcast Service
+ * One employer message to every applicant of a job in a given status, done set-based:
+ * bulk conversation upsert, batched message inserts, one summary UPDATE, async WebSocket push.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatBroadcastService {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationRepository applicationRepository;
+    private final CompanyRepository companyRepository;
+    private final JobRepository jobRepository;
+    private final ChatAccessCache chatAccessCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.chat.broadcast.max-recipients:10000}")
+    private int maxRecipients;
+
+    private record Recipient(Long conversationId, Long candidateUserId, String email) {
+    }
+
+    @Transactional
+    public BroadcastResponse broadcast(BroadcastMessageRequest request, Long currentUserId) {
+        Long companyId = chatAccessCache.getCompanyIdByOwner(currentUserId,
+                        () -> companyRepository.findByOwnerId(currentUserId).map(Company::getId))
+                .orElseThrow(() -> new BadRequestException("No company found for employer"));
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
+
+        Job job = jobRepository.findById(request.getJobId())
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        if (!job.getCompany().getId().equals(companyId)) {
+            throw new UnauthorizedException("You can only message applicants of your own jobs");
+        }
+
+        // 1. Resolve the cohort
+        List<Long> candidateIds = applicationRepository.findUserIdsByJobIdAndStatus(job.getId(), request.getStatus());
+        if (candidateIds.isEmpty()) {
+            return BroadcastResponse.builder().recipientCount(0).conversationsCreated(0).build();
+        }
+        if (candidateIds.size() > maxRecipients) {
+            throw new BadRequestException("Broadcast is limited to " + maxRecipients + " recipients");
+        }
+
+        // 2. Upsert one conversation per candidate (job-scoped), then read them all back
+        int created = jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(
+                    "INSERT INTO conversations (company_id, candidate_user_id, job_id, created_at, updated_at) " +
+                    "SELECT ?, candidate_id, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM unnest(?::bigint[]) AS candidate_id " +
+                    "ON CONFLICT (company_id, candidate_user_id, job_id) WHERE job_id IS NOT NULL DO NOTHING");
+            ps.setLong(1, companyId);
+            ps.setLong(2, job.getId());
+            ps.setArray(3, con.createArrayOf("bigint", candidateIds.toArray()));
+            return ps;
+        });
+
+        List<Recipient> recipients = jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(
+                    "SELECT c.id, c.candidate_user_id, u.email FROM conversations c " +
+                    "JOIN users u ON u.id = c.candidate_user_id " +
+                    "WHERE c.company_id = ? AND c.job_id = ? AND c.candidate_user_id = ANY(?::bigint[])");
+            ps.setLong(1, companyId);
+            ps.setLong(2, job.getId());
+            ps.setArray(3, con.createArrayOf("bigint", candidateIds.toArray()));
+            return ps;
+        }, (rs, i) -> new Recipient(rs.getLong(1), rs.getLong(2), rs.getString(3)));
+
+        // 3. Reserve message ids up front so the inserts can be batched and still referenced
+        List<Long> messageIds = jdbcTemplate.queryForList(
+                "SELECT nextval('messages_id_seq') FROM generate_series(1, ?)", Long.class, recipients.size());
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp sentAt = Timestamp.valueOf(now);
+        String content = request.getContent();
+        String contentNormalized = VietnameseTextNormalizer.normalize(content);
+
+        List<Object[]> rows = new ArrayList<>(recipients.size());
+        for (int i = 0; i < recipients.size(); i++) {
+            rows.add(new Object[]{messageIds.get(i), recipients.get(i).conversationId(), companyId,
+                    content, contentNormalized, sentAt});
+        }
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO messages (id, conversation_id, sender_type, sender_id, content, content_normalized, created_at) " +
+                    "VALUES (?, ?, 'COMPANY', ?, ?, ?, ?)",
+                    rows.subList(from, Math.min(from + INSERT_BATCH_SIZE, rows.size())));
+        }
+
+        // 4. Inbox summaries for all conversations in one statement
+        Long[] conversationIds = recipients.stream().map(Recipient::conversationId).toArray(Long[]::new);
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(
+                    "UPDATE conversations c SET " +
+                    "last_message_id = v.message_id, last_message_preview = ?, last_message_sender_type = 'COMPANY', " +
+                    "last_message_at = ?, candidate_unread_count = c.candidate_unread_count + 1, updated_at = CURRENT_TIMESTAMP " +
+                    "FROM unnest(?::bigint[], ?::bigint[]) AS v(conversation_id, message_id) " +
+                    "WHERE c.id = v.conversation_id");
+            Array convArray = con.createArrayOf("bigint", conversationIds);
+            Array msgArray = con.createArrayOf("bigint", messageIds.toArray());
+            ps.setString(1, content.length() > 100 ? content.substring(0, 100) + "..." : content);
+            ps.setTimestamp(2, sentAt);
+            ps.setArray(3, convArray);
+            ps.setArray(4, msgArray);
+            return ps;
+        });
+
+        // 5. Push after commit, off the request thread
+        List<ChatRealtimeService.Delivery> deliveries = new ArrayList<>(recipients.size());
+        Long ownerUserId = company.getOwner() != null ? company.getOwner().getId() : currentUserId;
+        for (int i = 0; i < recipients.size(); i++) {
+            Recipient recipient = recipients.get(i);
+            deliveries.add(new ChatRealtimeService.Delivery(recipient.email(), MessageResponse.builder()
+                    .id(messageIds.get(i))
+                    .conversationId(recipient.conversationId())
+                    .senderType("COMPANY")
+                    .senderId(companyId)
+                    .senderUserId(ownerUserId)
+                    .senderName(company.getName())
+                    .senderAvatarUrl(company.getLogoUrl())
+                    .content(content)
+                    .createdAt(now)
+                    .isRead(false)
+                    .build()));
+        }
+        eventPublisher.publishEvent(new ChatRealtimeService.BroadcastSentEvent(deliveries));
+
+        log.info("📣 Broadcast from company {} to {} applicants of job {} ({}), {} new conversations",
+                companyId, recipients.size(), job.getId(), request.getStatus(), created);
+
+        return BroadcastResponse.builder()
+                .recipientCount(recipients.size())
+                .conversationsCreated(created)
+                .build();
+    }
+}
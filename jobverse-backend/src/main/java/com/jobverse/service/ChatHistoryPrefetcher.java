@@ -0,0 +1,102 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.response.MessageHistoryResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the next older history page of a conversation warm in memory.
+ * After ChatService serves a page, the page behind it is loaded in the background so
+ * scrolling back is served from memory. Short TTL; read-state changes evict the conversation.
+ * A prefetch first reserves its key with a loading entry and stores the page only if that same
+ * entry is still there, so a page loaded across an eviction (with the old read state) is dropped.
+ */
+@Slf4j
+@Component
+public class ChatHistoryPrefetcher {
+
+    @Value("${app.chat.history.prefetch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.chat.history.prefetch.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.chat.history.prefetch.max-entries:5000}")
+    private int maxEntries;
+
+    private record Key(Long conversationId, Long beforeId, int limit) {
+    }
+
+    // page is null while the prefetch is still loading. Identity equality on purpose: a prefetch
+    // must only replace its own loading entry, not an equal-looking one from a later prefetch
+    private static final class Entry {
+        private final MessageHistoryResponse page;
+        private final long expiresAt;
+
+        Entry(MessageHistoryResponse page, long expiresAt) {
+            this.page = page;
+            this.expiresAt = expiresAt;
+        }
+
+        MessageHistoryResponse page() {
+            return page;
+        }
+
+        long expiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private final Map<Key, Entry> pages = new ConcurrentHashMap<>();
+
+    public Optional<MessageHistoryResponse> get(Long conversationId, Long beforeId, int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = pages.remove(new Key(conversationId, beforeId, limit));
+        if (entry == null || entry.page() == null || System.currentTimeMillis() >= entry.expiresAt()) {
+            return Optional.empty();
+        }
+        log.debug("⚡ Served prefetched history page: conversation={}, before={}", conversationId, beforeId);
+        return Optional.of(entry.page());
+    }
+
+    @Async
+    public void prefetch(Long conversationId, Long beforeId, int limit, Supplier<MessageHistoryResponse> loader) {
+        if (!enabled) {
+            return;
+        }
+        Key key = new Key(conversationId, beforeId, limit);
+        long now = System.currentTimeMillis();
+        if (pages.size() >= maxEntries) {
+            pages.values().removeIf(e -> now >= e.expiresAt());
+            if (pages.size() >= maxEntries) {
+                return; // full of live pages: skip rather than evict someone's next page
+            }
+        }
+        Entry loading = new Entry(null, now + ttlSeconds * 1000);
+        if (pages.putIfAbsent(key, loading) != null) {
+            return;
+        }
+
+        try {
+            MessageHistoryResponse page = loader.get();
+            // No-op if the conversation was evicted (or the page requested) while loading
+            pages.replace(key, loading, new Entry(page, System.currentTimeMillis() + ttlSeconds * 1000));
+        } catch (Exception e) {
+            pages.remove(key, loading);
+            log.warn("⚠️ History prefetch failed for conversation {}: {}", conversationId, e.getMessage());
+        }
+    }
+
+    public void evictConversation(Long conversationId) {
+        pages.keySet().removeIf(key -> key.conversationId().equals(conversationId));
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobverse.service;
+
+import com.jobverse.util.AhoCorasickMatcher;
+
+/**
+ * Chat Intent Classifier
+ * Precompiled, immutable classifier for the AI chat's smart mock. Every intent keyword is
+ * compiled into one Aho-Corasick matcher, so a message is folded (case, Vietnamese diacritics,
+ * whitespace) and scanned once, with word boundaries, instead of one regex per keyword.
+ * Diacritics only fold away for words typed without them: in an accented message "lương" matches
+ * "lương" but not "lượng" ("chất lượng code") or "luồng"; "luong" still matches.
+ * Each hit adds its keyword's weight to its intent; the highest total wins and ties go to
+ * the earlier intent. Greetings weigh least ("chào, cho mình hỏi về lương" is a salary
+ * question); multi-word phrases weigh most ("phân tích cv" beats the "cv" inside it).
+ */
+public final class ChatIntentClassifier {
+
+    private static final int GREETING = 1;
+    private static final int KEYWORD = 2;
+    private static final int PHRASE = 3;
+
+    /**
+     * In tie-break order
+     */
+    public enum Intent {
+        GREETING,
+        CV_REVIEW,
+        INTERVIEW_PREP,
+        CAREER_ADVICE,
+        SALARY_INQUIRY,
+        SKILL_LEARNING,
+        JOB_SEARCH,
+        RESUME_PARSE,
+        GENERAL
+    }
+
+    private record Keyword(Intent intent, int weight) {
+    }
+
+    private static final ChatIntentClassifier DEFAULT = new ChatIntentClassifier();
+
+    private final AhoCorasickMatcher<Keyword> matcher;
+
+    private ChatIntentClassifier() {
+        AhoCorasickMatcher.Builder<Keyword> builder = AhoCorasickMatcher.builder();
+        add(builder, Intent.GREETING, GREETING, "hello", "hi", "xin chào", "chào", "hey", "hế lô");
+        add(builder, Intent.CV_REVIEW, KEYWORD, "cv", "resume", "hồ sơ");
+        add(builder, Intent.CV_REVIEW, PHRASE, "sơ yếu lý lịch", "curriculum vitae");
+        add(builder, Intent.INTERVIEW_PREP, KEYWORD, "phỏng vấn", "interview", "面试");
+        add(builder, Intent.INTERVIEW_PREP, PHRASE, "buổi pv");
+        add(builder, Intent.CAREER_ADVICE, KEYWORD, "nghề nghiệp", "career", "công việc", "chuyển ngành", "định hướng");
+        add(builder, Intent.SALARY_INQUIRY, KEYWORD, "lương", "salary", "thu nhập", "income", "compensation");
+        add(builder, Intent.SKILL_LEARNING, KEYWORD, "học", "learn", "kỹ năng", "skill", "roadmap", "course");
+        add(builder, Intent.SKILL_LEARNING, PHRASE, "khóa học");
+        add(builder, Intent.JOB_SEARCH, KEYWORD, "ứng tuyển", "apply", "việc làm");
+        add(builder, Intent.JOB_SEARCH, PHRASE, "tìm việc", "job search");
+        add(builder, Intent.RESUME_PARSE, PHRASE, "phân tích cv", "parse resume", "đọc cv", "analyze resume");
+        this.matcher = builder.build();
+    }
+
+    public static ChatIntentClassifier getDefault() {
+        return DEFAULT;
+    }
+
+    private static void add(AhoCorasickMatcher.Builder<Keyword> builder, Intent intent, int weight, String... keywords) {
+        Keyword keyword = new Keyword(intent, weight);
+        for (String term : keywords) {
+            builder.add(term, keyword);
+        }
+    }
+
+    public Intent classify(String message) {
+        if (message == null || message.isBlank()) {
+            return Intent.GENERAL;
+        }
+
+        int[] scores = new int[Intent.values().length];
+        for (AhoCorasickMatcher.Match<Keyword> match : matcher.findAll(message)) {
+            scores[match.value().intent().ordinal()] += match.value().weight();
+        }
+
+        Intent best = Intent.GENERAL;
+        int bestScore = 0;
+        for (Intent intent : Intent.values()) {
+            if (scores[intent.ordinal()] > bestScore) {
+                best = intent;
+                bestScore = scores[intent.ordinal()];
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,65 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.response.MessageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Chat Realtime Service
+ * Pushes chat messages to both participants over STOMP once the sending transaction commits.
+ * Clients subscribe to /user/queue/chat (the user principal is resolved from the JWT on CONNECT).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatRealtimeService {
+
+    public static final String CHAT_QUEUE = "/queue/chat";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * Published by ChatService; recipients are principal names (emails) of the candidate and the company owner
+     */
+    public record MessageSentEvent(MessageResponse message, Collection<String> recipients) {
+    }
+
+    public record Delivery(String recipient, MessageResponse message) {
+    }
+
+    /**
+     * Published by ChatBroadcastService: one message per recipient
+     */
+    public record BroadcastSentEvent(List<Delivery> deliveries) {
+    }
+
+    @TransactionalEventListener
+    public void onMessageSent(MessageSentEvent event) {
+        for (String recipient : event.recipients()) {
+            push(recipient, event.message());
+        }
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onBroadcastSent(BroadcastSentEvent event) {
+        event.deliveries().forEach(delivery -> push(delivery.recipient(), delivery.message()));
+        log.info("📣 Pushed broadcast to {} recipients", event.deliveries().size());
+    }
+
+    public void push(String recipient, MessageResponse message) {
+        try {
+            messagingTemplate.convertAndSendToUser(recipient, CHAT_QUEUE, message);
+        } catch (Exception e) {
+            // Message is already persisted; the client catches up via sync on reconnect
+            log.error("❌ Failed to push chat message {} to {}: {}", message.getId(), recipient, e.getMessage());
+        }
+    }
+}
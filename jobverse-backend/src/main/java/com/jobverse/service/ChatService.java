@@ -3,21 +3,37 @@ package com.jobverse.service;
 import com.jobverse.dto.request.CreateConversationRequest;
 import com.jobverse.dto.request.SendMessageRequest;
 import com.jobverse.dto.response.ConversationResponse;
+import com.jobverse.dto.response.MessageHistoryResponse;
+import com.jobverse.dto.response.MessageSearchResponse;
 import com.jobverse.dto.response.MessageResponse;
 import com.jobverse.entity.*;
 import com.jobverse.exception.BadRequestException;
 import com.jobverse.exception.ResourceNotFoundException;
 import com.jobverse.exception.UnauthorizedException;
 import com.jobverse.repository.*;
+import com.jobverse.util.SearchHighlighter;
+import com.jobverse.util.VietnameseTextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +46,19 @@ public class ChatService {
     private final CompanyRepository companyRepository;
     private final JobRepository jobRepository;
     private final ApplicationRepository applicationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChatAccessCache chatAccessCache;
+    private final ChatHistoryPrefetcher chatHistoryPrefetcher;
+    
+    // Upper bound for one reconnect catch-up; older gaps fall back to REST paging
+    private static final int MAX_SYNC_MESSAGES = 500;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int SEARCH_SNIPPET_LENGTH = 160;
+    
+    // Longest a message insert may stay uncommitted and still be caught by a reconnect sync
+    @Value("${app.chat.sync.overlap-seconds:30}")
+    private long syncOverlapSeconds;
     
     /**
      * Create or get existing conversation
@@ -44,9 +73,7 @@ public class ChatService {
         
         if (currentUser.getRole() == User.Role.EMPLOYER) {
             // Employer initiating - use their company
-            Company company = companyRepository.findByOwnerId(currentUserId)
-                    .orElseThrow(() -> new BadRequestException("No company found for employer"));
-            companyId = company.getId();
+            companyId = resolveCompanyId(currentUserId);
             
             if (request.getCandidateUserId() == null) {
                 throw new BadRequestException("candidateUserId is required for employer");
@@ -129,10 +156,8 @@ public class ChatService {
         Page<Conversation> conversations;
         
         if (currentUser.getRole() == User.Role.EMPLOYER) {
-            Company company = companyRepository.findByOwnerId(currentUserId)
-                    .orElseThrow(() -> new BadRequestException("No company found for employer"));
             conversations = conversationRepository.findByCompanyIdOrderByLastMessageAtDesc(
-                    company.getId(), pageable);
+                    resolveCompanyId(currentUserId), pageable);
         } else if (currentUser.getRole() == User.Role.CANDIDATE) {
             conversations = conversationRepository.findByCandidateIdOrderByLastMessageAtDesc(
                     currentUserId, pageable);
@@ -148,135 +173,336 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public Page<MessageResponse> getMessages(Long conversationId, Long currentUserId, Pageable pageable) {
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
         // Verify access
-        verifyConversationAccess(conversationId, currentUser);
-        
-        Conversation conversation = conversationRepository.findById(conversationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Conversation not found"));
+        ChatAccessCache.Access access = resolveAccess(conversationId, currentUserId);
         
         Page<Message> messages = messageRepository.findByConversationIdOrderByCreatedAtDesc(
                 conversationId, pageable);
         
-        return messages.map(msg -> mapMessageToResponse(msg, conversation));
+        return messages.map(msg -> mapMessageToResponse(msg, access.participants()));
     }
     
     /**
-     * Send a message
+     * Cursor-based history. No cursor = newest page plus the read marker; before = older page;
+     * after = newer page. Pages are stable while new messages arrive, unlike offset paging.
      */
-    @Transactional
-    public MessageResponse sendMessage(Long conversationId, SendMessageRequest request, Long currentUserId) {
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    @Transactional(readOnly = true)
+    public MessageHistoryResponse getMessageHistory(Long conversationId, Long currentUserId,
+                                                    Long beforeId, Long afterId, int limit) {
+        if (beforeId != null && afterId != null) {
+            throw new BadRequestException("Use either before or after, not both");
+        }
         
-        Conversation conversation = conversationRepository.findById(conversationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Conversation not found"));
+        ChatAccessCache.Access access = resolveAccess(conversationId, currentUserId);
+        ChatAccessCache.Participants participants = access.participants();
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
         
-        // Verify access
-        verifyConversationAccess(conversationId, currentUser);
+        MessageHistoryResponse page;
+        if (afterId != null) {
+            LocalDateTime cursorAt = resolveCursor(conversationId, afterId);
+            List<Message> rows = messageRepository.findAfter(conversationId, cursorAt, afterId,
+                    PageRequest.of(0, pageSize + 1));
+            return toHistoryPage(rows, pageSize, false, participants);
+        } else if (beforeId != null) {
+            page = chatHistoryPrefetcher.get(conversationId, beforeId, pageSize)
+                    .orElseGet(() -> loadOlderPage(conversationId, beforeId, pageSize, participants));
+        } else {
+            List<Message> rows = messageRepository.findLatest(conversationId, PageRequest.of(0, pageSize + 1));
+            page = toHistoryPage(rows, pageSize, true, participants);
+            
+            Message.SenderType otherSide = access.side() == Message.SenderType.COMPANY
+                    ? Message.SenderType.CANDIDATE
+                    : Message.SenderType.COMPANY;
+            page.setLastReadMessageId(messageRepository
+                    .findNewestReadIds(conversationId, otherSide, PageRequest.of(0, 1))
+                    .stream().findFirst().orElse(null));
+        }
+        
+        // Warm the page the client will most likely ask for next
+        if (page.isHasMore()) {
+            Long nextBefore = page.getOldestMessageId();
+            chatHistoryPrefetcher.prefetch(conversationId, nextBefore, pageSize,
+                    () -> loadOlderPage(conversationId, nextBefore, pageSize, participants));
+        }
+        
+        return page;
+    }
+    
+    /**
+     * Accent-insensitive search in one conversation (conversationId set) or across the user's inbox
+     * (conversationId null). Newest matches first.
+     */
+    @Transactional(readOnly = true)
+    public List<MessageSearchResponse> searchMessages(Long conversationId, Long currentUserId, String query, int limit) {
+        String normalizedQuery = VietnameseTextNormalizer.normalize(query);
+        if (normalizedQuery == null || normalizedQuery.length() < 2) {
+            throw new BadRequestException("Search query must have at least 2 characters");
+        }
+        String pattern = "%" + escapeLike(normalizedQuery) + "%";
+        int maxResults = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        
+        if (conversationId != null) {
+            ChatAccessCache.Participants participants = resolveAccess(conversationId, currentUserId).participants();
+            return messageRepository.searchInConversation(conversationId, pattern, maxResults).stream()
+                    .map(msg -> toSearchResult(msg, participants, normalizedQuery))
+                    .toList();
+        }
         
-        Message.SenderType senderType;
-        Long senderId;
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
+        List<Message> messages;
         if (currentUser.getRole() == User.Role.EMPLOYER) {
-            senderType = Message.SenderType.COMPANY;
-            senderId = conversation.getCompany().getId();
+            messages = messageRepository.searchForCompany(resolveCompanyId(currentUserId), pattern, maxResults);
+        } else if (currentUser.getRole() == User.Role.CANDIDATE) {
+            messages = messageRepository.searchForCandidate(currentUserId, pattern, maxResults);
         } else {
-            senderType = Message.SenderType.CANDIDATE;
-            senderId = currentUserId;
+            throw new UnauthorizedException("Only employers and candidates can use chat");
         }
         
+        Map<Long, ChatAccessCache.Participants> participants = participantsOf(messages);
+        return messages.stream()
+                .map(msg -> toSearchResult(msg, participants.get(msg.getConversation().getId()), normalizedQuery))
+                .toList();
+    }
+    
+    /**
+     * Send a message
+     */
+    @Transactional
+    public MessageResponse sendMessage(Long conversationId, SendMessageRequest request, Long currentUserId) {
+        // Verify access (cached: the hot path is just the insert + the summary update)
+        ChatAccessCache.Access access = resolveAccess(conversationId, currentUserId);
+        ChatAccessCache.Participants participants = access.participants();
+        
         Message message = Message.builder()
-                .conversation(conversation)
-                .senderType(senderType)
-                .senderId(senderId)
+                .conversation(conversationRepository.getReferenceById(conversationId))
+                .senderType(access.side())
+                .senderId(access.senderId())
                 .content(request.getContent())
                 .build();
         
         message = messageRepository.save(message);
         
-        // Update conversation's lastMessageAt
-        conversation.setLastMessageAt(message.getCreatedAt());
-        conversationRepository.save(conversation);
+        // Update the inbox summary (last message + recipient's unread counter) in one statement
+        conversationRepository.recordMessage(conversationId, message.getId(),
+                preview(message.getContent()), access.side().name(), message.getCreatedAt());
         
-        log.info("💬 Message sent in conversation {}: {} by {}", conversationId, 
+        log.info("💬 Message sent in conversation {}: {} by user {}", conversationId, 
                 request.getContent().length() > 50 ? request.getContent().substring(0, 50) + "..." : request.getContent(),
-                currentUser.getEmail());
+                currentUserId);
+        
+        MessageResponse response = mapMessageToResponse(message, participants);
         
-        return mapMessageToResponse(message, conversation);
+        // Push to both sides (sender too, for their other tabs/devices) after commit
+        eventPublisher.publishEvent(new ChatRealtimeService.MessageSentEvent(response, Stream.of(
+                        participants.candidateEmail(), participants.ownerEmail())
+                .filter(Objects::nonNull)
+                .toList()));
+        
+        return response;
     }
     
     /**
-     * Mark messages as read
+     * Get messages the user missed while disconnected, across all of their conversations,
+     * oldest first. Ids are assigned at insert but become visible at commit, so a message with
+     * a lower id can show up after the client already saw a higher one: the catch-up therefore
+     * walks the (created_at, id) keyset from sync-overlap before the last seen message, and
+     * the client drops ids it already has. No cursor means nothing to catch up on (the client
+     * loads history through the conversation endpoints).
      */
-    @Transactional
-    public void markAsRead(Long conversationId, Long currentUserId) {
+    @Transactional(readOnly = true)
+    public List<MessageResponse> getMessagesSince(Long lastSeenMessageId, Long currentUserId) {
         User currentUser = userRepository.findById(currentUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (currentUser.getRole() != User.Role.EMPLOYER && currentUser.getRole() != User.Role.CANDIDATE) {
+            throw new UnauthorizedException("Only employers and candidates can use chat");
+        }
+        if (lastSeenMessageId == null) {
+            return List.of();
+        }
+        
+        // The cursor has to be one of the caller's own messages: its timestamp steers the catch-up
+        Long companyId = currentUser.getRole() == User.Role.EMPLOYER ? resolveCompanyId(currentUserId) : null;
+        Message cursor = (companyId != null
+                ? messageRepository.findByIdAndCompanyId(lastSeenMessageId, companyId)
+                : messageRepository.findByIdAndCandidateId(lastSeenMessageId, currentUserId))
+                .orElseThrow(() -> new BadRequestException("Unknown lastSeenMessageId: " + lastSeenMessageId));
+        
+        List<Message> messages = findSince(companyId, currentUserId,
+                cursor.getCreatedAt().minusSeconds(syncOverlapSeconds), 0L);
+        if (messages.size() == MAX_SYNC_MESSAGES && !isAfter(messages.get(messages.size() - 1), cursor)) {
+            // A full page of overlap alone would never move the client forward: resume strictly after the cursor
+            messages = findSince(companyId, currentUserId, cursor.getCreatedAt(), cursor.getId());
+        }
         
-        verifyConversationAccess(conversationId, currentUser);
+        Map<Long, ChatAccessCache.Participants> participants = participantsOf(messages);
+        return messages.stream()
+                .map(msg -> mapMessageToResponse(msg, participants.get(msg.getConversation().getId())))
+                .toList();
+    }
+    
+    private List<Message> findSince(Long companyId, Long candidateId, LocalDateTime afterAt, Long afterId) {
+        Pageable limit = PageRequest.of(0, MAX_SYNC_MESSAGES);
+        return companyId != null
+                ? messageRepository.findByCompanySince(companyId, afterAt, afterId, limit)
+                : messageRepository.findByCandidateSince(candidateId, afterAt, afterId, limit);
+    }
+    
+    private static boolean isAfter(Message message, Message cursor) {
+        int byTime = message.getCreatedAt().compareTo(cursor.getCreatedAt());
+        return byTime > 0 || (byTime == 0 && message.getId() > cursor.getId());
+    }
+    
+    /**
+     * Mark messages as read
+     */
+    @Transactional
+    public void markAsRead(Long conversationId, Long currentUserId) {
+        ChatAccessCache.Access access = resolveAccess(conversationId, currentUserId);
         
         // Mark messages from the other party as read
-        Message.SenderType otherPartyType = currentUser.getRole() == User.Role.EMPLOYER 
+        Message.SenderType otherPartyType = access.side() == Message.SenderType.COMPANY 
                 ? Message.SenderType.CANDIDATE 
                 : Message.SenderType.COMPANY;
         
+        // Reset the counter first: the row lock makes a concurrent sendMessage either finish before
+        // (its message is then marked below) or wait and count its message as unread afterwards
+        if (access.side() == Message.SenderType.COMPANY) {
+            conversationRepository.resetUnreadForCompany(conversationId);
+        } else {
+            conversationRepository.resetUnreadForCandidate(conversationId);
+        }
+        
         int updated = messageRepository.markAsRead(conversationId, otherPartyType, LocalDateTime.now());
+        chatHistoryPrefetcher.evictConversation(conversationId);
         log.info("📖 Marked {} messages as read in conversation {}", updated, conversationId);
     }
     
-    private void verifyConversationAccess(Long conversationId, User user) {
-        if (user.getRole() == User.Role.EMPLOYER) {
-            Company company = companyRepository.findByOwnerId(user.getId())
-                    .orElseThrow(() -> new BadRequestException("No company found for employer"));
-            if (!conversationRepository.existsByIdAndCompanyId(conversationId, company.getId())) {
-                throw new UnauthorizedException("You don't have access to this conversation");
+    /**
+     * Check that the user belongs to the conversation and return the side they speak for
+     * (used by the STOMP typing relay and subscription guard)
+     */
+    @Transactional(readOnly = true)
+    public Message.SenderType verifyAccess(Long conversationId, Long currentUserId) {
+        return resolveAccess(conversationId, currentUserId).side();
+    }
+    
+    /**
+     * Which side the user speaks for in the conversation; cached per (user, conversation)
+     */
+    private ChatAccessCache.Access resolveAccess(Long conversationId, Long userId) {
+        return chatAccessCache.getAccess(userId, conversationId, () -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            if (user.getRole() != User.Role.EMPLOYER && user.getRole() != User.Role.CANDIDATE) {
+                throw new UnauthorizedException("Only employers and candidates can use chat");
             }
-        } else if (user.getRole() == User.Role.CANDIDATE) {
-            if (!conversationRepository.existsByIdAndCandidateId(conversationId, user.getId())) {
+            
+            Conversation conversation = conversationRepository.findWithParticipantsById(conversationId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Conversation not found"));
+            
+            if (user.getRole() == User.Role.EMPLOYER) {
+                if (!conversation.getCompany().getId().equals(resolveCompanyId(userId))) {
+                    throw new UnauthorizedException("You don't have access to this conversation");
+                }
+                return new ChatAccessCache.Access(Message.SenderType.COMPANY,
+                        ChatAccessCache.Participants.from(conversation));
+            }
+            
+            if (!conversation.getCandidate().getId().equals(userId)) {
                 throw new UnauthorizedException("You don't have access to this conversation");
             }
-        } else {
-            throw new UnauthorizedException("Only employers and candidates can use chat");
-        }
+            return new ChatAccessCache.Access(Message.SenderType.CANDIDATE,
+                    ChatAccessCache.Participants.from(conversation));
+        });
+    }
+    
+    private Long resolveCompanyId(Long ownerId) {
+        return chatAccessCache.getCompanyIdByOwner(ownerId,
+                        () -> companyRepository.findByOwnerId(ownerId).map(Company::getId))
+                .orElseThrow(() -> new BadRequestException("No company found for employer"));
     }
     
     private ConversationResponse mapToResponse(Conversation conv, User.Role viewerRole) {
-        Message lastMessage = messageRepository.findFirstByConversationIdOrderByCreatedAtDesc(conv.getId());
+        long unreadCount = viewerRole == User.Role.EMPLOYER
+                ? conv.getCompanyUnreadCount()
+                : conv.getCandidateUnreadCount();
         
-        long unreadCount;
-        if (viewerRole == User.Role.EMPLOYER) {
-            unreadCount = messageRepository.countUnreadForCompany(conv.getId());
-        } else {
-            unreadCount = messageRepository.countUnreadForCandidate(conv.getId());
+        return ConversationResponse.fromEntity(conv, unreadCount);
+    }
+    
+    private MessageHistoryResponse loadOlderPage(Long conversationId, Long beforeId, int pageSize,
+                                                 ChatAccessCache.Participants participants) {
+        LocalDateTime cursorAt = resolveCursor(conversationId, beforeId);
+        List<Message> rows = messageRepository.findBefore(conversationId, cursorAt, beforeId,
+                PageRequest.of(0, pageSize + 1));
+        return toHistoryPage(rows, pageSize, true, participants);
+    }
+    
+    private LocalDateTime resolveCursor(Long conversationId, Long messageId) {
+        return messageRepository.findCreatedAtByIdAndConversationId(messageId, conversationId)
+                .orElseThrow(() -> new BadRequestException("Invalid message cursor"));
+    }
+    
+    /**
+     * rows holds up to pageSize + 1 messages; the extra one only tells whether there is more
+     */
+    private MessageHistoryResponse toHistoryPage(List<Message> rows, int pageSize, boolean newestFirst,
+                                                 ChatAccessCache.Participants participants) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Message> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if (newestFirst) {
+            Collections.reverse(page);
         }
         
-        return ConversationResponse.fromEntity(conv, lastMessage, unreadCount);
+        return MessageHistoryResponse.builder()
+                .messages(page.stream().map(msg -> mapMessageToResponse(msg, participants)).toList())
+                .hasMore(hasMore)
+                .oldestMessageId(page.isEmpty() ? null : page.get(0).getId())
+                .newestMessageId(page.isEmpty() ? null : page.get(page.size() - 1).getId())
+                .build();
     }
     
-    private MessageResponse mapMessageToResponse(Message msg, Conversation conversation) {
-        String senderName;
-        String senderAvatarUrl;
-        Long senderUserId;
-
+    private MessageSearchResponse toSearchResult(Message msg, ChatAccessCache.Participants participants,
+                                                 String normalizedQuery) {
+        return MessageSearchResponse.builder()
+                .conversationId(participants.conversationId())
+                .message(mapMessageToResponse(msg, participants))
+                .highlight(SearchHighlighter.highlight(msg.getContent(), normalizedQuery, SEARCH_SNIPPET_LENGTH))
+                .build();
+    }
+    
+    /**
+     * Display data for every conversation the messages belong to, fetched in one query
+     */
+    private Map<Long, ChatAccessCache.Participants> participantsOf(List<Message> messages) {
+        Set<Long> conversationIds = messages.stream()
+                .map(msg -> msg.getConversation().getId())
+                .collect(Collectors.toSet());
+        if (conversationIds.isEmpty()) {
+            return Map.of();
+        }
+        return conversationRepository.findWithParticipantsByIdIn(conversationIds).stream()
+                .map(ChatAccessCache.Participants::from)
+                .collect(Collectors.toMap(ChatAccessCache.Participants::conversationId, Function.identity()));
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    private static String preview(String content) {
+        return content.length() > 100 ? content.substring(0, 100) + "..." : content;
+    }
+    
+    private MessageResponse mapMessageToResponse(Message msg, ChatAccessCache.Participants participants) {
         if (msg.getSenderType() == Message.SenderType.COMPANY) {
-            senderName = conversation.getCompany().getName();
-            senderAvatarUrl = conversation.getCompany().getLogoUrl();
-            // For company messages, get the owner's user ID
-            senderUserId = conversation.getCompany().getOwner().getId();
-        } else {
-            User candidate = conversation.getCandidate();
-            senderName = candidate.getProfile() != null
-                    ? candidate.getProfile().getFullName()
-                    : candidate.getEmail();
-            senderAvatarUrl = candidate.getProfile() != null
-                    ? candidate.getProfile().getAvatarUrl()
-                    : null;
-            senderUserId = candidate.getId();
+            // For company messages, the sender user is the company owner
+            return MessageResponse.fromEntity(msg, participants.companyName(),
+                    participants.companyLogoUrl(), participants.ownerUserId());
         }
-
-        return MessageResponse.fromEntity(msg, senderName, senderAvatarUrl, senderUserId);
+        return MessageResponse.fromEntity(msg, participants.candidateName(),
+                participants.candidateAvatarUrl(), participants.candidateUserId());
     }
 }
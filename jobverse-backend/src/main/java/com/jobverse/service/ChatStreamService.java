@@ -0,0 +1,275 @@
+package com.jobverse.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chat Stream Service
+ * Streams AI chat replies over Server-Sent Events as they are generated, instead of holding
+ * the request until the whole completion is done. At most max-concurrent streams are open at
+ * once; each one ends on completion, timeout, error or client disconnect, and ending it
+ * cancels the upstream call.
+ *
+ * Deltas arrive on the LLM client's few callback threads, which every LLM call shares, so they
+ * are never written to the client there: each stream queues its events and a writer pool drains
+ * the queues, in order, one drain per stream at a time. A client that falls max-queued-events
+ * behind is dropped instead of buffering the reply or holding up the upstream read.
+ *
+ * A send to a client that stopped reading blocks until the container's write timeout
+ * (server.tomcat.connection-timeout), and the emitter can't be completed meanwhile: send and
+ * complete share its lock. So the writer pool has a thread per possible stream, and a stream
+ * holds its permit until its writer is done with it, so a stuck client ties up only its own
+ * thread and permit.
+ */
+@Slf4j
+@Service
+public class ChatStreamService {
+
+    public static final String DELTA = "delta";
+    public static final String DONE = "done";
+    public static final String ERROR = "error";
+
+    // Events one drain writes before the writer thread moves on to another stream
+    private static final int DRAIN_BATCH = 32;
+
+    private final AIService aiService;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore streams;
+    private final int maxConcurrent;
+    private final long timeoutMillis;
+    private final int maxQueuedEvents;
+    private final ThreadPoolExecutor writer;
+
+    public ChatStreamService(AIService aiService,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.ai.stream.max-concurrent:64}") int maxConcurrent,
+                             @Value("${app.ai.stream.timeout-seconds:120}") long timeoutSeconds,
+                             @Value("${app.ai.stream.max-queued-events:256}") int maxQueuedEvents) {
+        this.aiService = aiService;
+        this.meterRegistry = meterRegistry;
+        this.streams = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.maxQueuedEvents = maxQueuedEvents;
+
+        // At most one drain task per permit is queued or running, so the queue stays bounded by
+        // max-concurrent and a queued drain always finds a thread not held by a stuck client.
+        // Threads are started on demand and retired when idle.
+        AtomicInteger threadIds = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "ai-stream-writer-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("jobverse.ai.chat.stream.active", streams, s -> maxConcurrent - s.availablePermits())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts streaming the reply to message; empty when too many streams are already open
+     */
+    public Optional<SseEmitter> open(String message, String context) {
+        if (!streams.tryAcquire()) {
+            meterRegistry.counter("jobverse.ai.chat.stream.rejected").increment();
+            log.warn("⚠️ Chat stream rejected: {} streams already open", maxConcurrent);
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        new Stream(emitter).start(message, context);
+        return Optional.of(emitter);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    /**
+     * One open stream. Closed exactly once, by whichever comes first: the reply finishing
+     * (after its last event is written), or the emitter timing out, failing or being
+     * disconnected, or the client falling too far behind. Closing cancels the upstream call;
+     * the permit is released by the stream's last write, which completes the emitter.
+     */
+    private final class Stream {
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final long startNanos = System.nanoTime();
+        private volatile long firstDeltaNanos = -1;
+        private volatile CompletableFuture<String> reply;
+
+        // Writes waiting for the writer pool; draining is set while a drain task is queued or running
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void start(String message, String context) {
+            emitter.onTimeout(() -> {
+                close("timeout", null);
+                emitter.complete();
+            });
+            emitter.onError(error -> close("disconnected", null));
+            emitter.onCompletion(() -> close("disconnected", null));
+
+            reply = aiService.streamChat(message, context, this::sendDelta);
+            reply.whenComplete((source, error) -> enqueue(() -> {
+                if (closed.get()) {
+                    return;
+                }
+                if (error == null) {
+                    send(DONE, Map.of("source", source,
+                            "elapsedMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+                    close("completed", source);
+                } else {
+                    log.warn("⚠️ Chat stream failed: {}", error.getMessage());
+                    send(ERROR, Map.of("message", "Phản hồi bị gián đoạn, vui lòng thử lại"));
+                    close("error", null);
+                }
+            }));
+        }
+
+        // Called on the LLM client's callback thread (or the caller's, for the mock): never blocks
+        private void sendDelta(String text) {
+            if (closed.get()) {
+                throw new IllegalStateException("Chat stream closed");
+            }
+            if (pendingCount.get() >= maxQueuedEvents) {
+                // Slow reader: drop it rather than buffer the reply; failing here stops the upstream read
+                close("slow_client", null);
+                throw new IllegalStateException("Chat stream client too slow");
+            }
+            enqueue(() -> {
+                if (closed.get()) {
+                    return;
+                }
+                if (firstDeltaNanos < 0) {
+                    firstDeltaNanos = System.nanoTime() - startNanos;
+                }
+                try {
+                    emitter.send(SseEmitter.event().name(DELTA).data(Map.of("text", text)));
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away: closing cancels the upstream call
+                    close("disconnected", null);
+                }
+            });
+        }
+
+        private void send(String event, Map<String, Object> data) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Chat stream {} event not delivered: {}", event, e.getMessage());
+            }
+        }
+
+        private void enqueue(Runnable write) {
+            if (released.get()) {
+                return; // e.g. the cancelled reply's callback, after the last write
+            }
+            pending.add(write);
+            pendingCount.incrementAndGet();
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: nothing will write again
+                draining.set(false);
+                closed.set(true);
+                releasePermit();
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable write;
+                for (int i = 0; i < DRAIN_BATCH && (write = pending.poll()) != null; i++) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        write.run();
+                    } catch (RuntimeException e) {
+                        log.debug("Chat stream write failed: {}", e.getMessage());
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close(String outcome, String source) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            // The last write: queued behind any send in progress, which emitter.complete() would wait on anyway
+            enqueue(() -> {
+                try {
+                    emitter.complete();
+                } finally {
+                    releasePermit();
+                }
+            });
+            CompletableFuture<String> current = reply;
+            if (current != null && !current.isDone()) {
+                current.cancel(true);
+                log.info("⏹️ Chat stream {} after {}ms, upstream cancelled", outcome,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            }
+
+            String sourceTag = source != null ? source : "none";
+            Timer.builder("jobverse.ai.chat.stream.duration")
+                    .tag("outcome", outcome)
+                    .tag("source", sourceTag)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            if (firstDeltaNanos >= 0) {
+                // Time to first token, comparable with jobverse.llm.call for the blocking endpoint
+                Timer.builder("jobverse.ai.chat.stream.first.token")
+                        .tag("source", sourceTag)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry)
+                        .record(firstDeltaNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void releasePermit() {
+            if (released.compareAndSet(false, true)) {
+                streams.release();
+            }
+        }
+    }
+}
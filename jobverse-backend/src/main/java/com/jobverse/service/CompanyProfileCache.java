@@ -0,0 +1,97 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.response.CompanyProfileResponse;
+import com.jobverse.util.BoundedTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of composite company profiles, reachable by id and by slug.
+ * Entries expire after a TTL, at most max-entries (least recently used first out) are kept,
+ * and they are evicted after commit of any company, review or job change.
+ */
+@Slf4j
+@Component
+public class CompanyProfileCache {
+
+    private final BoundedTtlCache<Long, CompanyProfileResponse> profilesById;
+    private final BoundedTtlCache<String, Long> idBySlug;
+
+    // Bumped on every eviction: a load that overlapped an eviction may hold pre-commit data, so it isn't stored
+    private long generation;
+
+    public CompanyProfileCache(@Value("${app.companies.profile-cache.ttl-seconds:300}") long ttlSeconds,
+                               @Value("${app.companies.profile-cache.max-entries:2000}") int maxEntries) {
+        this.profilesById = new BoundedTtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+        this.idBySlug = new BoundedTtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * Published when a company's own data, or its reviews/rating, changes
+     */
+    public record CompanyChangedEvent(Long companyId) {
+    }
+
+    public CompanyProfileResponse getById(Long companyId, Supplier<CompanyProfileResponse> loader) {
+        CompanyProfileResponse cached = profilesById.get(companyId);
+        return cached != null ? cached : load(loader);
+    }
+
+    public CompanyProfileResponse getBySlug(String slug, Supplier<CompanyProfileResponse> loader) {
+        Long companyId = idBySlug.get(slug);
+        CompanyProfileResponse cached = companyId != null ? profilesById.get(companyId) : null;
+        // The slug may have moved on since it was mapped
+        if (cached != null && slug.equals(cached.getCompany().getSlug())) {
+            return cached;
+        }
+        return load(loader);
+    }
+
+    public void evict(Long companyId) {
+        if (companyId == null) {
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            CompanyProfileResponse removed = profilesById.remove(companyId);
+            if (removed != null) {
+                idBySlug.remove(removed.getCompany().getSlug());
+            }
+        }
+        log.debug("🧹 Evicted company profile {}", companyId);
+    }
+
+    // fallbackExecution: some writers (admin job moderation) publish outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        evict(event.companyId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        evict(event.companyId());
+    }
+
+    private CompanyProfileResponse load(Supplier<CompanyProfileResponse> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        CompanyProfileResponse profile = loader.get(); // throws for unknown companies; misses are not cached
+
+        // Checked and stored under the lock evict() takes, so an eviction can't slip in between
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                Long companyId = profile.getCompany().getId();
+                profilesById.put(companyId, profile);
+                idBySlug.put(profile.getCompany().getSlug(), companyId);
+            }
+        }
+        return profile;
+    }
+}
@@ -1,32 +1,83 @@
 package com.jobverse.service;
 
 import com.jobverse.dto.request.CompanyReviewRequest;
+import com.jobverse.dto.response.BulkModerationResponse;
+import com.jobverse.dto.response.CompanyReviewResponse;
+import com.jobverse.dto.response.ReviewQueueResponse;
 import com.jobverse.entity.Company;
 import com.jobverse.entity.CompanyReview;
 import com.jobverse.entity.User;
+import com.jobverse.exception.BadRequestException;
 import com.jobverse.repository.ApplicationRepository;
 import com.jobverse.repository.CompanyRepository;
 import com.jobverse.repository.CompanyReviewRepository;
 import com.jobverse.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CompanyReviewService {
 
+    private static final int MAX_QUEUE_PAGE_SIZE = 100;
+
+    // sign: +1 when a review becomes APPROVED, -1 when it stops being APPROVED, 0 otherwise
+    private static final String BULK_MODERATION_SQL =
+            "WITH target AS (" +
+            "  SELECT id, status AS old_status FROM company_reviews " +
+            "  WHERE id = ANY(?::bigint[]) AND status IS DISTINCT FROM ? " +
+            "  ORDER BY id FOR UPDATE" +
+            "), changed AS (" +
+            "  UPDATE company_reviews r SET status = ? FROM target t WHERE r.id = t.id " +
+            "  RETURNING r.company_id, r.rating, " +
+            "    (CASE WHEN r.status = 'APPROVED' THEN 1 ELSE 0 END) - " +
+            "    (CASE WHEN t.old_status = 'APPROVED' THEN 1 ELSE 0 END) AS sign" +
+            "), deltas AS (" +
+            "  SELECT company_id, COUNT(*) AS reviews, SUM(sign) AS count_delta, SUM(sign * rating) AS sum_delta, " +
+            "    COALESCE(SUM(sign) FILTER (WHERE rating = 1), 0) AS d1, " +
+            "    COALESCE(SUM(sign) FILTER (WHERE rating = 2), 0) AS d2, " +
+            "    COALESCE(SUM(sign) FILTER (WHERE rating = 3), 0) AS d3, " +
+            "    COALESCE(SUM(sign) FILTER (WHERE rating = 4), 0) AS d4, " +
+            "    COALESCE(SUM(sign) FILTER (WHERE rating = 5), 0) AS d5 " +
+            "  FROM changed GROUP BY company_id" +
+            "), applied AS (" +
+            "  UPDATE companies c SET " +
+            "    review_count = c.review_count + d.count_delta, " +
+            "    rating_sum = c.rating_sum + d.sum_delta, " +
+            "    rating_1_count = c.rating_1_count + d.d1, " +
+            "    rating_2_count = c.rating_2_count + d.d2, " +
+            "    rating_3_count = c.rating_3_count + d.d3, " +
+            "    rating_4_count = c.rating_4_count + d.d4, " +
+            "    rating_5_count = c.rating_5_count + d.d5, " +
+            "    rating_avg = CASE WHEN c.review_count + d.count_delta > 0 " +
+            "      THEN ROUND((c.rating_sum + d.sum_delta)::numeric / (c.review_count + d.count_delta), 2) ELSE 0 END " +
+            "  FROM deltas d WHERE c.id = d.company_id " +
+            // Approvals and un-approvals can cancel out in count but not in sum/histogram
+            "    AND (d.count_delta <> 0 OR d.sum_delta <> 0 OR d.d1 <> 0 OR d.d2 <> 0 " +
+            "      OR d.d3 <> 0 OR d.d4 <> 0 OR d.d5 <> 0) " +
+            "  RETURNING c.id" +
+            ") " +
+            "SELECT company_id, reviews FROM deltas";
+
     private final CompanyReviewRepository reviewRepository;
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
     private final ApplicationRepository applicationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * Check if user is eligible to review a company
@@ -80,7 +131,7 @@ public class CompanyReviewService {
         CompanyReview savedReview = reviewRepository.save(review);
 
         // Update company rating
-        updateCompanyRating(company.getId());
+        applyRatingChange(company.getId(), null, null, savedReview.getStatus(), savedReview.getRating());
 
         log.info("Review created successfully with ID: {}", savedReview.getId());
         
@@ -102,30 +153,74 @@ public class CompanyReviewService {
         return reviewRepository.findByUserIdWithDetails(userId, pageable);
     }
 
-    @Transactional
-    public void updateCompanyRating(Long companyId) {
-        Double averageRating = reviewRepository.getAverageRating(companyId);
-        Long reviewCount = reviewRepository.countApprovedReviews(companyId);
+    /**
+     * Adjust the company's running rating aggregates for one review going from
+     * (oldStatus, oldRating) to (newStatus, newRating). Only APPROVED reviews count.
+     * Constant time; runs in the caller's transaction. Callers pass the old values read under the
+     * review's row lock (see lockReview), so two transitions of one review can't both apply.
+     * Every visible review change (create, edit, delete, moderation) moves an approved rating, so this
+     * is also where the cached company profile gets invalidated.
+     */
+    private void applyRatingChange(Long companyId,
+                                   CompanyReview.ReviewStatus oldStatus, Integer oldRating,
+                                   CompanyReview.ReviewStatus newStatus, Integer newRating) {
+        int countDelta = 0;
+        long sumDelta = 0;
+        int[] histogramDelta = new int[6];
+
+        if (oldStatus == CompanyReview.ReviewStatus.APPROVED && oldRating != null) {
+            countDelta--;
+            sumDelta -= oldRating;
+            histogramDelta[oldRating]--;
+        }
+        if (newStatus == CompanyReview.ReviewStatus.APPROVED && newRating != null) {
+            countDelta++;
+            sumDelta += newRating;
+            histogramDelta[newRating]++;
+        }
+        if (countDelta == 0 && sumDelta == 0) {
+            return; // e.g. PENDING -> REJECTED, or an approved review re-saved with the same rating
+        }
 
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new RuntimeException("Company not found"));
+        companyRepository.applyRatingDelta(companyId, countDelta, sumDelta,
+                histogramDelta[1], histogramDelta[2], histogramDelta[3], histogramDelta[4], histogramDelta[5]);
 
-        if (averageRating != null) {
-            company.setRatingAvg(BigDecimal.valueOf(averageRating).setScale(2, RoundingMode.HALF_UP));
-        } else {
-            company.setRatingAvg(BigDecimal.ZERO);
-        }
+        // Approved reviews/rating changed: drop the cached company profile after commit
+        eventPublisher.publishEvent(new CompanyProfileCache.CompanyChangedEvent(companyId));
 
-        company.setReviewCount(reviewCount != null ? reviewCount.intValue() : 0);
-        companyRepository.save(company);
+        log.info("Applied rating delta to company {}: count {}, sum {}", companyId, countDelta, sumDelta);
+    }
 
-        log.info("Updated company {} rating to {} with {} reviews", companyId, company.getRatingAvg(), company.getReviewCount());
+    /**
+     * Lock the review row, then load it: the status and rating read here are the ones this
+     * transaction replaces, even with a concurrent moderation (single or bulk) of the same review.
+     * Locked by a plain SELECT ... FOR UPDATE first because Postgres can't lock the nullable
+     * side of the outer fetch joins.
+     */
+    private CompanyReview lockReview(Long reviewId) {
+        reviewRepository.lockById(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+        return reviewRepository.findByIdWithDetails(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+    }
+
+    /**
+     * Repair job: recompute aggregates from the reviews table for companies that drifted
+     * (manual SQL edits, failed deploys, ...). One set-based statement.
+     */
+    @Scheduled(cron = "${app.companies.rating-repair-cron:0 45 3 * * *}")
+    @Transactional
+    public int reconcileCompanyRatings() {
+        int repaired = companyRepository.reconcileRatingAggregates();
+        if (repaired > 0) {
+            log.warn("Repaired rating aggregates for {} companies", repaired);
+        }
+        return repaired;
     }
 
     @Transactional
     public void deleteReview(Long reviewId, Long userId) {
-        CompanyReview review = reviewRepository.findByIdWithDetails(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found"));
+        CompanyReview review = lockReview(reviewId);
 
         // Only owner can delete
         if (!review.getUser().getId().equals(userId)) {
@@ -136,21 +231,23 @@ public class CompanyReviewService {
         reviewRepository.delete(review);
 
         // Update company rating
-        updateCompanyRating(companyId);
+        applyRatingChange(companyId, review.getStatus(), review.getRating(), null, null);
 
         log.info("Review {} deleted by user {}", reviewId, userId);
     }
 
     @Transactional
     public CompanyReview updateReview(Long reviewId, CompanyReviewRequest request, Long userId) {
-        CompanyReview review = reviewRepository.findByIdWithDetails(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found"));
+        CompanyReview review = lockReview(reviewId);
 
         // Only owner can update
         if (!review.getUser().getId().equals(userId)) {
             throw new RuntimeException("You can only update your own reviews");
         }
 
+        CompanyReview.ReviewStatus oldStatus = review.getStatus();
+        Integer oldRating = review.getRating();
+
         review.setRating(request.getRating());
         review.setTitle(request.getTitle());
         review.setPros(request.getPros());
@@ -162,27 +259,100 @@ public class CompanyReviewService {
         CompanyReview updated = reviewRepository.save(review);
 
         // Update company rating
-        updateCompanyRating(review.getCompany().getId());
+        applyRatingChange(review.getCompany().getId(), oldStatus, oldRating, updated.getStatus(), updated.getRating());
 
         log.info("Review {} updated by user {}", reviewId, userId);
         return updated;
     }
 
     // Admin methods
+
+    /**
+     * Moderation queue, oldest pending review first, keyset-paged on (createdAt, id)
+     *
+     * @param after last review id of the previous page (null for the first page)
+     */
     @Transactional(readOnly = true)
-    public Page<CompanyReview> getPendingReviews(Pageable pageable) {
-        return reviewRepository.findByStatusWithDetails(CompanyReview.ReviewStatus.PENDING, pageable);
+    public ReviewQueueResponse getPendingReviews(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_QUEUE_PAGE_SIZE));
+        // One extra row tells us whether another page exists
+        Pageable page = PageRequest.of(0, pageSize + 1);
+
+        List<CompanyReview> reviews;
+        if (after == null) {
+            reviews = reviewRepository.findPendingQueue(page);
+        } else {
+            LocalDateTime cursorCreatedAt = reviewRepository.findCreatedAtById(after)
+                    .orElseThrow(() -> new BadRequestException("Invalid cursor"));
+            reviews = reviewRepository.findPendingQueueAfter(cursorCreatedAt, after, page);
+        }
+
+        boolean hasMore = reviews.size() > pageSize;
+        if (hasMore) {
+            reviews = reviews.subList(0, pageSize);
+        }
+
+        return ReviewQueueResponse.builder()
+                .reviews(reviews.stream().map(CompanyReviewResponse::fromEntity).toList())
+                .hasMore(hasMore)
+                .nextCursor(reviews.isEmpty() ? null : reviews.get(reviews.size() - 1).getId())
+                .build();
+    }
+
+    @Transactional
+    public BulkModerationResponse approveReviews(List<Long> reviewIds) {
+        return moderateInBulk(reviewIds, CompanyReview.ReviewStatus.APPROVED);
+    }
+
+    @Transactional
+    public BulkModerationResponse rejectReviews(List<Long> reviewIds) {
+        return moderateInBulk(reviewIds, CompanyReview.ReviewStatus.REJECTED);
+    }
+
+    /**
+     * Set-based moderation in one statement: lock the target reviews (in id order), flip their status,
+     * fold the resulting rating deltas per company and apply each company's net delta once.
+     * Reviews already in the target status or not found are skipped.
+     */
+    private BulkModerationResponse moderateInBulk(List<Long> reviewIds, CompanyReview.ReviewStatus newStatus) {
+        Long[] ids = reviewIds.stream().filter(Objects::nonNull).distinct().toArray(Long[]::new);
+        if (ids.length == 0) {
+            throw new BadRequestException("Review IDs are required");
+        }
+
+        List<long[]> perCompany = jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(BULK_MODERATION_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setString(2, newStatus.name());
+            ps.setString(3, newStatus.name());
+            return ps;
+        }, (rs, rowNum) -> new long[]{rs.getLong("company_id"), rs.getLong("reviews")});
+
+        int updated = 0;
+        for (long[] row : perCompany) {
+            updated += (int) row[1];
+            eventPublisher.publishEvent(new CompanyProfileCache.CompanyChangedEvent(row[0]));
+        }
+
+        log.info("Bulk {}: {}/{} reviews updated across {} companies",
+                newStatus, updated, ids.length, perCompany.size());
+
+        return BulkModerationResponse.builder()
+                .requestedCount(ids.length)
+                .updatedCount(updated)
+                .companiesAffected(perCompany.size())
+                .build();
     }
 
     @Transactional
     public CompanyReview approveReview(Long reviewId) {
-        CompanyReview review = reviewRepository.findByIdWithDetails(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found"));
+        CompanyReview review = lockReview(reviewId);
 
+        CompanyReview.ReviewStatus oldStatus = review.getStatus();
         review.setStatus(CompanyReview.ReviewStatus.APPROVED);
         CompanyReview approved = reviewRepository.save(review);
 
-        updateCompanyRating(review.getCompany().getId());
+        applyRatingChange(review.getCompany().getId(), oldStatus, review.getRating(), approved.getStatus(), approved.getRating());
 
         log.info("Review {} approved", reviewId);
         return approved;
@@ -190,13 +360,13 @@ public class CompanyReviewService {
 
     @Transactional
     public CompanyReview rejectReview(Long reviewId) {
-        CompanyReview review = reviewRepository.findByIdWithDetails(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found"));
+        CompanyReview review = lockReview(reviewId);
 
+        CompanyReview.ReviewStatus oldStatus = review.getStatus();
         review.setStatus(CompanyReview.ReviewStatus.REJECTED);
         CompanyReview rejected = reviewRepository.save(review);
 
-        updateCompanyRating(review.getCompany().getId());
+        applyRatingChange(review.getCompany().getId(), oldStatus, review.getRating(), rejected.getStatus(), rejected.getRating());
 
         log.info("Review {} rejected", reviewId);
         return rejected;
@@ -1,13 +1,20 @@
 package com.jobverse.service;
 
+import com.jobverse.dto.response.CompanyProfileResponse;
 import com.jobverse.dto.response.CompanyResponse;
+import com.jobverse.dto.response.CompanyReviewResponse;
+import com.jobverse.dto.response.JobResponse;
 import com.jobverse.entity.Company;
+import com.jobverse.entity.CompanyReview;
 import com.jobverse.entity.Job;
 import com.jobverse.exception.ResourceNotFoundException;
 import com.jobverse.repository.CompanyRepository;
+import com.jobverse.repository.CompanyReviewRepository;
 import com.jobverse.repository.JobRepository;
+import com.jobverse.util.VietnameseTextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,7 +22,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -27,6 +37,14 @@ public class CompanyService {
 
     private final CompanyRepository companyRepository;
     private final JobRepository jobRepository;
+    private final CompanyReviewRepository reviewRepository;
+    private final CompanyProfileCache profileCache;
+
+    @Value("${app.companies.profile-cache.reviews-page-size:5}")
+    private int profileReviewsPageSize;
+
+    @Value("${app.companies.profile-cache.jobs-page-size:10}")
+    private int profileJobsPageSize;
 
     public Page<CompanyResponse> getAllCompanies(Pageable pageable) {
         log.info("🏢 Fetching all companies with pagination: page={}, size={}",
@@ -36,31 +54,37 @@ public class CompanyService {
 
         log.info("✅ Found {} companies", companies.getTotalElements());
 
-        return companies.map(this::mapToResponse);
+        return mapPage(companies);
     }
     
-    // Search companies with keyword and industry filter
+    // Search companies with keyword and industry filter (accent-insensitive: "ha noi" matches "Hà Nội")
     public Page<CompanyResponse> searchCompanies(String keyword, String industry, Pageable pageable) {
         log.info("🔍 Searching companies - keyword={}, industry={}", keyword, industry);
         
         Page<Company> companies;
         
-        boolean hasKeyword = keyword != null && !keyword.trim().isEmpty();
-        boolean hasIndustry = industry != null && !industry.trim().isEmpty();
+        String normalizedKeyword = VietnameseTextNormalizer.normalize(keyword == null ? null : keyword.trim());
+        String normalizedIndustry = VietnameseTextNormalizer.normalize(industry == null ? null : industry.trim());
+        boolean hasKeyword = normalizedKeyword != null && !normalizedKeyword.isEmpty();
+        boolean hasIndustry = normalizedIndustry != null && !normalizedIndustry.isEmpty();
+        
+        // Keyword results are ordered by relevance, so the requested sort is dropped
+        Pageable ranked = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
         
         if (hasKeyword && hasIndustry) {
-            companies = companyRepository.searchByKeywordAndIndustry(keyword.trim(), industry.trim(), pageable);
+            companies = companyRepository.searchByKeywordAndIndustry(
+                    normalizedKeyword, likePattern(normalizedKeyword), normalizedIndustry, ranked);
         } else if (hasKeyword) {
-            companies = companyRepository.searchByKeyword(keyword.trim(), pageable);
+            companies = companyRepository.searchByKeyword(normalizedKeyword, likePattern(normalizedKeyword), ranked);
         } else if (hasIndustry) {
-            companies = companyRepository.findByIndustry(industry.trim(), pageable);
+            companies = companyRepository.findByIndustryNormalized(normalizedIndustry, pageable);
         } else {
             companies = companyRepository.findAll(pageable);
         }
         
         log.info("✅ Found {} companies matching search criteria", companies.getTotalElements());
         
-        return companies.map(this::mapToResponse);
+        return mapPage(companies);
     }
 
     public CompanyResponse getCompanyById(Long id) {
@@ -81,6 +105,24 @@ public class CompanyService {
         return mapToDetailedResponse(company);
     }
 
+    /**
+     * Composite company page (details, rating histogram, first reviews page, first jobs page), cached
+     */
+    public CompanyProfileResponse getCompanyProfileById(Long id) {
+        return profileCache.getById(id, () -> buildProfile(companyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Company not found with id: " + id))));
+    }
+
+    public CompanyProfileResponse getCompanyProfileBySlug(String slug) {
+        return profileCache.getBySlug(slug, () -> buildProfile(companyRepository.findBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Company not found with slug: " + slug))));
+    }
+
+    public Page<JobResponse> getActiveJobs(Long companyId, Pageable pageable) {
+        return jobRepository.findByCompanyIdAndStatus(companyId, Job.JobStatus.ACTIVE, pageable)
+                .map(this::mapJobToResponse);
+    }
+
     public List<CompanyResponse> getFeaturedCompanies() {
         log.info("⭐ Fetching featured companies");
 
@@ -89,9 +131,7 @@ public class CompanyService {
 
         log.info("✅ Found {} featured companies", companies.size());
 
-        return companies.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapList(companies);
     }
 
     public Page<CompanyResponse> getTopRatedCompanies(Pageable pageable) {
@@ -101,7 +141,7 @@ public class CompanyService {
 
         log.info("✅ Found {} top rated companies", companies.getTotalElements());
 
-        return companies.map(this::mapToResponse);
+        return mapPage(companies);
     }
 
     public List<CompanyResponse> getCompaniesByOwnerId(Long ownerId) {
@@ -125,7 +165,28 @@ public class CompanyService {
                 .map(this::mapToResponse);
     }
 
+    private static String likePattern(String normalizedKeyword) {
+        String escaped = normalizedKeyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private Page<CompanyResponse> mapPage(Page<Company> companies) {
+        Map<Long, Integer> activeJobCounts = countActiveJobs(companies.getContent());
+        return companies.map(company -> mapToResponse(company, activeJobCounts.getOrDefault(company.getId(), 0)));
+    }
+
+    private List<CompanyResponse> mapList(List<Company> companies) {
+        Map<Long, Integer> activeJobCounts = countActiveJobs(companies);
+        return companies.stream()
+                .map(company -> mapToResponse(company, activeJobCounts.getOrDefault(company.getId(), 0)))
+                .collect(Collectors.toList());
+    }
+
     private CompanyResponse mapToResponse(Company company) {
+        return mapToResponse(company, countActiveJobs(company));
+    }
+
+    private CompanyResponse mapToResponse(Company company, Integer activeJobCount) {
         return CompanyResponse.builder()
                 .id(company.getId())
                 .name(company.getName())
@@ -144,12 +205,16 @@ public class CompanyService {
                 .employeeCount(company.getEmployeeCount())
                 .isFeatured(company.getIsFeatured())
                 .createdAt(company.getCreatedAt())
-                .activeJobCount(countActiveJobs(company))
+                .activeJobCount(activeJobCount)
                 .build();
     }
 
     private CompanyResponse mapToDetailedResponse(Company company) {
-        CompanyResponse response = mapToResponse(company);
+        return mapToDetailedResponse(company, countActiveJobs(company));
+    }
+
+    private CompanyResponse mapToDetailedResponse(Company company, Integer activeJobCount) {
+        CompanyResponse response = mapToResponse(company, activeJobCount);
 
         // Add owner info
         if (company.getOwner() != null) {
@@ -169,8 +234,76 @@ public class CompanyService {
         return response;
     }
 
+    private CompanyProfileResponse buildProfile(Company company) {
+        log.info("🏗️ Building profile for company {}", company.getId());
+
+        Page<JobResponse> jobs = getActiveJobs(company.getId(),
+                PageRequest.of(0, profileJobsPageSize, Sort.by("createdAt").descending()));
+
+        Page<CompanyReviewResponse> reviews = reviewRepository.findByCompanyIdAndStatusWithDetails(
+                        company.getId(), CompanyReview.ReviewStatus.APPROVED, PageRequest.of(0, profileReviewsPageSize))
+                .map(CompanyReviewResponse::fromEntity);
+
+        Map<Integer, Integer> histogram = new LinkedHashMap<>();
+        histogram.put(5, company.getRating5Count());
+        histogram.put(4, company.getRating4Count());
+        histogram.put(3, company.getRating3Count());
+        histogram.put(2, company.getRating2Count());
+        histogram.put(1, company.getRating1Count());
+
+        // The jobs page total is the active job count, no separate COUNT needed
+        CompanyResponse details = mapToDetailedResponse(company, (int) jobs.getTotalElements());
+
+        return CompanyProfileResponse.builder()
+                .company(details)
+                .ratingHistogram(histogram)
+                .reviews(reviews)
+                .jobs(jobs)
+                .build();
+    }
+
+    private JobResponse mapJobToResponse(Job job) {
+        return JobResponse.builder()
+                .id(job.getId())
+                .title(job.getTitle())
+                .slug(job.getSlug())
+                .description(job.getDescription())
+                .location(job.getLocation())
+                .salaryMin(job.getSalaryMin())
+                .salaryMax(job.getSalaryMax())
+                .salaryNegotiable(job.getSalaryNegotiable())
+                .currency(job.getCurrency())
+                .jobType(job.getJobType())
+                .experienceLevel(job.getExperienceLevel())
+                .deadline(job.getDeadline())
+                .isFeatured(job.getIsFeatured())
+                .isRemote(job.getIsRemote())
+                .isUrgent(job.getIsUrgent())
+                .positionsCount(job.getPositionsCount())
+                .status(job.getStatus())
+                .createdAt(job.getCreatedAt())
+                .build();
+    }
+
     private Integer countActiveJobs(Company company) {
         // Use repository query instead of accessing lazy collection
         return jobRepository.countByCompanyIdAndStatus(company.getId(), Job.JobStatus.ACTIVE);
     }
+
+    /**
+     * Active job counts for a whole page of companies with a single grouped query.
+     * Companies without active jobs are absent from the map.
+     */
+    private Map<Long, Integer> countActiveJobs(List<Company> companies) {
+        if (companies.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> companyIds = companies.stream().map(Company::getId).collect(Collectors.toList());
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : jobRepository.countByCompanyIdsAndStatus(companyIds, Job.JobStatus.ACTIVE)) {
+            counts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
 }
@@ -0,0 +1,242 @@
+package com.jobverse.service;
+
+import com.jobverse.entity.EmailOutbox;
+import com.jobverse.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Email Delivery Service
+ * Drains the email_outbox table: claims due rows in batches (FOR UPDATE SKIP LOCKED),
+ * sends each batch over a single SMTP connection and retries failures with exponential backoff.
+ */
+@Slf4j
+@Service
+public class EmailDeliveryService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong queueLagSeconds = new AtomicLong();
+
+    @Value("${app.mail.outbox.enabled:true}")
+    private boolean enabled;
+
+    // Log instead of talking to SMTP (local dev without a mail server)
+    @Value("${app.mail.outbox.dry-run:true}")
+    private boolean dryRun;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.base-backoff-seconds:30}")
+    private long baseBackoffSeconds;
+
+    @Value("${app.mail.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${app.mail.outbox.stale-lock-seconds:300}")
+    private long staleLockSeconds;
+
+    @Value("${app.mail.from:no-reply@jobverse.com}")
+    private String fromAddress;
+
+    public EmailDeliveryService(EmailOutboxRepository emailOutboxRepository,
+                                JavaMailSender mailSender,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+
+        this.sentCounter = meterRegistry.counter("jobverse.email.outbox.sent");
+        this.retryCounter = meterRegistry.counter("jobverse.email.outbox.retried");
+        this.failedCounter = meterRegistry.counter("jobverse.email.outbox.failed");
+        this.batchTimer = meterRegistry.timer("jobverse.email.outbox.batch");
+        Gauge.builder("jobverse.email.outbox.pending", pendingCount, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("jobverse.email.outbox.lag.seconds", queueLagSeconds, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void deliverPendingEmails() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            // Keep draining while full batches come back
+            int delivered;
+            do {
+                delivered = batchTimer.record(this::deliverBatch);
+            } while (delivered >= batchSize);
+
+            refreshQueueGauges();
+        } catch (Exception e) {
+            log.error("❌ Email outbox delivery failed: {}", e.getMessage());
+        }
+    }
+
+    private int deliverBatch() {
+        // 1. Claim: short transaction that marks the rows SENDING so other workers skip them
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> {
+            List<EmailOutbox> claimed = emailOutboxRepository.claimBatch(
+                    batchSize, LocalDateTime.now().minusSeconds(staleLockSeconds));
+            LocalDateTime now = LocalDateTime.now();
+            claimed.forEach(email -> {
+                email.setStatus(EmailOutbox.Status.SENDING);
+                email.setLockedAt(now);
+            });
+            return emailOutboxRepository.saveAll(claimed);
+        });
+
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        // 2. Send outside any transaction so no DB connection is held during SMTP I/O
+        Map<EmailOutbox, Exception> failures = send(batch);
+
+        // 3. Record outcome
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutbox email : batch) {
+                Exception error = failures.get(email);
+                email.setAttempts(email.getAttempts() + 1);
+                email.setLockedAt(null);
+
+                if (error == null) {
+                    email.setStatus(EmailOutbox.Status.SENT);
+                    email.setSentAt(now);
+                    email.setLastError(null);
+                    sentCounter.increment();
+                    redactIfSensitive(email);
+                } else if (email.getAttempts() >= maxAttempts) {
+                    email.setStatus(EmailOutbox.Status.FAILED);
+                    email.setLastError(error.getMessage());
+                    failedCounter.increment();
+                    redactIfSensitive(email);
+                    log.error("❌ Giving up on email {} after {} attempts: {}",
+                            email.getDedupeKey(), email.getAttempts(), error.getMessage());
+                } else {
+                    email.setStatus(EmailOutbox.Status.PENDING);
+                    email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+                    email.setLastError(error.getMessage());
+                    retryCounter.increment();
+                    log.warn("⚠️ Email {} failed (attempt {}), retrying at {}",
+                            email.getDedupeKey(), email.getAttempts(), email.getNextAttemptAt());
+                }
+            }
+            emailOutboxRepository.saveAll(batch);
+        });
+
+        log.info("📧 Delivered {}/{} queued emails", batch.size() - failures.size(), batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Send a batch over one SMTP connection. Returns the per-email failures.
+     */
+    private Map<EmailOutbox, Exception> send(List<EmailOutbox> batch) {
+        Map<EmailOutbox, Exception> failures = new IdentityHashMap<>();
+
+        if (dryRun) {
+            batch.forEach(email -> log.info("📧 [DRY-RUN] '{}' to: {}", email.getSubject(), email.getRecipient()));
+            return failures;
+        }
+
+        Map<MimeMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+        for (EmailOutbox email : batch) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+                helper.setFrom(fromAddress);
+                helper.setTo(email.getRecipient());
+                helper.setSubject(email.getSubject());
+                helper.setText(email.getBody());
+                byMessage.put(message, email);
+                messages.add(message);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            // JavaMailSenderImpl reuses one transport connection for the whole array
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // Connection-level failure: nothing was sent
+                byMessage.values().forEach(email -> failures.put(email, e));
+            } else {
+                e.getFailedMessages().forEach((message, error) -> {
+                    EmailOutbox email = byMessage.get(message);
+                    if (email != null) {
+                        failures.put(email, error);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            byMessage.values().forEach(email -> failures.put(email, e));
+        }
+
+        return failures;
+    }
+
+    // Reset links are single-use credentials: don't keep them in the table after the last attempt
+    private static void redactIfSensitive(EmailOutbox email) {
+        if (email.getDedupeKey().startsWith(EmailService.PASSWORD_RESET_KEY_PREFIX)) {
+            email.setBody(EmailService.REDACTED_BODY);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long exponential = baseBackoffSeconds * (1L << Math.min(attempts - 1, 16));
+        long capped = Math.min(exponential, maxBackoffSeconds);
+        // +/- 20% jitter so retries from one outage don't arrive together
+        long jitter = (long) (capped * 0.2 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+        return Duration.ofSeconds(Math.max(1, capped + jitter));
+    }
+
+    private void refreshQueueGauges() {
+        pendingCount.set(emailOutboxRepository.countPending());
+        LocalDateTime oldest = emailOutboxRepository.findOldestPendingCreatedAt();
+        queueLagSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).getSeconds() : 0);
+    }
+}
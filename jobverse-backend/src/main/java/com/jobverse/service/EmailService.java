@@ -1,35 +1,104 @@
 package com.jobverse.service;
 
+import com.jobverse.entity.Application;
 import com.jobverse.entity.User;
+import com.jobverse.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Email Service
+ * Queues emails into the email_outbox table inside the caller's transaction.
+ * Actual SMTP delivery happens in EmailDeliveryService.
+ */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
-    
-    @Async
+
+    // Emails whose body holds a credential; EmailDeliveryService redacts them once delivered
+    public static final String PASSWORD_RESET_KEY_PREFIX = "password-reset:";
+    public static final String REDACTED_BODY = "[redacted after delivery]";
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    @Value("${app.frontend-url:http://localhost:5173}")
+    private String frontendUrl;
+
+    @Transactional
     public void sendVerificationEmail(User user) {
-        // TODO: Implement real email sending
-        log.info("📧 [MOCK] Verification email sent to: {}", user.getEmail());
+        enqueue("verification:" + user.getId(),
+                user.getEmail(),
+                "Xác thực email JobVerse",
+                "Chào bạn,\n\nVui lòng xác thực địa chỉ email để hoàn tất đăng ký tài khoản JobVerse.");
+    }
+
+    /**
+     * Every reset token gets its own email: a newer request must not be swallowed, or the user
+     * would only get the first link. Keyed by the token's hash, so only a retried enqueue of
+     * the same token is deduplicated, and the token itself never lands in the key column.
+     * The body holds the link only until the email is sent (or given up on).
+     */
+    @Transactional
+    public void sendPasswordResetEmail(User user, String resetToken) {
+        enqueue(PASSWORD_RESET_KEY_PREFIX + user.getId() + ":" + sha256(resetToken),
+                user.getEmail(),
+                "Đặt lại mật khẩu JobVerse",
+                "Chào bạn,\n\nChúng tôi đã nhận được yêu cầu đặt lại mật khẩu cho tài khoản của bạn.\n" +
+                "Nhấn vào liên kết sau để đặt mật khẩu mới:\n" +
+                frontendUrl + "/reset-password?token=" + URLEncoder.encode(resetToken, StandardCharsets.UTF_8));
     }
-    
-    @Async
-    public void sendPasswordResetEmail(User user) {
-        // TODO: Implement real email sending
-        log.info("📧 [MOCK] Password reset email sent to: {}", user.getEmail());
+
+    /**
+     * Queue both emails for a new application (candidate confirmation + employer notice)
+     */
+    @Transactional
+    public void sendApplicationEmails(Application application) {
+        String jobTitle = application.getJob().getTitle();
+        String companyName = application.getJob().getCompany().getName();
+        User candidate = application.getUser();
+
+        enqueue("application-confirmation:" + application.getId(),
+                candidate.getEmail(),
+                "Ứng tuyển thành công: " + jobTitle,
+                "Bạn đã ứng tuyển thành công vị trí " + jobTitle + " tại " + companyName + ".");
+
+        User employer = application.getJob().getPostedBy();
+        if (employer != null) {
+            String candidateName = candidate.getProfile() != null
+                    ? candidate.getProfile().getFullName()
+                    : candidate.getEmail();
+            enqueue("new-application:" + application.getId(),
+                    employer.getEmail(),
+                    "Có ứng viên mới: " + jobTitle,
+                    "Ứng viên " + candidateName + " vừa ứng tuyển vị trí " + jobTitle + ".");
+        }
     }
-    
-    @Async
-    public void sendApplicationConfirmation(User user, String jobTitle, String companyName) {
-        log.info("📧 [MOCK] Application confirmation sent to: {} for job: {} at {}", 
-                user.getEmail(), jobTitle, companyName);
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-    
-    @Async
-    public void sendNewApplicationNotification(User employer, String candidateName, String jobTitle) {
-        log.info("📧 [MOCK] New application notification sent to: {} - Candidate: {} for job: {}", 
-                employer.getEmail(), candidateName, jobTitle);
+
+    private void enqueue(String dedupeKey, String recipient, String subject, String body) {
+        int inserted = emailOutboxRepository.enqueue(dedupeKey, recipient, subject, body);
+        if (inserted > 0) {
+            log.info("📧 Queued email '{}' to: {}", dedupeKey, recipient);
+        } else {
+            log.debug("📧 Email '{}' already queued, skipping", dedupeKey);
+        }
     }
 }
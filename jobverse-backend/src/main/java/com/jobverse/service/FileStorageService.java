@@ -7,11 +7,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
@@ -79,6 +84,67 @@ public class FileStorageService {
         }
     }
     
+    /**
+     * Uploaded document as stored on disk
+     */
+    public record StoredFile(String url, Path path, long size, String sha256) {
+    }
+    
+    /**
+     * Stream a document to storage in fixed-size chunks (never holding the whole file in heap),
+     * hashing it on the way. Aborts and removes the partial file once maxBytes is exceeded.
+     */
+    public StoredFile storeStream(InputStream in, String folder, String fileExtension, long maxBytes) {
+        String fileName = UUID.randomUUID() + fileExtension;
+        Path folderPath = this.fileStorageLocation.resolve(folder);
+        Path targetLocation = folderPath.resolve(fileName);
+        
+        try {
+            Files.createDirectories(folderPath);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            byte[] buffer = new byte[8192];
+            try (OutputStream out = Files.newOutputStream(targetLocation)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new BadRequestException("File size exceeds maximum limit of " + (maxBytes / (1024 * 1024)) + "MB");
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            
+            log.info("✅ File stored: {}/{} ({} bytes)", folder, fileName, size);
+            return new StoredFile("/" + folder + "/" + fileName, targetLocation, size, HexFormat.of().formatHex(digest.digest()));
+        } catch (BadRequestException ex) {
+            deleteQuietly(targetLocation);
+            throw ex;
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            deleteQuietly(targetLocation);
+            log.error("❌ Failed to store file: {}", ex.getMessage());
+            throw new RuntimeException("Failed to store file", ex);
+        }
+    }
+    
+    public Path resolve(String fileUrl) {
+        String filePath = fileUrl.startsWith("/") ? fileUrl.substring(1) : fileUrl;
+        Path resolved = this.fileStorageLocation.resolve(filePath).normalize();
+        if (!resolved.startsWith(this.fileStorageLocation)) {
+            throw new BadRequestException("Invalid file path");
+        }
+        return resolved;
+    }
+    
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // best effort
+        }
+    }
+    
     public void deleteFile(String fileUrl) {
         if (fileUrl == null || fileUrl.isEmpty()) {
             return;
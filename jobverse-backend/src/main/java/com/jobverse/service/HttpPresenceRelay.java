@@ -0,0 +1,143 @@
+package com.jobverse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Peer-to-peer relay over HTTP: every flush interval, the pending events are POSTed to each peer's
+ * /internal/presence/relay endpoint. Heartbeats are coalesced per user, so traffic is bounded by
+ * the number of active users, not by the heartbeat rate.
+ *
+ * Two local instances: run one with SERVER_PORT=8080 and peers=http://localhost:8081/api,
+ * the other with SERVER_PORT=8081 and peers=http://localhost:8080/api, same secret.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.presence.relay.mode", havingValue = "http")
+public class HttpPresenceRelay implements PresenceRelay {
+
+    public static final String SECRET_HEADER = "X-Relay-Secret";
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private final String nodeId;
+    private final List<URI> peers;
+    private final String secret;
+
+    private final Map<Long, RelayEvent> pendingHeartbeats = new ConcurrentHashMap<>();
+    private final Queue<RelayEvent> pendingTyping = new ConcurrentLinkedQueue<>();
+    private volatile Consumer<RelayEvent> listener = event -> { };
+
+    public HttpPresenceRelay(ObjectMapper objectMapper,
+                             @Value("${app.presence.relay.node-id:}") String nodeId,
+                             @Value("${app.presence.relay.peers:}") String peers,
+                             @Value("${app.presence.relay.secret:}") String secret) {
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.peers = Arrays.stream(peers.split(","))
+                .map(String::trim)
+                .filter(peer -> !peer.isEmpty())
+                .map(peer -> URI.create(peer + "/internal/presence/relay"))
+                .toList();
+        this.secret = secret;
+        log.info("🛰️ Presence relay {} with peers {}", this.nodeId, this.peers);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(RelayEvent event) {
+        if (event.type() == EventType.HEARTBEAT) {
+            pendingHeartbeats.put(event.userId(), event);
+        } else {
+            pendingTyping.add(event);
+        }
+    }
+
+    @Override
+    public void onReceive(Consumer<RelayEvent> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void deliver(List<RelayEvent> events) {
+        for (RelayEvent event : events) {
+            if (!nodeId.equals(event.nodeId())) {
+                listener.accept(event);
+            }
+        }
+    }
+
+    public boolean isValidSecret(String candidate) {
+        return !secret.isBlank() && secret.equals(candidate);
+    }
+
+    @Scheduled(fixedDelayString = "${app.presence.relay.flush-interval-ms:500}")
+    public void flush() {
+        List<RelayEvent> batch = new ArrayList<>();
+        for (Long userId : pendingHeartbeats.keySet()) {
+            RelayEvent event = pendingHeartbeats.remove(userId);
+            if (event != null) {
+                batch.add(event);
+            }
+        }
+        RelayEvent typing;
+        while ((typing = pendingTyping.poll()) != null) {
+            batch.add(typing);
+        }
+        if (batch.isEmpty() || peers.isEmpty()) {
+            return;
+        }
+
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(batch);
+        } catch (Exception e) {
+            log.error("❌ Could not serialize presence relay batch: {}", e.getMessage());
+            return;
+        }
+
+        for (URI peer : peers) {
+            HttpRequest request = HttpRequest.newBuilder(peer)
+                    .timeout(Duration.ofSeconds(2))
+                    .header("Content-Type", "application/json")
+                    .header(SECRET_HEADER, secret)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            // Fire and forget: presence is best-effort, the next flush carries fresh heartbeats
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            log.debug("Presence relay to {} failed: {}", peer, error.getMessage());
+                        } else if (response.statusCode() >= 300) {
+                            log.debug("Presence relay to {} rejected: {}", peer, response.statusCode());
+                        }
+                    });
+        }
+    }
+}
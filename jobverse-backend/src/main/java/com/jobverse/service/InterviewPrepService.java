@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interview Preparation Service
@@ -333,21 +334,20 @@ public class InterviewPrepService {
     /**
      * Get AI-powered answer evaluation
      */
-    public AnswerEvaluation evaluateAnswer(String question, String userAnswer) {
+    public CompletableFuture<AnswerEvaluation> evaluateAnswer(String question, String userAnswer) {
         log.info("Evaluating answer for question: {}", question.substring(0, Math.min(50, question.length())));
 
-        // Use dedicated evaluation method that bypasses intent matching
-        String aiEvaluation = aiService.evaluateInterviewAnswer(question, userAnswer);
-
         // Tính điểm dựa trên độ dài và keywords
         int score = calculateAnswerScore(question, userAnswer);
 
-        return AnswerEvaluation.builder()
-            .question(question)
-            .userAnswer(userAnswer)
-            .feedback(aiEvaluation)
-            .score(score)
-            .build();
+        // Use dedicated evaluation method that bypasses intent matching
+        return aiService.evaluateInterviewAnswer(question, userAnswer)
+            .thenApply(aiEvaluation -> AnswerEvaluation.builder()
+                .question(question)
+                .userAnswer(userAnswer)
+                .feedback(aiEvaluation)
+                .score(score)
+                .build());
     }
 
     /**
@@ -391,17 +391,16 @@ public class InterviewPrepService {
     /**
      * Generate AI-powered sample answer for interview question
      */
-    public GeneratedAnswer generateSampleAnswer(String question, String role, String experienceLevel) {
+    public CompletableFuture<GeneratedAnswer> generateSampleAnswer(String question, String role, String experienceLevel) {
         log.info("Generating sample answer for question: {}", question.substring(0, Math.min(50, question.length())));
 
-        String aiAnswer = aiService.generateInterviewAnswer(question, role, experienceLevel);
-
-        return GeneratedAnswer.builder()
-            .question(question)
-            .role(role)
-            .experienceLevel(experienceLevel)
-            .generatedAnswer(aiAnswer)
-            .build();
+        return aiService.generateInterviewAnswer(question, role, experienceLevel)
+            .thenApply(aiAnswer -> GeneratedAnswer.builder()
+                .question(question)
+                .role(role)
+                .experienceLevel(experienceLevel)
+                .generatedAnswer(aiAnswer)
+                .build());
     }
 
     /**
@@ -0,0 +1,28 @@
+package com.jobverse.service;
+
+import com.jobverse.entity.Job;
+
+/**
+ * Published whenever a job is created, edited, deleted or changes status.
+ * Listeners react after commit (company profile cache, ...).
+ *
+ * @param oldStatus null for a newly created job
+ * @param newStatus null for a deleted job
+ */
+public record JobChangedEvent(
+        Long jobId,
+        Long companyId,
+        Long categoryId,
+        Job.JobStatus oldStatus,
+        Job.JobStatus newStatus
+) {
+    public static JobChangedEvent of(Job job, Job.JobStatus oldStatus, Job.JobStatus newStatus) {
+        return new JobChangedEvent(
+                job.getId(),
+                job.getCompany() != null ? job.getCompany().getId() : null,
+                job.getCategory() != null ? job.getCategory().getId() : null,
+                oldStatus,
+                newStatus
+        );
+    }
+}
@@ -11,6 +11,7 @@ import com.jobverse.repository.*;
 import com.github.slugify.Slugify;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,7 +22,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +43,13 @@ public class JobService {
     private final SkillRepository skillRepository;
     private final AIMatchingService aiMatchingService;
     private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SkillStatsService skillStatsService;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final JobSkillIndex jobSkillIndex;
+    
+    private static final int MAX_JOB_SKILLS = 30;
     
     private final Slugify slugify = Slugify.builder().build();
 
@@ -50,7 +63,7 @@ public class JobService {
         Specification<Job> spec = Specification.where(JobSpecification.hasStatus(Job.JobStatus.ACTIVE));
         
         if (keyword != null && !keyword.isBlank()) {
-            spec = spec.and(JobSpecification.containsKeyword(keyword));
+            spec = spec.and(JobSpecification.containsAnyKeyword(keyword, skillTaxonomyService.expandQuery(keyword)));
         }
         if (location != null && !location.isBlank()) {
             spec = spec.and(JobSpecification.hasLocation(location));
@@ -83,7 +96,7 @@ public class JobService {
     public Page<JobResponse> fullTextSearch(String query, Pageable pageable, Long userId) {
         // In production, this would use Elasticsearch
         Specification<Job> spec = Specification.where(JobSpecification.hasStatus(Job.JobStatus.ACTIVE))
-                .and(JobSpecification.containsKeyword(query));
+                .and(JobSpecification.containsAnyKeyword(query, skillTaxonomyService.expandQuery(query)));
 
         Page<Job> jobs = jobRepository.findAll(spec, pageable);
         return jobs.map(job -> mapToJobResponse(job, userId));
@@ -96,6 +109,7 @@ public class JobService {
         
         // Increment view count
         jobRepository.incrementViewCount(id);
+        skillStatsService.recordDemand(id, SkillStatsService.DemandSignal.VIEW);
         
         JobResponse response = mapToJobResponse(job, userId);
         
@@ -161,6 +175,40 @@ public class JobService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Best ACTIVE jobs for a set of skills (e.g. from a resume), scored by the share of each
+     * job's skills covered; candidates come from the in-memory skill index, not a table scan.
+     */
+    @Transactional(readOnly = true)
+    public List<JobResponse> getBestJobsForSkills(Collection<String> skills, int limit) {
+        List<JobSkillIndex.Hit> hits = jobSkillIndex.topJobs(skills, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Job> jobs = jobRepository.findAllByIdWithCompany(
+                        hits.stream().map(JobSkillIndex.Hit::jobId).toList())
+                .stream()
+                .collect(Collectors.toMap(Job::getId, job -> job));
+
+        List<JobResponse> responses = new ArrayList<>(hits.size());
+        for (JobSkillIndex.Hit hit : hits) {
+            Job job = jobs.get(hit.jobId());
+            if (job == null || job.getStatus() != Job.JobStatus.ACTIVE) {
+                continue; // changed since the index was built
+            }
+            JobResponse response = mapToJobResponse(job, null);
+            response.setMatchScore(hit.matchPercentage());
+            response.setMatchAnalysis(JobResponse.MatchAnalysis.builder()
+                    .skillMatch(hit.matchPercentage())
+                    .matchedSkills(hit.matchedSkills())
+                    .missingSkills(hit.missingSkills())
+                    .build());
+            responses.add(response);
+        }
+        return responses;
+    }
+    
     public List<JobResponse> getSimilarJobs(Long jobId) {
         Job job = jobRepository.findByIdWithDetails(jobId)
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
@@ -230,8 +278,11 @@ public class JobService {
                 .isUrgent(request.getIsUrgent() != null && request.getIsUrgent())
                 .videoIntroUrl(request.getVideoIntroUrl())
                 .build();
+        attachSkills(job, request);
         
-        job = jobRepository.save(job);
+        // Flush so the job_skills rows are visible to the skill stats listener's SQL
+        job = jobRepository.saveAndFlush(job);
+        eventPublisher.publishEvent(JobChangedEvent.of(job, null, job.getStatus()));
         
         log.info("Job created: {} by user: {}", job.getTitle(), user.getEmail());
         
@@ -261,6 +312,7 @@ public class JobService {
         job.setDeadline(request.getDeadline());
         
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.of(job, job.getStatus(), job.getStatus()));
         
         return mapToJobResponse(job, userId);
     }
@@ -274,12 +326,29 @@ public class JobService {
             throw new UnauthorizedException("You don't have permission to delete this job");
         }
         
+        Job.JobStatus oldStatus = job.getStatus();
         job.setStatus(Job.JobStatus.CLOSED);
         jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.of(job, oldStatus, job.getStatus()));
         
         log.info("Job closed: {}", job.getTitle());
     }
     
+    /**
+     * Admin hard delete. The event goes out before the delete so synchronous listeners
+     * (skill stats) still see the job's skill rows, in the same transaction.
+     */
+    @Transactional
+    public void purgeJob(Long id) {
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        
+        eventPublisher.publishEvent(JobChangedEvent.of(job, job.getStatus(), null));
+        jobRepository.delete(job);
+        
+        log.info("Job deleted: {}", job.getTitle());
+    }
+    
     @Transactional
     public void applyForJob(ApplicationRequest request, Long userId) {
         // Check if already applied
@@ -315,6 +384,8 @@ public class JobService {
         
         applicationRepository.save(application);
         jobRepository.incrementApplicationCount(job.getId());
+        skillStatsService.recordDemand(job.getId(), SkillStatsService.DemandSignal.APPLICATION);
+        emailService.sendApplicationEmails(application);
         
         // Send notifications
         notificationService.sendApplicationNotification(application);
@@ -352,6 +423,82 @@ public class JobService {
         return savedJobs.map(sj -> mapToJobResponse(sj.getJob(), userId));
     }
     
+    /**
+     * Skills listed in the request plus skills mentioned in the posting text, all resolved to
+     * canonical skills through the taxonomy. Mentions in the title/requirements are required,
+     * description-only mentions are nice-to-have.
+     */
+    private void attachSkills(Job job, JobRequest request) {
+        Map<Long, JobSkill> bySkill = new LinkedHashMap<>();
+        if (request.getSkills() != null) {
+            for (JobRequest.JobSkillRequest skillRequest : request.getSkills()) {
+                Skill skill = resolveSkill(skillRequest);
+                if (skill != null) {
+                    bySkill.putIfAbsent(skill.getId(), JobSkill.builder()
+                            .job(job)
+                            .skill(skill)
+                            .proficiency(parseProficiency(skillRequest.getProficiency()))
+                            .isRequired(!Boolean.FALSE.equals(skillRequest.getIsRequired()))
+                            .build());
+                }
+            }
+        }
+        
+        String requiredText = job.getTitle() + "\n" + Objects.toString(job.getRequirements(), "");
+        addMentionedSkills(job, bySkill, requiredText, true);
+        addMentionedSkills(job, bySkill, Objects.toString(job.getDescription(), ""), false);
+        
+        job.getSkills().addAll(bySkill.values());
+    }
+    
+    private void addMentionedSkills(Job job, Map<Long, JobSkill> bySkill, String text, boolean required) {
+        for (SkillTaxonomyService.SkillRef ref : skillTaxonomyService.extract(text)) {
+            if (bySkill.size() >= MAX_JOB_SKILLS) {
+                return;
+            }
+            bySkill.computeIfAbsent(ref.id(), id -> JobSkill.builder()
+                    .job(job)
+                    .skill(skillRepository.getReferenceById(id))
+                    .isRequired(required)
+                    .build());
+        }
+    }
+    
+    private Skill resolveSkill(JobRequest.JobSkillRequest skillRequest) {
+        if (skillRequest.getSkillId() != null) {
+            Long canonicalId = skillTaxonomyService.canonical(skillRequest.getSkillId(), null).id();
+            return skillRepository.findById(canonicalId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Skill not found: " + skillRequest.getSkillId()));
+        }
+        String name = skillRequest.getSkillName();
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return skillTaxonomyService.resolve(name)
+                .map(ref -> skillRepository.getReferenceById(ref.id()))
+                .or(() -> skillRepository.findByNameIgnoreCase(name.trim()))
+                .orElseGet(() -> {
+                    // New skills become matchable after the next taxonomy refresh
+                    String baseSlug = slugify.slugify(name.trim());
+                    String slug = baseSlug;
+                    for (int counter = 1; skillRepository.findBySlug(slug).isPresent(); counter++) {
+                        slug = baseSlug + "-" + counter;
+                    }
+                    return skillRepository.save(Skill.builder().name(name.trim()).slug(slug).build());
+                });
+    }
+    
+    private UserSkill.Proficiency parseProficiency(String proficiency) {
+        if (proficiency == null || proficiency.isBlank()) {
+            return null;
+        }
+        try {
+            return UserSkill.Proficiency.valueOf(proficiency.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid proficiency: " + proficiency);
+        }
+    }
+    
     private String generateUniqueSlug(String baseSlug) {
         String slug = baseSlug;
         int counter = 1;
@@ -493,8 +640,10 @@ public class JobService {
             }
         }
         
+        Job.JobStatus oldStatus = job.getStatus();
         job.setStatus(status);
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.of(job, oldStatus, status));
         
         log.info("Job status updated successfully");
         return mapToJobResponse(job, userId);
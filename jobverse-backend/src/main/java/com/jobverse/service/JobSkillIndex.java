@@ -0,0 +1,330 @@
+package com.jobverse.service;
+
+import com.jobverse.entity.Job;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Job Skill Index
+ * In-memory inverted index of ACTIVE jobs by canonical skill id (skill -> job postings), so
+ * "best jobs for this resume" touches only jobs sharing at least one skill with the resume
+ * instead of scoring the whole table. Built from job_skills as an immutable snapshot; a job
+ * change (after commit) reloads just that job's skills into a small overlay that shadows the
+ * snapshot. The snapshot is rebuilt periodically, to pick up taxonomy edits and fold the
+ * overlay back in, or early once the overlay grows past max-overlay jobs.
+ */
+@Slf4j
+@Service
+public class JobSkillIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final Timer queryTimer;
+
+    private static final SkillTaxonomyService.SkillRef[] NOT_ACTIVE = new SkillTaxonomyService.SkillRef[0];
+
+    @Value("${app.jobs.skill-index.max-age-ms:600000}")
+    private long maxAgeMs;
+
+    @Value("${app.jobs.skill-index.max-overlay:1000}")
+    private int maxOverlay;
+
+    private volatile Index index;
+    private volatile boolean rebuildRequested;
+
+    // Jobs changed since the snapshot was built -> their current canonical skills (NOT_ACTIVE if none)
+    private final Map<Long, SkillTaxonomyService.SkillRef[]> changed = new ConcurrentHashMap<>();
+
+    /**
+     * A job sharing skills with the query, scored like ResumeAnalysisService.matchResumeToJob
+     */
+    public record Hit(Long jobId, int matchPercentage, List<String> matchedSkills, List<String> missingSkills) {
+    }
+
+    // Job i has id jobIds[i] and canonical skills jobSkills[i]; postings hold job indexes
+    private record Index(long[] jobIds, long[][] jobSkills, Map<Long, int[]> postings,
+                         Map<Long, String> skillNames, long builtAt) {
+    }
+
+    // A scored job: baseJob indexes the snapshot, or is -1 for a job served from the overlay
+    private record Candidate(long jobId, int percentage, int matched, int baseJob,
+                             SkillTaxonomyService.SkillRef[] overlaySkills) {
+    }
+
+    public JobSkillIndex(JdbcTemplate jdbcTemplate, SkillTaxonomyService skillTaxonomyService, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.skillTaxonomyService = skillTaxonomyService;
+        this.queryTimer = Timer.builder("jobverse.jobs.skill.index.query")
+                .description("Top-K job lookup for a set of skills")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("jobverse.jobs.skill.index.jobs", this, i -> i.index != null ? i.index.jobIds().length : 0)
+                .register(meterRegistry);
+        Gauge.builder("jobverse.jobs.skill.index.overlay", changed, Map::size)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * After commit only, so a rolled-back change never reaches the index. One small query for
+     * the job's skills (none if it is no longer ACTIVE) instead of a full rebuild.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.jobId() == null) {
+            return;
+        }
+        if (event.newStatus() != Job.JobStatus.ACTIVE) {
+            changed.put(event.jobId(), NOT_ACTIVE);
+            return;
+        }
+        try {
+            changed.put(event.jobId(), loadSkills(event.jobId()));
+        } catch (Exception e) {
+            // Keep serving the snapshot's view of the job until the next check rebuilds it
+            rebuildRequested = true;
+            log.warn("⚠️ Job skill index update failed for job {}: {}", event.jobId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.skill-index.refresh-delay-ms:5000}")
+    public void refreshIfStale() {
+        Index current = index;
+        if (current == null || rebuildRequested || changed.size() > maxOverlay
+                || System.currentTimeMillis() - current.builtAt() > maxAgeMs) {
+            rebuild();
+        }
+    }
+
+    /**
+     * The k best ACTIVE jobs for the given skill names (aliases resolve to canonical skills):
+     * highest share of the job's skills covered first, then more skills matched, then newest.
+     */
+    public List<Hit> topJobs(Collection<String> skills, int k) {
+        Index current = index != null ? index : rebuild();
+        long start = System.nanoTime();
+        try {
+            return topJobs(current, canonicalIds(skills), k);
+        } finally {
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private List<Hit> topJobs(Index current, Set<Long> skillIds, int k) {
+        long[] jobIds = current.jobIds();
+        long[][] jobSkills = current.jobSkills();
+
+        // Count matched skills per job, touching only the postings of the query's skills;
+        // sized by the jobs touched, not by the whole index
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (Long skillId : skillIds) {
+            int[] postings = current.postings().get(skillId);
+            if (postings == null) {
+                continue;
+            }
+            for (int job : postings) {
+                counts.merge(job, 1, Integer::sum);
+            }
+        }
+
+        // Min-heap of the best k so far: the root is the weakest and gets replaced
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1, JobSkillIndex::compare);
+        counts.forEach((job, matched) -> {
+            if (!changed.containsKey(jobIds[job])) {
+                int percentage = (int) Math.round(matched * 100.0 / jobSkills[job].length);
+                offer(best, new Candidate(jobIds[job], percentage, matched, job, null), k);
+            }
+        });
+        changed.forEach((jobId, skills) -> {
+            int matched = 0;
+            for (SkillTaxonomyService.SkillRef skill : skills) {
+                if (skillIds.contains(skill.id())) {
+                    matched++;
+                }
+            }
+            if (matched > 0) {
+                int percentage = (int) Math.round(matched * 100.0 / skills.length);
+                offer(best, new Candidate(jobId, percentage, matched, -1, skills), k);
+            }
+        });
+
+        List<Hit> hits = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            hits.add(toHit(current, best.poll(), skillIds));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private static void offer(PriorityQueue<Candidate> best, Candidate candidate, int k) {
+        if (best.size() < k) {
+            best.add(candidate);
+        } else if (compare(candidate, best.peek()) > 0) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+
+    // Higher percentage, then more matched, then newer (higher id)
+    private static int compare(Candidate a, Candidate b) {
+        if (a.percentage() != b.percentage()) {
+            return Integer.compare(a.percentage(), b.percentage());
+        }
+        if (a.matched() != b.matched()) {
+            return Integer.compare(a.matched(), b.matched());
+        }
+        return Long.compare(a.jobId(), b.jobId());
+    }
+
+    private Hit toHit(Index current, Candidate candidate, Set<Long> skillIds) {
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        if (candidate.baseJob() >= 0) {
+            for (long skillId : current.jobSkills()[candidate.baseJob()]) {
+                String name = current.skillNames().get(skillId);
+                (skillIds.contains(skillId) ? matched : missing).add(name);
+            }
+        } else {
+            for (SkillTaxonomyService.SkillRef skill : candidate.overlaySkills()) {
+                (skillIds.contains(skill.id()) ? matched : missing).add(skill.name());
+            }
+        }
+        return new Hit(candidate.jobId(), candidate.percentage(), matched, missing);
+    }
+
+    private Set<Long> canonicalIds(Collection<String> skills) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String skill : skills) {
+            skillTaxonomyService.resolve(skill).ifPresent(ref -> ids.add(ref.id()));
+        }
+        return ids;
+    }
+
+    // Canonical skills of one ACTIVE job, aliased duplicates collapsed; NOT_ACTIVE if it isn't
+    private SkillTaxonomyService.SkillRef[] loadSkills(long jobId) {
+        Map<Long, SkillTaxonomyService.SkillRef> skills = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT js.skill_id, s.name FROM job_skills js " +
+                "JOIN jobs j ON j.id = js.job_id " +
+                "JOIN skills s ON s.id = js.skill_id " +
+                "WHERE js.job_id = ? AND j.status = 'ACTIVE'",
+                rs -> {
+                    SkillTaxonomyService.SkillRef skill = skillTaxonomyService.canonical(rs.getLong(1), rs.getString(2));
+                    skills.putIfAbsent(skill.id(), skill);
+                },
+                jobId);
+        return skills.isEmpty() ? NOT_ACTIVE : skills.values().toArray(SkillTaxonomyService.SkillRef[]::new);
+    }
+
+    private synchronized Index rebuild() {
+        // Overlay entries present now are read by the query below; later ones stay on top of it
+        rebuildRequested = false;
+        Map<Long, SkillTaxonomyService.SkillRef[]> covered = Map.copyOf(changed);
+        long start = System.currentTimeMillis();
+
+        IndexBuilder builder = new IndexBuilder();
+        jdbcTemplate.query(
+                "SELECT js.job_id, js.skill_id, s.name FROM job_skills js " +
+                "JOIN jobs j ON j.id = js.job_id " +
+                "JOIN skills s ON s.id = js.skill_id " +
+                "WHERE j.status = 'ACTIVE' " +
+                "ORDER BY js.job_id",
+                rs -> {
+                    SkillTaxonomyService.SkillRef skill = skillTaxonomyService.canonical(rs.getLong(2), rs.getString(3));
+                    builder.add(rs.getLong(1), skill);
+                });
+        Index built = builder.build();
+        index = built;
+        covered.forEach(changed::remove); // remove(key, value): keeps entries replaced meanwhile
+
+        log.info("🗂️ Job skill index built: {} active jobs, {} skills in {}ms",
+                built.jobIds().length, built.postings().size(), System.currentTimeMillis() - start);
+        return built;
+    }
+
+    // Collects (job, skill) rows that arrive grouped by job
+    private static final class IndexBuilder {
+        private final List<Long> jobIds = new ArrayList<>();
+        private final List<long[]> jobSkills = new ArrayList<>();
+        private final Map<Long, String> skillNames = new HashMap<>();
+        private final Map<Long, int[]> postings = new HashMap<>();
+        private final Map<Long, Integer> postingSizes = new HashMap<>();
+
+        private long currentJob = -1;
+        private long[] currentSkills = new long[16];
+        private int currentSize;
+
+        void add(long jobId, SkillTaxonomyService.SkillRef skill) {
+            if (jobId != currentJob) {
+                flush();
+                currentJob = jobId;
+            }
+            skillNames.putIfAbsent(skill.id(), skill.name());
+            if (currentSize == currentSkills.length) {
+                currentSkills = Arrays.copyOf(currentSkills, currentSize * 2);
+            }
+            currentSkills[currentSize++] = skill.id();
+        }
+
+        Index build() {
+            flush();
+            Map<Long, int[]> trimmed = new HashMap<>(postings.size() * 2);
+            postings.forEach((skillId, jobs) -> trimmed.put(skillId, Arrays.copyOf(jobs, postingSizes.get(skillId))));
+            return new Index(
+                    jobIds.stream().mapToLong(Long::longValue).toArray(),
+                    jobSkills.toArray(long[][]::new),
+                    trimmed,
+                    skillNames,
+                    System.currentTimeMillis());
+        }
+
+        private void flush() {
+            if (currentSize == 0) {
+                return;
+            }
+            // Aliased duplicates collapse onto one canonical id
+            long[] skills = Arrays.stream(currentSkills, 0, currentSize).distinct().toArray();
+            int job = jobIds.size();
+            jobIds.add(currentJob);
+            jobSkills.add(skills);
+            for (long skillId : skills) {
+                int size = postingSizes.getOrDefault(skillId, 0);
+                int[] jobs = postings.computeIfAbsent(skillId, id -> new int[4]);
+                if (size == jobs.length) {
+                    jobs = Arrays.copyOf(jobs, size * 2);
+                    postings.put(skillId, jobs);
+                }
+                jobs[size] = job;
+                postingSizes.put(skillId, size + 1);
+            }
+            currentSize = 0;
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.jobverse.service;
 
 import com.jobverse.entity.Job;
 import com.jobverse.util.VietnameseTextNormalizer;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 public class JobSpecification {
 
@@ -24,6 +27,23 @@ public class JobSpecification {
         };
     }
 
+    /**
+     * Like {@link #containsKeyword} but matching any of several already-normalized terms,
+     * e.g. a keyword plus its skill-alias spellings from SkillTaxonomyService.expandQuery
+     */
+    public static Specification<Job> containsAnyKeyword(String keyword, List<String> normalizedTerms) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (String term : normalizedTerms) {
+                String pattern = "%" + term + "%";
+                predicates.add(cb.like(root.get("titleNormalized"), pattern));
+                predicates.add(cb.like(root.get("descriptionNormalized"), pattern));
+            }
+            predicates.add(cb.like(cb.lower(root.get("company").get("name")), "%" + keyword.toLowerCase() + "%"));
+            return cb.or(predicates.toArray(new Predicate[0]));
+        };
+    }
+
     public static Specification<Job> hasLocation(String location) {
         // Use normalized field for Vietnamese accent-insensitive location search
         String normalizedLocation = "%" + VietnameseTextNormalizer.normalize(location) + "%";
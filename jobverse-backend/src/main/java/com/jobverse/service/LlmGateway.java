@@ -0,0 +1,554 @@
+package com.jobverse.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * LLM Gateway
+ * The only way out to the OpenAI chat completions API. Calls are asynchronous on one shared,
+ * pooled java.net.http client, so no servlet thread waits on the upstream. Around each call:
+ * - a deadline covering all attempts (plus a per-attempt timeout and a connect timeout)
+ * - a bulkhead: at most max-concurrent calls in flight; excess calls fail fast
+ * - retries with full-jitter exponential backoff on timeouts, I/O errors, 429 and 5xx
+ * - a circuit breaker: after failure-threshold consecutive upstream failures (the same kinds
+ *   that are retried; other 4xx and malformed replies don't count) calls fail fast for
+ *   open-seconds, then a single probe decides whether to close again
+ * When the deadline passes, the attempt still on the wire is aborted before its bulkhead
+ * permit is handed back.
+ * Every failure surfaces as {@link LlmUnavailableException}; callers fall back to the smart mock.
+ * Streamed completions share the client and the breaker, but not the bulkhead or retries: they
+ * are bounded by their caller and may already have delivered part of the answer when they fail.
+ */
+@Slf4j
+@Component
+public class LlmGateway {
+
+    private static final String COMPLETIONS_PATH = "/chat/completions";
+
+    private final ObjectMapper objectMapper;
+    private final String apiKey;
+    private final String model;
+    private final boolean enabled;
+    private final URI completionsUri;
+    private final Duration attemptTimeout;
+    private final long deadlineMillis;
+    private final long streamDeadlineMillis;
+    private final int maxRetries;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+
+    private final ExecutorService callbackExecutor;
+    private final HttpClient httpClient;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker breaker;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The upstream couldn't produce an answer (or wasn't asked); use the fallback
+     */
+    public static class LlmUnavailableException extends RuntimeException {
+        public LlmUnavailableException(String message) {
+            super(message);
+        }
+
+        public LlmUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    // The upstream itself failed (timeout, connection error, 429, 5xx): worth retrying, and counted by the breaker
+    private static class UpstreamException extends LlmUnavailableException {
+        UpstreamException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    // The attempt currently on the wire, so that giving up on a call also aborts its request
+    private static final class Call {
+        private final AtomicReference<CompletableFuture<?>> inFlight = new AtomicReference<>();
+        private volatile boolean abandoned;
+
+        void send(CompletableFuture<?> attempt) {
+            inFlight.set(attempt);
+            if (abandoned) {
+                attempt.cancel(true);
+            }
+        }
+
+        void abandon() {
+            abandoned = true;
+            CompletableFuture<?> attempt = inFlight.get();
+            if (attempt != null) {
+                attempt.cancel(true);
+            }
+        }
+    }
+
+    public LlmGateway(ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      @Value("${openai.api-key:}") String apiKey,
+                      @Value("${openai.model:gpt-3.5-turbo}") String model,
+                      @Value("${openai.enabled:false}") boolean enabled,
+                      @Value("${openai.base-url:https://api.openai.com/v1}") String baseUrl,
+                      @Value("${openai.gateway.connect-timeout-ms:3000}") long connectTimeoutMs,
+                      @Value("${openai.gateway.attempt-timeout-ms:15000}") long attemptTimeoutMs,
+                      @Value("${openai.gateway.deadline-ms:25000}") long deadlineMs,
+                      @Value("${openai.gateway.stream-deadline-ms:120000}") long streamDeadlineMs,
+                      @Value("${openai.gateway.max-concurrent:16}") int maxConcurrent,
+                      @Value("${openai.gateway.max-retries:2}") int maxRetries,
+                      @Value("${openai.gateway.backoff-base-ms:200}") long backoffBaseMs,
+                      @Value("${openai.gateway.backoff-max-ms:2000}") long backoffMaxMs,
+                      @Value("${openai.gateway.breaker.failure-threshold:5}") int failureThreshold,
+                      @Value("${openai.gateway.breaker.open-seconds:30}") long openSeconds) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.apiKey = apiKey;
+        this.model = model;
+        this.enabled = enabled && apiKey != null && !apiKey.isBlank() && !apiKey.contains("your-api-key");
+        this.completionsUri = URI.create(baseUrl.replaceAll("/+$", "") + COMPLETIONS_PATH);
+        this.attemptTimeout = Duration.ofMillis(attemptTimeoutMs);
+        this.deadlineMillis = deadlineMs;
+        this.streamDeadlineMillis = streamDeadlineMs;
+        this.maxRetries = maxRetries;
+        this.backoffBaseMillis = backoffBaseMs;
+        this.backoffMaxMillis = backoffMaxMs;
+
+        // Response handling is light (JSON parse); a couple of threads is plenty
+        AtomicInteger threadIds = new AtomicInteger();
+        this.callbackExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "llm-gateway-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .version(HttpClient.Version.HTTP_2)
+                .executor(callbackExecutor)
+                .build();
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.breaker = new CircuitBreaker(failureThreshold, TimeUnit.SECONDS.toMillis(openSeconds));
+
+        Gauge.builder("jobverse.llm.inflight", bulkhead, b -> maxConcurrent - b.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("jobverse.llm.breaker.open", breaker, b -> b.isOpen() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether an API key is configured and calls are enabled at all
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * One chat completion: system + user message, plus request options (max_tokens, temperature, ...).
+     * Completes with the reply text, or exceptionally with LlmUnavailableException.
+     */
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, Map<String, Object> options) {
+        if (!enabled) {
+            return CompletableFuture.failedFuture(new LlmUnavailableException("LLM disabled"));
+        }
+        if (!breaker.allowRequest()) {
+            record("short_circuited", 0);
+            return CompletableFuture.failedFuture(new LlmUnavailableException("LLM circuit open"));
+        }
+        if (!bulkhead.tryAcquire()) {
+            breaker.release();
+            record("rejected", 0);
+            return CompletableFuture.failedFuture(new LlmUnavailableException("LLM bulkhead full"));
+        }
+
+        HttpRequest.BodyPublisher body;
+        try {
+            body = HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(requestBody(systemPrompt, userPrompt, options)));
+        } catch (IOException e) {
+            bulkhead.release();
+            breaker.release();
+            return CompletableFuture.failedFuture(new LlmUnavailableException("Unserializable request", e));
+        }
+
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + deadlineMillis;
+        Call call = new Call();
+        return attempt(body, 0, deadline, call)
+                .orTimeout(deadlineMillis, TimeUnit.MILLISECONDS)
+                .handle((reply, error) -> {
+                    if (error != null) {
+                        call.abandon(); // on a deadline the last attempt may still be running
+                    }
+                    bulkhead.release();
+                    long elapsed = System.nanoTime() - start;
+                    if (error == null) {
+                        breaker.onSuccess();
+                        record("success", elapsed);
+                        return reply;
+                    }
+                    Throwable cause = unwrap(error);
+                    if (isUpstreamFailure(cause)) {
+                        breaker.onFailure();
+                    } else {
+                        breaker.release();
+                    }
+                    record("error", elapsed);
+                    throw cause instanceof LlmUnavailableException unavailable
+                            ? unavailable
+                            : new LlmUnavailableException(describe(cause), cause);
+                });
+    }
+
+    /**
+     * Streamed chat completion ("stream": true). Each content delta is handed to onDelta as the
+     * upstream produces it, on the client's callback thread, so onDelta must not block for long;
+     * if it throws, the stream stops. Completes when the upstream finishes, or exceptionally.
+     * Cancelling the returned future, or any failure, aborts the upstream request.
+     */
+    public CompletableFuture<Void> stream(String systemPrompt, String userPrompt, Map<String, Object> options,
+                                          Consumer<String> onDelta) {
+        if (!enabled) {
+            return CompletableFuture.failedFuture(new LlmUnavailableException("LLM disabled"));
+        }
+        if (!breaker.allowRequest()) {
+            record("jobverse.llm.stream", "short_circuited", 0);
+            return CompletableFuture.failedFuture(new LlmUnavailableException("LLM circuit open"));
+        }
+
+        Map<String, Object> streamOptions = new LinkedHashMap<>(options);
+        streamOptions.put("stream", true);
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(completionsUri)
+                    .timeout(attemptTimeout) // until the response headers arrive
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "text/event-stream")
+                    .header("Authorization", "Bearer " + apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(requestBody(systemPrompt, userPrompt, streamOptions))))
+                    .build();
+        } catch (IOException e) {
+            breaker.release();
+            return CompletableFuture.failedFuture(new LlmUnavailableException("Unserializable request", e));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        DeltaSubscriber subscriber = new DeltaSubscriber(onDelta, done);
+        CompletableFuture<HttpResponse<Void>> response = httpClient.sendAsync(request, info -> info.statusCode() == 200
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(subscriber, s -> null, StandardCharsets.UTF_8, null)
+                : HttpResponse.BodySubscribers.replacing(null));
+
+        response.whenComplete((result, error) -> {
+            if (error != null) {
+                done.completeExceptionally(failure(unwrap(error)));
+            } else if (result.statusCode() != 200) {
+                done.completeExceptionally(failure(result.statusCode()));
+            } else {
+                done.complete(null);
+            }
+        });
+        done.orTimeout(streamDeadlineMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (error == null) {
+                        breaker.onSuccess();
+                        record("jobverse.llm.stream", "success", elapsed);
+                        return;
+                    }
+                    subscriber.cancel();
+                    response.cancel(true);
+                    if (done.isCancelled() || subscriber.consumerFailed) {
+                        // The caller walked away; says nothing about the upstream's health
+                        breaker.release();
+                        record("jobverse.llm.stream", "cancelled", elapsed);
+                    } else {
+                        if (isUpstreamFailure(unwrap(error))) {
+                            breaker.onFailure();
+                        } else {
+                            breaker.release();
+                        }
+                        record("jobverse.llm.stream", "error", elapsed);
+                    }
+                });
+        return done;
+    }
+
+    private CompletableFuture<String> attempt(HttpRequest.BodyPublisher body, int attempt, long deadline, Call call) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return CompletableFuture.failedFuture(new TimeoutException());
+        }
+        HttpRequest request = HttpRequest.newBuilder(completionsUri)
+                .timeout(remaining < attemptTimeout.toMillis() ? Duration.ofMillis(remaining) : attemptTimeout)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + apiKey)
+                .POST(body)
+                .build();
+
+        CompletableFuture<HttpResponse<String>> sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        call.send(sent);
+        return sent
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw failure(unwrap(error));
+                    }
+                    if (response.statusCode() != 200) {
+                        throw failure(response.statusCode());
+                    }
+                    return parseReply(response.body());
+                })
+                .exceptionallyCompose(error -> {
+                    Throwable cause = unwrap(error);
+                    if (!(cause instanceof UpstreamException) || attempt >= maxRetries) {
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    // Full jitter: uniform in [0, min(max, base * 2^attempt)]
+                    long cap = Math.min(backoffMaxMillis, backoffBaseMillis << attempt);
+                    long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+                    if (System.currentTimeMillis() + delay >= deadline) {
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    meterRegistry.counter("jobverse.llm.retries").increment();
+                    log.debug("LLM attempt {} failed ({}), retrying in {}ms", attempt + 1, cause.getMessage(), delay);
+                    return CompletableFuture.supplyAsync(() -> null,
+                                    CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, callbackExecutor))
+                            .thenCompose(ignored -> attempt(body, attempt + 1, deadline, call));
+                });
+    }
+
+    private Map<String, Object> requestBody(String systemPrompt, String userPrompt, Map<String, Object> options) {
+        List<Map<String, String>> messages = new ArrayList<>(2);
+        messages.add(Map.of("role", "system", "content", systemPrompt));
+        messages.add(Map.of("role", "user", "content", userPrompt));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("model", model);
+        body.put("messages", messages);
+        body.putAll(options);
+        return body;
+    }
+
+    private String parseReply(String json) {
+        try {
+            JsonNode content = objectMapper.readTree(json).path("choices").path(0).path("message").path("content");
+            if (!content.isTextual()) {
+                throw new LlmUnavailableException("Malformed completion response");
+            }
+            return content.asText();
+        } catch (IOException e) {
+            throw new LlmUnavailableException("Unreadable completion response", e);
+        }
+    }
+
+    private void record(String outcome, long nanos) {
+        record("jobverse.llm.call", outcome, nanos);
+    }
+
+    private void record(String name, String outcome, long nanos) {
+        Timer.builder(name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static LlmUnavailableException failure(Throwable cause) {
+        if (cause instanceof LlmUnavailableException unavailable) {
+            return unavailable;
+        }
+        if (cause instanceof IOException) { // includes HttpTimeoutException
+            return new UpstreamException(describe(cause), cause);
+        }
+        return new LlmUnavailableException(describe(cause), cause);
+    }
+
+    private static LlmUnavailableException failure(int status) {
+        return status == 429 || status >= 500
+                ? new UpstreamException("HTTP " + status, null)
+                : new LlmUnavailableException("HTTP " + status);
+    }
+
+    // Whether a failed call says the upstream is unhealthy, as opposed to rejecting our request
+    private static boolean isUpstreamFailure(Throwable cause) {
+        return cause instanceof UpstreamException || cause instanceof TimeoutException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String describe(Throwable cause) {
+        if (cause instanceof TimeoutException) {
+            return "LLM deadline exceeded";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callbackExecutor.shutdownNow();
+    }
+
+    /**
+     * Reads the upstream's SSE lines ("data: {chunk}" ... "data: [DONE]") one at a time, so a slow
+     * consumer slows the upstream read instead of buffering the answer
+     */
+    private final class DeltaSubscriber implements Flow.Subscriber<String> {
+        private final Consumer<String> onDelta;
+        private final CompletableFuture<Void> done;
+        private volatile Flow.Subscription subscription;
+        private volatile boolean consumerFailed;
+
+        DeltaSubscriber(Consumer<String> onDelta, CompletableFuture<Void> done) {
+            this.onDelta = onDelta;
+            this.done = done;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (done.isDone()) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (done.isDone()) {
+                return;
+            }
+            if (line.startsWith("data:")) {
+                String data = line.substring(5).trim();
+                if ("[DONE]".equals(data)) {
+                    done.complete(null);
+                    return;
+                }
+                String delta;
+                try {
+                    delta = objectMapper.readTree(data).path("choices").path(0).path("delta").path("content").asText("");
+                } catch (IOException e) {
+                    done.completeExceptionally(new LlmUnavailableException("Unreadable stream chunk", e));
+                    return;
+                }
+                if (!delta.isEmpty()) {
+                    try {
+                        onDelta.accept(delta);
+                    } catch (RuntimeException e) {
+                        consumerFailed = true;
+                        done.completeExceptionally(e);
+                        return;
+                    }
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            done.completeExceptionally(new UpstreamException(describe(error), error));
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    /**
+     * Consecutive-failure breaker. While open every call fails fast; once open-millis have
+     * passed one probe is let through (half-open) and its outcome closes or re-opens it.
+     */
+    private static final class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openMillis;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicLong openedAt = new AtomicLong(-1); // -1 = closed
+        private final AtomicInteger probes = new AtomicInteger();
+
+        CircuitBreaker(int failureThreshold, long openMillis) {
+            this.failureThreshold = failureThreshold;
+            this.openMillis = openMillis;
+        }
+
+        boolean allowRequest() {
+            long opened = openedAt.get();
+            if (opened < 0) {
+                return true;
+            }
+            if (System.currentTimeMillis() - opened < openMillis) {
+                return false;
+            }
+            return probes.compareAndSet(0, 1); // half-open: exactly one probe at a time
+        }
+
+        // A call that was allowed but never sent
+        void release() {
+            probes.set(0);
+        }
+
+        void onSuccess() {
+            consecutiveFailures.set(0);
+            if (openedAt.getAndSet(-1) >= 0) {
+                log.info("✅ LLM circuit closed");
+            }
+            probes.set(0);
+        }
+
+        void onFailure() {
+            boolean probing = openedAt.get() >= 0;
+            if (probing || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                if (openedAt.getAndSet(System.currentTimeMillis()) < 0) {
+                    log.warn("⚠️ LLM circuit opened after {} consecutive failures", consecutiveFailures.get());
+                }
+            }
+            probes.set(0);
+        }
+
+        boolean isOpen() {
+            return openedAt.get() >= 0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.jobverse.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Single-node deployment: nothing to relay
+ */
+@Component
+@ConditionalOnProperty(name = "app.presence.relay.mode", havingValue = "none", matchIfMissing = true)
+public class NoopPresenceRelay implements PresenceRelay {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(RelayEvent event) {
+    }
+
+    @Override
+    public void onReceive(Consumer<RelayEvent> listener) {
+    }
+
+    @Override
+    public void deliver(List<RelayEvent> events) {
+    }
+}
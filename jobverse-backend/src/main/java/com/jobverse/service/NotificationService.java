@@ -15,7 +15,6 @@ import org.springframework.stereotype.Service;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final EmailService emailService;
     private final SimpMessagingTemplate messagingTemplate;
     
     @Async
@@ -42,23 +41,9 @@ public class NotificationService {
                         .actionUrl("/employer/applications/" + application.getId())
                         .build();
                 notificationRepository.save(employerNotification);
-                
-                // Send email to employer
-                String candidateName = application.getUser().getProfile() != null ?
-                        application.getUser().getProfile().getFullName() : application.getUser().getEmail();
-                emailService.sendNewApplicationNotification(
-                        application.getJob().getPostedBy(),
-                        candidateName,
-                        application.getJob().getTitle()
-                );
             }
             
-            // Send email to candidate
-            emailService.sendApplicationConfirmation(
-                    application.getUser(),
-                    application.getJob().getTitle(),
-                    application.getJob().getCompany().getName()
-            );
+            // Emails are queued transactionally by the caller (EmailService.sendApplicationEmails)
             
             log.info("Application notifications sent for application: {}", application.getId());
         } catch (Exception e) {
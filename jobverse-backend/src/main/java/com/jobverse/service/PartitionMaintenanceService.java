@@ -0,0 +1,143 @@
+package com.jobverse.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partition Maintenance Service
+ * Keeps the monthly partitions of notifications/messages (see V13 migration) in shape:
+ * pre-creates upcoming months and detaches/archives months past their retention.
+ * Rows that still end up in a default partition (clock skew, backfills) are moved into
+ * their month when it is created (V24); whatever is left there is reported as
+ * jobverse.partitions.default.rows and logged.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartitionMaintenanceService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("^(notifications|messages)_p(\\d{6})$");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicLong> defaultRows = new ConcurrentHashMap<>();
+
+    @Value("${app.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 = keep forever
+    @Value("${app.partitioning.retention.notifications-months:12}")
+    private int notificationsRetentionMonths;
+
+    @Value("${app.partitioning.retention.messages-months:0}")
+    private int messagesRetentionMonths;
+
+    // DETACH = move to "archive" schema, DROP = delete permanently
+    @Value("${app.partitioning.archive-mode:DETACH}")
+    private String archiveMode;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        // Catch up after downtime so inserts never land in the default partition
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.partitioning.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, Integer> retention = Map.of(
+                "notifications", notificationsRetentionMonths,
+                "messages", messagesRetentionMonths
+        );
+
+        retention.forEach((table, retentionMonths) -> {
+            try {
+                createUpcomingPartitions(table);
+                checkDefaultPartition(table);
+                if (retentionMonths > 0) {
+                    archiveExpiredPartitions(table, retentionMonths);
+                }
+            } catch (Exception e) {
+                log.error("❌ Partition maintenance failed for {}: {}", table, e.getMessage());
+            }
+        });
+    }
+
+    private void createUpcomingPartitions(String table) {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate month = current.plusMonths(i).atDay(1);
+            jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", String.class, table, month);
+        }
+        log.debug("🗂️ Ensured {} partitions through {}", table, current.plusMonths(monthsAhead));
+    }
+
+    private void checkDefaultPartition(String table) {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + "_default", Long.class);
+        long count = rows != null ? rows : 0;
+        defaultRows.computeIfAbsent(table, t ->
+                meterRegistry.gauge("jobverse.partitions.default.rows", Tags.of("table", t), new AtomicLong()))
+                .set(count);
+        if (count > 0) {
+            log.warn("⚠️ {} rows in {}_default, outside every monthly partition", count, table);
+        }
+    }
+
+    private void archiveExpiredPartitions(String table, int retentionMonths) {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ?",
+                String.class, table);
+
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue; // default partition or foreign name
+            }
+
+            YearMonth month = YearMonth.parse(matcher.group(2), PARTITION_SUFFIX);
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            if ("DROP".equalsIgnoreCase(archiveMode)) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("🗑️ Dropped expired partition {}", partition);
+            } else {
+                jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA archive");
+                log.info("📦 Archived expired partition {} to schema archive", partition);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.jobverse.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hook for sharing presence heartbeats and typing indicators between nodes.
+ * Each node keeps its own in-memory view; the relay only carries events, never state.
+ * Selected with app.presence.relay.mode (none | http).
+ */
+public interface PresenceRelay {
+
+    enum EventType {
+        HEARTBEAT,
+        TYPING
+    }
+
+    record RelayEvent(
+            String nodeId,
+            EventType type,
+            Long userId,
+            Long conversationId,    // TYPING only
+            String senderType,      // TYPING only
+            boolean typing,         // TYPING only
+            long timestamp
+    ) {
+    }
+
+    /**
+     * Id of this node; events carrying it are ignored on receipt
+     */
+    String nodeId();
+
+    /**
+     * Send a local event to the other nodes (may batch/coalesce)
+     */
+    void publish(RelayEvent event);
+
+    /**
+     * Events received from other nodes are handed to this listener
+     */
+    void onReceive(Consumer<RelayEvent> listener);
+
+    /**
+     * Entry point for events arriving from another node
+     */
+    void deliver(List<RelayEvent> events);
+}
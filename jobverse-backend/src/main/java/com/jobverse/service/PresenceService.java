@@ -0,0 +1,237 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.response.PresenceResponse;
+import com.jobverse.dto.response.TypingEventResponse;
+import com.jobverse.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Presence Service
+ * In-memory online/offline tracking from STOMP heartbeats, plus typing indicator relay.
+ * Nothing here touches the database.
+ *
+ * Heartbeats live in a sharded map (userId -> last heartbeat + expiry tick). Expiry uses a
+ * timer wheel: one slot per tick holding the users due to expire then, so each tick only
+ * looks at its own slot instead of scanning every connected user. Memory is bounded by the
+ * number of online users (a user sits in at most ttl/heartbeat-interval slots).
+ * The wheel ticks on its own thread, so slow @Scheduled jobs (SMTP, index rebuilds) on the
+ * shared scheduler can't hold back expiry.
+ */
+@Slf4j
+@Service
+public class PresenceService {
+
+    public static final String PRESENCE_TOPIC = "/topic/presence/";
+    public static final String TYPING_TOPIC_FORMAT = "/topic/chat/conversations/%d/typing";
+
+    private static final int SHARDS = 32;  // power of two
+    private static final long TICK_MILLIS = 1000;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PresenceRelay relay;
+    private final long ttlTicks;
+
+    private record Presence(long lastSeen, long expiryTick) {
+    }
+
+    private final Map<Long, Presence>[] shards;
+    private final Set<Long>[] wheel;
+    private final ScheduledExecutorService ticker;
+    private long lastProcessedTick;
+
+    @SuppressWarnings("unchecked")
+    public PresenceService(SimpMessagingTemplate messagingTemplate,
+                           PresenceRelay relay,
+                           @Value("${app.presence.ttl-seconds:30}") long ttlSeconds) {
+        this.messagingTemplate = messagingTemplate;
+        this.relay = relay;
+        this.ttlTicks = Math.max(1, ttlSeconds * 1000 / TICK_MILLIS);
+
+        this.shards = new Map[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        // +2 so a fresh deadline never lands in the slot currently being drained
+        this.wheel = new Set[(int) ttlTicks + 2];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.lastProcessedTick = System.currentTimeMillis() / TICK_MILLIS;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "presence-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        relay.onReceive(this::onRelayEvent);
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                expire();
+            } catch (Exception e) {
+                // An escaped exception would cancel the periodic task for good
+                log.error("❌ Presence expiry tick failed: {}", e.getMessage(), e);
+            }
+        }, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        if (event.getUser() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            heartbeat(userPrincipal.getId());
+        }
+    }
+
+    /**
+     * Local heartbeat (STOMP connect or /app/presence/heartbeat)
+     */
+    public void heartbeat(Long userId) {
+        long now = System.currentTimeMillis();
+        record(userId, now);
+        relay.publish(new PresenceRelay.RelayEvent(relay.nodeId(), PresenceRelay.EventType.HEARTBEAT,
+                userId, null, null, false, now));
+    }
+
+    public boolean isOnline(Long userId) {
+        return shard(userId).containsKey(userId);
+    }
+
+    public Map<Long, PresenceResponse> getPresence(Collection<Long> userIds) {
+        Map<Long, PresenceResponse> result = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            result.put(userId, toResponse(userId, shard(userId).get(userId)));
+        }
+        return result;
+    }
+
+    /**
+     * Relay a typing indicator to the conversation topic (never persisted)
+     */
+    public void typing(Long conversationId, Long userId, String senderType, boolean typing) {
+        heartbeat(userId);
+        broadcastTyping(conversationId, userId, senderType, typing);
+        relay.publish(new PresenceRelay.RelayEvent(relay.nodeId(), PresenceRelay.EventType.TYPING,
+                userId, conversationId, senderType, typing, System.currentTimeMillis()));
+    }
+
+    /**
+     * Advance the wheel: expire users whose deadline tick has passed
+     */
+    void expire() {
+        long currentTick = System.currentTimeMillis() / TICK_MILLIS;
+        // Cap catch-up to one lap; older slots were already covered by it
+        long from = Math.max(lastProcessedTick + 1, currentTick - wheel.length + 1);
+
+        for (long tick = from; tick <= currentTick; tick++) {
+            int slotIndex = (int) (tick % wheel.length);
+            Set<Long> slot = wheel[slotIndex];
+            for (Long userId : slot) {
+                Map<Long, Presence> shard = shard(userId);
+                Presence presence = shard.get(userId);
+                if (presence != null && presence.expiryTick() > tick
+                        && presence.expiryTick() % wheel.length == slotIndex) {
+                    // Due in this slot one lap later (a late run catching up): leave it for that lap
+                    continue;
+                }
+                slot.remove(userId);
+                // Otherwise either due now, or a newer heartbeat moved the deadline to another slot
+                if (presence != null && presence.expiryTick() <= tick && shard.remove(userId, presence)) {
+                    broadcastPresence(userId, null);
+                }
+            }
+        }
+        lastProcessedTick = currentTick;
+    }
+
+    private void record(Long userId, long timestamp) {
+        long expiryTick = timestamp / TICK_MILLIS + ttlTicks;
+        Presence[] previous = new Presence[1];
+        // Keep the newest heartbeat; relayed ones can arrive out of order
+        Presence current = shard(userId).compute(userId, (id, existing) -> {
+            previous[0] = existing;
+            return existing != null && existing.lastSeen() >= timestamp
+                    ? existing
+                    : new Presence(timestamp, expiryTick);
+        });
+
+        if (previous[0] == null || previous[0].expiryTick() != current.expiryTick()) {
+            wheel[(int) (current.expiryTick() % wheel.length)].add(userId);
+        }
+        if (previous[0] == null) {
+            broadcastPresence(userId, timestamp);
+        }
+    }
+
+    private void onRelayEvent(PresenceRelay.RelayEvent event) {
+        switch (event.type()) {
+            case HEARTBEAT -> {
+                // Ignore heartbeats already older than the TTL (delayed relay)
+                if (event.timestamp() / TICK_MILLIS + ttlTicks > System.currentTimeMillis() / TICK_MILLIS) {
+                    record(event.userId(), event.timestamp());
+                }
+            }
+            case TYPING -> broadcastTyping(event.conversationId(), event.userId(), event.senderType(), event.typing());
+        }
+    }
+
+    private void broadcastPresence(Long userId, Long lastSeen) {
+        try {
+            messagingTemplate.convertAndSend(PRESENCE_TOPIC + userId,
+                    toResponse(userId, lastSeen != null ? new Presence(lastSeen, 0) : null));
+        } catch (Exception e) {
+            log.debug("Failed to broadcast presence for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void broadcastTyping(Long conversationId, Long userId, String senderType, boolean typing) {
+        try {
+            messagingTemplate.convertAndSend(String.format(TYPING_TOPIC_FORMAT, conversationId),
+                    TypingEventResponse.builder()
+                            .conversationId(conversationId)
+                            .userId(userId)
+                            .senderType(senderType)
+                            .typing(typing)
+                            .build());
+        } catch (Exception e) {
+            log.debug("Failed to relay typing in conversation {}: {}", conversationId, e.getMessage());
+        }
+    }
+
+    private PresenceResponse toResponse(Long userId, Presence presence) {
+        return PresenceResponse.builder()
+                .userId(userId)
+                .online(presence != null)
+                .lastSeenAt(presence != null ? Instant.ofEpochMilli(presence.lastSeen()) : null)
+                .build();
+    }
+
+    private Map<Long, Presence> shard(Long userId) {
+        return shards[(int) (userId & (SHARDS - 1))];
+    }
+}
@@ -0,0 +1,135 @@
+package com.jobverse.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobverse.repository.ResumeRepository;
+import com.jobverse.service.ResumeAnalysisService.ResumeAnalysisResult;
+import com.jobverse.util.BoundedTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resume analysis results keyed by SHA-256 of the normalized resume text.
+ * Two tiers: a bounded in-memory LRU (TTL), then resumes.ai_analysis of any analyzed upload
+ * with the same text (V23 analysis_hash). Cached results are shared: treat them as read-only.
+ * Each result records the skill taxonomy it was computed under; a result from another taxonomy
+ * version is a miss in both tiers, since its skills may be stale.
+ * Hits/misses per tier and the overall hit ratio are exported to Micrometer.
+ */
+@Slf4j
+@Component
+public class ResumeAnalysisCache {
+
+    private final ResumeRepository resumeRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong lookupCount = new AtomicLong();
+
+    private final BoundedTtlCache<String, ResumeAnalysisResult> entries;
+
+    public ResumeAnalysisCache(ResumeRepository resumeRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               @Value("${app.resume.analysis-cache.ttl-seconds:3600}") long ttlSeconds,
+                               @Value("${app.resume.analysis-cache.max-entries:2000}") int maxEntries) {
+        this.resumeRepository = resumeRepository;
+        this.entries = new BoundedTtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+        // Stored analyses may carry extra keys (pagesParsed, truncated) that the result type doesn't have
+        this.objectMapper = objectMapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        this.memoryHits = meterRegistry.counter("jobverse.resume.analysis.cache", "result", "hit", "tier", "memory");
+        this.databaseHits = meterRegistry.counter("jobverse.resume.analysis.cache", "result", "hit", "tier", "database");
+        this.misses = meterRegistry.counter("jobverse.resume.analysis.cache", "result", "miss", "tier", "none");
+        Gauge.builder("jobverse.resume.analysis.cache.hit.ratio", this,
+                        cache -> cache.lookupCount.get() == 0 ? 0 : (double) cache.hitCount.get() / cache.lookupCount.get())
+                .register(meterRegistry);
+        Gauge.builder("jobverse.resume.analysis.cache.size", entries, BoundedTtlCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The form of the text that gets hashed and analyzed: NFC, LF line endings, trimmed
+     */
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC)
+                .replace("\r\n", "\n")
+                .replace('\r', '\n')
+                .strip();
+    }
+
+    public static String hash(String normalizedText) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalizedText.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Look up both tiers for a result computed under taxonomyVersion; a database hit is promoted to memory.
+     */
+    public Optional<ResumeAnalysisResult> get(String hash, String taxonomyVersion) {
+        lookupCount.incrementAndGet();
+
+        ResumeAnalysisResult cached = entries.get(hash);
+        if (cached != null && isCurrent(cached, taxonomyVersion)) {
+            hitCount.incrementAndGet();
+            memoryHits.increment();
+            return Optional.of(cached);
+        }
+
+        Optional<ResumeAnalysisResult> stored = loadStored(hash)
+                .filter(result -> isCurrent(result, taxonomyVersion));
+        if (stored.isPresent()) {
+            hitCount.incrementAndGet();
+            databaseHits.increment();
+            put(hash, stored.get());
+            return stored;
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String hash, ResumeAnalysisResult result) {
+        entries.put(hash, result);
+    }
+
+    private Optional<ResumeAnalysisResult> loadStored(String hash) {
+        try {
+            return resumeRepository.findAnalysisJsonByHash(hash)
+                    .map(json -> {
+                        try {
+                            return objectMapper.readValue(json, ResumeAnalysisResult.class);
+                        } catch (Exception e) {
+                            log.warn("⚠️ Unreadable stored resume analysis for hash {}: {}", hash, e.getMessage());
+                            return null;
+                        }
+                    });
+        } catch (Exception e) {
+            log.warn("⚠️ Resume analysis lookup failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Stored before versions were recorded (no taxonomyVersion): treated as stale too
+    private static boolean isCurrent(ResumeAnalysisResult result, String taxonomyVersion) {
+        return taxonomyVersion.equals(result.getTaxonomyVersion());
+    }
+}
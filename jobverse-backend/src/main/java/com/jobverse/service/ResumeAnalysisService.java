@@ -17,24 +17,66 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class ResumeAnalysisService {
 
+    private static final Pattern YEARS_OF_EXPERIENCE = Pattern.compile(
+            "(\\d+)\\+?\\s*(years?|năm)\\s*(of\\s*)?(experience|kinh nghiệm)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WORK_PERIOD = Pattern.compile(
+            "(?i)(\\d{4})\\s*[-–—]\\s*(\\d{4}|present|current|hiện tại)");
+    private static final Pattern QUANTIFIED_ACHIEVEMENT = Pattern.compile("\\d+%|\\d+\\+|\\d{3,}");
+
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final ResumeAnalysisCache analysisCache;
+
+    // Recompiled when the skill taxonomy changes; its version keys the cache
+    private volatile ResumeScanner scanner;
+
     /**
-     * Analyze a resume and return comprehensive analysis
+     * Analyze a resume and return comprehensive analysis.
+     * Results are cached by the SHA-256 of the normalized text (see {@link ResumeAnalysisCache})
+     * and shared between callers, so don't modify the returned object.
      */
     public ResumeAnalysisResult analyzeResume(String resumeText) {
+        String text = ResumeAnalysisCache.normalize(resumeText);
+        String hash = ResumeAnalysisCache.hash(text);
+        ResumeScanner current = scanner();
+
+        Optional<ResumeAnalysisResult> cached = analysisCache.get(hash, current.taxonomyVersion());
+        if (cached.isPresent()) {
+            log.debug("Resume analysis cache hit: {}", hash);
+            return cached.get();
+        }
+
+        ResumeAnalysisResult result = analyze(text, current);
+        result.setContentHash(hash);
+        result.setTaxonomyVersion(current.taxonomyVersion());
+        analysisCache.put(hash, result);
+        return result;
+    }
+
+    /**
+     * A previously computed analysis by content hash, without the text; empty if none was
+     * computed under the current skill taxonomy
+     */
+    public Optional<ResumeAnalysisResult> findCachedAnalysis(String contentHash) {
+        return analysisCache.get(contentHash, scanner().taxonomyVersion());
+    }
+
+    private ResumeAnalysisResult analyze(String resumeText, ResumeScanner resumeScanner) {
         log.info("Analyzing resume (length: {} chars)", resumeText.length());
 
         ResumeAnalysisResult result = new ResumeAnalysisResult();
 
-        // Extract information
-        result.setSkills(extractSkills(resumeText));
+        // Extract skills, education and contact info in one pass
+        ResumeScanner.Result scan = resumeScanner.scan(resumeText);
+        TextStats stats = TextStats.of(resumeText);
+        result.setSkills(scan.skills());
         result.setExperience(extractExperience(resumeText));
-        result.setEducation(extractEducation(resumeText));
-        result.setContactInfo(extractContactInfo(resumeText));
+        result.setEducation(scan.education());
+        result.setContactInfo(new HashMap<>(scan.contactInfo()));
 
         // Calculate scores
-        result.setAtsScore(calculateATSScore(resumeText, result));
-        result.setContentScore(calculateContentScore(resumeText, result));
-        result.setFormatScore(calculateFormatScore(resumeText));
+        result.setAtsScore(calculateATSScore(stats, result));
+        result.setContentScore(calculateContentScore(resumeText, stats, result));
+        result.setFormatScore(calculateFormatScore(stats, scan.sectionCount()));
 
         // Overall score (weighted average)
         int overallScore = (int) Math.round(
@@ -55,58 +97,75 @@ public class ResumeAnalysisService {
         return result;
     }
 
+    private ResumeScanner scanner() {
+        Map<String, SkillTaxonomyService.SkillRef> terms = skillTaxonomyService.terms();
+        ResumeScanner current = scanner;
+        if (current == null || current.skillTerms() != terms) {
+            current = ResumeScanner.compile(terms);
+            scanner = current;
+        }
+        return current;
+    }
+
     /**
-     * Extract skills from resume
+     * Line/word counts and layout hints, gathered in one pass without splitting the text
      */
-    private List<String> extractSkills(String text) {
-        // Common tech skills to look for
-        Set<String> knownSkills = new HashSet<>(Arrays.asList(
-            "Java", "Python", "JavaScript", "TypeScript", "C++", "C#", "Go", "Rust", "PHP", "Ruby",
-            "React", "Vue", "Vue.js", "Angular", "Next.js", "Nuxt.js", "Svelte",
-            "Node.js", "Express", "Spring", "Spring Boot", "Django", "Flask", "FastAPI",
-            "HTML", "CSS", "Tailwind", "TailwindCSS", "Bootstrap", "SASS", "SCSS",
-            "SQL", "PostgreSQL", "MySQL", "MongoDB", "Redis", "Elasticsearch",
-            "Docker", "Kubernetes", "AWS", "Azure", "GCP", "Terraform", "Jenkins",
-            "Git", "GitHub", "GitLab", "Bitbucket",
-            "React Native", "Flutter", "Swift", "Kotlin", "Android", "iOS",
-            "TensorFlow", "PyTorch", "Scikit-learn", "Pandas", "NumPy",
-            "GraphQL", "REST", "API", "Microservices", "CI/CD", "DevOps",
-            "Agile", "Scrum", "Jira", "Confluence"
-        ));
-
-        List<String> foundSkills = new ArrayList<>();
-        String lowerText = text.toLowerCase();
-
-        for (String skill : knownSkills) {
-            if (lowerText.contains(skill.toLowerCase())) {
-                foundSkills.add(skill);
+    private record TextStats(int lines, int words, boolean hasBoxDrawing, boolean hasBullets) {
+
+        static TextStats of(String text) {
+            int lines = 0;
+            int words = 0;
+            boolean box = false;
+            boolean bullets = false;
+            boolean inWord = false;
+            boolean lineHasContent = false;
+            int contentLines = 0; // lines up to the last non-empty one, like String.split("\\n")
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\n') {
+                    lines++;
+                    if (lineHasContent) {
+                        contentLines = lines;
+                    }
+                    lineHasContent = false;
+                } else {
+                    lineHasContent = true;
+                }
+                if (Character.isWhitespace(c)) {
+                    inWord = false;
+                } else if (!inWord) {
+                    inWord = true;
+                    words++;
+                }
+                box |= c == '│' || c == '┌' || c == '└';
+                bullets |= c == '•' || c == '-' || c == '*';
+            }
+            if (lineHasContent) {
+                contentLines = lines + 1;
             }
+            return new TextStats(Math.max(contentLines, 1), words, box, bullets);
         }
-
-        return foundSkills;
     }
 
     /**
      * Extract years of experience
      */
     private Integer extractExperience(String text) {
-        Pattern pattern = Pattern.compile("(\\d+)\\+?\\s*(years?|năm)\\s*(of\\s*)?(experience|kinh nghiệm)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(text);
+        Matcher matcher = YEARS_OF_EXPERIENCE.matcher(text);
 
         if (matcher.find()) {
             return Integer.parseInt(matcher.group(1));
         }
 
         // Count work experience sections
-        Pattern workPattern = Pattern.compile("(?i)(\\d{4})\\s*[-–—]\\s*(\\d{4}|present|current|hiện tại)");
-        Matcher workMatcher = workPattern.matcher(text);
+        Matcher workMatcher = WORK_PERIOD.matcher(text);
 
         int totalYears = 0;
         while (workMatcher.find()) {
             int startYear = Integer.parseInt(workMatcher.group(1));
             String endYearStr = workMatcher.group(2);
 
-            int endYear = endYearStr.matches("\\d+") ?
+            int endYear = Character.isDigit(endYearStr.charAt(0)) ?
                 Integer.parseInt(endYearStr) :
                 Calendar.getInstance().get(Calendar.YEAR);
 
@@ -116,73 +175,18 @@ public class ResumeAnalysisService {
         return totalYears > 0 ? totalYears : null;
     }
 
-    /**
-     * Extract education information
-     */
-    private String extractEducation(String text) {
-        String[] degrees = {"PhD", "Ph.D", "Master", "Bachelor", "Đại học", "Thạc sĩ", "Tiến sĩ", "Cử nhân"};
-
-        for (String degree : degrees) {
-            Pattern pattern = Pattern.compile("(" + degree + "[^\\n]{0,100})", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(text);
-
-            if (matcher.find()) {
-                return matcher.group(1).trim();
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Extract contact information
-     */
-    private Map<String, String> extractContactInfo(String text) {
-        Map<String, String> contact = new HashMap<>();
-
-        // Email
-        Pattern emailPattern = Pattern.compile("\\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Z|a-z]{2,}\\b");
-        Matcher emailMatcher = emailPattern.matcher(text);
-        if (emailMatcher.find()) {
-            contact.put("email", emailMatcher.group());
-        }
-
-        // Phone
-        Pattern phonePattern = Pattern.compile("(?:\\+84|0)\\s?\\d{9,10}");
-        Matcher phoneMatcher = phonePattern.matcher(text);
-        if (phoneMatcher.find()) {
-            contact.put("phone", phoneMatcher.group());
-        }
-
-        // LinkedIn
-        Pattern linkedinPattern = Pattern.compile("linkedin\\.com/in/([a-zA-Z0-9-]+)");
-        Matcher linkedinMatcher = linkedinPattern.matcher(text);
-        if (linkedinMatcher.find()) {
-            contact.put("linkedin", linkedinMatcher.group(0));
-        }
-
-        // GitHub
-        Pattern githubPattern = Pattern.compile("github\\.com/([a-zA-Z0-9-]+)");
-        Matcher githubMatcher = githubPattern.matcher(text);
-        if (githubMatcher.find()) {
-            contact.put("github", githubMatcher.group(0));
-        }
-
-        return contact;
-    }
-
     /**
      * Calculate ATS (Applicant Tracking System) compatibility score
      */
-    private int calculateATSScore(String text, ResumeAnalysisResult partial) {
+    private int calculateATSScore(TextStats stats, ResumeAnalysisResult partial) {
         int score = 100;
 
         // Check for common ATS-unfriendly elements
-        if (text.contains("│") || text.contains("┌") || text.contains("└")) {
+        if (stats.hasBoxDrawing()) {
             score -= 20; // Special characters
         }
 
-        if (text.split("\\n").length < 10) {
+        if (stats.lines() < 10) {
             score -= 15; // Too short
         }
 
@@ -204,7 +208,7 @@ public class ResumeAnalysisService {
     /**
      * Calculate content quality score
      */
-    private int calculateContentScore(String text, ResumeAnalysisResult partial) {
+    private int calculateContentScore(String text, TextStats stats, ResumeAnalysisResult partial) {
         int score = 50; // Base score
 
         // Skills count
@@ -222,14 +226,13 @@ public class ResumeAnalysisService {
         }
 
         // Length check (not too short, not too long)
-        int wordCount = text.split("\\s+").length;
+        int wordCount = stats.words();
         if (wordCount >= 200 && wordCount <= 800) {
             score += 10;
         }
 
         // Has quantifiable achievements (numbers)
-        Pattern numberPattern = Pattern.compile("\\d+%|\\d+\\+|\\d{3,}");
-        Matcher numberMatcher = numberPattern.matcher(text);
+        Matcher numberMatcher = QUANTIFIED_ACHIEVEMENT.matcher(text);
         int numberCount = 0;
         while (numberMatcher.find() && numberCount < 5) {
             numberCount++;
@@ -242,18 +245,10 @@ public class ResumeAnalysisService {
     /**
      * Calculate format quality score
      */
-    private int calculateFormatScore(String text) {
+    private int calculateFormatScore(TextStats stats, int sectionCount) {
         int score = 80; // Start high
 
-        // Check for sections
-        String[] sections = {"experience", "education", "skills", "projects", "kinh nghiệm", "học vấn", "kỹ năng", "dự án"};
-        int sectionCount = 0;
-        for (String section : sections) {
-            if (text.toLowerCase().contains(section)) {
-                sectionCount++;
-            }
-        }
-
+        // Check for sections (headings found by the scanner)
         if (sectionCount < 2) {
             score -= 30; // Poor structure
         } else if (sectionCount >= 3) {
@@ -261,7 +256,7 @@ public class ResumeAnalysisService {
         }
 
         // Check for bullet points
-        if (text.contains("•") || text.contains("-") || text.contains("*")) {
+        if (stats.hasBullets()) {
             score += 10;
         }
 
@@ -374,8 +369,10 @@ public class ResumeAnalysisService {
     /**
      * Compare resume against job requirements
      */
-    public MatchResult matchResumeToJob(ResumeAnalysisResult resume, Set<String> jobRequiredSkills) {
-        Set<String> resumeSkills = new HashSet<>(resume.getSkills());
+    public MatchResult matchResumeToJob(ResumeAnalysisResult resume, Set<String> jobSkills) {
+        // Compare canonical names so "ReactJS" required by the job matches "React" in the resume
+        Set<String> resumeSkills = canonicalNames(resume.getSkills());
+        Set<String> jobRequiredSkills = canonicalNames(jobSkills);
         Set<String> matchedSkills = new HashSet<>(resumeSkills);
         matchedSkills.retainAll(jobRequiredSkills);
 
@@ -392,10 +389,20 @@ public class ResumeAnalysisService {
             .build();
     }
 
+    private Set<String> canonicalNames(Collection<String> skills) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String skill : skills) {
+            names.add(skillTaxonomyService.resolve(skill).map(SkillTaxonomyService.SkillRef::name).orElse(skill));
+        }
+        return names;
+    }
+
     // DTOs
 
     @lombok.Data
     public static class ResumeAnalysisResult {
+        private String contentHash; // SHA-256 of the normalized text; pass to /match instead of the text
+        private String taxonomyVersion; // skill taxonomy the skills were extracted with (ResumeScanner)
         private int overallScore;
         private int atsScore;
         private int contentScore;
@@ -0,0 +1,420 @@
+package com.jobverse.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobverse.dto.response.ResumeFileResponse;
+import com.jobverse.entity.Resume;
+import com.jobverse.exception.BadRequestException;
+import com.jobverse.exception.ResourceNotFoundException;
+import com.jobverse.exception.UnauthorizedException;
+import com.jobverse.repository.ResumeRepository;
+import com.jobverse.repository.UserRepository;
+import com.jobverse.service.ResumeTextExtractor.DocumentType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resume Ingestion Service
+ * Accepts PDF/DOCX uploads: the file is streamed to storage (hashed on the way) and a PENDING
+ * resume row is saved; text extraction + analysis then run on a small bounded worker pool
+ * and fill parsedContent / aiAnalysis. Rows are claimed with FOR UPDATE SKIP LOCKED, so a
+ * sweeper can pick up work the pool had no room for, or that a crashed node left behind.
+ * Each parse is capped in time, pages, characters and allocated bytes, and measured.
+ */
+@Slf4j
+@Service
+public class ResumeIngestionService {
+
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_TITLE_LENGTH = 100;
+
+    private final ResumeRepository resumeRepository;
+    private final UserRepository userRepository;
+    private final FileStorageService fileStorageService;
+    private final ResumeTextExtractor textExtractor;
+    private final ResumeAnalysisService resumeAnalysisService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final ThreadPoolExecutor workers;
+    private final DistributionSummary allocatedBytes;
+
+    // resume id -> percent done, for rows being parsed on this node
+    private final Map<Long, AtomicInteger> progress = new ConcurrentHashMap<>();
+
+    @Value("${app.upload.resume.max-size:5242880}")
+    private long maxFileSize;
+
+    @Value("${app.resume.ingestion.stale-parsing-minutes:10}")
+    private long staleParsingMinutes;
+
+    @Value("${app.resume.ingestion.max-parse-seconds:20}")
+    private long maxParseSeconds;
+
+    @Value("${app.resume.ingestion.max-allocated-mb:512}")
+    private long maxAllocatedMb;
+
+    @Value("${app.resume.ingestion.max-pages:20}")
+    private int maxPages;
+
+    @Value("${app.resume.ingestion.max-chars:100000}")
+    private int maxChars;
+
+    @Value("${app.resume.ingestion.max-main-memory-mb:16}")
+    private long maxMainMemoryMb;
+
+    @Value("${app.resume.ingestion.max-docx-xml-mb:20}")
+    private long maxDocxXmlMb;
+
+    public ResumeIngestionService(ResumeRepository resumeRepository,
+                                  UserRepository userRepository,
+                                  FileStorageService fileStorageService,
+                                  ResumeTextExtractor textExtractor,
+                                  ResumeAnalysisService resumeAnalysisService,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.resume.ingestion.workers:2}") int workerCount,
+                                  @Value("${app.resume.ingestion.queue-capacity:20}") int queueCapacity) {
+        this.resumeRepository = resumeRepository;
+        this.userRepository = userRepository;
+        this.fileStorageService = fileStorageService;
+        this.textExtractor = textExtractor;
+        this.resumeAnalysisService = resumeAnalysisService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "resume-parser-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.allocatedBytes = DistributionSummary.builder("jobverse.resume.parse.allocated.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("jobverse.resume.parse.queue", workers, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("jobverse.resume.parse.active", workers, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Store the upload and queue it for parsing. Returns immediately with status PENDING/PARSING.
+     */
+    public ResumeFileResponse upload(Long userId, MultipartFile file, String title) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Cannot upload empty file");
+        }
+        if (file.getSize() > maxFileSize) {
+            throw new BadRequestException("File size exceeds maximum limit of " + (maxFileSize / (1024 * 1024)) + "MB");
+        }
+
+        DocumentType type;
+        FileStorageService.StoredFile stored;
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            type = detectType(in, file.getOriginalFilename());
+            stored = fileStorageService.storeStream(in, "resumes", type == DocumentType.PDF ? ".pdf" : ".docx", maxFileSize);
+        } catch (IOException e) {
+            throw new BadRequestException("Không đọc được file tải lên");
+        }
+
+        String originalFilename = file.getOriginalFilename();
+        String resumeTitle = title != null && !title.isBlank() ? title.trim()
+                : originalFilename != null ? originalFilename : "CV";
+        Resume resume = resumeRepository.save(Resume.builder()
+                .user(userRepository.getReferenceById(userId))
+                .title(truncate(resumeTitle, MAX_TITLE_LENGTH))
+                .fileUrl(stored.url())
+                .fileType(type.name())
+                .originalFilename(originalFilename)
+                .fileSize(stored.size())
+                .contentHash(stored.sha256())
+                .parseStatus(Resume.ParseStatus.PENDING)
+                .build());
+
+        log.info("📄 Resume uploaded: id={}, user={}, {} bytes, {}", resume.getId(), userId, stored.size(), type);
+        dispatch(resume);
+        return toResponse(resume);
+    }
+
+    public ResumeFileResponse getStatus(Long resumeId, Long userId) {
+        Resume resume = resumeRepository.findById(resumeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resume not found"));
+        if (!resume.getUser().getId().equals(userId)) {
+            throw new UnauthorizedException("You don't have permission to view this resume");
+        }
+        return toResponse(resume);
+    }
+
+    /**
+     * The analysis of an uploaded resume, for matching without resending its text
+     */
+    public ResumeAnalysisService.ResumeAnalysisResult getAnalysis(Long resumeId, Long userId) {
+        Resume resume = resumeRepository.findById(resumeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resume not found"));
+        if (!resume.getUser().getId().equals(userId)) {
+            throw new UnauthorizedException("You don't have permission to view this resume");
+        }
+        if (resume.getParseStatus() != Resume.ParseStatus.ANALYZED || resume.getAiAnalysis() == null) {
+            throw new BadRequestException("CV chưa được phân tích xong");
+        }
+        if (resume.getAnalysisHash() != null) {
+            Optional<ResumeAnalysisService.ResumeAnalysisResult> cached =
+                    resumeAnalysisService.findCachedAnalysis(resume.getAnalysisHash());
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            // Analyzed under an older skill taxonomy: redo it from the stored text
+            if (resume.getParsedContent() != null && !resume.getParsedContent().isBlank()) {
+                return resumeAnalysisService.analyzeResume(resume.getParsedContent());
+            }
+        }
+        // Analyzed before V23: no hash, read the stored analysis directly
+        return objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .convertValue(resume.getAiAnalysis(), ResumeAnalysisService.ResumeAnalysisResult.class);
+    }
+
+    /**
+     * Pick up uploads that weren't dispatched (pool full) or were abandoned mid-parse.
+     */
+    @Scheduled(fixedDelayString = "${app.resume.ingestion.sweep-interval-ms:15000}")
+    public void sweep() {
+        int room = workers.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        try {
+            List<Resume> claimed = transactionTemplate.execute(status -> {
+                List<Resume> rows = resumeRepository.claimForParsing(
+                        room, LocalDateTime.now().minusMinutes(staleParsingMinutes));
+                LocalDateTime now = LocalDateTime.now();
+                rows.forEach(row -> {
+                    row.setParseStatus(Resume.ParseStatus.PARSING);
+                    row.setParseStartedAt(now);
+                });
+                return resumeRepository.saveAll(rows);
+            });
+            if (claimed != null && !claimed.isEmpty()) {
+                log.info("🧹 Resume sweeper claimed {} files", claimed.size());
+                claimed.forEach(row -> submit(row.getId()));
+            }
+        } catch (Exception e) {
+            log.error("❌ Resume ingestion sweep failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Unfinished rows stay PARSING and are reclaimed once stale
+        workers.shutdownNow();
+    }
+
+    private void dispatch(Resume resume) {
+        if (workers.getQueue().remainingCapacity() == 0) {
+            return; // stays PENDING for the sweeper
+        }
+        Integer claimed = transactionTemplate.execute(status ->
+                resumeRepository.markParsing(resume.getId(), LocalDateTime.now()));
+        if (claimed != null && claimed == 1) {
+            resume.setParseStatus(Resume.ParseStatus.PARSING);
+            submit(resume.getId());
+        }
+    }
+
+    private void submit(Long resumeId) {
+        progress.put(resumeId, new AtomicInteger());
+        try {
+            workers.execute(() -> process(resumeId));
+        } catch (RejectedExecutionException e) {
+            progress.remove(resumeId);
+            transactionTemplate.execute(status -> resumeRepository.releaseClaim(resumeId));
+        }
+    }
+
+    private void process(Long resumeId) {
+        Resume resume = resumeRepository.findById(resumeId).orElse(null);
+        if (resume == null) {
+            progress.remove(resumeId);
+            return;
+        }
+
+        DocumentType type = DocumentType.valueOf(resume.getFileType());
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(maxParseSeconds);
+        long allocationBudget = maxAllocatedMb * 1024 * 1024;
+        long allocatedAtStart = threadAllocatedBytes();
+        AtomicInteger percent = progress.computeIfAbsent(resumeId, id -> new AtomicInteger());
+        String outcome = "analyzed";
+
+        try {
+            ResumeTextExtractor.Limits limits = new ResumeTextExtractor.Limits(
+                    maxPages, maxChars, maxMainMemoryMb * 1024 * 1024, maxDocxXmlMb * 1024 * 1024);
+
+            ResumeTextExtractor.Extraction extraction = textExtractor.extract(
+                    fileStorageService.resolve(resume.getFileUrl()), type, limits, (done, total) -> {
+                        if (System.nanoTime() > deadlineNanos) {
+                            throw new ResumeTextExtractor.ExtractionException(
+                                    "Quá thời gian xử lý cho phép (" + maxParseSeconds + "s)");
+                        }
+                        if (allocatedAtStart >= 0 && threadAllocatedBytes() - allocatedAtStart > allocationBudget) {
+                            throw new ResumeTextExtractor.ExtractionException("File quá phức tạp để xử lý");
+                        }
+                        if (total > 0) {
+                            // Extraction is the slow part: map it onto 0-90%, analysis finishes the rest
+                            percent.set((int) Math.min(90, done * 90 / total));
+                        }
+                    });
+
+            if (extraction.text().isBlank()) {
+                throw new ResumeTextExtractor.ExtractionException(
+                        "Không tìm thấy nội dung văn bản (file có thể là ảnh scan)");
+            }
+
+            ResumeAnalysisService.ResumeAnalysisResult analysis = resumeAnalysisService.analyzeResume(extraction.text());
+            Map<String, Object> aiAnalysis = objectMapper.convertValue(analysis, new TypeReference<>() {
+            });
+            aiAnalysis.put("pagesParsed", extraction.pages());
+            aiAnalysis.put("truncated", extraction.truncated());
+
+            int millis = elapsedMillis(startNanos);
+            transactionTemplate.executeWithoutResult(status -> resumeRepository.findById(resumeId).ifPresent(row -> {
+                row.setParsedContent(extraction.text());
+                row.setAiAnalysis(aiAnalysis);
+                row.setAnalysisHash(analysis.getContentHash());
+                row.setParseStatus(Resume.ParseStatus.ANALYZED);
+                row.setParseError(null);
+                row.setParseMillis(millis);
+                row.setProcessedAt(LocalDateTime.now());
+            }));
+            log.info("✅ Resume {} parsed in {}ms ({} chars{})", resumeId, millis, extraction.text().length(),
+                    extraction.truncated() ? ", truncated" : "");
+        } catch (ResumeTextExtractor.ExtractionException e) {
+            outcome = "rejected";
+            markFailed(resumeId, e.getMessage(), elapsedMillis(startNanos));
+            log.warn("⚠️ Resume {} could not be parsed: {}", resumeId, e.getMessage());
+        } catch (Exception e) {
+            outcome = "error";
+            markFailed(resumeId, "Lỗi xử lý file", elapsedMillis(startNanos));
+            log.error("❌ Resume {} parse failed: {}", resumeId, e.getMessage(), e);
+        } finally {
+            progress.remove(resumeId);
+            Timer.builder("jobverse.resume.parse.duration")
+                    .tag("type", type.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            if (allocatedAtStart >= 0) {
+                allocatedBytes.record(threadAllocatedBytes() - allocatedAtStart);
+            }
+        }
+    }
+
+    private void markFailed(Long resumeId, String error, int millis) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> resumeRepository.findById(resumeId).ifPresent(row -> {
+                row.setParseStatus(Resume.ParseStatus.FAILED);
+                row.setParseError(truncate(error, MAX_ERROR_LENGTH));
+                row.setParseMillis(millis);
+                row.setProcessedAt(LocalDateTime.now());
+            }));
+        } catch (Exception e) {
+            log.error("❌ Could not record parse failure for resume {}: {}", resumeId, e.getMessage());
+        }
+    }
+
+    // Sniff the real type from the first bytes; the client's content type is not trusted
+    private DocumentType detectType(InputStream in, String filename) throws IOException {
+        in.mark(PDF_MAGIC.length);
+        byte[] head = in.readNBytes(PDF_MAGIC.length);
+        in.reset();
+
+        if (startsWith(head, PDF_MAGIC)) {
+            return DocumentType.PDF;
+        }
+        if (startsWith(head, ZIP_MAGIC) && filename != null && filename.toLowerCase().endsWith(".docx")) {
+            return DocumentType.DOCX;
+        }
+        throw new BadRequestException("Chỉ hỗ trợ file PDF hoặc DOCX");
+    }
+
+    private ResumeFileResponse toResponse(Resume resume) {
+        Resume.ParseStatus status = resume.getParseStatus();
+        AtomicInteger percent = progress.get(resume.getId());
+        Integer progressValue = status == Resume.ParseStatus.ANALYZED || status == Resume.ParseStatus.FAILED ? 100
+                : status == Resume.ParseStatus.PARSING ? (percent != null ? percent.get() : 0)
+                : status == Resume.ParseStatus.PENDING ? 0 : null;
+
+        return ResumeFileResponse.builder()
+                .id(resume.getId())
+                .title(resume.getTitle())
+                .originalFilename(resume.getOriginalFilename())
+                .fileUrl(resume.getFileUrl())
+                .fileType(resume.getFileType())
+                .fileSize(resume.getFileSize())
+                .contentHash(resume.getContentHash())
+                .status(status)
+                .progress(progressValue)
+                .parseMillis(resume.getParseMillis())
+                .error(resume.getParseError())
+                .createdAt(resume.getCreatedAt())
+                .processedAt(resume.getProcessedAt())
+                .analysis(status == Resume.ParseStatus.ANALYZED ? resume.getAiAnalysis() : null)
+                .build();
+    }
+
+    private static long threadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static int elapsedMillis(long startNanos) {
+        return (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data.length >= prefix.length && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static String truncate(String value, int max) {
+        return value != null && value.length() > max ? value.substring(0, max) : value;
+    }
+}
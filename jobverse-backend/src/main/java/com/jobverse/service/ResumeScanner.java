@@ -0,0 +1,254 @@
+package com.jobverse.service;
+
+import com.jobverse.util.AhoCorasickMatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resume Scanner
+ * Precompiled, immutable extractor used by ResumeAnalysisService. Skills (from the taxonomy),
+ * degrees, section headings and contact anchors are compiled into one Aho-Corasick matcher,
+ * so a resume is scanned once, left to right, with token boundaries. Contact values are read
+ * from around their anchor ("@", "+84", "github.com/", ...) in bounded local steps.
+ * Recompile when the skill taxonomy changes; {@link #skillTerms()} identifies the version in
+ * this process, {@link #taxonomyVersion()} across processes and restarts.
+ */
+public final class ResumeScanner {
+
+    private static final int DEGREE_CONTEXT_CHARS = 100;
+    private static final int MAX_EMAIL_LOCAL = 64;
+    private static final int MAX_EMAIL_DOMAIN = 255;
+
+    // In priority order: the first kind found wins
+    private static final String[][] DEGREES = {
+            {"PhD", "Ph.D"},
+            {"Master", "Masters"},
+            {"Bachelor", "Bachelors"},
+            {"Đại học"},
+            {"Thạc sĩ"},
+            {"Tiến sĩ"},
+            {"Cử nhân"}
+    };
+
+    private static final String[] SECTIONS = {
+            "experience", "education", "skills", "projects", "kinh nghiệm", "học vấn", "kỹ năng", "dự án"
+    };
+
+    private enum Kind {
+        SKILL, DEGREE, SECTION, EMAIL, PHONE, LINKEDIN, GITHUB
+    }
+
+    private record Token(Kind kind, int rank, SkillTaxonomyService.SkillRef skill) {
+    }
+
+    /**
+     * What one scan found
+     */
+    public record Result(List<String> skills, String education, Map<String, String> contactInfo, int sectionCount) {
+    }
+
+    private final Map<String, SkillTaxonomyService.SkillRef> skillTerms;
+    private final String taxonomyVersion;
+    private final AhoCorasickMatcher<Token> matcher;
+
+    private ResumeScanner(Map<String, SkillTaxonomyService.SkillRef> skillTerms) {
+        this.skillTerms = skillTerms;
+        this.taxonomyVersion = fingerprint(skillTerms);
+
+        // Fixed vocabulary first so a skill alias can't shadow it
+        AhoCorasickMatcher.Builder<Token> builder = AhoCorasickMatcher.builder();
+        for (int rank = 0; rank < DEGREES.length; rank++) {
+            for (String degree : DEGREES[rank]) {
+                builder.add(degree, new Token(Kind.DEGREE, rank, null));
+            }
+        }
+        for (int i = 0; i < SECTIONS.length; i++) {
+            builder.add(SECTIONS[i], new Token(Kind.SECTION, i, null));
+        }
+        builder.add("@", new Token(Kind.EMAIL, 0, null));
+        builder.addPrefix("+84", new Token(Kind.PHONE, 0, null));
+        builder.addPrefix("0", new Token(Kind.PHONE, 0, null));
+        builder.addPrefix("linkedin.com/in/", new Token(Kind.LINKEDIN, 0, null));
+        builder.addPrefix("github.com/", new Token(Kind.GITHUB, 0, null));
+
+        skillTerms.forEach((term, skill) -> builder.add(term, new Token(Kind.SKILL, 0, skill)));
+        this.matcher = builder.build();
+    }
+
+    public static ResumeScanner compile(Map<String, SkillTaxonomyService.SkillRef> skillTerms) {
+        return new ResumeScanner(skillTerms);
+    }
+
+    public Map<String, SkillTaxonomyService.SkillRef> skillTerms() {
+        return skillTerms;
+    }
+
+    /**
+     * Content fingerprint of the skill terms: equal on every node that loaded the same taxonomy
+     */
+    public String taxonomyVersion() {
+        return taxonomyVersion;
+    }
+
+    // SHA-256 over the sorted term -> skill pairs, first 16 hex chars
+    private static String fingerprint(Map<String, SkillTaxonomyService.SkillRef> skillTerms) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            skillTerms.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(e -> digest.update((e.getKey() + '\0' + e.getValue().id() + '\n')
+                            .getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Result scan(String text) {
+        List<AhoCorasickMatcher.Match<Token>> skillMatches = new ArrayList<>();
+        Map<String, String> contact = new HashMap<>();
+        List<int[]> contactSpans = new ArrayList<>();
+        Set<Integer> sections = new HashSet<>();
+        int bestDegree = Integer.MAX_VALUE;
+        String education = null;
+
+        for (AhoCorasickMatcher.Match<Token> match : matcher.findAll(text)) {
+            Token token = match.value();
+            switch (token.kind()) {
+                case SKILL -> skillMatches.add(match);
+                case SECTION -> sections.add(token.rank());
+                case DEGREE -> {
+                    if (token.rank() < bestDegree) {
+                        bestDegree = token.rank();
+                        education = degreeContext(text, match);
+                    }
+                }
+                default -> {
+                    String key = token.kind().name().toLowerCase();
+                    if (!contact.containsKey(key)) {
+                        int[] span = contactSpan(text, token.kind(), match);
+                        if (span != null) {
+                            contact.put(key, text.substring(span[0], span[1]));
+                            contactSpans.add(span);
+                        }
+                    }
+                }
+            }
+        }
+
+        // A skill inside an email or profile URL ("java.dev@...", "github.com/react-fan") isn't a skill
+        Set<String> skills = new LinkedHashSet<>();
+        for (AhoCorasickMatcher.Match<Token> match : skillMatches) {
+            if (!insideAny(match, contactSpans)) {
+                skills.add(match.value().skill().name());
+            }
+        }
+
+        return new Result(new ArrayList<>(skills), education, contact, sections.size());
+    }
+
+    private static String degreeContext(String text, AhoCorasickMatcher.Match<Token> match) {
+        int end = Math.min(text.length(), match.end() + DEGREE_CONTEXT_CHARS);
+        int newline = text.indexOf('\n', match.start());
+        if (newline >= 0 && newline < end) {
+            end = newline;
+        }
+        return text.substring(match.start(), end).trim();
+    }
+
+    private static int[] contactSpan(String text, Kind kind, AhoCorasickMatcher.Match<Token> match) {
+        return switch (kind) {
+            case EMAIL -> emailSpan(text, match.start());
+            case PHONE -> phoneSpan(text, match.start(), match.end());
+            case LINKEDIN, GITHUB -> {
+                int end = match.end();
+                while (end < text.length() && isHandleChar(text.charAt(end))) {
+                    end++;
+                }
+                yield end > match.end() ? new int[]{match.start(), end} : null;
+            }
+            default -> null;
+        };
+    }
+
+    // local@domain.tld, read outwards from the '@'
+    private static int[] emailSpan(String text, int at) {
+        int start = at;
+        while (start > 0 && at - start < MAX_EMAIL_LOCAL && isEmailLocalChar(text.charAt(start - 1))) {
+            start--;
+        }
+        int end = at + 1;
+        while (end < text.length() && end - at <= MAX_EMAIL_DOMAIN && isDomainChar(text.charAt(end))) {
+            end++;
+        }
+        while (end > at + 1 && (text.charAt(end - 1) == '.' || text.charAt(end - 1) == '-')) {
+            end--;
+        }
+        if (start == at || !Character.isLetterOrDigit(text.charAt(start))) {
+            return null;
+        }
+
+        int lastDot = text.lastIndexOf('.', end - 1);
+        if (lastDot <= at + 1 || end - lastDot - 1 < 2) {
+            return null;
+        }
+        for (int i = lastDot + 1; i < end; i++) {
+            if (!isAsciiLetter(text.charAt(i))) {
+                return null;
+            }
+        }
+        return new int[]{start, end};
+    }
+
+    // (+84|0), an optional space, then 9-10 digits
+    private static int[] phoneSpan(String text, int start, int anchorEnd) {
+        int i = anchorEnd;
+        if (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        int digitsStart = i;
+        while (i < text.length() && i - digitsStart < 10 && isAsciiDigit(text.charAt(i))) {
+            i++;
+        }
+        return i - digitsStart >= 9 ? new int[]{start, i} : null;
+    }
+
+    private static boolean insideAny(AhoCorasickMatcher.Match<Token> match, List<int[]> spans) {
+        for (int[] span : spans) {
+            if (match.start() >= span[0] && match.end() <= span[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHandleChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '-';
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '.' || c == '-';
+    }
+}
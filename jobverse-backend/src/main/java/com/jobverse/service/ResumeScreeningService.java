@@ -0,0 +1,469 @@
+package com.jobverse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobverse.dto.response.ResumeScreeningEvent;
+import com.jobverse.entity.Job;
+import com.jobverse.entity.User;
+import com.jobverse.exception.BadRequestException;
+import com.jobverse.exception.ResourceNotFoundException;
+import com.jobverse.exception.UnauthorizedException;
+import com.jobverse.repository.JobRepository;
+import com.jobverse.repository.UserRepository;
+import com.jobverse.service.ResumeAnalysisService.MatchResult;
+import com.jobverse.service.ResumeAnalysisService.ResumeAnalysisResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resume Screening Service
+ * Scores every application of a job against the job's skills and streams the results as NDJSON.
+ * Candidates are analyzed on a shared pool sized to the cores; each screening keeps at most
+ * `window` candidates in flight and feeds the next one as a slot frees up, so the first lines go
+ * out after a handful of analyses regardless of batch size and one big job can't flood the pool.
+ * Analyses come from ResumeAnalysisCache when the resume was seen before (by analysis_hash);
+ * resume text is loaded per candidate only on a miss. A disconnected client stops the run.
+ *
+ * Lines are never written on the analysis workers: each run queues them and a writer pool drains
+ * the queue, one drain per run at a time. A client that stops reading ties up only its own writer
+ * (until the container's write timeout), a run whose client falls max-queued-lines behind is
+ * stopped, and a run keeps its slot until its last line is written.
+ */
+@Slf4j
+@Service
+public class ResumeScreeningService {
+
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final ResumeAnalysisService resumeAnalysisService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor writer;
+    private final Semaphore runs;
+    private final int window;
+    private final int maxQueuedLines;
+    private final Timer screeningTimer;
+    private final Timer firstResultTimer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * An application to screen, loaded up front without the resume text
+     */
+    public record Candidate(Long applicationId, Long userId, String name, Long resumeId,
+                            String analysisHash, boolean hasText) {
+    }
+
+    /**
+     * Everything a screening needs, resolved (and authorized) before the response is committed
+     */
+    public record Batch(Long jobId, Set<String> jobSkills, List<Candidate> candidates) {
+    }
+
+    public ResumeScreeningService(JobRepository jobRepository,
+                                  UserRepository userRepository,
+                                  ResumeAnalysisService resumeAnalysisService,
+                                  JdbcTemplate jdbcTemplate,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.resume.screening.parallelism:0}") int parallelism,
+                                  @Value("${app.resume.screening.max-concurrent:4}") int maxConcurrent,
+                                  @Value("${app.resume.screening.max-queued-lines:1000}") int maxQueuedLines) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.resumeAnalysisService = resumeAnalysisService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.window = threads * 2;
+        this.maxQueuedLines = maxQueuedLines;
+        this.runs = new Semaphore(maxConcurrent);
+        AtomicInteger threadIds = new AtomicInteger();
+        // Each run has at most `window` tasks queued or running, so this queue never overflows
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(window * maxConcurrent),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "resume-screener-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // One thread per possible run, so a stuck client never holds up another run's lines
+        AtomicInteger writerIds = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "resume-screening-writer-" + writerIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.writer.allowCoreThreadTimeOut(true);
+
+        this.screeningTimer = Timer.builder("jobverse.resume.screening.duration")
+                .description("Whole bulk screening, first candidate to summary line")
+                .register(meterRegistry);
+        this.firstResultTimer = Timer.builder("jobverse.resume.screening.first.result")
+                .description("Time until the first candidate line is sent")
+                .register(meterRegistry);
+        Gauge.builder("jobverse.resume.screening.active", workers, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Authorize and load the batch; runs before streaming so errors still get a normal status code.
+     */
+    @Transactional(readOnly = true)
+    public Batch prepare(Long jobId, Long employerId) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        User employer = userRepository.findById(employerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (!job.getPostedBy().getId().equals(employerId) && employer.getRole() != User.Role.ADMIN) {
+            throw new UnauthorizedException("You don't have permission to screen applications for this job");
+        }
+
+        Set<String> jobSkills = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT s.name FROM job_skills js JOIN skills s ON s.id = js.skill_id WHERE js.job_id = ?",
+                String.class, jobId));
+        if (jobSkills.isEmpty()) {
+            throw new BadRequestException("Tin tuyển dụng chưa có kỹ năng yêu cầu để sàng lọc");
+        }
+
+        // The resume attached to the application, else the candidate's primary one
+        List<Candidate> candidates = jdbcTemplate.query(
+                "SELECT a.id, a.user_id, CASE WHEN COALESCE(a.is_anonymous, false) THEN NULL ELSE p.full_name END, " +
+                "r.id, r.analysis_hash, r.parsed_content IS NOT NULL " +
+                "FROM applications a " +
+                "LEFT JOIN user_profiles p ON p.user_id = a.user_id " +
+                "LEFT JOIN resumes r ON r.id = COALESCE(a.resume_id, " +
+                "    (SELECT pr.id FROM resumes pr WHERE pr.user_id = a.user_id AND pr.is_primary = true " +
+                "     ORDER BY pr.id DESC LIMIT 1)) " +
+                "WHERE a.job_id = ? " +
+                "ORDER BY a.applied_at",
+                (rs, i) -> new Candidate(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                        (Long) rs.getObject(4), rs.getString(5), rs.getBoolean(6)),
+                jobId);
+        return new Batch(jobId, jobSkills, candidates);
+    }
+
+    /**
+     * Start screening the batch into the emitter; returns immediately.
+     * False when max-concurrent screenings are already running.
+     */
+    public boolean stream(Batch batch, ResponseBodyEmitter emitter) {
+        if (!runs.tryAcquire()) {
+            meterRegistry.counter("jobverse.resume.screening.rejected").increment();
+            log.warn("⚠️ Screening for job {} rejected: too many screenings running", batch.jobId());
+            return false;
+        }
+        Run run = new Run(batch, emitter);
+        emitter.onTimeout(run::cancel);
+        emitter.onError(e -> run.cancel());
+        run.start();
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        writer.shutdownNow();
+    }
+
+    /**
+     * One screening: a queue of pending candidates, topped up into the pool as tasks finish
+     */
+    private final class Run {
+        private final Batch batch;
+        private final ResponseBodyEmitter emitter;
+        private final Queue<Candidate> pending;
+        private final List<ResumeScreeningEvent> results;
+        private final AtomicInteger unfinished;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final long startNanos = System.nanoTime();
+
+        // Lines waiting for the writer pool; draining is set while a drain task is queued or running
+        private final Queue<Runnable> writes = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queuedWrites = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Run(Batch batch, ResponseBodyEmitter emitter) {
+            this.batch = batch;
+            this.emitter = emitter;
+            this.pending = new ArrayDeque<>(batch.candidates());
+            this.results = new ArrayList<>(batch.candidates().size());
+            this.unfinished = new AtomicInteger(batch.candidates().size());
+        }
+
+        void start() {
+            log.info("🔎 Screening {} applications for job {}", pending.size(), batch.jobId());
+            if (pending.isEmpty()) {
+                finish();
+                return;
+            }
+            for (int i = 0; i < window; i++) {
+                submitNext();
+            }
+        }
+
+        void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+            log.info("⏹️ Screening for job {} stopped by the client", batch.jobId());
+            // Never-submitted candidates count as done, so the last in-flight task still closes the run
+            int dropped;
+            synchronized (pending) {
+                dropped = pending.size();
+                pending.clear();
+            }
+            if (dropped > 0 && unfinished.addAndGet(-dropped) == 0) {
+                finish();
+            }
+        }
+
+        private void submitNext() {
+            Candidate candidate;
+            synchronized (pending) {
+                candidate = pending.poll();
+            }
+            if (candidate == null) {
+                return;
+            }
+            try {
+                workers.execute(() -> process(candidate));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                cancel();
+                if (unfinished.decrementAndGet() == 0) {
+                    finish();
+                }
+            }
+        }
+
+        private void process(Candidate candidate) {
+            try {
+                if (!cancelled.get()) {
+                    ResumeScreeningEvent event = screen(candidate);
+                    int completed;
+                    synchronized (results) {
+                        results.add(event);
+                        completed = results.size();
+                    }
+                    event.setCompleted(completed);
+                    event.setTotal(batch.candidates().size());
+                    if (completed == 1) {
+                        firstResultTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    }
+                    send(event);
+                }
+            } finally {
+                if (!cancelled.get()) {
+                    submitNext();
+                }
+                if (unfinished.decrementAndGet() == 0) {
+                    finish();
+                }
+            }
+        }
+
+        private ResumeScreeningEvent screen(Candidate candidate) {
+            ResumeScreeningEvent.ResumeScreeningEventBuilder event = ResumeScreeningEvent.builder()
+                    .type(ResumeScreeningEvent.CANDIDATE)
+                    .applicationId(candidate.applicationId())
+                    .userId(candidate.userId())
+                    .candidateName(candidate.name())
+                    .resumeId(candidate.resumeId());
+            try {
+                Optional<ResumeAnalysisResult> analysis = analysisOf(candidate);
+                if (analysis.isEmpty()) {
+                    meterRegistry.counter("jobverse.resume.screening.candidates", "outcome", "no_resume").increment();
+                    return event.outcome("NO_RESUME").build();
+                }
+                MatchResult match = resumeAnalysisService.matchResumeToJob(analysis.get(), batch.jobSkills());
+                meterRegistry.counter("jobverse.resume.screening.candidates", "outcome", "screened").increment();
+                return event.outcome("SCREENED")
+                        .matchPercentage(match.getMatchPercentage())
+                        .overallScore(analysis.get().getOverallScore())
+                        .experience(analysis.get().getExperience())
+                        .matchedSkills(match.getMatchedSkills())
+                        .missingSkills(match.getMissingSkills())
+                        .build();
+            } catch (Exception e) {
+                log.warn("⚠️ Screening failed for application {}: {}", candidate.applicationId(), e.getMessage());
+                meterRegistry.counter("jobverse.resume.screening.candidates", "outcome", "failed").increment();
+                return event.outcome("FAILED").build();
+            }
+        }
+
+        private Optional<ResumeAnalysisResult> analysisOf(Candidate candidate) {
+            if (candidate.analysisHash() != null) {
+                Optional<ResumeAnalysisResult> cached = resumeAnalysisService.findCachedAnalysis(candidate.analysisHash());
+                if (cached.isPresent()) {
+                    return cached;
+                }
+            }
+            if (!candidate.hasText()) {
+                return Optional.empty();
+            }
+            String text = jdbcTemplate.queryForObject(
+                    "SELECT parsed_content FROM resumes WHERE id = ?", String.class, candidate.resumeId());
+            return text == null || text.isBlank()
+                    ? Optional.empty()
+                    : Optional.of(resumeAnalysisService.analyzeResume(text));
+        }
+
+        private void finish() {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            try {
+                if (!cancelled.get()) {
+                    List<ResumeScreeningEvent> ranked;
+                    synchronized (results) {
+                        ranked = new ArrayList<>(results);
+                    }
+                    ranked.sort(Comparator
+                            .comparing((ResumeScreeningEvent e) -> e.getMatchPercentage() == null ? -1 : e.getMatchPercentage())
+                            .thenComparing(e -> e.getOverallScore() == null ? -1 : e.getOverallScore())
+                            .reversed());
+                    int screened = (int) ranked.stream().filter(e -> "SCREENED".equals(e.getOutcome())).count();
+                    int failed = (int) ranked.stream().filter(e -> "FAILED".equals(e.getOutcome())).count();
+
+                    send(ResumeScreeningEvent.builder()
+                            .type(ResumeScreeningEvent.SUMMARY)
+                            .jobId(batch.jobId())
+                            .total(batch.candidates().size())
+                            .screened(screened)
+                            .failed(failed)
+                            .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                            .ranking(ranked.stream().map(ResumeScreeningEvent::getApplicationId).toList())
+                            .build());
+                    screeningTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                    log.info("✅ Screened {} applications for job {} in {}ms", ranked.size(), batch.jobId(),
+                            TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+                }
+            } finally {
+                close();
+            }
+        }
+
+        // Called on the analysis workers: serializes the line and queues it, never blocks
+        private void send(ResumeScreeningEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (queuedWrites.get() >= maxQueuedLines) {
+                // The client isn't reading: stop rather than buffer the whole batch
+                meterRegistry.counter("jobverse.resume.screening.dropped").increment();
+                log.warn("⚠️ Screening for job {} dropped: client {} lines behind", batch.jobId(), maxQueuedLines);
+                cancel();
+                return;
+            }
+            String line;
+            try {
+                line = objectMapper.writeValueAsString(event) + "\n";
+            } catch (Exception e) {
+                log.warn("⚠️ Screening line for job {} not serializable: {}", batch.jobId(), e.getMessage());
+                return;
+            }
+            enqueue(() -> {
+                if (cancelled.get()) {
+                    return;
+                }
+                try {
+                    emitter.send(line, NDJSON);
+                } catch (Exception e) {
+                    // Client went away (or the emitter timed out): stop feeding the pool
+                    cancel();
+                }
+            });
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                // The last write: queued behind any send in progress, which emitter.complete() would wait on anyway
+                enqueue(() -> {
+                    try {
+                        emitter.complete();
+                    } catch (Exception ignored) {
+                        // already completed by a timeout or error
+                    } finally {
+                        releaseRun();
+                    }
+                });
+            }
+        }
+
+        private void enqueue(Runnable write) {
+            writes.add(write);
+            queuedWrites.incrementAndGet();
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: nothing will write again
+                draining.set(false);
+                cancel();
+                releaseRun();
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable write;
+                while ((write = writes.poll()) != null) {
+                    queuedWrites.decrementAndGet();
+                    write.run();
+                }
+            } finally {
+                draining.set(false);
+            }
+            if (!writes.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void releaseRun() {
+            if (released.compareAndSet(false, true)) {
+                runs.release();
+            }
+        }
+    }
+}
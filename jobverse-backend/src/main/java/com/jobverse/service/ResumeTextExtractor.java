@@ -0,0 +1,251 @@
+package com.jobverse.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Resume Text Extractor
+ * Pulls plain text out of stored PDF/DOCX files without loading them into heap whole:
+ * PDFs are read through PDFBox with a bounded in-memory cache (the rest spills to temp files)
+ * one page at a time; DOCX word/document.xml is streamed with StAX straight from the zip.
+ * Output is capped at maxChars (truncated, not failed). The caller's Budget is consulted
+ * between pages/chunks, and every few thousand content-stream operators within a PDF page
+ * (one page can hold millions), and may abort the parse (time or memory exceeded).
+ */
+@Component
+public class ResumeTextExtractor {
+
+    private static final String TEXT_ELEMENT = "t"; // <w:t> run text
+    private static final int DOCX_PROGRESS_CHUNK = 64 * 1024;
+    private static final int PDF_OPERATORS_PER_CHECKPOINT = 1024;
+
+    private static final XMLInputFactory XML_FACTORY = createXmlFactory();
+
+    public enum DocumentType {
+        PDF, DOCX
+    }
+
+    public record Limits(int maxPages, int maxChars, long maxMainMemoryBytes, long maxXmlBytes) {
+    }
+
+    public record Extraction(String text, int pages, boolean truncated) {
+    }
+
+    /**
+     * Called between units of work with (done, total) progress; throws to abort.
+     * total is -1 when unknown.
+     */
+    @FunctionalInterface
+    public interface Budget {
+        void checkpoint(long done, long total);
+    }
+
+    /**
+     * The file can't be turned into text (corrupt, encrypted, over a limit)
+     */
+    public static class ExtractionException extends RuntimeException {
+        public ExtractionException(String message) {
+            super(message);
+        }
+    }
+
+    public Extraction extract(Path file, DocumentType type, Limits limits, Budget budget) {
+        try {
+            return switch (type) {
+                case PDF -> extractPdf(file, limits, budget);
+                case DOCX -> extractDocx(file, limits, budget);
+            };
+        } catch (InvalidPasswordException e) {
+            throw new ExtractionException("File PDF được bảo vệ bằng mật khẩu");
+        } catch (IOException | XMLStreamException e) {
+            throw new ExtractionException("Không đọc được file: " + e.getMessage());
+        }
+    }
+
+    private Extraction extractPdf(Path file, Limits limits, Budget budget) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile(),
+                MemoryUsageSetting.setupMixed(limits.maxMainMemoryBytes()).streamCache)) {
+            int totalPages = document.getNumberOfPages();
+            int pages = Math.min(totalPages, limits.maxPages());
+            CappedText text = new CappedText(limits.maxChars());
+            BudgetedTextStripper stripper = new BudgetedTextStripper(budget, pages);
+
+            budget.checkpoint(0, pages);
+            for (int page = 1; page <= pages && !text.isFull(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                text.append(stripper.getText(document));
+                budget.checkpoint(page, pages);
+            }
+            return new Extraction(text.toString(), pages, text.isFull() || pages < totalPages);
+        }
+    }
+
+    private Extraction extractDocx(Path file, Limits limits, Budget budget) throws IOException, XMLStreamException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry("word/document.xml");
+            if (entry == null) {
+                throw new ExtractionException("Không phải file DOCX hợp lệ");
+            }
+
+            CappedText text = new CappedText(limits.maxChars());
+            long total = entry.getSize();
+            try (CountingInputStream in = new CountingInputStream(zip.getInputStream(entry), limits.maxXmlBytes())) {
+                XMLStreamReader reader = XML_FACTORY.createXMLStreamReader(in);
+                try {
+                    boolean inText = false;
+                    long nextCheckpoint = DOCX_PROGRESS_CHUNK;
+                    budget.checkpoint(0, total);
+                    while (reader.hasNext() && !text.isFull()) {
+                        switch (reader.next()) {
+                            case XMLStreamConstants.START_ELEMENT -> {
+                                String name = reader.getLocalName();
+                                inText = TEXT_ELEMENT.equals(name);
+                                if ("tab".equals(name)) {
+                                    text.append("\t");
+                                } else if ("br".equals(name) || "cr".equals(name)) {
+                                    text.append("\n");
+                                }
+                            }
+                            case XMLStreamConstants.END_ELEMENT -> {
+                                inText = false;
+                                if ("p".equals(reader.getLocalName())) {
+                                    text.append("\n");
+                                }
+                            }
+                            case XMLStreamConstants.CHARACTERS -> {
+                                if (inText) {
+                                    text.append(reader.getText());
+                                }
+                            }
+                            default -> {
+                            }
+                        }
+                        if (in.count() >= nextCheckpoint) {
+                            budget.checkpoint(in.count(), total);
+                            nextCheckpoint = in.count() + DOCX_PROGRESS_CHUNK;
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+            return new Extraction(text.toString(), 1, text.isFull());
+        }
+    }
+
+    private static XMLInputFactory createXmlFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // Uploaded files are untrusted: no DTDs, no external entities (XXE)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    // Consults the budget while a page's content stream runs, reporting the pages already done
+    private static final class BudgetedTextStripper extends PDFTextStripper {
+        private final Budget budget;
+        private final int pages;
+        private int operators;
+
+        BudgetedTextStripper(Budget budget, int pages) {
+            this.budget = budget;
+            this.pages = pages;
+        }
+
+        @Override
+        protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+            if (++operators % PDF_OPERATORS_PER_CHECKPOINT == 0) {
+                budget.checkpoint(getStartPage() - 1, pages);
+            }
+            super.processOperator(operator, operands);
+        }
+    }
+
+    // Appends up to a fixed number of chars; drops NULs, which Postgres TEXT rejects
+    private static final class CappedText {
+        private final StringBuilder sb = new StringBuilder();
+        private final int maxChars;
+
+        CappedText(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        void append(String s) {
+            for (int i = 0; i < s.length() && sb.length() < maxChars; i++) {
+                char c = s.charAt(i);
+                if (c != '\0') {
+                    sb.append(c);
+                }
+            }
+        }
+
+        boolean isFull() {
+            return sb.length() >= maxChars;
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
+
+    // Counts decompressed bytes and stops zip bombs at maxBytes
+    private static final class CountingInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long count;
+
+        CountingInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                add(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                add(n);
+            }
+            return n;
+        }
+
+        private void add(long n) {
+            count += n;
+            if (count > maxBytes) {
+                throw new ExtractionException("Nội dung DOCX vượt quá giới hạn cho phép");
+            }
+        }
+    }
+}
@@ -6,12 +6,10 @@ import com.jobverse.exception.ResourceNotFoundException;
 import com.jobverse.repository.SkillRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -20,39 +18,39 @@ import java.util.stream.Collectors;
 public class SkillService {
 
     private final SkillRepository skillRepository;
+    private final SkillStatsService skillStatsService;
 
     public List<SkillResponse> getAllSkills() {
         log.info("📋 Fetching all skills");
 
-        List<Skill> skills = skillRepository.findAll(Sort.by("name"));
+        List<SkillResponse> skills = skillStatsService.getSnapshot().allByName();
 
         log.info("✅ Found {} skills", skills.size());
 
-        return skills.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return skills;
     }
 
     public List<SkillResponse> getTrendingSkills() {
         log.info("🔥 Fetching trending skills");
 
-        List<Skill> skills = skillRepository.findTrendingSkills();
-        
-        // If no skills have isTrending flag, fall back to top skills by job count
+        SkillStatsService.Snapshot snapshot = skillStatsService.getSnapshot();
+        List<SkillResponse> skills = snapshot.trending();
+
+        // No recent demand yet (fresh install): fall back to top skills by active job count
         if (skills.isEmpty()) {
             log.info("No trending skills found, falling back to top skills by job count");
-            skills = skillRepository.findTopSkillsByJobCount();
-            // Limit to top 10
-            if (skills.size() > 10) {
-                skills = skills.subList(0, 10);
-            }
+            skills = snapshot.top().subList(0, Math.min(10, snapshot.top().size()));
         }
 
         log.info("✅ Found {} trending skills", skills.size());
 
-        return skills.stream()
-                .map(skill -> mapToResponseWithJobCount(skill))
-                .collect(Collectors.toList());
+        return skills;
+    }
+
+    public List<SkillResponse> getTopSkills() {
+        log.info("🏆 Fetching top skills by active job count");
+
+        return skillStatsService.getSnapshot().top();
     }
 
     public SkillResponse getSkillById(Long id) {
@@ -74,26 +72,16 @@ public class SkillService {
     }
 
     private SkillResponse mapToResponse(Skill skill) {
+        // Counts come from the stats snapshot; the skills table columns are not maintained
+        SkillResponse stats = skillStatsService.getSnapshot().byId().get(skill.getId());
         return SkillResponse.builder()
                 .id(skill.getId())
                 .name(skill.getName())
                 .slug(skill.getSlug())
-                .isTrending(skill.getIsTrending())
-                .jobCount(skill.getJobCount())
-                .candidateCount(skill.getCandidateCount())
-                .build();
-    }
-    
-    // Map to response with dynamic job count from database
-    private SkillResponse mapToResponseWithJobCount(Skill skill) {
-        Integer actualJobCount = skillRepository.countActiveJobsBySkillId(skill.getId());
-        return SkillResponse.builder()
-                .id(skill.getId())
-                .name(skill.getName())
-                .slug(skill.getSlug())
-                .isTrending(actualJobCount != null && actualJobCount > 0)
-                .jobCount(actualJobCount != null ? actualJobCount : 0)
-                .candidateCount(skill.getCandidateCount())
+                .isTrending(stats != null ? stats.getIsTrending() : false)
+                .jobCount(stats != null ? stats.getJobCount() : 0)
+                .candidateCount(stats != null ? stats.getCandidateCount() : 0)
+                .demandScore(stats != null ? stats.getDemandScore() : 0.0)
                 .build();
     }
 }
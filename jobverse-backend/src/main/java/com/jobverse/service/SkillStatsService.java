@@ -0,0 +1,288 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.response.SkillResponse;
+import com.jobverse.entity.Job;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Skill Statistics Service
+ * Maintains the skill_stats table (V20) incrementally and serves trending/top skills
+ * from an in-memory snapshot rebuilt on a schedule.
+ * - active_job_count: adjusted in the job's transaction when it enters/leaves ACTIVE
+ * - demand_score: exponentially decayed; postings, views and applications are buffered
+ *   per job in memory and folded into the table in one statement per flush
+ * - candidate_count + drift repair: set-based recompute on a nightly cron
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SkillStatsService {
+
+    public enum DemandSignal {
+        POSTING, VIEW, APPLICATION
+    }
+
+    // Decayed score as of now(): stored score * e^(-lambda * seconds since demand_updated_at)
+    private static final String DECAYED_DEMAND =
+            "st.demand_score * exp(-? * EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - st.demand_updated_at)))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.skills.trending.half-life-hours:72}")
+    private double halfLifeHours;
+
+    @Value("${app.skills.trending.size:10}")
+    private int trendingSize;
+
+    @Value("${app.skills.top-size:20}")
+    private int topSize;
+
+    @Value("${app.skills.demand-weights.posting:5}")
+    private double postingWeight;
+
+    @Value("${app.skills.demand-weights.application:3}")
+    private double applicationWeight;
+
+    @Value("${app.skills.demand-weights.view:0.2}")
+    private double viewWeight;
+
+    // job id -> demand recorded since the last flush (resolved to skills in SQL at flush time)
+    private final Map<Long, DoubleAdder> pendingDemand = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Immutable, precomputed view served by the skill endpoints
+     */
+    public record Snapshot(
+            List<SkillResponse> trending,
+            List<SkillResponse> top,
+            List<SkillResponse> allByName,
+            Map<Long, SkillResponse> byId,
+            LocalDateTime builtAt
+    ) {
+    }
+
+    /**
+     * Record a demand signal for a job's skills. O(1), no database access on the request path.
+     */
+    public void recordDemand(Long jobId, DemandSignal signal) {
+        if (jobId == null) {
+            return;
+        }
+        double weight = switch (signal) {
+            case POSTING -> postingWeight;
+            case APPLICATION -> applicationWeight;
+            case VIEW -> viewWeight;
+        };
+        pendingDemand.computeIfAbsent(jobId, id -> new DoubleAdder()).add(weight);
+    }
+
+    /**
+     * Runs synchronously in the publisher's transaction so the job_skills rows of a job being
+     * deleted are still visible, and the count change commits or rolls back with the job change.
+     */
+    @EventListener
+    @Transactional
+    public void onJobChanged(JobChangedEvent event) {
+        boolean wasActive = event.oldStatus() == Job.JobStatus.ACTIVE;
+        boolean isActive = event.newStatus() == Job.JobStatus.ACTIVE;
+        if (wasActive == isActive) {
+            return;
+        }
+
+        int delta = isActive ? 1 : -1;
+        jdbcTemplate.update(
+                "INSERT INTO skill_stats (skill_id, active_job_count) " +
+                "SELECT js.skill_id, GREATEST(?, 0) FROM job_skills js WHERE js.job_id = ? " +
+                "ON CONFLICT (skill_id) DO UPDATE SET " +
+                "active_job_count = GREATEST(skill_stats.active_job_count + ?, 0)",
+                delta, event.jobId(), delta);
+
+        if (isActive) {
+            recordDemand(event.jobId(), DemandSignal.POSTING);
+        }
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = rebuildSnapshot();
+                }
+            }
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuildSnapshot();
+    }
+
+    @Scheduled(fixedDelayString = "${app.skills.snapshot-refresh-ms:60000}")
+    public void refresh() {
+        try {
+            flushDemand();
+            rebuildSnapshot();
+        } catch (Exception e) {
+            log.error("❌ Skill stats refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Repair job: recompute job/candidate counts from the source tables for skills that drifted
+     * (and create rows for skills added since the last run). One set-based statement.
+     */
+    @Scheduled(cron = "${app.skills.stats-repair-cron:0 0 4 * * *}")
+    @Transactional
+    public int reconcileCounts() {
+        int repaired = jdbcTemplate.update(
+                "INSERT INTO skill_stats (skill_id, active_job_count, candidate_count) " +
+                "SELECT s.id, " +
+                "  (SELECT COUNT(*) FROM job_skills js JOIN jobs j ON j.id = js.job_id " +
+                "   WHERE js.skill_id = s.id AND j.status = 'ACTIVE')::INT, " +
+                "  (SELECT COUNT(DISTINCT us.user_id) FROM user_skills us WHERE us.skill_id = s.id)::INT " +
+                "FROM skills s " +
+                "ON CONFLICT (skill_id) DO UPDATE SET " +
+                "  active_job_count = EXCLUDED.active_job_count, candidate_count = EXCLUDED.candidate_count " +
+                "WHERE skill_stats.active_job_count <> EXCLUDED.active_job_count " +
+                "   OR skill_stats.candidate_count <> EXCLUDED.candidate_count");
+        if (repaired > 0) {
+            log.warn("⚠️ Repaired skill stats for {} skills", repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * Fold buffered demand into skill_stats: decay each stored score to now, then add the new weight.
+     * A signal racing the flush for the same job may be dropped; the score is a trend indicator.
+     * If the statement fails, the drained weights go back into the buffer for the next flush.
+     */
+    private void flushDemand() {
+        if (pendingDemand.isEmpty()) {
+            return;
+        }
+
+        List<Long> jobIds = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (Long jobId : new ArrayList<>(pendingDemand.keySet())) {
+            DoubleAdder adder = pendingDemand.remove(jobId);
+            double weight = adder != null ? adder.sum() : 0;
+            if (weight > 0) {
+                jobIds.add(jobId);
+                weights.add(weight);
+            }
+        }
+        if (jobIds.isEmpty()) {
+            return;
+        }
+
+        int updated;
+        try {
+            updated = upsertDemand(jobIds, weights);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < jobIds.size(); i++) {
+                pendingDemand.computeIfAbsent(jobIds.get(i), id -> new DoubleAdder()).add(weights.get(i));
+            }
+            throw e;
+        }
+
+        log.debug("📈 Flushed demand for {} jobs into {} skills", jobIds.size(), updated);
+    }
+
+    private int upsertDemand(List<Long> jobIds, List<Double> weights) {
+        return jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(
+                    "INSERT INTO skill_stats (skill_id, demand_score, demand_updated_at) " +
+                    "SELECT js.skill_id, SUM(v.weight), CURRENT_TIMESTAMP " +
+                    "FROM unnest(?::bigint[], ?::float8[]) AS v(job_id, weight) " +
+                    "JOIN job_skills js ON js.job_id = v.job_id " +
+                    "GROUP BY js.skill_id " +
+                    "ON CONFLICT (skill_id) DO UPDATE SET " +
+                    "demand_score = skill_stats.demand_score * " +
+                    "  exp(-? * EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - skill_stats.demand_updated_at))) " +
+                    "  + EXCLUDED.demand_score, " +
+                    "demand_updated_at = CURRENT_TIMESTAMP");
+            Array jobArray = con.createArrayOf("bigint", jobIds.toArray());
+            Array weightArray = con.createArrayOf("float8", weights.toArray());
+            ps.setArray(1, jobArray);
+            ps.setArray(2, weightArray);
+            ps.setDouble(3, decayPerSecond());
+            return ps;
+        });
+    }
+
+    private synchronized Snapshot rebuildSnapshot() {
+        List<SkillResponse> all = jdbcTemplate.query(
+                "SELECT s.id, s.name, s.slug, " +
+                "  COALESCE(st.active_job_count, 0) AS active_job_count, " +
+                "  COALESCE(st.candidate_count, 0) AS candidate_count, " +
+                "  COALESCE(" + DECAYED_DEMAND + ", 0) AS demand " +
+                "FROM skills s LEFT JOIN skill_stats st ON st.skill_id = s.id",
+                (rs, rowNum) -> SkillResponse.builder()
+                        .id(rs.getLong("id"))
+                        .name(rs.getString("name"))
+                        .slug(rs.getString("slug"))
+                        .jobCount(rs.getInt("active_job_count"))
+                        .candidateCount(rs.getInt("candidate_count"))
+                        .demandScore(Math.round(rs.getDouble("demand") * 100) / 100.0)
+                        .build(),
+                decayPerSecond());
+
+        List<SkillResponse> trending = all.stream()
+                .filter(skill -> skill.getDemandScore() > 0)
+                .sorted(Comparator.comparing(SkillResponse::getDemandScore).reversed()
+                        .thenComparing(SkillResponse::getJobCount, Comparator.reverseOrder()))
+                .limit(trendingSize)
+                .toList();
+
+        List<SkillResponse> top = all.stream()
+                .filter(skill -> skill.getJobCount() > 0)
+                .sorted(Comparator.comparing(SkillResponse::getJobCount).reversed()
+                        .thenComparing(SkillResponse::getName))
+                .limit(topSize)
+                .toList();
+
+        Set<Long> trendingIds = trending.stream().map(SkillResponse::getId).collect(Collectors.toCollection(HashSet::new));
+        all.forEach(skill -> skill.setIsTrending(trendingIds.contains(skill.getId())));
+
+        Snapshot rebuilt = new Snapshot(
+                trending,
+                top,
+                all.stream().sorted(Comparator.comparing(SkillResponse::getName)).toList(),
+                all.stream().collect(Collectors.toUnmodifiableMap(SkillResponse::getId, Function.identity())),
+                LocalDateTime.now());
+        snapshot = rebuilt;
+
+        log.debug("📊 Rebuilt skill snapshot: {} skills, {} trending", all.size(), trending.size());
+        return rebuilt;
+    }
+
+    private double decayPerSecond() {
+        return Math.log(2) / (halfLifeHours * 3600);
+    }
+}
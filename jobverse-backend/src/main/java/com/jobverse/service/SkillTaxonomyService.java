@@ -0,0 +1,207 @@
+package com.jobverse.service;
+
+import com.jobverse.util.AhoCorasickMatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Skill Taxonomy Service
+ * Resolves skill names and aliases ("js", "ReactJS", "springboot") to canonical skills,
+ * loaded from the skills table plus skill_aliases (V21). All terms are compiled into one
+ * Aho-Corasick matcher shared by resume parsing, job posting skill extraction and search
+ * query expansion. The compiled taxonomy is immutable and swapped on reload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SkillTaxonomyService {
+
+    private static final int MAX_QUERY_EXPANSIONS = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Taxonomy taxonomy;
+
+    /**
+     * A canonical skill
+     */
+    public record SkillRef(Long id, String name) {
+    }
+
+    private record Taxonomy(
+            Map<String, SkillRef> byTerm,           // folded term -> canonical skill
+            Map<Long, SkillRef> byId,               // any skill row id (incl. duplicates) -> canonical skill
+            Map<Long, List<String>> termsBySkill,   // canonical id -> every folded term for it
+            AhoCorasickMatcher<SkillRef> matcher
+    ) {
+    }
+
+    /**
+     * Canonical skills mentioned in the text, distinct, in order of first mention.
+     */
+    public List<SkillRef> extract(CharSequence text) {
+        Set<SkillRef> found = new LinkedHashSet<>();
+        for (AhoCorasickMatcher.Match<SkillRef> match : getTaxonomy().matcher().findAll(text)) {
+            found.add(match.value());
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Exact lookup of a skill name or alias (case/diacritic-insensitive).
+     */
+    public Optional<SkillRef> resolve(String term) {
+        if (term == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getTaxonomy().byTerm().get(AhoCorasickMatcher.normalize(term)));
+    }
+
+    /**
+     * Canonical skill for a skills row; duplicates registered as aliases resolve to their canonical row.
+     */
+    public SkillRef canonical(Long skillId, String fallbackName) {
+        SkillRef ref = skillId != null ? getTaxonomy().byId().get(skillId) : null;
+        return ref != null ? ref : new SkillRef(skillId, fallbackName);
+    }
+
+    /**
+     * Every folded name/alias and its canonical skill. Immutable; a new map instance is
+     * returned only after the taxonomy recompiled, so callers may cache on identity.
+     */
+    public Map<String, SkillRef> terms() {
+        return getTaxonomy().byTerm();
+    }
+
+    /**
+     * Search terms for a keyword: the folded keyword itself plus variants where a mentioned
+     * skill is replaced by each of its other spellings ("reactjs dev" -> "react dev", ...).
+     */
+    public List<String> expandQuery(String keyword) {
+        String folded = AhoCorasickMatcher.normalize(keyword);
+        Set<String> terms = new LinkedHashSet<>();
+        if (folded == null || folded.isEmpty()) {
+            return List.of();
+        }
+        terms.add(folded);
+
+        Taxonomy current = getTaxonomy();
+        for (AhoCorasickMatcher.Match<SkillRef> match : current.matcher().findAll(folded)) {
+            String before = folded.substring(0, match.start());
+            String after = folded.substring(match.end());
+            for (String synonym : current.termsBySkill().getOrDefault(match.value().id(), List.of())) {
+                if (terms.size() >= MAX_QUERY_EXPANSIONS) {
+                    return new ArrayList<>(terms);
+                }
+                terms.add(before + synonym + after);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        load();
+    }
+
+    @Scheduled(fixedDelayString = "${app.skills.taxonomy.refresh-interval-ms:300000}",
+               initialDelayString = "${app.skills.taxonomy.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            load();
+        } catch (Exception e) {
+            log.error("❌ Skill taxonomy reload failed: {}", e.getMessage());
+        }
+    }
+
+    private Taxonomy getTaxonomy() {
+        Taxonomy current = taxonomy;
+        if (current == null) {
+            synchronized (this) {
+                current = taxonomy;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reload skills + aliases; recompiles only when the term dictionary changed.
+     */
+    private synchronized Taxonomy load() {
+        Map<Long, String> names = new HashMap<>();
+        Map<String, Long> termToSkill = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM skills ORDER BY id", rs -> {
+            long id = rs.getLong("id");
+            String name = rs.getString("name");
+            names.put(id, name);
+            termToSkill.putIfAbsent(AhoCorasickMatcher.normalize(name), id);
+        });
+        // Aliases override names: a duplicate skill row named like an alias folds into the aliased skill
+        jdbcTemplate.query("SELECT alias, skill_id FROM skill_aliases ORDER BY id", rs -> {
+            String alias = AhoCorasickMatcher.normalize(rs.getString("alias"));
+            if (alias != null && !alias.isEmpty()) {
+                termToSkill.put(alias, rs.getLong("skill_id"));
+            }
+        });
+
+        Taxonomy current = taxonomy;
+        if (current != null && sameTerms(current, termToSkill, names)) {
+            return current;
+        }
+
+        Map<String, SkillRef> byTerm = new HashMap<>();
+        Map<Long, List<String>> termsBySkill = new HashMap<>();
+        termToSkill.forEach((term, skillId) -> {
+            SkillRef ref = new SkillRef(skillId, names.get(skillId));
+            byTerm.put(term, ref);
+            termsBySkill.computeIfAbsent(skillId, k -> new ArrayList<>()).add(term);
+        });
+
+        Map<Long, SkillRef> byId = new HashMap<>();
+        names.forEach((id, name) -> {
+            SkillRef ref = byTerm.get(AhoCorasickMatcher.normalize(name));
+            byId.put(id, ref != null ? ref : new SkillRef(id, name));
+        });
+
+        AhoCorasickMatcher<SkillRef> matcher = AhoCorasickMatcher.compile(byTerm);
+        Taxonomy rebuilt = new Taxonomy(Map.copyOf(byTerm), Map.copyOf(byId),
+                Map.copyOf(termsBySkill), matcher);
+        taxonomy = rebuilt;
+
+        log.info("🏷️ Skill taxonomy compiled: {} skills, {} terms, {} automaton states",
+                names.size(), matcher.patternCount(), matcher.stateCount());
+        return rebuilt;
+    }
+
+    private boolean sameTerms(Taxonomy current, Map<String, Long> termToSkill, Map<Long, String> names) {
+        if (current.byTerm().size() != termToSkill.size() || current.byId().size() != names.size()) {
+            return false;
+        }
+        for (Map.Entry<String, Long> entry : termToSkill.entrySet()) {
+            SkillRef ref = current.byTerm().get(entry.getKey());
+            if (ref == null || !ref.id().equals(entry.getValue())
+                    || !Objects.equals(ref.name(), names.get(entry.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
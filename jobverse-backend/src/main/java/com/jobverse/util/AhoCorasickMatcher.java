@@ -0,0 +1,363 @@
+package com.jobverse.util;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-pattern matcher (Aho-Corasick) compiled into a dense DFA.
+ * Finds every pattern in one left-to-right pass over the text, O(text length + matches),
+ * independent of the number of patterns.
+ *
+ * Matching is case- and diacritic-insensitive and treats any whitespace run as one space,
+ * the same folding as {@link VietnameseTextNormalizer}, but applied per character during the
+ * scan so the input is never copied. Match offsets refer to the original text.
+ *
+ * A pattern edge that is a letter/digit must sit on a word boundary ("go" does not match in
+ * "google"); edges that are symbols need no boundary ("c++" matches in "c++17").
+ * Overlaps resolve leftmost-longest ("spring boot" wins over "spring").
+ *
+ * Folding is only a fallback for text typed without diacritics. It merges distinct Vietnamese
+ * words ("lương", "lượng", "luồng") and makes very short terms collide with them ("go" with
+ * "Gò Vấp", "gỗ"), so where the matched text carries diacritics:
+ * - a pattern written with diacritics must match it exactly (up to case and whitespace)
+ * - a pattern of at most {@value #SHORT_TERM} chars written without diacritics doesn't match it
+ *
+ * Immutable and thread-safe once built.
+ */
+public final class AhoCorasickMatcher<T> {
+
+    private static final char SKIP = '\0';
+
+    // Unaccented patterns up to this many folded chars don't match accented text
+    static final int SHORT_TERM = 3;
+
+    // Per-char fold: lowercase, strip Vietnamese/Latin diacritics, whitespace -> ' ', combining marks -> SKIP
+    private static final char[] FOLD = buildFoldTable();
+
+    // Chars that carry a diacritic (the fold changes them beyond lowercasing), incl. combining marks
+    private static final boolean[] ACCENTED = buildAccentTable();
+
+    public record Match<T>(int start, int end, T value) {
+        public int length() {
+            return end - start;
+        }
+    }
+
+    private final char[] charClass;    // folded char -> alphabet index, 0 = not in any pattern
+    private final int width;           // alphabet size + 1
+    private final int[] next;          // DFA transitions: next[state * width + class]
+    private final int[] patternAt;     // pattern ending exactly at state, or -1
+    private final int[] dictLink;      // nearest suffix state that ends a pattern, or -1
+    private final int[] lengths;       // pattern length in folded chars
+    private final boolean[] boundedLeft;
+    private final boolean[] boundedRight;
+    private final boolean[] unaccentedOnly;
+    private final String[] exact;      // accented patterns: lowercase NFC form, else null
+    private final Object[] values;
+    private final int maxLength;
+
+    private AhoCorasickMatcher(List<String> keys, List<Object> vals, List<Boolean> prefixes, List<String> exactForms) {
+        // Alphabet: only chars that occur in some pattern get a column
+        charClass = new char[Character.MAX_VALUE + 1];
+        int alphabet = 0;
+        for (String key : keys) {
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                if (charClass[c] == 0) {
+                    charClass[c] = (char) ++alphabet;
+                }
+            }
+        }
+        width = alphabet + 1;
+
+        // 1. Trie
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        children.add(new HashMap<>());
+        ends.add(-1);
+        lengths = new int[keys.size()];
+        boundedLeft = new boolean[keys.size()];
+        boundedRight = new boolean[keys.size()];
+        unaccentedOnly = new boolean[keys.size()];
+        exact = exactForms.toArray(new String[0]);
+        values = new Object[keys.size()];
+        int longest = 0;
+        for (int p = 0; p < keys.size(); p++) {
+            String key = keys.get(p);
+            int state = 0;
+            for (int i = 0; i < key.length(); i++) {
+                Integer child = children.get(state).get(key.charAt(i));
+                if (child == null) {
+                    child = children.size();
+                    children.get(state).put(key.charAt(i), child);
+                    children.add(new HashMap<>());
+                    ends.add(-1);
+                }
+                state = child;
+            }
+            if (ends.get(state) < 0) { // duplicate keys after folding: first one wins
+                ends.set(state, p);
+            }
+            lengths[p] = key.length();
+            boundedLeft[p] = Character.isLetterOrDigit(key.charAt(0));
+            boundedRight[p] = !prefixes.get(p) && Character.isLetterOrDigit(key.charAt(key.length() - 1));
+            unaccentedOnly[p] = exact[p] == null && key.length() <= SHORT_TERM;
+            values[p] = vals.get(p);
+            longest = Math.max(longest, key.length());
+        }
+        maxLength = Math.max(longest, 1);
+
+        // 2. Failure links (BFS), folded into a full transition table
+        int states = children.size();
+        next = new int[states * width];
+        patternAt = new int[states];
+        dictLink = new int[states];
+        int[] fail = new int[states];
+        for (int s = 0; s < states; s++) {
+            patternAt[s] = ends.get(s);
+        }
+        dictLink[0] = -1;
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            Map<Character, Integer> trieEdges = children.get(s);
+            for (int c = 1; c < width; c++) {
+                int viaFail = s == 0 ? 0 : next[fail[s] * width + c];
+                next[s * width + c] = viaFail;
+            }
+            for (Map.Entry<Character, Integer> edge : trieEdges.entrySet()) {
+                int c = charClass[edge.getKey()];
+                int child = edge.getValue();
+                fail[child] = s == 0 ? 0 : next[fail[s] * width + c];
+                dictLink[child] = patternAt[fail[child]] >= 0 ? fail[child] : dictLink[fail[child]];
+                next[s * width + c] = child;
+                queue.add(child);
+            }
+        }
+    }
+
+    public static <T> AhoCorasickMatcher<T> compile(Map<String, T> patterns) {
+        Builder<T> builder = builder();
+        patterns.forEach(builder::add);
+        return builder.build();
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Collects patterns; when two fold to the same key the first one added wins.
+     */
+    public static final class Builder<T> {
+        private final List<String> keys = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+        private final List<Boolean> prefixes = new ArrayList<>();
+        private final List<String> exactForms = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> add(String pattern, T value) {
+            return add(pattern, value, false);
+        }
+
+        /**
+         * A pattern that only needs a word boundary on its left, e.g. an anchor such as "+84"
+         * or "github.com/" whose continuation the caller parses itself.
+         */
+        public Builder<T> addPrefix(String pattern, T value) {
+            return add(pattern, value, true);
+        }
+
+        private Builder<T> add(String pattern, T value, boolean prefix) {
+            String key = normalize(pattern);
+            if (key != null && !key.isEmpty()) {
+                keys.add(key);
+                values.add(value);
+                prefixes.add(prefix);
+                exactForms.add(hasAccent(pattern, 0, pattern.length()) ? exactForm(pattern, 0, pattern.length()) : null);
+            }
+            return this;
+        }
+
+        public AhoCorasickMatcher<T> build() {
+            return new AhoCorasickMatcher<>(keys, values, prefixes, exactForms);
+        }
+    }
+
+    /**
+     * Apply the matcher's folding to a string (lowercase, no diacritics, single spaces, trimmed).
+     * Use it for keys that must agree with what the matcher matches.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = FOLD[text.charAt(i)];
+            if (c == SKIP || (c == ' ' && (sb.isEmpty() || sb.charAt(sb.length() - 1) == ' '))) {
+                continue;
+            }
+            sb.append(c);
+        }
+        int len = sb.length();
+        if (len > 0 && sb.charAt(len - 1) == ' ') {
+            sb.setLength(len - 1);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * All non-overlapping matches, leftmost-longest, in text order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Match<T>> findAll(CharSequence text) {
+        List<Match<T>> candidates = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return candidates;
+        }
+
+        // Original offset of each of the last maxLength consumed chars, to recover match starts
+        int[] origin = new int[maxLength];
+        long consumed = 0;
+        int state = 0;
+        boolean lastWasSpace = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = FOLD[text.charAt(i)];
+            if (c == SKIP || (c == ' ' && lastWasSpace)) {
+                continue;
+            }
+            lastWasSpace = c == ' ';
+            origin[(int) (consumed % maxLength)] = i;
+            consumed++;
+            state = next[state * width + charClass[c]];
+
+            for (int s = patternAt[state] >= 0 ? state : dictLink[state]; s >= 0; s = dictLink[s]) {
+                int p = patternAt[s];
+                int start = origin[(int) ((consumed - lengths[p]) % maxLength)];
+                int end = spanEnd(text, i + 1);
+                if ((!boundedLeft[p] || isBoundary(text, start - 1))
+                        && (!boundedRight[p] || isBoundary(text, end))
+                        && accentsAgree(p, text, start, end)) {
+                    candidates.add(new Match<>(start, end, (T) values[p]));
+                }
+            }
+        }
+
+        if (candidates.size() < 2) {
+            return candidates;
+        }
+        candidates.sort((a, b) -> a.start() != b.start()
+                ? Integer.compare(a.start(), b.start())
+                : Integer.compare(b.end(), a.end()));
+        List<Match<T>> selected = new ArrayList<>();
+        int coveredUntil = -1;
+        for (Match<T> match : candidates) {
+            if (match.start() >= coveredUntil) {
+                selected.add(match);
+                coveredUntil = match.end();
+            }
+        }
+        return selected;
+    }
+
+    public int patternCount() {
+        return values.length;
+    }
+
+    public int stateCount() {
+        return patternAt.length;
+    }
+
+    private boolean accentsAgree(int p, CharSequence text, int start, int end) {
+        if (!unaccentedOnly[p] && exact[p] == null) {
+            return true;
+        }
+        if (!hasAccent(text, start, end)) {
+            return true;
+        }
+        return exact[p] != null && exact[p].equals(exactForm(text, start, end));
+    }
+
+    // Lowercase, composed (NFC), whitespace runs as one space, trimmed: the text minus case and spacing
+    private static String exactForm(CharSequence text, int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (FOLD[c] == ' ') {
+                if (!sb.isEmpty() && sb.charAt(sb.length() - 1) != ' ') {
+                    sb.append(' ');
+                }
+            } else {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        int len = sb.length();
+        if (len > 0 && sb.charAt(len - 1) == ' ') {
+            sb.setLength(len - 1);
+        }
+        return Normalizer.normalize(sb, Normalizer.Form.NFC);
+    }
+
+    // Decomposed text ("o" + U+0300): the marks after the last matched char belong to the match
+    private static int spanEnd(CharSequence text, int end) {
+        while (end < text.length() && FOLD[text.charAt(end)] == SKIP) {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean hasAccent(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (ACCENTED[text.charAt(i)]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBoundary(CharSequence text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char ch = (char) c;
+            if (Character.isWhitespace(ch) || Character.isSpaceChar(ch)) {
+                table[c] = ' ';
+            } else if (Character.getType(ch) == Character.NON_SPACING_MARK) {
+                table[c] = SKIP;
+            } else if (ch == 'đ' || ch == 'Đ') {
+                table[c] = 'd';
+            } else if (c >= 0xC0 && c <= 0x1EFF) {
+                // Latin-1 .. Latin Extended Additional (all Vietnamese letters): decompose, keep the base
+                String base = Normalizer.normalize(String.valueOf(Character.toLowerCase(ch)), Normalizer.Form.NFD);
+                table[c] = base.isEmpty() ? SKIP : base.charAt(0);
+            } else if (ch == SKIP) {
+                table[c] = ' ';
+            } else {
+                table[c] = Character.toLowerCase(ch);
+            }
+        }
+        return table;
+    }
+
+    private static boolean[] buildAccentTable() {
+        boolean[] table = new boolean[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char folded = FOLD[c];
+            table[c] = folded != ' ' && folded != Character.toLowerCase((char) c);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,86 @@
+package com.jobverse.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-memory cache: entries expire a TTL after they were put, and once max-entries is
+ * reached the least recently used entry makes room for the new one.
+ *
+ * An access-ordered LinkedHashMap behind one lock; every operation is a hash probe plus a relink,
+ * so the lock is held only briefly. Null keys and values are not supported.
+ */
+public final class BoundedTtlCache<K, V> {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public BoundedTtlCache(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::currentTimeMillis);
+    }
+
+    BoundedTtlCache(Duration ttl, int maxEntries, LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > BoundedTtlCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The live value for key, or null when absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() >= entry.expiresAt()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.getAsLong() + ttlMillis));
+    }
+
+    /**
+     * Removes the entry for key; returns its value, even if it had expired
+     */
+    public synchronized V remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        return removed != null ? removed.value() : null;
+    }
+
+    public synchronized void removeIf(BiPredicate<? super K, ? super V> filter) {
+        entries.entrySet().removeIf(e -> filter.test(e.getKey(), e.getValue().value()));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Entries held, including expired ones not yet dropped
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,114 @@
+package com.jobverse.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Highlights search matches in the original (accented) text.
+ * Matching happens on the VietnameseTextNormalizer form, so "ho chi minh" highlights "Hồ Chí Minh".
+ *
+ * Output is HTML-escaped with matches wrapped in <mark>...</mark>, cut to a snippet around the first match.
+ */
+public class SearchHighlighter {
+
+    private static final Pattern DIACRITICS_PATTERN = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    /**
+     * @param text            original text
+     * @param normalizedQuery query already passed through VietnameseTextNormalizer.normalize
+     * @param maxLength       snippet length (in original characters)
+     */
+    public static String highlight(String text, String normalizedQuery, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+
+        // Normalize char by char, remembering which original char each normalized char came from
+        StringBuilder normalized = new StringBuilder(text.length());
+        List<Integer> sourceIndex = new ArrayList<>(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (normalized.length() > 0 && normalized.charAt(normalized.length() - 1) != ' ') {
+                    normalized.append(' ');
+                    sourceIndex.add(i);
+                }
+                continue;
+            }
+            String folded = fold(c);
+            for (int k = 0; k < folded.length(); k++) {
+                normalized.append(folded.charAt(k));
+                sourceIndex.add(i);
+            }
+        }
+
+        // Match ranges in original positions [start, end)
+        List<int[]> matches = new ArrayList<>();
+        if (normalizedQuery != null && !normalizedQuery.isEmpty()) {
+            int from = 0;
+            int found;
+            while ((found = normalized.indexOf(normalizedQuery, from)) >= 0) {
+                int end = found + normalizedQuery.length() - 1;
+                matches.add(new int[]{sourceIndex.get(found), sourceIndex.get(end) + 1});
+                from = found + normalizedQuery.length();
+            }
+        }
+
+        // Snippet window centred on the first match
+        int snippetStart = 0;
+        int snippetEnd = text.length();
+        if (text.length() > maxLength) {
+            int anchor = matches.isEmpty() ? 0 : matches.get(0)[0];
+            snippetStart = Math.max(0, Math.min(anchor - maxLength / 3, text.length() - maxLength));
+            snippetEnd = snippetStart + maxLength;
+        }
+
+        StringBuilder out = new StringBuilder();
+        if (snippetStart > 0) {
+            out.append("...");
+        }
+        int cursor = snippetStart;
+        for (int[] match : matches) {
+            int start = Math.max(match[0], snippetStart);
+            int end = Math.min(match[1], snippetEnd);
+            if (start >= end || start < cursor) {
+                continue;
+            }
+            escape(text, cursor, start, out);
+            out.append("<mark>");
+            escape(text, start, end, out);
+            out.append("</mark>");
+            cursor = end;
+        }
+        escape(text, cursor, snippetEnd, out);
+        if (snippetEnd < text.length()) {
+            out.append("...");
+        }
+        return out.toString();
+    }
+
+    private static String fold(char c) {
+        if (c == 'đ' || c == 'Đ') {
+            return "d";
+        }
+        String lower = String.valueOf(c).toLowerCase();
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        return DIACRITICS_PATTERN.matcher(decomposed).replaceAll("");
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder out) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+-- V13__partition_notifications_and_messages.sql
+-- Convert notifications and messages to monthly RANGE partitions on created_at.
+-- Old months can then be detached/archived cheaply instead of DELETE + VACUUM,
+-- and "newest first" queries only touch the most recent partitions.
+
+-- Helper: create the partition covering the month of p_month (idempotent).
+-- Partitions are named <parent>_pYYYYMM, e.g. messages_p202501.
+CREATE OR REPLACE FUNCTION create_monthly_partition(p_parent TEXT, p_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::DATE;
+    v_end   DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name  TEXT := p_parent || '_p' || to_char(v_start, 'YYYYMM');
+BEGIN
+    IF to_regclass(v_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       v_name, p_parent, v_start, v_end);
+    END IF;
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ==================== NOTIFICATIONS ====================
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+
+CREATE TABLE notifications (
+    id BIGINT NOT NULL DEFAULT nextval('notifications_id_seq'),
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    content TEXT,
+    action_url VARCHAR(500),
+    metadata JSONB,
+    is_read BOOLEAN DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- The partition key must be part of every unique constraint
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Catch-all for rows outside the pre-created months (should stay empty)
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- ==================== MESSAGES ====================
+
+ALTER TABLE messages RENAME TO messages_legacy;
+
+CREATE TABLE messages (
+    id BIGINT NOT NULL DEFAULT nextval('messages_id_seq'),
+    conversation_id BIGINT NOT NULL REFERENCES conversations(id) ON DELETE CASCADE,
+    sender_type VARCHAR(20) NOT NULL CHECK (sender_type IN ('COMPANY', 'CANDIDATE')),
+    sender_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    read_at TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE messages_default PARTITION OF messages DEFAULT;
+
+-- Create one partition per month from the oldest existing row up to 3 months ahead
+DO $$
+DECLARE
+    v_parent TEXT;
+    v_oldest DATE;
+    v_month  DATE;
+BEGIN
+    FOREACH v_parent IN ARRAY ARRAY['notifications', 'messages'] LOOP
+        EXECUTE format('SELECT COALESCE(MIN(created_at), CURRENT_TIMESTAMP)::DATE FROM %I', v_parent || '_legacy')
+            INTO v_oldest;
+        v_month := date_trunc('month', v_oldest)::DATE;
+        WHILE v_month <= (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::DATE LOOP
+            PERFORM create_monthly_partition(v_parent, v_month);
+            v_month := (v_month + INTERVAL '1 month')::DATE;
+        END LOOP;
+    END LOOP;
+END $$;
+
+-- Copy existing rows (NULL created_at is no longer allowed)
+INSERT INTO notifications (id, user_id, type, title, content, action_url, metadata, is_read, created_at)
+SELECT id, user_id, type, title, content, action_url, metadata, is_read, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM notifications_legacy;
+
+INSERT INTO messages (id, conversation_id, sender_type, sender_id, content, created_at, read_at)
+SELECT id, conversation_id, sender_type, sender_id, content, COALESCE(created_at, CURRENT_TIMESTAMP), read_at
+FROM messages_legacy;
+
+-- Keep the id sequences alive when the legacy tables are dropped
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+ALTER SEQUENCE messages_id_seq OWNED BY messages.id;
+
+DROP TABLE notifications_legacy;
+DROP TABLE messages_legacy;
+
+-- Indexes are declared on the parent and created on every partition.
+-- ORDER BY created_at DESC + LIMIT lets the planner walk partitions newest-first
+-- and stop early, so paging queries only touch the latest months.
+CREATE INDEX idx_notifications_user ON notifications(user_id, created_at DESC);
+CREATE INDEX idx_notifications_unread ON notifications(user_id, is_read) WHERE is_read = FALSE;
+CREATE INDEX idx_messages_conversation ON messages(conversation_id);
+CREATE INDEX idx_messages_created ON messages(conversation_id, created_at DESC);
+CREATE INDEX idx_messages_unread ON messages(conversation_id) WHERE read_at IS NULL;
+
+-- Detached (archived) partitions are moved here instead of being dropped
+CREATE SCHEMA IF NOT EXISTS archive;
@@ -0,0 +1,26 @@
+-- V14__add_email_outbox.sql
+-- Transactional outbox for outgoing emails.
+-- Rows are inserted in the same transaction as the business change and
+-- delivered later by EmailDeliveryService (batched, with retries).
+
+CREATE TABLE email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    dedupe_key VARCHAR(255) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_at TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+-- Same logical email is only queued once (e.g. application-confirmation:42)
+CREATE UNIQUE INDEX idx_email_outbox_dedupe ON email_outbox(dedupe_key);
+
+-- Worker claim query: due PENDING rows (and stale SENDING rows) oldest first
+CREATE INDEX idx_email_outbox_due ON email_outbox(next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING');
@@ -0,0 +1,47 @@
+-- V15__add_conversation_summary.sql
+-- Denormalized inbox summary on conversations so the inbox list is a single query
+-- instead of "latest message" + unread COUNT per conversation.
+-- Maintained by ChatService.sendMessage / markAsRead.
+
+ALTER TABLE conversations
+    ADD COLUMN last_message_id BIGINT,                -- no FK: messages is partitioned (PK id, created_at)
+    ADD COLUMN last_message_preview VARCHAR(255),
+    ADD COLUMN last_message_sender_type VARCHAR(20) CHECK (last_message_sender_type IN ('COMPANY', 'CANDIDATE')),
+    ADD COLUMN company_unread_count INT NOT NULL DEFAULT 0,   -- unread CANDIDATE messages
+    ADD COLUMN candidate_unread_count INT NOT NULL DEFAULT 0; -- unread COMPANY messages
+
+-- Backfill last message
+UPDATE conversations c
+SET last_message_id = m.id,
+    last_message_preview = CASE WHEN length(m.content) > 100
+                                THEN substring(m.content FROM 1 FOR 100) || '...'
+                                ELSE m.content END,
+    last_message_sender_type = m.sender_type,
+    last_message_at = m.created_at
+FROM (
+    SELECT DISTINCT ON (conversation_id) conversation_id, id, content, sender_type, created_at
+    FROM messages
+    ORDER BY conversation_id, created_at DESC, id DESC
+) m
+WHERE m.conversation_id = c.id;
+
+-- Backfill unread counters
+UPDATE conversations c
+SET company_unread_count = u.company_unread,
+    candidate_unread_count = u.candidate_unread
+FROM (
+    SELECT conversation_id,
+           COUNT(*) FILTER (WHERE sender_type = 'CANDIDATE') AS company_unread,
+           COUNT(*) FILTER (WHERE sender_type = 'COMPANY') AS candidate_unread
+    FROM messages
+    WHERE read_at IS NULL
+    GROUP BY conversation_id
+) u
+WHERE u.conversation_id = c.id;
+
+-- Inbox queries: WHERE company_id|candidate_user_id = ? ORDER BY last_message_at DESC NULLS LAST
+DROP INDEX IF EXISTS idx_conversations_company;
+DROP INDEX IF EXISTS idx_conversations_candidate;
+DROP INDEX IF EXISTS idx_conversations_last_message;
+CREATE INDEX idx_conversations_company_inbox ON conversations(company_id, last_message_at DESC NULLS LAST);
+CREATE INDEX idx_conversations_candidate_inbox ON conversations(candidate_user_id, last_message_at DESC NULLS LAST);
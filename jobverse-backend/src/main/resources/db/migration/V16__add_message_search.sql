@@ -0,0 +1,24 @@
+-- V16__add_message_search.sql
+-- Accent-insensitive chat search: content normalized like VietnameseTextNormalizer
+-- (lowercase, no diacritics, đ -> d) with a trigram index for LIKE '%term%'.
+-- New rows are normalized by Message @PrePersist.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Added on the partitioned parent, so every monthly partition gets the column
+ALTER TABLE messages ADD COLUMN IF NOT EXISTS content_normalized TEXT;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'unaccent') THEN
+        UPDATE messages SET content_normalized =
+            regexp_replace(trim(LOWER(UNACCENT(replace(replace(content, 'đ', 'd'), 'Đ', 'd')))), '\s+', ' ', 'g')
+        WHERE content_normalized IS NULL;
+    ELSE
+        UPDATE messages SET content_normalized = regexp_replace(trim(LOWER(content)), '\s+', ' ', 'g')
+        WHERE content_normalized IS NULL;
+    END IF;
+END $$;
+
+-- Declared on the parent: created on existing partitions and on the ones create_monthly_partition adds later
+CREATE INDEX IF NOT EXISTS idx_messages_content_trgm ON messages USING GIN (content_normalized gin_trgm_ops);
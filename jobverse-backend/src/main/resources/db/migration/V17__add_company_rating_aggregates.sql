@@ -0,0 +1,39 @@
+-- V17__add_company_rating_aggregates.sql
+-- Running rating aggregates on companies (sum + 1..5 star histogram), maintained by deltas in
+-- CompanyReviewService instead of AVG/COUNT over all reviews on every change.
+-- rating_avg and review_count stay as the derived, denormalized read fields.
+
+ALTER TABLE companies
+    ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS rating_1_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS rating_2_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS rating_3_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS rating_4_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS rating_5_count INT NOT NULL DEFAULT 0;
+
+-- Backfill from approved reviews (same statement the repair job runs)
+UPDATE companies c SET
+    review_count = s.review_count,
+    rating_sum = s.rating_sum,
+    rating_1_count = s.r1,
+    rating_2_count = s.r2,
+    rating_3_count = s.r3,
+    rating_4_count = s.r4,
+    rating_5_count = s.r5,
+    rating_avg = CASE WHEN s.review_count > 0 THEN ROUND(s.rating_sum::numeric / s.review_count, 2) ELSE 0 END
+FROM (
+    SELECT co.id,
+           COUNT(r.id)::INT AS review_count,
+           COALESCE(SUM(r.rating), 0) AS rating_sum,
+           COUNT(r.id) FILTER (WHERE r.rating = 1)::INT AS r1,
+           COUNT(r.id) FILTER (WHERE r.rating = 2)::INT AS r2,
+           COUNT(r.id) FILTER (WHERE r.rating = 3)::INT AS r3,
+           COUNT(r.id) FILTER (WHERE r.rating = 4)::INT AS r4,
+           COUNT(r.id) FILTER (WHERE r.rating = 5)::INT AS r5
+    FROM companies co
+    LEFT JOIN company_reviews r ON r.company_id = co.id AND r.status = 'APPROVED'
+    GROUP BY co.id
+) s
+WHERE c.id = s.id;
+
+CREATE INDEX IF NOT EXISTS idx_company_reviews_company_status ON company_reviews(company_id, status);
@@ -0,0 +1,36 @@
+-- V18__add_company_search.sql
+-- Accent-insensitive company search: name/description/headquarters/industry normalized like
+-- VietnameseTextNormalizer (lowercase, no diacritics, đ -> d), trigram indexes for LIKE '%term%'
+-- and similarity ranking, plus an exact-match index for the industry filter.
+-- New and updated rows are normalized by Company @PrePersist/@PreUpdate.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE companies ADD COLUMN IF NOT EXISTS name_normalized VARCHAR(255);
+ALTER TABLE companies ADD COLUMN IF NOT EXISTS description_normalized TEXT;
+ALTER TABLE companies ADD COLUMN IF NOT EXISTS headquarters_normalized VARCHAR(255);
+ALTER TABLE companies ADD COLUMN IF NOT EXISTS industry_normalized VARCHAR(255);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'unaccent') THEN
+        UPDATE companies SET
+            name_normalized = regexp_replace(trim(LOWER(UNACCENT(replace(replace(name, 'đ', 'd'), 'Đ', 'd')))), '\s+', ' ', 'g'),
+            description_normalized = regexp_replace(trim(LOWER(UNACCENT(replace(replace(description, 'đ', 'd'), 'Đ', 'd')))), '\s+', ' ', 'g'),
+            headquarters_normalized = regexp_replace(trim(LOWER(UNACCENT(replace(replace(headquarters, 'đ', 'd'), 'Đ', 'd')))), '\s+', ' ', 'g'),
+            industry_normalized = regexp_replace(trim(LOWER(UNACCENT(replace(replace(industry, 'đ', 'd'), 'Đ', 'd')))), '\s+', ' ', 'g')
+        WHERE name_normalized IS NULL;
+    ELSE
+        UPDATE companies SET
+            name_normalized = regexp_replace(trim(LOWER(name)), '\s+', ' ', 'g'),
+            description_normalized = regexp_replace(trim(LOWER(description)), '\s+', ' ', 'g'),
+            headquarters_normalized = regexp_replace(trim(LOWER(headquarters)), '\s+', ' ', 'g'),
+            industry_normalized = regexp_replace(trim(LOWER(industry)), '\s+', ' ', 'g')
+        WHERE name_normalized IS NULL;
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_companies_name_trgm ON companies USING GIN (name_normalized gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_companies_description_trgm ON companies USING GIN (description_normalized gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_companies_headquarters_trgm ON companies USING GIN (headquarters_normalized gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_companies_industry_normalized ON companies (industry_normalized);
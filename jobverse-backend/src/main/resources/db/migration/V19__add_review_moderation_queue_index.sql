@@ -0,0 +1,7 @@
+-- V19__add_review_moderation_queue_index.sql
+-- Keyset paging over the moderation queue (oldest pending first): WHERE status = 'PENDING'
+-- ORDER BY created_at, id reads straight off this partial index.
+
+CREATE INDEX IF NOT EXISTS idx_company_reviews_pending_queue
+    ON company_reviews (created_at, id)
+    WHERE status = 'PENDING';
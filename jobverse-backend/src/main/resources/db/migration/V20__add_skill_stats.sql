@@ -0,0 +1,54 @@
+-- V20__add_skill_stats.sql
+-- Materialized per-skill statistics maintained by SkillStatsService:
+--   active_job_count  - adjusted on job status transitions (into/out of ACTIVE)
+--   candidate_count   - users listing the skill (recomputed by the repair job)
+--   demand_score      - exponentially time-decayed demand from postings, views and applications;
+--                       the stored value is as of demand_updated_at and decays on read/write
+
+CREATE TABLE IF NOT EXISTS skill_stats (
+    skill_id BIGINT PRIMARY KEY REFERENCES skills(id) ON DELETE CASCADE,
+    active_job_count INTEGER NOT NULL DEFAULT 0,
+    candidate_count INTEGER NOT NULL DEFAULT 0,
+    demand_score DOUBLE PRECISION NOT NULL DEFAULT 0,
+    demand_updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Reverse lookups used by the incremental updates and the repair job
+CREATE INDEX IF NOT EXISTS idx_job_skills_skill ON job_skills(skill_id);
+CREATE INDEX IF NOT EXISTS idx_user_skills_skill ON user_skills(skill_id);
+
+-- Backfill counts, and seed demand from the last 30 days of postings (weight 5) and
+-- applications (weight 3) decayed with the default 72h half-life (app.skills.trending)
+INSERT INTO skill_stats (skill_id, active_job_count, candidate_count, demand_score, demand_updated_at)
+SELECT s.id,
+       COALESCE(a.active_jobs, 0),
+       COALESCE(c.candidates, 0),
+       COALESCE(p.demand, 0) + COALESCE(ap.demand, 0),
+       CURRENT_TIMESTAMP
+FROM skills s
+LEFT JOIN (
+    SELECT js.skill_id, COUNT(*)::INT AS active_jobs
+    FROM job_skills js JOIN jobs j ON j.id = js.job_id
+    WHERE j.status = 'ACTIVE'
+    GROUP BY js.skill_id
+) a ON a.skill_id = s.id
+LEFT JOIN (
+    SELECT skill_id, COUNT(DISTINCT user_id)::INT AS candidates
+    FROM user_skills
+    GROUP BY skill_id
+) c ON c.skill_id = s.id
+LEFT JOIN (
+    SELECT js.skill_id,
+           SUM(5 * exp(-ln(2) * EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - j.created_at)) / (72 * 3600))) AS demand
+    FROM job_skills js JOIN jobs j ON j.id = js.job_id
+    WHERE j.created_at > CURRENT_TIMESTAMP - INTERVAL '30 days'
+    GROUP BY js.skill_id
+) p ON p.skill_id = s.id
+LEFT JOIN (
+    SELECT js.skill_id,
+           SUM(3 * exp(-ln(2) * EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - ap.applied_at)) / (72 * 3600))) AS demand
+    FROM applications ap JOIN job_skills js ON js.job_id = ap.job_id
+    WHERE ap.applied_at > CURRENT_TIMESTAMP - INTERVAL '30 days'
+    GROUP BY js.skill_id
+) ap ON ap.skill_id = s.id
+ON CONFLICT (skill_id) DO NOTHING;
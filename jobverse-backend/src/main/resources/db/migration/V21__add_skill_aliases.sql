@@ -0,0 +1,68 @@
+-- V21__add_skill_aliases.sql
+-- Skill taxonomy (SkillTaxonomyService): every alias resolves to one canonical skill.
+-- Aliases are stored folded (lowercase, no diacritics, single spaces), the same form the
+-- Aho-Corasick matcher compares against. A skill whose own name is registered as an alias of
+-- another skill is treated as a duplicate of that skill.
+
+CREATE TABLE IF NOT EXISTS skill_aliases (
+    id BIGSERIAL PRIMARY KEY,
+    skill_id BIGINT NOT NULL REFERENCES skills(id) ON DELETE CASCADE,
+    alias VARCHAR(100) NOT NULL UNIQUE
+);
+
+CREATE INDEX IF NOT EXISTS idx_skill_aliases_skill ON skill_aliases(skill_id);
+
+-- Canonical skills previously hardcoded in ResumeAnalysisService
+INSERT INTO skills (name, slug) VALUES
+('Java', 'java'), ('Python', 'python'), ('JavaScript', 'javascript'), ('TypeScript', 'typescript'),
+('C++', 'cpp'), ('C#', 'csharp'), ('Go', 'go'), ('Rust', 'rust'), ('PHP', 'php'), ('Ruby', 'ruby'),
+('React', 'react'), ('Vue.js', 'vuejs'), ('Angular', 'angular'), ('Next.js', 'nextjs'),
+('Nuxt.js', 'nuxtjs'), ('Svelte', 'svelte'),
+('Node.js', 'nodejs'), ('Express', 'express'), ('Spring', 'spring'), ('Spring Boot', 'spring-boot'),
+('Django', 'django'), ('Flask', 'flask'), ('FastAPI', 'fastapi'),
+('HTML', 'html'), ('CSS', 'css'), ('TailwindCSS', 'tailwindcss'), ('Bootstrap', 'bootstrap'),
+('SASS', 'sass'),
+('SQL', 'sql'), ('PostgreSQL', 'postgresql'), ('MySQL', 'mysql'), ('MongoDB', 'mongodb'),
+('Redis', 'redis'), ('Elasticsearch', 'elasticsearch'),
+('Docker', 'docker'), ('Kubernetes', 'kubernetes'), ('AWS', 'aws'), ('Azure', 'azure'), ('GCP', 'gcp'),
+('Terraform', 'terraform'), ('Jenkins', 'jenkins'),
+('Git', 'git'), ('GitHub', 'github'), ('GitLab', 'gitlab'), ('Bitbucket', 'bitbucket'),
+('React Native', 'react-native'), ('Flutter', 'flutter'), ('Swift', 'swift'), ('Kotlin', 'kotlin'),
+('Android', 'android'), ('iOS', 'ios'),
+('TensorFlow', 'tensorflow'), ('PyTorch', 'pytorch'), ('Scikit-learn', 'scikit-learn'),
+('Pandas', 'pandas'), ('NumPy', 'numpy'),
+('GraphQL', 'graphql'), ('REST', 'rest'), ('Microservices', 'microservices'), ('CI/CD', 'ci-cd'),
+('DevOps', 'devops'), ('Agile', 'agile'), ('Scrum', 'scrum'), ('Jira', 'jira'), ('Confluence', 'confluence')
+ON CONFLICT DO NOTHING;
+
+-- Common spellings; only inserted for skills that exist
+INSERT INTO skill_aliases (skill_id, alias)
+SELECT s.id, v.alias
+FROM (VALUES
+    ('JavaScript', 'js'), ('JavaScript', 'javascript es6'), ('JavaScript', 'es6'), ('JavaScript', 'ecmascript'),
+    ('TypeScript', 'ts'),
+    ('C++', 'cpp'), ('C#', 'csharp'), ('C#', 'c sharp'),
+    ('Go', 'golang'),
+    ('React', 'reactjs'), ('React', 'react.js'), ('React', 'react js'),
+    ('Vue.js', 'vue'), ('Vue.js', 'vuejs'), ('Vue.js', 'vue js'),
+    ('Angular', 'angularjs'), ('Angular', 'angular.js'),
+    ('Next.js', 'nextjs'), ('Next.js', 'next js'), ('Nuxt.js', 'nuxtjs'), ('Nuxt.js', 'nuxt'),
+    ('Node.js', 'nodejs'), ('Node.js', 'node js'), ('Node.js', 'node'),
+    ('Express', 'express.js'), ('Express', 'expressjs'),
+    ('Spring Boot', 'springboot'), ('Spring Boot', 'spring-boot'),
+    ('Spring', 'spring framework'),
+    ('TailwindCSS', 'tailwind'), ('TailwindCSS', 'tailwind css'),
+    ('SASS', 'scss'),
+    ('PostgreSQL', 'postgres'), ('PostgreSQL', 'postgre'), ('PostgreSQL', 'psql'),
+    ('MongoDB', 'mongo'),
+    ('Elasticsearch', 'elastic search'), ('Elasticsearch', 'elk'),
+    ('Kubernetes', 'k8s'),
+    ('AWS', 'amazon web services'), ('Azure', 'microsoft azure'),
+    ('GCP', 'google cloud'), ('GCP', 'google cloud platform'),
+    ('Scikit-learn', 'sklearn'), ('Scikit-learn', 'scikit learn'),
+    ('REST', 'rest api'), ('REST', 'restful'), ('REST', 'restful api'),
+    ('Microservices', 'microservice'), ('Microservices', 'micro services'),
+    ('CI/CD', 'ci cd'), ('CI/CD', 'cicd')
+) AS v(skill_name, alias)
+JOIN skills s ON LOWER(s.name) = LOWER(v.skill_name)
+ON CONFLICT (alias) DO NOTHING;
@@ -0,0 +1,20 @@
+-- V22__add_resume_ingestion.sql
+-- Uploaded resume files are parsed asynchronously by ResumeIngestionService:
+--   PENDING -> PARSING -> ANALYZED | FAILED
+-- Rows uploaded before this migration keep parse_status NULL (never parsed).
+
+ALTER TABLE resumes
+    ADD COLUMN IF NOT EXISTS parse_status VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS original_filename VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS file_size BIGINT,
+    ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64),          -- SHA-256 of the uploaded bytes, hex
+    ADD COLUMN IF NOT EXISTS parse_error VARCHAR(500),
+    ADD COLUMN IF NOT EXISTS parse_millis INTEGER,
+    ADD COLUMN IF NOT EXISTS parse_started_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS processed_at TIMESTAMP;
+
+-- Worker claim queue: only unfinished rows are indexed
+CREATE INDEX IF NOT EXISTS idx_resumes_parse_queue ON resumes(id)
+    WHERE parse_status IN ('PENDING', 'PARSING');
+
+CREATE INDEX IF NOT EXISTS idx_resumes_user_content_hash ON resumes(user_id, content_hash);
@@ -0,0 +1,8 @@
+-- V23__add_resume_analysis_hash.sql
+-- SHA-256 of the normalized resume text that ai_analysis was computed from.
+-- Persistent tier of ResumeAnalysisCache: identical text is never analyzed twice.
+
+ALTER TABLE resumes ADD COLUMN IF NOT EXISTS analysis_hash VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_resumes_analysis_hash ON resumes(analysis_hash)
+    WHERE parse_status = 'ANALYZED';
@@ -0,0 +1,64 @@
+-- V24__move_stranded_rows_out_of_default_partition.sql
+-- Once a row lands in <parent>_default, Postgres refuses to create the partition for that
+-- month ("updated partition constraint for default partition would be violated"), so the
+-- month would stay on the default partition forever. create_monthly_partition now detaches
+-- the default, creates the month, moves the stranded rows across and re-attaches it, all
+-- in the caller's transaction.
+
+CREATE OR REPLACE FUNCTION create_monthly_partition(p_parent TEXT, p_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    v_start    DATE := date_trunc('month', p_month)::DATE;
+    v_end      DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name     TEXT := p_parent || '_p' || to_char(v_start, 'YYYYMM');
+    v_default  TEXT := p_parent || '_default';
+    v_stranded BOOLEAN := FALSE;
+    v_moved    BIGINT;
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN v_name;
+    END IF;
+
+    IF to_regclass(v_default) IS NOT NULL THEN
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE created_at >= %L AND created_at < %L)',
+                       v_default, v_start, v_end)
+            INTO v_stranded;
+    END IF;
+
+    IF NOT v_stranded THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       v_name, p_parent, v_start, v_end);
+        RETURN v_name;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', p_parent, v_default);
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   v_name, p_parent, v_start, v_end);
+    -- Partitions share the parent's column order, so SELECT * lines up
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) ' ||
+                   'INSERT INTO %I SELECT * FROM moved',
+                   v_default, v_start, v_end, v_name);
+    GET DIAGNOSTICS v_moved = ROW_COUNT;
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I DEFAULT', p_parent, v_default);
+
+    RAISE NOTICE 'Moved % rows from % into %', v_moved, v_default, v_name;
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Repair months that already got stuck (collected first: the default is detached per month)
+DO $$
+DECLARE
+    v_parent TEXT;
+    v_months DATE[];
+    v_month  DATE;
+BEGIN
+    FOREACH v_parent IN ARRAY ARRAY['notifications', 'messages'] LOOP
+        EXECUTE format('SELECT array_agg(DISTINCT date_trunc(''month'', created_at)::DATE) FROM %I',
+                       v_parent || '_default')
+            INTO v_months;
+        FOREACH v_month IN ARRAY COALESCE(v_months, ARRAY[]::DATE[]) LOOP
+            PERFORM create_monthly_partition(v_parent, v_month);
+        END LOOP;
+    END LOOP;
+END $$;
@@ -0,0 +1,23 @@
+-- V25__add_password_reset_tokens.sql
+-- Password reset links carry a random single-use token instead of a session JWT.
+-- Only its SHA-256 is stored; the raw token exists in the email alone.
+
+CREATE TABLE password_reset_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    token_hash CHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx_password_reset_tokens_hash ON password_reset_tokens(token_hash);
+
+-- Invalidate a user's other outstanding links after a reset
+CREATE INDEX idx_password_reset_tokens_user_open ON password_reset_tokens(user_id)
+    WHERE used_at IS NULL;
+
+-- Reset emails queued before this migration hold a session JWT in plain text
+UPDATE email_outbox
+SET body = E'Chào bạn,\n\nLiên kết đặt lại mật khẩu này đã hết hạn.'
+WHERE dedupe_key LIKE 'password-reset:%';
@@ -0,0 +1,12 @@
+-- V26__renormalize_message_search.sql
+-- Re-backfill messages.content_normalized in the same order as VietnameseTextNormalizer:
+-- lowercase, đ -> d, strip diacritics, collapse whitespace. V16 unaccented before lowercasing and,
+-- on databases without unaccent, only lowercased: those rows kept their diacritics and were missed
+-- by accent-free queries. unaccent is now required (V6 already creates it where it is available).
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+UPDATE messages SET content_normalized =
+    regexp_replace(trim(UNACCENT(replace(LOWER(content), 'đ', 'd'))), '\s+', ' ', 'g')
+WHERE content_normalized IS DISTINCT FROM
+    regexp_replace(trim(UNACCENT(replace(LOWER(content), 'đ', 'd'))), '\s+', ' ', 'g');
@@ -0,0 +1,100 @@
+package com.jobverse.service;
+
+import com.jobverse.entity.PasswordResetToken;
+import com.jobverse.entity.User;
+import com.jobverse.exception.BadRequestException;
+import com.jobverse.repository.CompanyRepository;
+import com.jobverse.repository.PasswordResetTokenRepository;
+import com.jobverse.repository.UserRepository;
+import com.jobverse.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private final PasswordResetTokenRepository passwordResetTokenRepository = mock(PasswordResetTokenRepository.class);
+    private final AuthService authService = new AuthService(userRepository, mock(CompanyRepository.class),
+            passwordEncoder, tokenProvider, mock(AuthenticationManager.class), emailService, passwordResetTokenRepository);
+
+    private final User user = User.builder().id(5L).email("uv@jobverse.vn").passwordHash("old").build();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(authService, "passwordResetTtlMinutes", 30L);
+        when(userRepository.findByEmail("uv@jobverse.vn")).thenReturn(Optional.of(user));
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+    }
+
+    @Test
+    void resetEmailCarriesARandomTokenAndOnlyItsHashIsStored() throws Exception {
+        LocalDateTime before = LocalDateTime.now();
+        authService.sendPasswordResetEmail("uv@jobverse.vn");
+
+        ArgumentCaptor<String> emailed = ArgumentCaptor.forClass(String.class);
+        verify(emailService).sendPasswordResetEmail(eq(user), emailed.capture());
+        ArgumentCaptor<PasswordResetToken> stored = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(passwordResetTokenRepository).save(stored.capture());
+
+        String token = emailed.getValue();
+        assertThat(token).matches("[A-Za-z0-9_-]{43}"); // 32 random bytes, not a JWT
+        assertThat(stored.getValue().getTokenHash()).isEqualTo(sha256(token)).doesNotContain(token);
+        assertThat(stored.getValue().getUserId()).isEqualTo(5L);
+        assertThat(stored.getValue().getExpiresAt()).isBetween(before.plusMinutes(30), LocalDateTime.now().plusMinutes(30));
+        verifyNoInteractions(tokenProvider);
+    }
+
+    @Test
+    void resetConsumesTheTokenAndInvalidatesTheUsersOtherLinks() throws Exception {
+        String hash = sha256("link-token");
+        when(passwordResetTokenRepository.consume(hash)).thenReturn(1);
+        when(passwordResetTokenRepository.findUserIdByTokenHash(hash)).thenReturn(Optional.of(5L));
+
+        authService.resetPassword("link-token", "MatKhauMoi123");
+
+        assertThat(user.getPasswordHash()).isEqualTo("hashed:MatKhauMoi123");
+        verify(userRepository).save(user);
+        verify(passwordResetTokenRepository).invalidateAllForUser(5L);
+    }
+
+    @Test
+    void usedOrExpiredTokenIsRejected() throws Exception {
+        when(passwordResetTokenRepository.consume(sha256("link-token"))).thenReturn(0);
+
+        assertThatThrownBy(() -> authService.resetPassword("link-token", "MatKhauMoi123"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> authService.resetPassword(null, "MatKhauMoi123"))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(user.getPasswordHash()).isEqualTo("old");
+        verify(userRepository, never()).save(any());
+    }
+
+    private static String sha256(String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.response.MessageHistoryResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatHistoryPrefetcherTest {
+
+    private final ChatHistoryPrefetcher prefetcher = new ChatHistoryPrefetcher();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(prefetcher, "enabled", true);
+        ReflectionTestUtils.setField(prefetcher, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(prefetcher, "maxEntries", 100);
+    }
+
+    @Test
+    void prefetchedPageIsServedOnce() {
+        prefetcher.prefetch(1L, 50L, 20, this::page);
+
+        assertThat(prefetcher.get(1L, 50L, 20)).isPresent();
+        assertThat(prefetcher.get(1L, 50L, 20)).isEmpty();
+    }
+
+    @Test
+    void pageLoadedAcrossAnEvictionIsDropped() {
+        prefetcher.prefetch(1L, 50L, 20, () -> {
+            MessageHistoryResponse stale = page(); // read before markAsRead committed
+            prefetcher.evictConversation(1L);
+            return stale;
+        });
+
+        assertThat(prefetcher.get(1L, 50L, 20)).isEmpty();
+    }
+
+    @Test
+    void pageLoadedAcrossAnEvictionDoesNotReplaceANewerPrefetch() {
+        prefetcher.prefetch(1L, 50L, 20, () -> {
+            prefetcher.evictConversation(1L);
+            prefetcher.prefetch(1L, 50L, 20, this::page); // the prefetch after the eviction, finishing first
+            return page();
+        });
+
+        assertThat(loads).hasValue(2);
+        assertThat(prefetcher.get(1L, 50L, 20)).get().extracting(MessageHistoryResponse::getNewestMessageId).isEqualTo(1L);
+    }
+
+    @Test
+    void samePageIsLoadedOnlyOnceWhileInFlight() {
+        prefetcher.prefetch(1L, 50L, 20, () -> {
+            prefetcher.prefetch(1L, 50L, 20, this::page);
+            return page();
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(prefetcher.get(1L, 50L, 20)).isPresent();
+    }
+
+    private MessageHistoryResponse page() {
+        return MessageHistoryResponse.builder()
+                .messages(List.of())
+                .newestMessageId((long) loads.incrementAndGet())
+                .build();
+    }
+}
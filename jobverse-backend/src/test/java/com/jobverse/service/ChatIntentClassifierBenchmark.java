@@ -0,0 +1,61 @@
+package com.jobverse.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message cost of {@link ChatIntentClassifier} vs the legacy regex chain
+ * ({@link ChatIntentClassifierTest#legacyIntent}).
+ *
+ * Not run by surefire. To run:
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test-cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/test-cp.txt) com.jobverse.service.ChatIntentClassifierBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatIntentClassifierBenchmark {
+
+    @Param({
+            "Xin chào",
+            "Lương Java developer ở Hà Nội khoảng bao nhiêu một tháng?",
+            "Thời tiết hôm nay thế nào, có nên đi phỏng vấn không hay ở nhà học thêm kỹ năng mới?"
+    })
+    public String message;
+
+    private final ChatIntentClassifier classifier = ChatIntentClassifier.getDefault();
+
+    @Benchmark
+    public ChatIntentClassifier.Intent classifier() {
+        return classifier.classify(message);
+    }
+
+    @Benchmark
+    public ChatIntentClassifier.Intent legacyRegexChain() {
+        return ChatIntentClassifierTest.legacyIntent(message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChatIntentClassifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,136 @@
+package com.jobverse.service;
+
+import com.jobverse.service.ChatIntentClassifier.Intent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Golden set for the single-pass intent classifier, checked against the regex chain
+ * AIService used before it (kept verbatim below as {@link #legacyIntent}).
+ */
+class ChatIntentClassifierTest {
+
+    private final ChatIntentClassifier classifier = ChatIntentClassifier.getDefault();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Xin chào",
+            "hello",
+            "Hey there",
+            "Bạn xem giúp CV của tôi",
+            "review my resume please",
+            "Hồ sơ của tôi có ổn không?",
+            "Cách chuẩn bị phỏng vấn Java",
+            "interview tips",
+            "Tôi muốn chuyển ngành sang data",
+            "career path for backend",
+            "Định hướng nghề nghiệp",
+            "Lương Java developer bao nhiêu?",
+            "salary range in Hanoi",
+            "Thu nhập của tester",
+            "Roadmap để học Spring",
+            "Kỹ năng cần cho DevOps",
+            "which course should I take",
+            "Tìm việc ở Đà Nẵng",
+            "job search tips",
+            "Ứng tuyển vị trí intern",
+            "Việc làm remote",
+            "Thời tiết hôm nay thế nào?",
+            "what is the weather",
+            "chất lượng code"
+    })
+    void agreesWithLegacyChainOnSingleIntentMessages(String message) {
+        assertThat(classifier.classify(message)).isEqualTo(legacyIntent(message));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "xin chao,               GREETING",
+            "xem giup so yeu ly lich, CV_REVIEW",
+            "ho so cua toi,          CV_REVIEW",
+            "chuan bi phong van,     INTERVIEW_PREP",
+            "dinh huong nghe nghiep, CAREER_ADVICE",
+            "luong bao nhieu,        SALARY_INQUIRY",
+            "thu nhap tester,        SALARY_INQUIRY",
+            "ky nang devops,         SKILL_LEARNING",
+            "khoa hoc spring,        SKILL_LEARNING",
+            "tim viec o da nang,     JOB_SEARCH",
+            "ung tuyen intern,       JOB_SEARCH"
+    })
+    void recognisesUnaccentedInput(String message, Intent expected) {
+        assertThat(legacyIntent(message)).isEqualTo(Intent.GENERAL);
+        assertThat(classifier.classify(message)).isEqualTo(expected);
+    }
+
+    @Test
+    void accentedInputInNfdFormClassifiesLikeNfc() {
+        String nfc = "Lương bao nhiêu";
+        String nfd = Normalizer.normalize(nfc, Normalizer.Form.NFD);
+
+        assertThat(classifier.classify(nfd)).isEqualTo(Intent.SALARY_INQUIRY);
+        assertThat(classifier.classify(nfc)).isEqualTo(Intent.SALARY_INQUIRY);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "chất lượng code,    GENERAL",
+            "số lượng việc làm,  JOB_SEARCH",
+            "hí hửng,            GENERAL",
+            "khoá học,           SKILL_LEARNING"
+    })
+    void accentedKeywordsDoNotMatchDifferentlyAccentedWords(String message, Intent expected) {
+        assertThat(classifier.classify(message)).isEqualTo(expected);
+    }
+
+    @Test
+    void resumeParseIsReachable() {
+        // The legacy chain tested CV_REVIEW first, so "cv" always won over "phân tích cv".
+        assertThat(legacyIntent("Phân tích CV giúp mình")).isEqualTo(Intent.CV_REVIEW);
+        assertThat(classifier.classify("Phân tích CV giúp mình")).isEqualTo(Intent.RESUME_PARSE);
+        assertThat(classifier.classify("doc cv giup minh")).isEqualTo(Intent.RESUME_PARSE);
+    }
+
+    @Test
+    void greetingWithTopicPicksTheTopic() {
+        // The legacy chain returned GREETING for anything that started the conversation politely.
+        assertThat(legacyIntent("Chào bạn, lương tester bao nhiêu?")).isEqualTo(Intent.GREETING);
+        assertThat(classifier.classify("Chào bạn, lương tester bao nhiêu?")).isEqualTo(Intent.SALARY_INQUIRY);
+        assertThat(classifier.classify("hi, any interview tips?")).isEqualTo(Intent.INTERVIEW_PREP);
+    }
+
+    @Test
+    void blankMessageIsGeneral() {
+        assertThat(classifier.classify("")).isEqualTo(Intent.GENERAL);
+        assertThat(classifier.classify("   ")).isEqualTo(Intent.GENERAL);
+    }
+
+    static Intent legacyIntent(String userMessage) {
+        String message = userMessage.toLowerCase().trim();
+
+        if (matches(message, "hello", "hi", "xin chào", "chào", "hey", "hế lô")) return Intent.GREETING;
+        if (matches(message, "cv", "resume", "hồ sơ", "sơ yếu lý lịch", "curriculum vitae")) return Intent.CV_REVIEW;
+        if (matches(message, "phỏng vấn", "interview", "buổi pv", "面试")) return Intent.INTERVIEW_PREP;
+        if (matches(message, "nghề nghiệp", "career", "công việc", "chuyển ngành", "định hướng")) return Intent.CAREER_ADVICE;
+        if (matches(message, "lương", "salary", "thu nhập", "income", "compensation")) return Intent.SALARY_INQUIRY;
+        if (matches(message, "học", "learn", "kỹ năng", "skill", "roadmap", "khóa học", "course")) return Intent.SKILL_LEARNING;
+        if (matches(message, "tìm việc", "job search", "ứng tuyển", "apply", "việc làm")) return Intent.JOB_SEARCH;
+        if (matches(message, "phân tích cv", "parse resume", "đọc cv", "analyze resume")) return Intent.RESUME_PARSE;
+        return Intent.GENERAL;
+    }
+
+    private static boolean matches(String message, String... keywords) {
+        for (String keyword : keywords) {
+            if (Pattern.compile("(?i)\\b" + Pattern.quote(keyword) + "\\b").matcher(message).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
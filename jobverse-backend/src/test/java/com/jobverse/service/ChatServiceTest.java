@@ -0,0 +1,114 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.response.MessageSearchResponse;
+import com.jobverse.entity.Company;
+import com.jobverse.entity.Conversation;
+import com.jobverse.entity.Message;
+import com.jobverse.entity.User;
+import com.jobverse.exception.BadRequestException;
+import com.jobverse.repository.ApplicationRepository;
+import com.jobverse.repository.CompanyRepository;
+import com.jobverse.repository.ConversationRepository;
+import com.jobverse.repository.JobRepository;
+import com.jobverse.repository.MessageRepository;
+import com.jobverse.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatServiceTest {
+
+    private static final Long CANDIDATE_ID = 7L;
+
+    private final ConversationRepository conversationRepository = mock(ConversationRepository.class);
+    private final MessageRepository messageRepository = mock(MessageRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ChatService chatService = new ChatService(conversationRepository, messageRepository, userRepository,
+            mock(CompanyRepository.class), mock(JobRepository.class), mock(ApplicationRepository.class),
+            mock(ApplicationEventPublisher.class), new ChatAccessCache(600, 1000), mock(ChatHistoryPrefetcher.class));
+
+    private final User candidate = User.builder().id(CANDIDATE_ID).email("uv@jobverse.vn").role(User.Role.CANDIDATE).build();
+
+    @Test
+    void inboxSearchLabelsResultsWithOneParticipantsQuery() {
+        when(userRepository.findById(CANDIDATE_ID)).thenReturn(Optional.of(candidate));
+        when(messageRepository.searchForCandidate(any(), anyString(), anyInt())).thenReturn(List.of(
+                message(1L, reference(10L), Message.SenderType.COMPANY),
+                message(2L, reference(11L), Message.SenderType.COMPANY),
+                message(3L, reference(10L), Message.SenderType.CANDIDATE)));
+        when(conversationRepository.findWithParticipantsByIdIn(Set.of(10L, 11L)))
+                .thenReturn(List.of(conversation(10L, "FPT Software"), conversation(11L, "VNG")));
+
+        List<MessageSearchResponse> results = chatService.searchMessages(null, CANDIDATE_ID, "phỏng vấn", 20);
+
+        assertThat(results).extracting(r -> r.getMessage().getSenderName())
+                .containsExactly("FPT Software", "VNG", "uv@jobverse.vn");
+        verify(conversationRepository, times(1)).findWithParticipantsByIdIn(any());
+    }
+
+    @Test
+    void reconnectSyncLabelsMessagesWithOneParticipantsQuery() {
+        ReflectionTestUtils.setField(chatService, "syncOverlapSeconds", 30L);
+        when(userRepository.findById(CANDIDATE_ID)).thenReturn(Optional.of(candidate));
+        Message cursor = message(1L, reference(10L), Message.SenderType.CANDIDATE);
+        when(messageRepository.findByIdAndCandidateId(1L, CANDIDATE_ID)).thenReturn(Optional.of(cursor));
+        when(messageRepository.findByCandidateSince(eq(CANDIDATE_ID), eq(cursor.getCreatedAt().minusSeconds(30)), eq(0L), any()))
+                .thenReturn(List.of(cursor,
+                        message(2L, reference(11L), Message.SenderType.COMPANY),
+                        message(3L, reference(10L), Message.SenderType.COMPANY)));
+        when(conversationRepository.findWithParticipantsByIdIn(Set.of(10L, 11L)))
+                .thenReturn(List.of(conversation(10L, "FPT Software"), conversation(11L, "VNG")));
+
+        assertThat(chatService.getMessagesSince(1L, CANDIDATE_ID)).extracting(m -> m.getSenderName())
+                .containsExactly("uv@jobverse.vn", "VNG", "FPT Software");
+        verify(conversationRepository, times(1)).findWithParticipantsByIdIn(any());
+    }
+
+    @Test
+    void reconnectCursorFromSomeoneElsesConversationIsRejected() {
+        when(userRepository.findById(CANDIDATE_ID)).thenReturn(Optional.of(candidate));
+        when(messageRepository.findByIdAndCandidateId(99L, CANDIDATE_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> chatService.getMessagesSince(99L, CANDIDATE_ID))
+                .isInstanceOf(BadRequestException.class);
+        verify(messageRepository, never()).findById(any());
+        verify(messageRepository, never()).findByCandidateSince(any(), any(), any(), any());
+    }
+
+    // What a lazy message.conversation looks like before it is initialized: only the id is known
+    private static Conversation reference(Long id) {
+        return Conversation.builder().id(id).build();
+    }
+
+    private Conversation conversation(Long id, String companyName) {
+        Company company = Company.builder().id(id * 100).name(companyName).build();
+        return Conversation.builder().id(id).company(company).candidate(candidate).build();
+    }
+
+    private static Message message(Long id, Conversation conversation, Message.SenderType senderType) {
+        return Message.builder()
+                .id(id)
+                .conversation(conversation)
+                .senderType(senderType)
+                .content("Lịch phỏng vấn " + id)
+                .createdAt(LocalDateTime.of(2026, 10, 1, 9, 0).plusMinutes(id))
+                .build();
+    }
+}
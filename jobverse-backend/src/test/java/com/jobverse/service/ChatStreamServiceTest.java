@@ -0,0 +1,152 @@
+package com.jobverse.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.RecordingEmitterHandler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChatStreamServiceTest {
+
+    private final AIService aiService = mock(AIService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Upstream> upstreams = new CopyOnWriteArrayList<>();
+    private ChatStreamService service;
+
+    private record Upstream(Consumer<String> onDelta, CompletableFuture<String> reply) {
+    }
+
+    @BeforeEach
+    void stubUpstream() {
+        when(aiService.streamChat(anyString(), any(), any())).thenAnswer(invocation -> {
+            Upstream upstream = new Upstream(invocation.getArgument(2), new CompletableFuture<>());
+            upstreams.add(upstream);
+            return upstream.reply();
+        });
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void streamsDeltasInOrderThenDone() throws Exception {
+        service = new ChatStreamService(aiService, meterRegistry, 4, 60, 256);
+        RecordingEmitterHandler client = open();
+        Upstream upstream = upstreams.get(0);
+
+        upstream.onDelta().accept("Xin ");
+        upstream.onDelta().accept("chào");
+        upstream.reply().complete("openai");
+
+        assertThat(client.awaitCompleted(2000)).isTrue();
+        assertThat(client.events()).containsExactly("delta", "delta", "done");
+        assertThat(activeStreams()).isZero();
+    }
+
+    @Test
+    void stuckClientsDoNotHoldUpOtherStreams() throws Exception {
+        service = new ChatStreamService(aiService, meterRegistry, 8, 60, 256);
+        List<RecordingEmitterHandler> stuck = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            RecordingEmitterHandler client = open();
+            client.stick();
+            upstreams.get(i).onDelta().accept("...");
+            assertThat(client.awaitSending(2000)).isTrue();
+            stuck.add(client);
+        }
+
+        List<RecordingEmitterHandler> healthy = new ArrayList<>();
+        for (int i = 5; i < 8; i++) {
+            healthy.add(open());
+            upstreams.get(i).onDelta().accept("ok");
+            upstreams.get(i).reply().complete("openai");
+        }
+        for (RecordingEmitterHandler client : healthy) {
+            assertThat(client.awaitCompleted(2000)).isTrue();
+            assertThat(client.events()).containsExactly("delta", "done");
+        }
+
+        stuck.forEach(RecordingEmitterHandler::unstick);
+    }
+
+    @Test
+    void slowClientIsDroppedCompletedAndHoldsItsPermitUntilTheWriterIsFree() throws Exception {
+        service = new ChatStreamService(aiService, meterRegistry, 1, 60, 4);
+        RecordingEmitterHandler client = open();
+        Upstream upstream = upstreams.get(0);
+
+        client.stick();
+        upstream.onDelta().accept("1");
+        assertThat(client.awaitSending(2000)).isTrue();
+        for (int i = 2; i <= 5; i++) {
+            upstream.onDelta().accept(String.valueOf(i));
+        }
+        assertThatThrownBy(() -> upstream.onDelta().accept("6"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("too slow");
+        assertThat(upstream.reply()).isCancelled();
+
+        // Closed, but its writer is still stuck in a send: the permit isn't free yet
+        assertThat(service.open("hi", null)).isEmpty();
+        assertThat(client.isCompleted()).isFalse();
+
+        client.unstick();
+        assertThat(client.awaitCompleted(2000)).isTrue();
+        assertThat(client.events()).containsExactly("delta");
+        assertThat(awaitOpen()).isPresent();
+    }
+
+    @Test
+    void rejectsBeyondMaxConcurrent() throws Exception {
+        service = new ChatStreamService(aiService, meterRegistry, 1, 60, 256);
+        RecordingEmitterHandler client = open();
+
+        assertThat(service.open("hi", null)).isEmpty();
+        assertThat(meterRegistry.counter("jobverse.ai.chat.stream.rejected").count()).isEqualTo(1);
+
+        upstreams.get(0).reply().complete("mock");
+        assertThat(client.awaitCompleted(2000)).isTrue();
+        assertThat(awaitOpen()).isPresent();
+    }
+
+    private RecordingEmitterHandler open() throws Exception {
+        SseEmitter emitter = service.open("hi", null).orElseThrow();
+        return RecordingEmitterHandler.attach(emitter);
+    }
+
+    // The permit is released by the stream's last write, just after the emitter completes
+    private Optional<SseEmitter> awaitOpen() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            Optional<SseEmitter> emitter = service.open("hi", null);
+            if (emitter.isPresent()) {
+                return emitter;
+            }
+            Thread.sleep(10);
+        }
+        return Optional.empty();
+    }
+
+    private double activeStreams() throws InterruptedException {
+        for (int i = 0; i < 200 && meterRegistry.get("jobverse.ai.chat.stream.active").gauge().value() > 0; i++) {
+            Thread.sleep(10);
+        }
+        return meterRegistry.get("jobverse.ai.chat.stream.active").gauge().value();
+    }
+}
@@ -0,0 +1,60 @@
+package com.jobverse.service;
+
+import com.jobverse.dto.response.CompanyProfileResponse;
+import com.jobverse.dto.response.CompanyResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompanyProfileCacheTest {
+
+    private final CompanyProfileCache cache = new CompanyProfileCache(300, 2);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesByIdAndSlugUntilEvicted() {
+        cache.getById(1L, () -> profile(1L, "fpt-software"));
+
+        assertThat(cache.getBySlug("fpt-software", () -> profile(1L, "fpt-software")).getCompany().getId()).isEqualTo(1L);
+        assertThat(loads).hasValue(1);
+
+        cache.onCompanyChanged(new CompanyProfileCache.CompanyChangedEvent(1L));
+        cache.getBySlug("fpt-software", () -> profile(1L, "fpt-software"));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void fullCacheDropsOnlyTheLeastRecentlyUsedProfile() {
+        cache.getById(1L, () -> profile(1L, "a"));
+        cache.getById(2L, () -> profile(2L, "b"));
+        cache.getById(1L, () -> profile(1L, "a"));
+        cache.getById(3L, () -> profile(3L, "c"));
+        assertThat(loads).hasValue(3);
+
+        cache.getById(1L, () -> profile(1L, "a"));
+        cache.getById(3L, () -> profile(3L, "c"));
+        assertThat(loads).hasValue(3);
+        cache.getById(2L, () -> profile(2L, "b"));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void loadThatOverlapsAnEvictionIsNotStored() {
+        cache.getById(1L, () -> {
+            cache.evict(1L); // the company changes while its profile is being built
+            return profile(1L, "a");
+        });
+
+        cache.getById(1L, () -> profile(1L, "a"));
+        assertThat(loads).hasValue(2);
+    }
+
+    private CompanyProfileResponse profile(Long id, String slug) {
+        loads.incrementAndGet();
+        return CompanyProfileResponse.builder()
+                .company(CompanyResponse.builder().id(id).slug(slug).build())
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.jobverse.service;
+
+import com.jobverse.entity.EmailOutbox;
+import com.jobverse.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailDeliveryServiceTest {
+
+    private final EmailOutboxRepository emailOutboxRepository = mock(EmailOutboxRepository.class);
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmailDeliveryService service = new EmailDeliveryService(emailOutboxRepository, mailSender,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry);
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "dryRun", false);
+        ReflectionTestUtils.setField(service, "batchSize", 3);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "baseBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(service, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(service, "staleLockSeconds", 300L);
+        ReflectionTestUtils.setField(service, "fromAddress", "no-reply@jobverse.com");
+
+        Session session = Session.getInstance(new Properties());
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(session));
+        when(emailOutboxRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void batchIsSentOverOneConnectionAndMarkedSent() {
+        List<EmailOutbox> batch = emails("welcome:", 2);
+        when(emailOutboxRepository.claimBatch(anyInt(), any())).thenReturn(batch, List.of());
+
+        service.deliverPendingEmails();
+
+        ArgumentCaptor<MimeMessage[]> sent = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender, times(1)).send(sent.capture());
+        assertThat(sent.getValue()).hasSize(2);
+        assertThat(batch).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+            assertThat(email.getAttempts()).isEqualTo(1);
+            assertThat(email.getLockedAt()).isNull();
+        });
+        assertThat(meterRegistry.counter("jobverse.email.outbox.sent").count()).isEqualTo(2);
+    }
+
+    @Test
+    void onlyTheRejectedMessageIsRetriedWithBackoff() {
+        List<EmailOutbox> batch = emails("welcome:", 3);
+        when(emailOutboxRepository.claimBatch(anyInt(), any())).thenReturn(batch, List.of());
+        doAnswer(invocation -> {
+            MimeMessage[] messages = (MimeMessage[]) invocation.getRawArguments()[0];
+            throw new MailSendException(Map.of(messages[1], new MessagingException("550 mailbox unavailable")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        service.deliverPendingEmails();
+
+        assertThat(batch).extracting(EmailOutbox::getStatus).containsExactly(
+                EmailOutbox.Status.SENT, EmailOutbox.Status.PENDING, EmailOutbox.Status.SENT);
+        EmailOutbox retried = batch.get(1);
+        assertThat(retried.getLastError()).contains("550");
+        // First retry: 30s base backoff +/- 20% jitter
+        assertThat(retried.getNextAttemptAt()).isBetween(before.plusSeconds(23), LocalDateTime.now().plusSeconds(37));
+        assertThat(meterRegistry.counter("jobverse.email.outbox.retried").count()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionFailureRetriesTheWholeBatchAndGivesUpAfterMaxAttempts() {
+        List<EmailOutbox> batch = emails(EmailService.PASSWORD_RESET_KEY_PREFIX, 2);
+        batch.get(0).setAttempts(2); // its third and last attempt
+        when(emailOutboxRepository.claimBatch(anyInt(), any())).thenReturn(batch, List.of());
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(MimeMessage[].class));
+
+        service.deliverPendingEmails();
+
+        assertThat(batch.get(0).getStatus()).isEqualTo(EmailOutbox.Status.FAILED);
+        assertThat(batch.get(0).getBody()).isEqualTo(EmailService.REDACTED_BODY);
+        assertThat(batch.get(1).getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(batch.get(1).getBody()).isEqualTo("Nội dung 2");
+        assertThat(meterRegistry.counter("jobverse.email.outbox.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsDrainingWhileFullBatchesComeBack() {
+        when(emailOutboxRepository.claimBatch(anyInt(), any()))
+                .thenReturn(emails("a:", 3), emails("b:", 3), emails("c:", 1));
+
+        service.deliverPendingEmails();
+
+        verify(emailOutboxRepository, times(3)).claimBatch(anyInt(), any());
+        verify(mailSender, times(3)).send(any(MimeMessage[].class));
+        assertThat(meterRegistry.counter("jobverse.email.outbox.sent").count()).isEqualTo(7);
+    }
+
+    private static List<EmailOutbox> emails(String keyPrefix, int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> EmailOutbox.builder()
+                        .id((long) i)
+                        .dedupeKey(keyPrefix + i)
+                        .recipient("user" + i + "@jobverse.vn")
+                        .subject("Xin chào")
+                        .body("Nội dung " + i)
+                        .nextAttemptAt(LocalDateTime.now())
+                        .build())
+                .toList();
+    }
+}
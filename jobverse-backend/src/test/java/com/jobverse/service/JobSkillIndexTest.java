@@ -0,0 +1,143 @@
+package com.jobverse.service;
+
+import com.jobverse.entity.Job;
+import com.jobverse.service.SkillTaxonomyService.SkillRef;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobSkillIndexTest {
+
+    private static final SkillRef JAVA = new SkillRef(1L, "Java");
+    private static final SkillRef SPRING = new SkillRef(2L, "Spring Boot");
+    private static final SkillRef REACT = new SkillRef(3L, "React");
+    private static final SkillRef SQL = new SkillRef(4L, "SQL");
+    private static final Map<String, SkillRef> TERMS = Map.of(
+            "java", JAVA, "spring boot", SPRING, "react", REACT, "reactjs", REACT, "sql", SQL);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SkillTaxonomyService skillTaxonomyService = mock(SkillTaxonomyService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JobSkillIndex index = new JobSkillIndex(jdbcTemplate, skillTaxonomyService, meterRegistry);
+
+    // job_skills rows (job id, skill) the full rebuild query returns, ordered by job
+    private final List<Object[]> jobSkills = new ArrayList<>();
+
+    @BeforeEach
+    void setup() throws SQLException {
+        ReflectionTestUtils.setField(index, "maxAgeMs", 600_000L);
+        ReflectionTestUtils.setField(index, "maxOverlay", 1000);
+        when(skillTaxonomyService.resolve(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(TERMS.get(invocation.<String>getArgument(0).toLowerCase())));
+        when(skillTaxonomyService.canonical(anyLong(), anyString()))
+                .thenAnswer(invocation -> new SkillRef(invocation.getArgument(0), invocation.getArgument(1)));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : jobSkills) {
+                handler.processRow(jobSkillRow((Long) row[0], (SkillRef) row[1]));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        addJob(1L, JAVA, SPRING);
+        addJob(2L, JAVA, REACT, SQL);
+        addJob(3L, JAVA, SPRING);
+        addJob(4L, REACT);
+        index.onStartup();
+    }
+
+    @Test
+    void ranksByCoverageThenMatchedThenNewest() {
+        List<JobSkillIndex.Hit> hits = index.topJobs(List.of("Java", "Spring Boot"), 3);
+
+        assertThat(hits).extracting(JobSkillIndex.Hit::jobId).containsExactly(3L, 1L, 2L);
+        assertThat(hits).extracting(JobSkillIndex.Hit::matchPercentage).containsExactly(100, 100, 33);
+        assertThat(hits.get(2).matchedSkills()).containsExactly("Java");
+        assertThat(hits.get(2).missingSkills()).containsExactly("React", "SQL");
+    }
+
+    @Test
+    void aliasesResolveAndUnknownSkillsAreIgnored() {
+        List<JobSkillIndex.Hit> hits = index.topJobs(List.of("ReactJS", "Cobol"), 10);
+
+        assertThat(hits).extracting(JobSkillIndex.Hit::jobId).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void jobChangesApplyWithoutARebuild() throws SQLException {
+        // Job 2 drops React and SQL for Spring Boot; job 3 is closed
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(skillRow(JAVA));
+            handler.processRow(skillRow(SPRING));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(2L));
+        index.onJobChanged(new JobChangedEvent(2L, 10L, null, Job.JobStatus.ACTIVE, Job.JobStatus.ACTIVE));
+        index.onJobChanged(new JobChangedEvent(3L, 10L, null, Job.JobStatus.ACTIVE, Job.JobStatus.CLOSED));
+
+        List<JobSkillIndex.Hit> hits = index.topJobs(List.of("Java", "Spring Boot"), 10);
+
+        assertThat(hits).extracting(JobSkillIndex.Hit::jobId).containsExactly(2L, 1L);
+        assertThat(hits.get(0).missingSkills()).isEmpty();
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void overlayPastMaxOverlayIsFoldedIntoARebuild() {
+        ReflectionTestUtils.setField(index, "maxOverlay", 1);
+        index.onJobChanged(new JobChangedEvent(3L, 10L, null, Job.JobStatus.ACTIVE, Job.JobStatus.CLOSED));
+        index.onJobChanged(new JobChangedEvent(4L, 10L, null, Job.JobStatus.ACTIVE, Job.JobStatus.CLOSED));
+        jobSkills.removeIf(row -> (Long) row[0] >= 3L);
+
+        index.refreshIfStale();
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class));
+        assertThat(meterRegistry.get("jobverse.jobs.skill.index.overlay").gauge().value()).isZero();
+        assertThat(meterRegistry.get("jobverse.jobs.skill.index.jobs").gauge().value()).isEqualTo(2);
+        assertThat(index.topJobs(List.of("Java", "React"), 10)).extracting(JobSkillIndex.Hit::jobId).containsExactly(2L, 1L);
+    }
+
+    private void addJob(Long jobId, SkillRef... skills) {
+        for (SkillRef skill : skills) {
+            jobSkills.add(new Object[]{jobId, skill});
+        }
+    }
+
+    // A row of the rebuild query: (job_id, skill_id, name)
+    private static ResultSet jobSkillRow(Long jobId, SkillRef skill) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(jobId);
+        when(rs.getLong(2)).thenReturn(skill.id());
+        when(rs.getString(3)).thenReturn(skill.name());
+        return rs;
+    }
+
+    // A row of the one-job query: (skill_id, name)
+    private static ResultSet skillRow(SkillRef skill) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(skill.id());
+        when(rs.getString(2)).thenReturn(skill.name());
+        return rs;
+    }
+}
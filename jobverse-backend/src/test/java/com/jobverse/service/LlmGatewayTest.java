@@ -0,0 +1,209 @@
+package com.jobverse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LlmGateway against a local stub of the chat completions endpoint
+ */
+class LlmGatewayTest {
+
+    private static final String REPLY = "{\"choices\":[{\"message\":{\"content\":\"xin chào\"}}]}";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile Handler handler;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LlmGateway gateway;
+
+    @FunctionalInterface
+    interface Handler {
+        void handle(HttpExchange exchange, int request) throws IOException;
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/v1/chat/completions", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                handler.handle(exchange, requests.incrementAndGet());
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (gateway != null) {
+            gateway.shutdown();
+        }
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void retriesServerErrorsThenSucceeds() {
+        gateway = gateway(1, 2, 2000, 5);
+        handler = (exchange, request) -> respond(exchange, request < 3 ? 503 : 200, REPLY);
+
+        assertThat(call().join()).isEqualTo("xin chào");
+        assertThat(requests).hasValue(3);
+        assertThat(meterRegistry.counter("jobverse.llm.retries").count()).isEqualTo(2);
+    }
+
+    @Test
+    void clientErrorsAreNeitherRetriedNorCountedByTheBreaker() {
+        gateway = gateway(1, 2, 2000, 2);
+        handler = (exchange, request) -> respond(exchange, 400, "{}");
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> call().join()).hasRootCauseMessage("HTTP 400");
+        }
+        assertThat(requests).hasValue(4);
+        assertThat(meterRegistry.get("jobverse.llm.breaker.open").gauge().value()).isZero();
+    }
+
+    @Test
+    void consecutiveUpstreamFailuresOpenTheBreaker() {
+        gateway = gateway(1, 0, 2000, 2);
+        handler = (exchange, request) -> respond(exchange, request == 1 ? 429 : 500, "{}");
+
+        assertThatThrownBy(() -> call().join()).hasRootCauseMessage("HTTP 429");
+        assertThatThrownBy(() -> call().join()).hasRootCauseMessage("HTTP 500");
+        assertThatThrownBy(() -> call().join()).hasRootCauseMessage("LLM circuit open");
+        assertThat(requests).hasValue(2);
+        assertThat(meterRegistry.get("jobverse.llm.breaker.open").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void malformedReplyDoesNotCountAgainstTheBreaker() {
+        gateway = gateway(1, 0, 2000, 1);
+        handler = (exchange, request) -> respond(exchange, 200, "{\"choices\":[]}");
+
+        assertThatThrownBy(() -> call().join()).hasRootCauseMessage("Malformed completion response");
+        assertThatThrownBy(() -> call().join()).hasRootCauseMessage("Malformed completion response");
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void deadlineAbortsTheRequestOnTheWireAndFreesTheBulkhead() throws Exception {
+        gateway = gateway(1, 0, 300, 5);
+        CountDownLatch aborted = new CountDownLatch(1);
+        handler = (exchange, request) -> {
+            if (request > 1) {
+                respond(exchange, 200, REPLY);
+                return;
+            }
+            // Headers arrive at once, so only the deadline (not the request timeout) can stop the slow body
+            try {
+                exchange.sendResponseHeaders(200, 0);
+                OutputStream body = exchange.getResponseBody();
+                for (int i = 0; i < 50; i++) {
+                    body.write(' ');
+                    body.flush();
+                    sleep(100);
+                }
+                body.write(REPLY.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                aborted.countDown();
+            }
+        };
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> call().join()).hasMessageContaining("LLM deadline exceeded");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(900);
+        assertThat(meterRegistry.get("jobverse.llm.inflight").gauge().value()).isZero();
+
+        assertThat(aborted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(call().join()).isEqualTo("xin chào");
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondMaxConcurrent() {
+        gateway = gateway(1, 0, 2000, 5);
+        CountDownLatch release = new CountDownLatch(1);
+        handler = (exchange, request) -> {
+            await(release);
+            respond(exchange, 200, REPLY);
+        };
+
+        CompletableFuture<String> first = call();
+        assertThatThrownBy(() -> call().join()).hasRootCauseMessage("LLM bulkhead full");
+        release.countDown();
+        assertThat(first.join()).isEqualTo("xin chào");
+        assertThat(call().join()).isEqualTo("xin chào");
+    }
+
+    @Test
+    void disabledWithoutApiKey() {
+        gateway = new LlmGateway(new ObjectMapper(), meterRegistry, "", "gpt-test", true, baseUrl(),
+                1000, 1000, 2000, 5000, 1, 0, 1, 5, 5, 60);
+
+        assertThat(gateway.isEnabled()).isFalse();
+        assertThatThrownBy(() -> call().join())
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseMessage("LLM disabled");
+        assertThat(requests).hasValue(0);
+    }
+
+    private LlmGateway gateway(int maxConcurrent, int maxRetries, long deadlineMs, int failureThreshold) {
+        return new LlmGateway(new ObjectMapper(), meterRegistry, "test-key", "gpt-test", true, baseUrl(),
+                1000, 5000, deadlineMs, 5000, maxConcurrent, maxRetries, 1, 5, failureThreshold, 60);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/";
+    }
+
+    private CompletableFuture<String> call() {
+        return gateway.complete("system", "user", Map.of("max_tokens", 16));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
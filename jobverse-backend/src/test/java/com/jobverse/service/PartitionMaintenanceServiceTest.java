@@ -0,0 +1,94 @@
+package com.jobverse.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PartitionMaintenanceServiceTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PartitionMaintenanceService service = new PartitionMaintenanceService(jdbcTemplate, meterRegistry);
+
+    private final YearMonth now = YearMonth.now();
+    private final String expired = "notifications_p" + now.minusMonths(13).format(SUFFIX);
+    private final String kept = "notifications_p" + now.minusMonths(12).format(SUFFIX);
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "monthsAhead", 3);
+        ReflectionTestUtils.setField(service, "notificationsRetentionMonths", 12);
+        ReflectionTestUtils.setField(service, "messagesRetentionMonths", 0);
+        ReflectionTestUtils.setField(service, "archiveMode", "DETACH");
+
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications_default", Long.class)).thenReturn(0L);
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM messages_default", Long.class)).thenReturn(4L);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("notifications")))
+                .thenReturn(List.of("notifications_default", "notifications_old_backup", expired, kept));
+    }
+
+    @Test
+    void createsTheCurrentAndUpcomingMonthsForBothTables() {
+        service.maintainPartitions();
+
+        for (int i = 0; i <= 3; i++) {
+            verify(jdbcTemplate).queryForObject("SELECT create_monthly_partition(?, ?)", String.class,
+                    "notifications", now.plusMonths(i).atDay(1));
+            verify(jdbcTemplate).queryForObject("SELECT create_monthly_partition(?, ?)", String.class,
+                    "messages", now.plusMonths(i).atDay(1));
+        }
+        assertThat(meterRegistry.get("jobverse.partitions.default.rows").tag("table", "messages").gauge().value())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void detachesOnlyMonthsPastRetentionIntoTheArchiveSchema() {
+        service.maintainPartitions();
+
+        verify(jdbcTemplate).execute("ALTER TABLE notifications DETACH PARTITION " + expired);
+        verify(jdbcTemplate).execute("ALTER TABLE " + expired + " SET SCHEMA archive");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE notifications DETACH PARTITION " + kept);
+        verify(jdbcTemplate, never()).execute("ALTER TABLE notifications DETACH PARTITION notifications_default");
+        // messages keep forever (retention 0): their partitions aren't even listed
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), eq("messages"));
+    }
+
+    @Test
+    void dropModeDeletesTheExpiredMonth() {
+        ReflectionTestUtils.setField(service, "archiveMode", "DROP");
+
+        service.maintainPartitions();
+
+        verify(jdbcTemplate).execute("ALTER TABLE notifications DETACH PARTITION " + expired);
+        verify(jdbcTemplate).execute("DROP TABLE " + expired);
+        verify(jdbcTemplate, never()).execute("ALTER TABLE " + expired + " SET SCHEMA archive");
+    }
+
+    @Test
+    void disabledDoesNothing() {
+        ReflectionTestUtils.setField(service, "enabled", false);
+
+        service.maintainPartitions();
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(Class.class), any(Object[].class));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
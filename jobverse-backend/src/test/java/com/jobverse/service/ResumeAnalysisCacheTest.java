@@ -0,0 +1,65 @@
+package com.jobverse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobverse.repository.ResumeRepository;
+import com.jobverse.service.ResumeAnalysisService.ResumeAnalysisResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeAnalysisCacheTest {
+
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResumeAnalysisCache cache = new ResumeAnalysisCache(resumeRepository, new ObjectMapper(), meterRegistry, 3600, 2);
+
+    @Test
+    void databaseHitIsPromotedToMemory() {
+        when(resumeRepository.findAnalysisJsonByHash("h1"))
+                .thenReturn(Optional.of("{\"overallScore\":70,\"taxonomyVersion\":\"v1\",\"pagesParsed\":2}"));
+
+        assertThat(cache.get("h1", "v1")).get().extracting(ResumeAnalysisResult::getOverallScore).isEqualTo(70);
+        assertThat(cache.get("h1", "v1")).isPresent();
+
+        verify(resumeRepository, times(1)).findAnalysisJsonByHash("h1");
+        assertThat(meterRegistry.get("jobverse.resume.analysis.cache").tag("tier", "memory").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jobverse.resume.analysis.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void resultFromAnotherTaxonomyIsAMiss() {
+        when(resumeRepository.findAnalysisJsonByHash(anyString())).thenReturn(Optional.empty());
+        cache.put("h1", result("v1"));
+
+        assertThat(cache.get("h1", "v2")).isEmpty();
+        assertThat(cache.get("h1", "v1")).isPresent();
+    }
+
+    @Test
+    void fullCacheDropsOnlyTheLeastRecentlyUsedResult() {
+        when(resumeRepository.findAnalysisJsonByHash(anyString())).thenReturn(Optional.empty());
+        cache.put("h1", result("v1"));
+        cache.put("h2", result("v1"));
+        cache.get("h1", "v1");
+
+        cache.put("h3", result("v1"));
+
+        assertThat(cache.get("h1", "v1")).isPresent();
+        assertThat(cache.get("h3", "v1")).isPresent();
+        assertThat(cache.get("h2", "v1")).isEmpty();
+    }
+
+    private static ResumeAnalysisResult result(String taxonomyVersion) {
+        ResumeAnalysisResult result = new ResumeAnalysisResult();
+        result.setTaxonomyVersion(taxonomyVersion);
+        return result;
+    }
+}
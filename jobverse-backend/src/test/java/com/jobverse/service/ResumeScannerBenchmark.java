@@ -0,0 +1,171 @@
+package com.jobverse.service;
+
+import com.jobverse.service.SkillTaxonomyService.SkillRef;
+import com.jobverse.util.AhoCorasickMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One {@link ResumeScanner#scan} against the extraction it replaced: the same skill matcher
+ * for skills, plus the per-call regexes for degrees and contacts and one lowercase copy per
+ * section heading (copied verbatim below). Input is a ~3 KB two-page resume.
+ *
+ * Not run by surefire. To run:
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test-cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/test-cp.txt) com.jobverse.service.ResumeScannerBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResumeScannerBenchmark {
+
+    private static final List<String> SKILLS = List.of(
+            "Java", "Spring", "Spring Boot", "Hibernate", "JPA", "Kotlin", "Go", "Golang", "Python", "Django",
+            "JavaScript", "TypeScript", "React", "ReactJS", "Vue", "Angular", "Node.js", "C++", "C#", ".NET",
+            "SQL", "PostgreSQL", "MySQL", "MongoDB", "Redis", "Kafka", "Docker", "Kubernetes", "AWS", "Git");
+
+    private static final String PAGE = """
+            Nguyễn Văn A - Lập trình viên Backend
+            Email: nguyenvana.dev@gmail.com | Điện thoại: +84 912345678
+            linkedin.com/in/nguyen-van-a | github.com/nva-dev
+
+            KINH NGHIỆM
+            2019 - hiện tại: Backend developer tại Công ty ABC, Hà Nội
+            • Thiết kế hệ thống thanh toán xử lý 2 triệu giao dịch mỗi ngày với Java 17, Spring Boot, Kafka
+            • Tối ưu truy vấn PostgreSQL, giảm 60% độ trễ p99; cache với Redis
+            • Triển khai Docker, Kubernetes trên AWS; CI/CD với Git
+            2016 - 2019: Fullstack developer tại Công ty XYZ
+            • ReactJS, TypeScript cho trang quản trị; dịch vụ nội bộ bằng Python và Go
+
+            HỌC VẤN
+            Cử nhân Khoa học máy tính, Đại học Bách khoa Hà Nội, 2012 - 2016
+
+            KỸ NĂNG
+            Java, Spring Boot, Hibernate/JPA, PostgreSQL, MySQL, Redis, Kafka, Docker, Kubernetes, AWS
+            Tiếng Anh: IELTS 7.0; làm việc nhóm, giao tiếp tốt
+
+            DỰ ÁN
+            Hệ thống gợi ý việc làm: 500+ người dùng đồng thời, 99.9% uptime
+            """;
+
+    private ResumeScanner scanner;
+    private AhoCorasickMatcher<SkillRef> skillMatcher;
+    private String resume;
+
+    @Setup
+    public void setup() {
+        Map<String, SkillRef> terms = new LinkedHashMap<>();
+        AhoCorasickMatcher.Builder<SkillRef> builder = AhoCorasickMatcher.builder();
+        for (int i = 0; i < SKILLS.size(); i++) {
+            SkillRef skill = new SkillRef((long) i, SKILLS.get(i));
+            terms.put(SKILLS.get(i).toLowerCase(), skill);
+            builder.add(SKILLS.get(i), skill);
+        }
+        scanner = ResumeScanner.compile(terms);
+        skillMatcher = builder.build();
+        resume = PAGE + "\n" + PAGE;
+    }
+
+    @Benchmark
+    public ResumeScanner.Result singleScan() {
+        return scanner.scan(resume);
+    }
+
+    @Benchmark
+    public void legacyExtraction(Blackhole blackhole) {
+        blackhole.consume(skillMatcher.findAll(resume));
+        blackhole.consume(legacyEducation(resume));
+        blackhole.consume(legacyContactInfo(resume));
+        blackhole.consume(legacySectionCount(resume));
+    }
+
+    // ResumeAnalysisService.extractEducation before the scanner
+    private static String legacyEducation(String text) {
+        String[] degrees = {"PhD", "Ph.D", "Master", "Bachelor", "Đại học", "Thạc sĩ", "Tiến sĩ", "Cử nhân"};
+
+        for (String degree : degrees) {
+            Pattern pattern = Pattern.compile("(" + degree + "[^\\n]{0,100})", Pattern.CASE_INSENSITIVE);
+            Matcher matcher = pattern.matcher(text);
+
+            if (matcher.find()) {
+                return matcher.group(1).trim();
+            }
+        }
+
+        return null;
+    }
+
+    // ResumeAnalysisService.extractContactInfo before the scanner
+    private static Map<String, String> legacyContactInfo(String text) {
+        Map<String, String> contact = new HashMap<>();
+
+        Pattern emailPattern = Pattern.compile("\\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Z|a-z]{2,}\\b");
+        Matcher emailMatcher = emailPattern.matcher(text);
+        if (emailMatcher.find()) {
+            contact.put("email", emailMatcher.group());
+        }
+
+        Pattern phonePattern = Pattern.compile("(?:\\+84|0)\\s?\\d{9,10}");
+        Matcher phoneMatcher = phonePattern.matcher(text);
+        if (phoneMatcher.find()) {
+            contact.put("phone", phoneMatcher.group());
+        }
+
+        Pattern linkedinPattern = Pattern.compile("linkedin\\.com/in/([a-zA-Z0-9-]+)");
+        Matcher linkedinMatcher = linkedinPattern.matcher(text);
+        if (linkedinMatcher.find()) {
+            contact.put("linkedin", linkedinMatcher.group(0));
+        }
+
+        Pattern githubPattern = Pattern.compile("github\\.com/([a-zA-Z0-9-]+)");
+        Matcher githubMatcher = githubPattern.matcher(text);
+        if (githubMatcher.find()) {
+            contact.put("github", githubMatcher.group(0));
+        }
+
+        return contact;
+    }
+
+    // The section part of ResumeAnalysisService.calculateFormatScore before the scanner
+    private static int legacySectionCount(String text) {
+        String[] sections = {"experience", "education", "skills", "projects", "kinh nghiệm", "học vấn", "kỹ năng", "dự án"};
+        int sectionCount = 0;
+        for (String section : sections) {
+            if (text.toLowerCase().contains(section)) {
+                sectionCount++;
+            }
+        }
+        return sectionCount;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResumeScannerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobverse.service;
+
+import com.jobverse.service.SkillTaxonomyService.SkillRef;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeScannerTest {
+
+    private static final SkillRef JAVA = new SkillRef(1L, "Java");
+    private static final SkillRef REACT = new SkillRef(2L, "React");
+    private static final SkillRef SPRING_BOOT = new SkillRef(3L, "Spring Boot");
+    private static final SkillRef POSTGRES = new SkillRef(4L, "PostgreSQL");
+
+    private static final ResumeScanner SCANNER = ResumeScanner.compile(terms());
+
+    private static Map<String, SkillRef> terms() {
+        Map<String, SkillRef> terms = new LinkedHashMap<>();
+        terms.put("java", JAVA);
+        terms.put("react", REACT);
+        terms.put("reactjs", REACT);
+        terms.put("spring boot", SPRING_BOOT);
+        terms.put("postgresql", POSTGRES);
+        terms.put("postgres", POSTGRES);
+        return terms;
+    }
+
+    private static final String RESUME = """
+            Nguyễn Văn An
+            Email: java.dev@gmail.com | SĐT: 0901234567
+            linkedin.com/in/nguyen-van-an | github.com/react-fan
+
+            KINH NGHIỆM
+            Backend developer: Java 17, Spring  Boot, Postgres; một ít ReactJS
+
+            HỌC VẤN
+            Cử nhân Công nghệ thông tin, Đại học Bách khoa Hà Nội
+            Master of Computer Science, 2020
+
+            KỸ NĂNG
+            Java, PostgreSQL, React
+            """;
+
+    @Test
+    void extractsEverythingInOneScan() {
+        ResumeScanner.Result result = SCANNER.scan(RESUME);
+
+        assertThat(result.skills()).containsExactly("Java", "Spring Boot", "PostgreSQL", "React");
+        assertThat(result.sectionCount()).isEqualTo(3);
+        assertThat(result.contactInfo()).containsOnly(
+                Map.entry("email", "java.dev@gmail.com"),
+                Map.entry("phone", "0901234567"),
+                Map.entry("linkedin", "linkedin.com/in/nguyen-van-an"),
+                Map.entry("github", "github.com/react-fan"));
+    }
+
+    @Test
+    void highestPriorityDegreeWinsWithItsLine() {
+        // Master ranks above Đại học / Cử nhân even though it comes later
+        assertThat(SCANNER.scan(RESUME).education()).isEqualTo("Master of Computer Science, 2020");
+        assertThat(SCANNER.scan("Cử nhân Kinh tế\nĐại học Ngoại thương").education()).isEqualTo("Đại học Ngoại thương");
+    }
+
+    @Test
+    void skillsInsideContactsAreIgnored() {
+        ResumeScanner.Result result = SCANNER.scan("Liên hệ: java.dev@gmail.com, github.com/react-fan");
+
+        assertThat(result.skills()).isEmpty();
+        assertThat(result.contactInfo()).containsKeys("email", "github");
+    }
+
+    @Test
+    void rejectsMalformedContacts() {
+        ResumeScanner.Result result = SCANNER.scan("@mention, an@localhost, 0123 45, +84 12345678, github.com/");
+
+        assertThat(result.contactInfo()).isEmpty();
+    }
+
+    @Test
+    void taxonomyVersionDependsOnContentNotOrder() {
+        Map<String, SkillRef> reversed = new LinkedHashMap<>();
+        terms().entrySet().stream()
+                .sorted(Map.Entry.<String, SkillRef>comparingByKey().reversed())
+                .forEach(e -> reversed.put(e.getKey(), e.getValue()));
+
+        assertThat(ResumeScanner.compile(reversed).taxonomyVersion()).isEqualTo(SCANNER.taxonomyVersion());
+        assertThat(ResumeScanner.compile(Map.of("java", JAVA)).taxonomyVersion()).isNotEqualTo(SCANNER.taxonomyVersion());
+    }
+}
@@ -0,0 +1,124 @@
+package com.jobverse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobverse.repository.JobRepository;
+import com.jobverse.repository.UserRepository;
+import com.jobverse.service.ResumeAnalysisService.MatchResult;
+import com.jobverse.service.ResumeAnalysisService.ResumeAnalysisResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.RecordingEmitterHandler;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeScreeningServiceTest {
+
+    private final ResumeAnalysisService resumeAnalysisService = mock(ResumeAnalysisService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResumeScreeningService service;
+
+    @BeforeEach
+    void stubAnalysis() {
+        ResumeAnalysisResult analysis = new ResumeAnalysisResult();
+        analysis.setOverallScore(70);
+        analysis.setSkills(List.of("Java"));
+        when(resumeAnalysisService.findCachedAnalysis(anyString())).thenReturn(Optional.of(analysis));
+        when(resumeAnalysisService.matchResumeToJob(any(), anySet())).thenReturn(MatchResult.builder()
+                .matchPercentage(100)
+                .matchedSkills(List.of("Java"))
+                .missingSkills(List.of())
+                .build());
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void stuckClientDoesNotHoldUpTheAnalysisWorkers() throws Exception {
+        service = service(1, 2, 1000);
+        RecordingEmitterHandler stuck = startStuck(batch(1L, 5));
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(60_000L);
+        RecordingEmitterHandler healthy = RecordingEmitterHandler.attach(emitter);
+        assertThat(service.stream(batch(2L, 5), emitter)).isTrue();
+
+        assertThat(healthy.awaitCompleted(2000)).isTrue();
+        assertThat(healthy.lines()).hasSize(6);
+        assertThat(healthy.lines().get(5)).contains("\"type\":\"summary\"");
+
+        stuck.unstick();
+        assertThat(stuck.awaitCompleted(2000)).isTrue();
+        assertThat(stuck.lines()).hasSize(6);
+    }
+
+    @Test
+    void slowClientIsDroppedAndHoldsItsSlotUntilTheWriterIsFree() throws Exception {
+        service = service(1, 1, 3);
+        MatchResult match = MatchResult.builder().matchPercentage(100).matchedSkills(List.of("Java")).build();
+        when(resumeAnalysisService.matchResumeToJob(any(), anySet())).thenAnswer(invocation -> {
+            Thread.sleep(20); // lets the writer pick up the first line before the queue fills
+            return match;
+        });
+        RecordingEmitterHandler stuck = startStuck(batch(1L, 20));
+
+        // One line stuck in the send, three queued: the next one stops the run
+        for (int i = 0; i < 200 && meterRegistry.counter("jobverse.resume.screening.dropped").count() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.counter("jobverse.resume.screening.dropped").count()).isEqualTo(1);
+        verify(resumeAnalysisService, atMost(5)).matchResumeToJob(any(), anySet());
+        assertThat(service.stream(batch(2L, 1), new ResponseBodyEmitter(60_000L))).isFalse();
+        assertThat(meterRegistry.counter("jobverse.resume.screening.rejected").count()).isEqualTo(1);
+        assertThat(stuck.isCompleted()).isFalse();
+
+        stuck.unstick();
+        assertThat(stuck.awaitCompleted(2000)).isTrue();
+        assertThat(stuck.lines()).hasSize(1);
+
+        boolean started = false;
+        for (int i = 0; i < 200 && !started; i++) {
+            started = service.stream(batch(3L, 1), new ResponseBodyEmitter(60_000L));
+            Thread.sleep(10);
+        }
+        assertThat(started).isTrue();
+    }
+
+    private RecordingEmitterHandler startStuck(ResumeScreeningService.Batch batch) throws Exception {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(60_000L);
+        RecordingEmitterHandler client = RecordingEmitterHandler.attach(emitter);
+        client.stick();
+        assertThat(service.stream(batch, emitter)).isTrue();
+        assertThat(client.awaitSending(2000)).isTrue();
+        return client;
+    }
+
+    private ResumeScreeningService service(int parallelism, int maxConcurrent, int maxQueuedLines) {
+        return new ResumeScreeningService(mock(JobRepository.class), mock(UserRepository.class),
+                resumeAnalysisService, mock(JdbcTemplate.class), new ObjectMapper(), meterRegistry,
+                parallelism, maxConcurrent, maxQueuedLines);
+    }
+
+    private static ResumeScreeningService.Batch batch(Long jobId, int candidates) {
+        return new ResumeScreeningService.Batch(jobId, Set.of("Java"), LongStream.rangeClosed(1, candidates)
+                .mapToObj(i -> new ResumeScreeningService.Candidate(jobId * 100 + i, i, "Ứng viên " + i, i, "hash-" + i, true))
+                .toList());
+    }
+}
@@ -0,0 +1,80 @@
+package com.jobverse.service;
+
+import com.jobverse.service.ResumeTextExtractor.DocumentType;
+import com.jobverse.service.ResumeTextExtractor.ExtractionException;
+import com.jobverse.service.ResumeTextExtractor.Limits;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResumeTextExtractorTest {
+
+    private static final Limits LIMITS = new Limits(20, 100_000, 16L * 1024 * 1024, 20L * 1024 * 1024);
+
+    private final ResumeTextExtractor extractor = new ResumeTextExtractor();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void budgetIsConsultedWithinALongPage() throws IOException {
+        Path pdf = onePagePdf(20_000);
+        AtomicInteger inPage = new AtomicInteger();
+
+        ResumeTextExtractor.Extraction extraction = extractor.extract(pdf, DocumentType.PDF, LIMITS, (done, total) -> {
+            if (done == 0 && total == 1) {
+                inPage.incrementAndGet();
+            }
+        });
+
+        assertThat(extraction.pages()).isEqualTo(1);
+        assertThat(extraction.text()).contains("Java");
+        // One call before the page starts, then one per 1024 of its 40,003 operators (BT, Tf, Td+Tj per line, ET)
+        assertThat(inPage.get()).isEqualTo(1 + 40_003 / 1024);
+    }
+
+    @Test
+    void budgetCanAbortInTheMiddleOfAPage() throws IOException {
+        Path pdf = onePagePdf(20_000);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> extractor.extract(pdf, DocumentType.PDF, LIMITS, (done, total) -> {
+            if (calls.incrementAndGet() == 3) {
+                throw new ExtractionException("Quá thời gian xử lý cho phép (20s)");
+            }
+        }))
+                .isInstanceOf(ExtractionException.class)
+                .hasMessageContaining("Quá thời gian");
+        assertThat(calls).hasValue(3);
+    }
+
+    private Path onePagePdf(int lines) throws IOException {
+        Path file = dir.resolve("cv.pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 1);
+                for (int i = 0; i < lines; i++) {
+                    content.newLineAtOffset(0, 0.01f);
+                    content.showText("Java ");
+                }
+                content.endText();
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+}
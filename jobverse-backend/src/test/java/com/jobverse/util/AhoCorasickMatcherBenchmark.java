@@ -0,0 +1,93 @@
+package com.jobverse.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scan throughput of {@link AhoCorasickMatcher} over a skill taxonomy.
+ * Each op scans exactly 1 MiB of chars, so the reported ops/s is MiB/s of resume text.
+ *
+ * Not run by surefire. To run:
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test-cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/test-cp.txt) com.jobverse.util.AhoCorasickMatcherBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AhoCorasickMatcherBenchmark {
+
+    private static final int TEXT_CHARS = 1 << 20;
+
+    private static final List<String> SKILLS = List.of(
+            "Java", "Spring", "Spring Boot", "Hibernate", "JPA", "Kotlin", "Go", "Golang", "Python", "Django",
+            "Flask", "FastAPI", "JavaScript", "JS", "TypeScript", "React", "ReactJS", "Vue", "Angular", "Node.js",
+            "C", "C++", "C#", ".NET", "ASP.NET", "PHP", "Laravel", "Ruby", "Rails", "Rust", "R", "Scala",
+            "SQL", "PostgreSQL", "MySQL", "MongoDB", "Redis", "Kafka", "RabbitMQ", "Elasticsearch",
+            "Docker", "Kubernetes", "AWS", "GCP", "Azure", "Terraform", "Jenkins", "Git", "Linux", "Microservices",
+            "lập trình", "kiểm thử", "phân tích dữ liệu", "quản lý dự án", "tiếng Anh", "giao tiếp", "làm việc nhóm");
+
+    private static final String RESUME = """
+            Nguyễn Văn A - Lập trình viên Backend, 5 năm kinh nghiệm tại Hà Nội và Gò Vấp, TP.HCM.
+            Kỹ năng: Java 17, Spring Boot, Hibernate/JPA, PostgreSQL, Redis, Kafka, Docker, Kubernetes (AWS EKS).
+            Dự án: hệ thống thanh toán xử lý 2 triệu giao dịch mỗi ngày; tối ưu truy vấn SQL giảm 60% độ trễ.
+            Frontend cơ bản với ReactJS, TypeScript; viết công cụ nội bộ bằng Python và Go.
+            Kiểm thử tự động, CI/CD với Jenkins và Git; làm việc nhóm, giao tiếp tiếng Anh tốt.
+            """;
+
+    // 57 = the real-looking SKILLS above; larger sizes pad with synthetic terms
+    @Param({"57", "5000"})
+    public int taxonomySize;
+
+    private AhoCorasickMatcher<Integer> matcher;
+    private String text;
+
+    @Setup
+    public void setup() {
+        AhoCorasickMatcher.Builder<Integer> builder = AhoCorasickMatcher.builder();
+        for (int i = 0; i < SKILLS.size(); i++) {
+            builder.add(SKILLS.get(i), i);
+        }
+        for (int i = SKILLS.size(); i < taxonomySize; i++) {
+            builder.add("framework" + i, i);
+        }
+        matcher = builder.build();
+
+        StringBuilder sb = new StringBuilder(TEXT_CHARS);
+        while (sb.length() < TEXT_CHARS) {
+            sb.append(RESUME);
+        }
+        sb.setLength(TEXT_CHARS);
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public int scanOneMiB() {
+        return matcher.findAll(text).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AhoCorasickMatcherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,142 @@
+package com.jobverse.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AhoCorasickMatcherTest {
+
+    private final AhoCorasickMatcher<String> skills = AhoCorasickMatcher.<String>builder()
+            .add("Go", "go")
+            .add("Java", "java")
+            .add("C++", "cpp")
+            .add("R", "r")
+            .add("Spring", "spring")
+            .add("Spring Boot", "spring-boot")
+            .add("lap trinh", "programming")
+            .build();
+
+    @Test
+    void matchesOnWordBoundariesOnly() {
+        assertThat(skills.findAll("Go developer, Golang, Django, MongoDB"))
+                .extracting(AhoCorasickMatcher.Match::start, AhoCorasickMatcher.Match::end, AhoCorasickMatcher.Match::value)
+                .containsExactly(tuple(0, 2, "go"));
+        assertThat(skills.findAll("javascript, google, rust")).isEmpty();
+    }
+
+    @Test
+    void symbolEdgesNeedNoBoundary() {
+        assertThat(values(skills.findAll("C++17 và Java8"))).containsExactly("cpp");
+        assertThat(values(skills.findAll("C++, Java"))).containsExactly("cpp", "java");
+    }
+
+    @Test
+    void overlapsResolveLeftmostLongest() {
+        assertThat(skills.findAll("Spring Boot 3, Spring"))
+                .extracting(AhoCorasickMatcher.Match::start, AhoCorasickMatcher.Match::end, AhoCorasickMatcher.Match::value)
+                .containsExactly(tuple(0, 11, "spring-boot"), tuple(15, 21, "spring"));
+    }
+
+    @Test
+    void foldsCaseAndWhitespaceWithOffsetsIntoTheOriginalText() {
+        String text = "Kinh nghiệm:\n  SPRING \t BOOT";
+        List<AhoCorasickMatcher.Match<String>> matches = skills.findAll(text);
+
+        assertThat(values(matches)).containsExactly("spring-boot");
+        assertThat(text.substring(matches.get(0).start(), matches.get(0).end())).isEqualTo("SPRING \t BOOT");
+    }
+
+    @Test
+    void unaccentedPatternMatchesAccentedText() {
+        List<AhoCorasickMatcher.Match<String>> matches = skills.findAll("Lập trình Java, C++17");
+
+        assertThat(matches)
+                .extracting(AhoCorasickMatcher.Match::start, AhoCorasickMatcher.Match::end, AhoCorasickMatcher.Match::value)
+                .containsExactly(tuple(0, 9, "programming"), tuple(10, 14, "java"), tuple(16, 19, "cpp"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Văn phòng Gò Vấp", "bàn gỗ", "Gồ ghề", "rồi", "Rà soát"})
+    void shortUnaccentedTermsDoNotMatchVietnameseWords(String text) {
+        assertThat(skills.findAll(text)).isEmpty();
+        assertThat(skills.findAll(Normalizer.normalize(text, Normalizer.Form.NFD))).isEmpty();
+    }
+
+    @Test
+    void shortTermsStillMatchNextToVietnameseWords() {
+        assertThat(values(skills.findAll("Java ở Gò Vấp"))).containsExactly("java");
+        assertThat(values(skills.findAll("R và Python, Go và Rust"))).containsExactly("r", "go");
+    }
+
+    @Test
+    void accentedPatternMatchesOnlyTheSameAccents() {
+        AhoCorasickMatcher<String> matcher = AhoCorasickMatcher.<String>builder()
+                .add("lương", "salary")
+                .build();
+
+        assertThat(values(matcher.findAll("LƯƠNG tháng 13"))).containsExactly("salary");
+        assertThat(values(matcher.findAll("luong bao nhieu"))).containsExactly("salary");
+        assertThat(values(matcher.findAll(Normalizer.normalize("lương", Normalizer.Form.NFD)))).containsExactly("salary");
+        assertThat(matcher.findAll("chất lượng")).isEmpty();
+        assertThat(matcher.findAll("luồng dữ liệu")).isEmpty();
+    }
+
+    @Test
+    void trailingCombiningMarksBelongToTheMatch() {
+        String text = Normalizer.normalize("lập trình viên", Normalizer.Form.NFD);
+        List<AhoCorasickMatcher.Match<String>> matches = skills.findAll(text);
+
+        assertThat(matches).hasSize(1);
+        assertThat(Normalizer.normalize(text.substring(matches.get(0).start(), matches.get(0).end()), Normalizer.Form.NFC))
+                .isEqualTo("lập trình");
+    }
+
+    @Test
+    void prefixPatternNeedsOnlyALeftBoundary() {
+        AhoCorasickMatcher<String> matcher = AhoCorasickMatcher.<String>builder()
+                .addPrefix("github.com/", "github")
+                .add("git", "git")
+                .build();
+
+        assertThat(matcher.findAll("Profile: github.com/jobverse"))
+                .extracting(AhoCorasickMatcher.Match::start, AhoCorasickMatcher.Match::value)
+                .containsExactly(tuple(9, "github"));
+        assertThat(matcher.findAll("mygithub.com/x")).isEmpty();
+    }
+
+    @Test
+    void firstPatternWinsWhenKeysFoldTogether() {
+        Map<String, Integer> patterns = new LinkedHashMap<>();
+        patterns.put("ReactJS", 1);
+        patterns.put("reactjs", 2);
+        AhoCorasickMatcher<Integer> matcher = AhoCorasickMatcher.compile(patterns);
+
+        assertThat(matcher.patternCount()).isEqualTo(2);
+        assertThat(values(matcher.findAll("ReactJS"))).containsExactly(1);
+    }
+
+    @Test
+    void normalizeAppliesTheMatcherFolding() {
+        assertThat(AhoCorasickMatcher.normalize("  Lập   Trình\tViên ")).isEqualTo("lap trinh vien");
+        assertThat(AhoCorasickMatcher.normalize("Đà Nẵng")).isEqualTo("da nang");
+        assertThat(AhoCorasickMatcher.normalize(null)).isNull();
+    }
+
+    @Test
+    void emptyAndNullTextHaveNoMatches() {
+        assertThat(skills.findAll("")).isEmpty();
+        assertThat(skills.findAll(null)).isEmpty();
+    }
+
+    private static <T> List<T> values(List<AhoCorasickMatcher.Match<T>> matches) {
+        return matches.stream().map(AhoCorasickMatcher.Match::value).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.jobverse.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedTtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(Duration.ofSeconds(10), 3, now::get);
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        cache.put("a", 1);
+
+        now.addAndGet(9_999);
+        assertThat(cache.get("a")).isEqualTo(1);
+        now.addAndGet(1);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void fullCacheEvictsTheLeastRecentlyUsedEntryOnly() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a"); // b is now the least recently used
+
+        cache.put("d", 4);
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.get("d")).isEqualTo(4);
+    }
+
+    @Test
+    void putReplacesAndRestartsTheTtl() {
+        cache.put("a", 1);
+        now.addAndGet(8_000);
+        cache.put("a", 2);
+        now.addAndGet(8_000);
+
+        assertThat(cache.get("a")).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeAndRemoveIf() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        assertThat(cache.remove("a")).isEqualTo(1);
+        assertThat(cache.remove("a")).isNull();
+        cache.removeIf((key, value) -> value % 2 == 0);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new BoundedTtlCache<>(Duration.ofSeconds(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,111 @@
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Stands in for the servlet response behind a {@link ResponseBodyEmitter} (what the MVC return
+ * value handler attaches in production): records SSE event names, plain lines (NDJSON) and
+ * completion, and can hold
+ * every send until released, like a client that stopped reading.
+ * Lives in Spring's package because the handler hook is package-private.
+ */
+public class RecordingEmitterHandler implements ResponseBodyEmitter.Handler {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private volatile CountDownLatch stuck = new CountDownLatch(0);
+
+    public static RecordingEmitterHandler attach(ResponseBodyEmitter emitter) throws IOException {
+        RecordingEmitterHandler handler = new RecordingEmitterHandler();
+        emitter.initialize(handler);
+        return handler;
+    }
+
+    /** Blocks every send (in the writing thread, holding the emitter's lock) until {@link #unstick()} */
+    public void stick() {
+        stuck = new CountDownLatch(1);
+    }
+
+    public void unstick() {
+        stuck.countDown();
+    }
+
+    public List<String> events() {
+        return events;
+    }
+
+    public List<String> lines() {
+        return lines;
+    }
+
+    public boolean awaitSending(long millis) throws InterruptedException {
+        return sending.await(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean awaitCompleted(long millis) throws InterruptedException {
+        return completed.await(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isCompleted() {
+        return completed.getCount() == 0;
+    }
+
+    @Override
+    public void send(Object data, MediaType mediaType) throws IOException {
+        send(Set.of(new ResponseBodyEmitter.DataWithMediaType(data, mediaType)));
+    }
+
+    @Override
+    public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+        awaitUnstuck();
+        for (ResponseBodyEmitter.DataWithMediaType item : items) {
+            if (MediaType.APPLICATION_NDJSON.equals(item.getMediaType())) {
+                lines.add(String.valueOf(item.getData()));
+            } else if (item.getData() instanceof String text && text.startsWith("event:")) {
+                events.add(text.substring(6, text.indexOf('\n')));
+            }
+        }
+    }
+
+    private void awaitUnstuck() throws IOException {
+        sending.countDown();
+        try {
+            stuck.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void complete() {
+        completed.countDown();
+    }
+
+    @Override
+    public void completeWithError(Throwable failure) {
+        completed.countDown();
+    }
+
+    @Override
+    public void onTimeout(Runnable callback) {
+    }
+
+    @Override
+    public void onError(Consumer<Throwable> callback) {
+    }
+
+    @Override
+    public void onCompletion(Runnable callback) {
+    }
+}